@@ -0,0 +1,57 @@
+package tankgame;
+import java.util.Random;
+
+/**
+ * BenchmarkWorlds Class - Builds reproducible worlds for the benchmarks
+ * Walls and enemy tanks are placed from a fixed seed, so every run and every
+ * benchmark measures the same layout for a given tank and wall count
+ */
+final class BenchmarkWorlds {
+    static final long SEED = 3343L;
+
+    // Attempts to find a free spot before a tank is placed regardless of walls
+    private static final int PLACEMENT_ATTEMPTS = 20;
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Creates a world with exactly the requested walls and enemy tanks
+     * @param tankCount Number of enemy tanks
+     * @param wallCount Number of walls
+     * @return World with its tank grid built, ready to be queried
+     */
+    static GameWorld create(int tankCount, int wallCount) {
+        Random random = new Random(SEED);
+        GameWorld world = new GameWorld();
+
+        WallManager wallManager = world.getWallManager();
+        wallManager.cleanWalls();
+        for (int i = 0; i < wallCount; i++) {
+            boolean isVertical = random.nextBoolean();
+            int length = WallManager.MIN_WALL_LENGTH + random.nextInt(WallManager.MIN_WALL_LENGTH);
+            int width = isVertical ? WallManager.MIN_WALL_THICKNESS : length;
+            int height = isVertical ? length : WallManager.MIN_WALL_THICKNESS;
+            wallManager.addPermanentWall(random.nextInt(TankClient.GAME_WIDTH - width),
+                    random.nextInt(TankClient.GAME_HEIGHT - height), width, height);
+        }
+
+        Tank.Direction[] directions = Tank.Direction.values();
+        for (int i = 0; i < tankCount; i++) {
+            int x = 0;
+            int y = 0;
+            for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+                x = random.nextInt(TankClient.GAME_WIDTH - Tank.TANK_WIDTH);
+                y = random.nextInt(TankClient.GAME_HEIGHT - Tank.TANK_HEIGHT);
+                if (!world.isBlockedByWalls(x, y, Tank.TANK_WIDTH, Tank.TANK_HEIGHT)) {
+                    break;
+                }
+            }
+            Tank.Direction direction = directions[random.nextInt(directions.length - 1)];  // Exclude STOP
+            world.getEnemyTanks().add(new Tank(x, y, false, direction, world));
+        }
+
+        world.rebuildTankGrid();
+        return world;
+    }
+}
@@ -0,0 +1,121 @@
+package tankgame;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * InterestBenchmark Class - Per-observer cost of filtered snapshots
+ * Tanks and missiles are spread at a constant density, so the area grows with the
+ * entity count while each observer's surroundings stay equally crowded. Each
+ * operation builds one observer's snapshot delta, filtered or not; the index is
+ * built once per tick for all observers. Bytes per observer are printed at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestBenchmark {
+    // Area per entity in square pixels, about as crowded as a busy arena
+    private static final int AREA_PER_ENTITY = 64 * 64;
+    private static final int OBSERVERS = 64;
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    private final WorldState base = new WorldState();
+    private final WorldState next = new WorldState();
+    private final InterestFilter filter = new InterestFilter();
+    private final WorldState[] baseViews = new WorldState[OBSERVERS];
+    private final WorldState view = new WorldState();
+    private ByteBuffer buffer;
+    private int observer = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int side = (int) Math.sqrt((double) entityCount * AREA_PER_ENTITY);
+        SplittableRandom random = new SplittableRandom(3343);
+        int tanks = entityCount / 2;
+        for (int i = 0; i < entityCount; i++) {
+            int x = random.nextInt(side);
+            int y = random.nextInt(side);
+            int direction = random.nextInt(Tank.Direction.values().length - 1);
+            if (i < tanks) {
+                int row = base.tanks.add(i + 1);
+                base.tanks.set(WorldState.TANK_X, row, x);
+                base.tanks.set(WorldState.TANK_Y, row, y);
+                base.tanks.set(WorldState.TANK_DIRECTION, row, direction);
+                base.tanks.set(WorldState.TANK_HEALTH, row, Tank.MAX_HEALTH);
+                base.tanks.set(WorldState.TANK_FLAGS, row, WorldState.FLAG_ALIVE);
+            } else {
+                int row = base.missiles.add(i + 1);
+                base.missiles.set(WorldState.MISSILE_X, row, x);
+                base.missiles.set(WorldState.MISSILE_Y, row, y);
+                base.missiles.set(WorldState.MISSILE_DIRECTION, row, direction);
+            }
+        }
+        next.copyFrom(base);
+        next.tick = base.tick + 1;
+        for (int row = 0; row < next.tanks.size(); row++) {
+            next.tanks.set(WorldState.TANK_X, row, next.tanks.get(WorldState.TANK_X, row) + Tank.MOVEMENT_SPEED_X);
+        }
+        for (int row = 0; row < next.missiles.size(); row++) {
+            next.missiles.set(WorldState.MISSILE_Y, row,
+                    next.missiles.get(WorldState.MISSILE_Y, row) + Missile.MOVEMENT_SPEED_Y);
+        }
+
+        filter.index(base);
+        for (int i = 0; i < OBSERVERS; i++) {
+            baseViews[i] = new WorldState();
+            filter.filter(base, observerId(i), baseViews[i]);
+        }
+        filter.index(next);
+
+        buffer = ByteBuffer.allocate(SnapshotCodec.maxSize(base, next));
+        long filteredBytes = 0;
+        for (int i = 0; i < OBSERVERS; i++) {
+            filteredBytes += filteredDelta().position();
+        }
+        System.out.printf("%n%d entities over %d x %d px: %d bytes/observer/tick filtered, %d unfiltered%n",
+                entityCount, side, side, filteredBytes / OBSERVERS, broadcastDelta().position());
+    }
+
+    private static int observerId(int observer) {
+        return observer + 1;
+    }
+
+    /**
+     * Builds the cell index shared by all observers, once per tick
+     */
+    @Benchmark
+    public InterestFilter index() {
+        filter.index(next);
+        return filter;
+    }
+
+    /**
+     * Filters the state for one observer and encodes the delta from its previous view
+     */
+    @Benchmark
+    public ByteBuffer filteredDelta() {
+        int i = observer;
+        observer = (observer + 1) % OBSERVERS;
+        filter.filter(next, observerId(i), view);
+        buffer.clear();
+        SnapshotCodec.writeDelta(baseViews[i], view, buffer);
+        return buffer;
+    }
+
+    /**
+     * Encodes the unfiltered delta every observer would otherwise be sent
+     */
+    @Benchmark
+    public ByteBuffer broadcastDelta() {
+        buffer.clear();
+        SnapshotCodec.writeDelta(base, next, buffer);
+        return buffer;
+    }
+}
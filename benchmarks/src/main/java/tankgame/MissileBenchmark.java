@@ -0,0 +1,99 @@
+package tankgame;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * MissileBenchmark Class - Bulk missile movement, objects versus primitive arrays
+ * Each operation advances every missile one tick, drops those that left the game
+ * area and fires as many new ones, so the live count stays constant. The object side
+ * is the world's own path: updatePosition() on pooled Missile objects, then the pool
+ * compaction. The list is shuffled once, as compaction reorders it over a match, so
+ * iteration does not follow allocation order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissileBenchmark {
+    // Precomputed launch points cycled through when missiles are replaced
+    private static final int LAUNCHES = 4096;
+
+    @Param({"1000", "10000", "100000"})
+    public int missileCount;
+
+    private final int[] launchX = new int[LAUNCHES];
+    private final int[] launchY = new int[LAUNCHES];
+    private final Tank.Direction[] launchDirection = new Tank.Direction[LAUNCHES];
+    private int nextLaunch = 0;
+
+    private List<Missile> missiles;
+    private ObjectPool<Missile> pool;
+    private MissileStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkWorlds.SEED);
+        Tank.Direction[] directions = Tank.Direction.values();
+        for (int i = 0; i < LAUNCHES; i++) {
+            launchX[i] = random.nextInt(TankClient.GAME_WIDTH);
+            launchY[i] = random.nextInt(TankClient.GAME_HEIGHT);
+            launchDirection[i] = directions[random.nextInt(directions.length - 1)];  // Exclude STOP
+        }
+
+        pool = new ObjectPool<>(GameWorld.MISSILE_POOL_CAPACITY, () -> new Missile(0, 0, Tank.Direction.STOP));
+        missiles = new ArrayList<>(missileCount);
+        store = new MissileStore(missileCount);
+        for (int i = 0; i < missileCount; i++) {
+            int launch = i % LAUNCHES;
+            missiles.add(new Missile(launchX[launch], launchY[launch], false, launchDirection[launch], null));
+            store.add(launchX[launch], launchY[launch], launchDirection[launch], false);
+        }
+        Collections.shuffle(missiles, random);
+    }
+
+    /**
+     * Missile objects in a list, as GameWorld.updateMissiles() moves them
+     */
+    @Benchmark
+    public List<Missile> missileList() {
+        for (int i = 0; i < missiles.size(); i++) {
+            Missile missile = missiles.get(i);
+            if (missile.isActive()) {
+                missile.updatePosition();
+            }
+        }
+        int removed = pool.compact(missiles, missile -> !missile.isActive());
+        for (int i = 0; i < removed; i++) {
+            int launch = nextLaunch();
+            missiles.add(pool.acquire().reset(launchX[launch], launchY[launch], false,
+                    launchDirection[launch], null));
+        }
+        return missiles;
+    }
+
+    /**
+     * The same missiles as parallel arrays in a MissileStore
+     */
+    @Benchmark
+    public MissileStore missileStore() {
+        int removed = store.advance();
+        for (int i = 0; i < removed; i++) {
+            int launch = nextLaunch();
+            store.add(launchX[launch], launchY[launch], launchDirection[launch], false);
+        }
+        return store;
+    }
+
+    private int nextLaunch() {
+        int launch = nextLaunch;
+        nextLaunch = (nextLaunch + 1) % LAUNCHES;
+        return launch;
+    }
+}
@@ -0,0 +1,54 @@
+package tankgame;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * PathFinderBenchmark Class - A* searches across the map, with and without the path cache
+ * The uncached case also rebuilds the navigation grid, as happens after a wall changes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathFinderBenchmark {
+    private static final int QUERIES = 64;
+
+    @Param({"5", "50", "500"})
+    public int wallCount;
+
+    private PathFinder pathFinder;
+    private int[] queries;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pathFinder = BenchmarkWorlds.create(0, wallCount).getWallManager().getPathFinder();
+        Random random = new Random(BenchmarkWorlds.SEED);
+        queries = new int[QUERIES * 4];
+        for (int i = 0; i < queries.length; i += 2) {
+            queries[i] = random.nextInt(TankClient.GAME_WIDTH - Tank.TANK_WIDTH);
+            queries[i + 1] = random.nextInt(TankClient.GAME_HEIGHT - Tank.TANK_HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public int[] searchUncached() {
+        pathFinder.invalidate();
+        return nextPath();
+    }
+
+    @Benchmark
+    public int[] searchCached() {
+        return nextPath();
+    }
+
+    private int[] nextPath() {
+        int i = next;
+        next = (next + 4) % queries.length;
+        return pathFinder.findPath(queries[i], queries[i + 1], queries[i + 2], queries[i + 3]);
+    }
+}
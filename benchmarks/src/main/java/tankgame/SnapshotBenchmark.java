@@ -0,0 +1,82 @@
+package tankgame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * SnapshotBenchmark Class - Per-tick cost of world snapshots
+ * The world holds the given number of enemy tanks and as many missiles; each
+ * operation captures, encodes or decodes one tick's worth of state
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"100", "1000", "5000"})
+    public int entityCount;
+
+    @Param({"50"})
+    public int wallCount;
+
+    private GameWorld world;
+    private final WorldState base = new WorldState();
+    private final WorldState next = new WorldState();
+    private final WorldState decoded = new WorldState();
+    private ByteBuffer full;
+    private ByteBuffer delta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.create(entityCount, wallCount);
+        Tank.Direction[] directions = Tank.Direction.values();
+        for (int i = 0; i < entityCount; i++) {
+            world.spawnMissile((i * 37) % TankClient.GAME_WIDTH, (i * 53) % TankClient.GAME_HEIGHT,
+                    false, directions[i % (directions.length - 1)]);
+        }
+        base.capture(world);
+        world.step();
+        next.capture(world);
+
+        full = ByteBuffer.allocateDirect(SnapshotCodec.maxSize(null, next));
+        delta = ByteBuffer.allocateDirect(SnapshotCodec.maxSize(base, next));
+        SnapshotCodec.writeDelta(base, next, delta);
+        delta.flip();
+        System.out.printf("%n%d entities: full %d bytes, delta %d bytes%n",
+                entityCount, fullSize(), delta.remaining());
+    }
+
+    private int fullSize() {
+        full.clear();
+        SnapshotCodec.writeFull(next, full);
+        return full.position();
+    }
+
+    @Benchmark
+    public WorldState capture() {
+        return decoded.capture(world);
+    }
+
+    @Benchmark
+    public int writeFull() {
+        return fullSize();
+    }
+
+    @Benchmark
+    public ByteBuffer writeDelta() {
+        delta.clear();
+        SnapshotCodec.writeDelta(base, next, delta);
+        return delta;
+    }
+
+    @Benchmark
+    public WorldState readDelta() throws IOException {
+        delta.rewind();
+        SnapshotCodec.read(delta, base, decoded);
+        return decoded;
+    }
+}
@@ -0,0 +1,90 @@
+package tankgame;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * TankAIBenchmark Class - Enemy decision making
+ * Each operation runs the measured step for every enemy tank's AI once
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TankAIBenchmark {
+    @Param({"10", "100", "1000"})
+    public int tankCount;
+
+    @Param({"5", "50", "500"})
+    public int wallCount;
+
+    private GameWorld world;
+    private TankAI[] ais;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.create(tankCount, wallCount);
+        // Keep the player in the middle so distances and sight lines vary across tanks
+        world.getPlayerTank().setCurrentX(TankClient.GAME_WIDTH / 2);
+        world.getPlayerTank().setCurrentY(TankClient.GAME_HEIGHT / 2);
+
+        List<Tank> tanks = world.getEnemyTanks();
+        ais = new TankAI[tanks.size()];
+        for (int i = 0; i < ais.length; i++) {
+            ais[i] = new TankAI(tanks.get(i), world);
+        }
+    }
+
+    /**
+     * One full decision per tank; update() itself throttles to one decision per second,
+     * so the unthrottled think() is what a decision actually costs
+     */
+    @Benchmark
+    public void update() {
+        for (TankAI ai : ais) {
+            ai.think();
+        }
+        // Shots fired by the decisions would otherwise pile up across operations
+        world.clearMissiles();
+    }
+
+    /**
+     * The world's think phase on one thread: every tank plans against one snapshot
+     */
+    @Benchmark
+    public void thinkPhaseSerial() {
+        WorldSnapshot snapshot = new WorldSnapshot(world);
+        for (TankAI ai : ais) {
+            ai.plan(snapshot, 0);
+        }
+    }
+
+    /**
+     * The world's think phase spread over the common fork/join pool
+     */
+    @Benchmark
+    public void thinkPhaseParallel() {
+        WorldSnapshot snapshot = new WorldSnapshot(world);
+        Arrays.stream(ais).parallel().forEach(ai -> ai.plan(snapshot, 0));
+    }
+
+    @Benchmark
+    public void seekSafestCover() {
+        for (TankAI ai : ais) {
+            ai.seekSafestCover();
+        }
+    }
+
+    @Benchmark
+    public void hasLineOfSight(Blackhole blackhole) {
+        Tank player = world.getPlayerTank();
+        for (TankAI ai : ais) {
+            blackhole.consume(ai.hasLineOfSight(player));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package tankgame;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * TankBenchmark Class - Tank movement and collision checks
+ * Each operation covers every enemy tank once, i.e. the per-frame cost
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TankBenchmark {
+    @Param({"10", "100", "1000"})
+    public int tankCount;
+
+    @Param({"5", "50", "500"})
+    public int wallCount;
+
+    private GameWorld world;
+    private List<Tank> tanks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.create(tankCount, wallCount);
+        tanks = world.getEnemyTanks();
+    }
+
+    @Benchmark
+    public void updatePosition() {
+        world.rebuildTankGrid();
+        for (int i = 0; i < tanks.size(); i++) {
+            tanks.get(i).updatePosition();
+        }
+    }
+
+    @Benchmark
+    public void willCollideWithOtherTanks(Blackhole blackhole) {
+        for (int i = 0; i < tanks.size(); i++) {
+            Tank tank = tanks.get(i);
+            blackhole.consume(tank.willCollideWithOtherTanks(
+                    tank.getPositionX() + Tank.MOVEMENT_SPEED_X, tank.getPositionY()));
+        }
+    }
+
+    @Benchmark
+    public void willCollideWithWalls(Blackhole blackhole) {
+        for (int i = 0; i < tanks.size(); i++) {
+            Tank tank = tanks.get(i);
+            blackhole.consume(tank.willCollideWithWalls(
+                    tank.getPositionX() + Tank.MOVEMENT_SPEED_X, tank.getPositionY()));
+        }
+    }
+
+    /**
+     * One full simulation tick, for comparing the parts above against the whole
+     */
+    @Benchmark
+    public void worldStep() {
+        world.step();
+        world.clearMissiles();
+    }
+}
@@ -0,0 +1,40 @@
+package tankgame;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * TankGeneratorBenchmark Class - Spawning a wave of enemy tanks
+ * Spawn checks compare against every wall and every tank already placed,
+ * so the cost grows with both counts
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TankGeneratorBenchmark {
+    @Param({"10", "100", "1000"})
+    public int tankCount;
+
+    @Param({"5", "50", "500"})
+    public int wallCount;
+
+    private TankGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameWorld world = BenchmarkWorlds.create(0, wallCount);
+        generator = new TankGenerator(world);
+    }
+
+    /**
+     * Clears the previous wave and spawns a new one
+     * @return Number of tanks that found a valid position
+     */
+    @Benchmark
+    public int spawnEnemyTanks() {
+        return generator.spawnEnemyTanks(tankCount);
+    }
+}
@@ -0,0 +1,45 @@
+package tankgame;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * TankRenderBenchmark Class - Drawing every enemy tank into an off-screen frame
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TankRenderBenchmark {
+    @Param({"10", "100", "1000"})
+    public int tankCount;
+
+    private List<Tank> tanks;
+    private BufferedImage frame;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tanks = BenchmarkWorlds.create(tankCount, 0).getEnemyTanks();
+        frame = new BufferedImage(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawTanks() {
+        for (int i = 0; i < tanks.size(); i++) {
+            tanks.get(i).draw(graphics, 1.0);
+        }
+        return frame;
+    }
+}
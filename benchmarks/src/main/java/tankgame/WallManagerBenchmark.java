@@ -0,0 +1,54 @@
+package tankgame;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * WallManagerBenchmark Class - Wall lookups and missile-wall collision
+ * Missiles are spread over the whole game area; their count follows the entity count
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallManagerBenchmark {
+    @Param({"10", "100", "1000"})
+    public int missileCount;
+
+    @Param({"5", "50", "500"})
+    public int wallCount;
+
+    private WallManager wallManager;
+    private Missile[] missiles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameWorld world = BenchmarkWorlds.create(0, wallCount);
+        wallManager = world.getWallManager();
+
+        Random random = new Random(BenchmarkWorlds.SEED);
+        Tank.Direction[] directions = Tank.Direction.values();
+        missiles = new Missile[missileCount];
+        for (int i = 0; i < missileCount; i++) {
+            missiles[i] = new Missile(random.nextInt(TankClient.GAME_WIDTH), random.nextInt(TankClient.GAME_HEIGHT),
+                    random.nextBoolean(), directions[random.nextInt(directions.length)], world);
+        }
+    }
+
+    @Benchmark
+    public Wall[] getAllWalls() {
+        return wallManager.getAllWalls();
+    }
+
+    @Benchmark
+    public void handleMissileCollision(Blackhole blackhole) {
+        // Permanent walls do not change state on a hit, so every operation sees the same missiles
+        for (Missile missile : missiles) {
+            blackhole.consume(wallManager.handleMissileCollision(missile));
+        }
+    }
+}
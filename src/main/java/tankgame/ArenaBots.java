@@ -0,0 +1,172 @@
+package tankgame;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ArenaBots Class - Load generator for the arena server
+ * Starts a server on the loopback interface and connects a number of bot clients
+ * that steer and fire at random, decoding every snapshot they receive, then reports
+ * how long the server's ticks took and how much it sent.
+ */
+final class ArenaBots {
+    private static final int[] MOVE_KEYS = {
+        KeyEvent.VK_LEFT, KeyEvent.VK_UP, KeyEvent.VK_RIGHT, KeyEvent.VK_DOWN
+    };
+    // Chance per received snapshot, i.e. per server tick, that a bot changes course or fires
+    private static final double TURN_CHANCE = 0.05;
+    private static final double FIRE_CHANCE = 0.02;
+    private static final long CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Outcome of one load run
+     */
+    static final class Report {
+        final int players;
+        final long ticks;
+        final int tickRate;
+        final long tickP50Nanos;
+        final long tickP99Nanos;
+        final long tickMaxNanos;
+        final long bytesSent;
+        final long snapshotsReceived;
+        final long snapshotsSkipped;
+
+        Report(int players, long ticks, int tickRate, long tickP50Nanos, long tickP99Nanos, long tickMaxNanos,
+               long bytesSent, long snapshotsReceived, long snapshotsSkipped) {
+            this.players = players;
+            this.ticks = ticks;
+            this.tickRate = tickRate;
+            this.tickP50Nanos = tickP50Nanos;
+            this.tickP99Nanos = tickP99Nanos;
+            this.tickMaxNanos = tickMaxNanos;
+            this.bytesSent = bytesSent;
+            this.snapshotsReceived = snapshotsReceived;
+            this.snapshotsSkipped = snapshotsSkipped;
+        }
+
+        /**
+         * Gets the average bytes the server sent each client per tick
+         */
+        double bytesPerClientTick() {
+            return ticks == 0 ? 0 : (double) bytesSent / players / ticks;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d players, %d ticks at %d Hz: tick p50 %.3f ms, p99 %.3f ms, max %.3f ms; "
+                            + "%.0f bytes/client/tick, %d snapshots received, %d skipped",
+                    players, ticks, tickRate, tickP50Nanos / 1e6, tickP99Nanos / 1e6, tickMaxNanos / 1e6,
+                    bytesPerClientTick(), snapshotsReceived, snapshotsSkipped);
+        }
+    }
+
+    private ArenaBots() {
+    }
+
+    /**
+     * Runs a server with bot players until it has ticked the given number of times
+     * @param players Number of bot clients
+     * @param ticks Ticks to measure after every bot has joined
+     * @param tickRate Server ticks per second
+     * @param seed Seed for the world and the bots' input
+     */
+    static Report run(int players, int ticks, int tickRate, long seed) throws IOException {
+        return run(players, ticks, tickRate, seed, null);
+    }
+
+    /**
+     * Runs a server with bot players until it has ticked the given number of times
+     * @param interestFilter Filter the server applies to each bot's snapshots, or null for none
+     */
+    static Report run(int players, int ticks, int tickRate, long seed, InterestFilter interestFilter)
+            throws IOException {
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        List<ArenaClient> bots = new ArrayList<>(players);
+        try (ArenaServer server = new ArenaServer(new GameWorld(seed), loopback, tickRate)) {
+            server.setInterestFilter(interestFilter);
+            server.start();
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+            try {
+                for (int i = 0; i < players; i++) {
+                    bots.add(ArenaClient.connect(address));
+                }
+                awaitPlayers(server, bots, players);
+
+                server.getTickTimes().reset();
+                long firstTick = server.getTickCount();
+                long bytesBefore = server.getBytesSent();
+                long skippedBefore = server.getSnapshotsSkipped();
+                long snapshots = 0;
+                SplittableRandom random = new SplittableRandom(seed);
+                while (server.getTickCount() - firstTick < ticks) {
+                    for (ArenaClient bot : bots) {
+                        int received = bot.poll();
+                        snapshots += received;
+                        if (received > 0) {
+                            drive(bot, random);
+                        }
+                    }
+                    pause();
+                }
+
+                LatencyHistogram tickTimes = server.getTickTimes();
+                long measured = server.getTickCount() - firstTick;
+                return new Report(players, measured, tickRate,
+                        tickTimes.getValueAtPercentile(50), tickTimes.getValueAtPercentile(99), tickTimes.getMax(),
+                        server.getBytesSent() - bytesBefore, snapshots,
+                        server.getSnapshotsSkipped() - skippedBefore);
+            } finally {
+                for (ArenaClient bot : bots) {
+                    bot.close();
+                }
+            }
+        }
+    }
+
+    private static void awaitPlayers(ArenaServer server, List<ArenaClient> bots, int players) throws IOException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        while (server.getPlayerCount() < players) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Only " + server.getPlayerCount() + " of " + players + " bots joined");
+            }
+            for (ArenaClient bot : bots) {
+                bot.poll();
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Leaves the processor to the server between polls
+     */
+    private static void pause() throws IOException {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    /**
+     * Presses random keys the way a restless player would
+     */
+    private static void drive(ArenaClient bot, SplittableRandom random) throws IOException {
+        if (random.nextDouble() < TURN_CHANCE) {
+            int key = MOVE_KEYS[random.nextInt(MOVE_KEYS.length)];
+            if (random.nextBoolean()) {
+                bot.keyPressed(key);
+            } else {
+                bot.keyReleased(key);
+            }
+        }
+        if (random.nextDouble() < FIRE_CHANCE) {
+            bot.keyReleased(KeyEvent.VK_SPACE);
+        }
+    }
+}
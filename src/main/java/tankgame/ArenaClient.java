@@ -0,0 +1,185 @@
+package tankgame;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * ArenaClient Class - Connection from a player to an arena server
+ * Sends key input and decodes the server's snapshots into a {@link WorldState}.
+ * The socket is non-blocking: {@link #poll()} takes whatever has arrived and never
+ * waits, so a game loop or a load generator can drive many clients from one thread.
+ * Not thread-safe.
+ */
+final class ArenaClient implements Closeable {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    // Pending input in write mode
+    private ByteBuffer out = ByteBuffer.allocate(1024);
+
+    // Latest decoded state and the one the next snapshot is decoded into
+    private WorldState state = new WorldState();
+    private WorldState scratch = new WorldState();
+    private boolean hasState = false;
+
+    private int tankId = 0;
+    private int tickRate = 0;
+    // Last input command the server had applied when it captured the latest state
+    private int inputAck = 0;
+    private long snapshots = 0;
+    private long bytesReceived = 0;
+
+    private ArenaClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connects to an arena server
+     * Blocks until the connection is established, then switches to non-blocking mode
+     */
+    static ArenaClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.connect(address);
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new ArenaClient(channel);
+    }
+
+    /**
+     * Reads and decodes everything that has arrived, and sends pending input
+     * @return Number of snapshots decoded
+     * @throws IOException if the server closed the connection or sent malformed data
+     */
+    int poll() throws IOException {
+        flush();
+        int decoded = 0;
+        while (true) {
+            int read = channel.read(in);
+            if (read < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            bytesReceived += read;
+            in.flip();
+            ByteBuffer message;
+            while ((message = ArenaProtocol.nextMessage(in)) != null) {
+                if (handle(message)) {
+                    decoded++;
+                }
+            }
+            in.compact();
+            if (!in.hasRemaining()) {
+                // A message larger than the buffer is on its way
+                in = ArenaProtocol.ensureCapacity(in, in.capacity());
+                continue;
+            }
+            if (read == 0) {
+                return decoded;
+            }
+        }
+    }
+
+    private boolean handle(ByteBuffer message) throws IOException {
+        byte type = message.get();
+        switch (type) {
+            case ArenaProtocol.WELCOME:
+                tankId = (int) Varint.get(message);
+                tickRate = (int) Varint.get(message);
+                return false;
+            case ArenaProtocol.INPUT_ACK:
+                inputAck = (int) Varint.get(message);
+                return false;
+            case ArenaProtocol.SNAPSHOT:
+                SnapshotCodec.read(message, hasState ? state : null, scratch);
+                WorldState swap = state;
+                state = scratch;
+                scratch = swap;
+                hasState = true;
+                snapshots++;
+                return true;
+            default:
+                throw new IOException("Unknown message type " + type);
+        }
+    }
+
+    void keyPressed(int keyCode) throws IOException {
+        send(ArenaProtocol.KEY_PRESSED, keyCode);
+    }
+
+    void keyReleased(int keyCode) throws IOException {
+        send(ArenaProtocol.KEY_RELEASED, keyCode);
+    }
+
+    /**
+     * Sends a numbered input command, see {@link TankPredictor}
+     * @param keys GameWorld.INPUT_* bits
+     */
+    void sendInput(int sequence, int keys) throws IOException {
+        out = ArenaProtocol.ensureCapacity(out, ArenaProtocol.LENGTH_SIZE + 1 + 2 * Varint.MAX_LENGTH);
+        ArenaProtocol.putInput(out, sequence, keys);
+        flush();
+    }
+
+    private void send(byte type, int keyCode) throws IOException {
+        out = ArenaProtocol.ensureCapacity(out, ArenaProtocol.LENGTH_SIZE + 1 + Varint.MAX_LENGTH);
+        ArenaProtocol.putKey(out, type, keyCode);
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (out.position() == 0) return;
+        out.flip();
+        channel.write(out);
+        out.compact();
+    }
+
+    /**
+     * Gets the latest state received; replaced by the next poll that decodes a snapshot
+     */
+    WorldState getState() {
+        return state;
+    }
+
+    boolean hasState() {
+        return hasState;
+    }
+
+    /**
+     * Gets the entity id of this client's tank, or 0 before the server's welcome arrived
+     */
+    int getTankId() {
+        return tankId;
+    }
+
+    /**
+     * Gets the sequence number of the last input command reflected in the latest state, or 0 if none
+     */
+    int getInputAck() {
+        return inputAck;
+    }
+
+    int getTickRate() {
+        return tickRate;
+    }
+
+    long getSnapshotCount() {
+        return snapshots;
+    }
+
+    long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
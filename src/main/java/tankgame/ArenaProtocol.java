@@ -0,0 +1,111 @@
+package tankgame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * ArenaProtocol Class - Message framing between the arena server and its clients
+ * Every message is a 4-byte big-endian length followed by that many bytes: a type
+ * byte and the payload. Clients send key presses and releases as key codes, of which
+ * the server acts only on movement and fire, or one numbered input command per client
+ * tick when they predict their own tank; the
+ * server sends a welcome with the client's tank id and tick rate, then one snapshot
+ * per tick, a {@link SnapshotCodec} full snapshot first and deltas after that. A
+ * snapshot is preceded by the number of the client's last applied input command
+ * once the client has sent any.
+ */
+final class ArenaProtocol {
+    // Client to server
+    static final byte KEY_PRESSED = 1;
+    static final byte KEY_RELEASED = 2;
+    static final byte INPUT = 3;
+    // Server to client
+    static final byte WELCOME = 16;
+    static final byte SNAPSHOT = 17;
+    static final byte INPUT_ACK = 18;
+
+    static final int LENGTH_SIZE = 4;
+    // Largest message accepted; a full snapshot of a very busy arena stays well below
+    static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    private ArenaProtocol() {
+    }
+
+    /**
+     * Writes a key message
+     */
+    static void putKey(ByteBuffer out, byte type, int keyCode) {
+        int start = beginMessage(out, type);
+        Varint.put(out, keyCode);
+        endMessage(out, start);
+    }
+
+    /**
+     * Writes an input command message
+     * @param keys GameWorld.INPUT_* bits
+     */
+    static void putInput(ByteBuffer out, int sequence, int keys) {
+        int start = beginMessage(out, INPUT);
+        Varint.put(out, sequence);
+        Varint.put(out, keys);
+        endMessage(out, start);
+    }
+
+    /**
+     * Starts a message by reserving its length
+     * @return Position to pass to {@link #endMessage}
+     */
+    static int beginMessage(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    /**
+     * Fills in the length of a message started at the given position
+     */
+    static void endMessage(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - LENGTH_SIZE);
+    }
+
+    /**
+     * Gets the next complete message from a buffer in read mode
+     * The buffer is left positioned after the message; call {@link ByteBuffer#compact()}
+     * when done to keep an incomplete message for the next read
+     * @return Message payload starting at the type byte, or null if no complete message is buffered
+     * @throws IOException if the length is out of range
+     */
+    static ByteBuffer nextMessage(ByteBuffer in) throws IOException {
+        if (in.remaining() < LENGTH_SIZE) {
+            return null;
+        }
+        int length = in.getInt(in.position());
+        if (length <= 0 || length > MAX_MESSAGE_SIZE) {
+            throw new IOException("Bad message length " + length);
+        }
+        if (in.remaining() < LENGTH_SIZE + length) {
+            return null;
+        }
+        int start = in.position() + LENGTH_SIZE;
+        ByteBuffer message = in.duplicate();
+        message.position(start).limit(start + length);
+        in.position(start + length);
+        return message;
+    }
+
+    /**
+     * Makes sure a buffer can take the given number of bytes, growing it if needed
+     * @param buffer Buffer in write mode
+     * @return The buffer, or a larger copy of it
+     */
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+        ByteBuffer larger = buffer.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
@@ -0,0 +1,526 @@
+package tankgame;
+import java.awt.event.KeyEvent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * ArenaServer Class - Authoritative multiplayer server for one world
+ * Runs the world headless on a single thread that also serves every connection
+ * through one NIO selector, so input and simulation never need a lock. Each client
+ * gets a tank: the first one drives the world's player tank, the one enemy AIs hunt,
+ * and later ones get remote player tanks. Movement keys are applied between ticks as
+ * they arrive and a fire key fires at most once per tick; any other key is ignored, so
+ * clients cannot reach the local cheats. Input commands from clients that predict their own tank are queued and
+ * applied a few per tick, see {@link CommandQueue}. After every tick the world is captured once and each client is sent the
+ * delta from the last state it was sent; clients that are in step share one encoding.
+ * A client whose socket cannot keep up skips snapshots until its backlog drains and
+ * then gets a delta from the last state it did receive. With an {@link InterestFilter}
+ * set, each client is instead sent only the part of the world around its tank, as a
+ * delta from the last part it was sent. The arena never ends:
+ * destroyed player tanks respawn on the next tick.
+ */
+final class ArenaServer implements Closeable {
+    static final int DEFAULT_PORT = 3343;
+
+    // Unsent bytes above which a client's snapshots are skipped
+    private static final int BACKLOG_LIMIT = 256 * 1024;
+    private static final int READ_BUFFER_SIZE = 4 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    // Ticks the loop may fall behind before it stops catching up
+    private static final int MAX_LATE_TICKS = 5;
+    // Input commands buffered per client
+    private static final int COMMAND_QUEUE_CAPACITY = 64;
+
+    private final GameWorld world;
+    private final int tickRate;
+    private final long tickNanos;
+    private final int commandsPerTick;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final List<Session> sessions = new ArrayList<>();
+
+    // State sent on the previous tick and the one being sent, swapped after each tick
+    private WorldState previous = new WorldState();
+    private WorldState current = new WorldState();
+    private boolean hasPrevious = false;
+    // This tick's framed delta from the previous state, encoded once for every in-step client;
+    // with an interest filter, the scratch each client's own delta is encoded in
+    private ByteBuffer broadcast = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    // Cuts each client's snapshots down to its surroundings; null to send every client everything
+    private InterestFilter interestFilter = null;
+
+    // Time to step, capture, encode and send one tick
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private volatile long ticks = 0;
+    private volatile long bytesSent = 0;
+    private volatile long snapshotsSkipped = 0;
+    private volatile int playerCount = 0;
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    /**
+     * Constructor - Opens the listening socket
+     * @param world World to simulate; owned by the server thread once started
+     * @param address Address to listen on; port 0 picks a free port
+     * @param tickRate Ticks and snapshots per second, must be positive
+     */
+    ArenaServer(GameWorld world, InetSocketAddress address, int tickRate) throws IOException {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        this.world = world;
+        this.tickRate = tickRate;
+        this.tickNanos = 1_000_000_000L / tickRate;
+        this.commandsPerTick = CommandQueue.commandsPerTick(tickRate);
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts serving on a new thread
+     */
+    synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "TankWar-ArenaServer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops serving and closes every connection
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        Thread serving;
+        synchronized (this) {
+            serving = thread;
+        }
+        if (serving != null && serving != Thread.currentThread()) {
+            try {
+                serving.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Session session : new ArrayList<>(sessions)) {
+            session.channel.close();
+        }
+        sessions.clear();
+        serverChannel.close();
+        selector.close();
+    }
+
+    /**
+     * Sends each client only what is near its tank
+     * @param interestFilter Filter to apply, or null to send everything
+     * @throws IllegalStateException if the server has already started
+     */
+    synchronized void setInterestFilter(InterestFilter interestFilter) {
+        if (thread != null) {
+            throw new IllegalStateException("Interest filter must be set before the server starts");
+        }
+        this.interestFilter = interestFilter;
+    }
+
+    int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Gets the time each tick took, from stepping the world to handing the snapshots to the sockets
+     */
+    LatencyHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    long getTickCount() {
+        return ticks;
+    }
+
+    long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the number of snapshots not sent because a client was too far behind
+     */
+    long getSnapshotsSkipped() {
+        return snapshotsSkipped;
+    }
+
+    int getPlayerCount() {
+        return playerCount;
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime() + tickNanos;
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 1_000_000L) {
+                    selector.select(wait / 1_000_000L);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelected();
+
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    tick();
+                    nextTick += tickNanos;
+                    if (now - nextTick > MAX_LATE_TICKS * tickNanos) {
+                        nextTick = now + tickNanos;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                e.printStackTrace();
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    private void handleSelected() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Session session = (Session) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(session);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(session);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Whatever one client sends, only its own connection is dropped
+                disconnect(session);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Session session = new Session(channel);
+            session.key = channel.register(selector, SelectionKey.OP_READ, session);
+            session.tank = claimTank();
+            if (session.tank.getEntityId() == 0) {
+                session.tank.setEntityId(world.nextEntityId());
+            }
+            sessions.add(session);
+            playerCount = sessions.size();
+
+            int start = ArenaProtocol.beginMessage(session.out, ArenaProtocol.WELCOME);
+            Varint.put(session.out, session.tank.getEntityId());
+            Varint.put(session.out, tickRate);
+            ArenaProtocol.endMessage(session.out, start);
+            try {
+                flush(session);
+            } catch (IOException | RuntimeException e) {
+                // Whatever one client sends, only its own connection is dropped
+                disconnect(session);
+            }
+        }
+    }
+
+    /**
+     * Gives a new client the world's player tank if no one drives it, otherwise a remote player tank
+     */
+    private Tank claimTank() {
+        Tank playerTank = world.getPlayerTank();
+        for (Session session : sessions) {
+            if (session.tank == playerTank) {
+                return world.addRemotePlayer();
+            }
+        }
+        world.respawnPlayer(playerTank);
+        // A previous driver may have sent commands; this one starts out with keys
+        playerTank.setCommandDriven(false);
+        return playerTank;
+    }
+
+    private void disconnect(Session session) {
+        if (!sessions.remove(session)) return;
+        playerCount = sessions.size();
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException ignored) {
+        }
+
+        if (session.tank != world.getPlayerTank()) {
+            world.removeRemotePlayer(session.tank);
+            return;
+        }
+        // Hand the player tank's role to a remote player so the enemy AIs keep a live target
+        if (!world.getRemotePlayers().isEmpty()) {
+            Tank successor = world.getRemotePlayers().get(0);
+            world.removeRemotePlayer(successor);
+            world.setPlayerTank(successor);
+        }
+    }
+
+    private void read(Session session) throws IOException {
+        if (session.channel.read(session.in) < 0) {
+            throw new IOException("Client closed the connection");
+        }
+        session.in.flip();
+        ByteBuffer message;
+        while ((message = ArenaProtocol.nextMessage(session.in)) != null) {
+            byte type = message.get();
+            switch (type) {
+                case ArenaProtocol.KEY_PRESSED:
+                    int pressed = (int) Varint.get(message);
+                    if (GameWorld.inputBitFor(pressed) != 0) {
+                        session.tank.handleKeyPressed(pressed);
+                    }
+                    break;
+                case ArenaProtocol.KEY_RELEASED:
+                    int released = (int) Varint.get(message);
+                    if (released == KeyEvent.VK_SPACE) {
+                        session.fireRequested = true;
+                    } else if (GameWorld.inputBitFor(released) != 0) {
+                        session.tank.handleKeyReleased(released);
+                    }
+                    break;
+                case ArenaProtocol.INPUT:
+                    int sequence = (int) Varint.get(message);
+                    int keys = (int) Varint.get(message);
+                    session.tank.setCommandDriven(true);
+                    session.commands.offer(sequence, keys);
+                    break;
+                default:
+                    throw new IOException("Unknown message type " + type);
+            }
+        }
+        session.in.compact();
+        if (!session.in.hasRemaining()) {
+            throw new IOException("Client message too long");
+        }
+    }
+
+    /**
+     * Steps the world and sends every client its snapshot
+     */
+    void tick() {
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            session.commands.apply(world, session.tank, commandsPerTick);
+            if (session.fireRequested) {
+                session.tank.handleKeyReleased(KeyEvent.VK_SPACE);
+                session.fireRequested = false;
+            }
+        }
+        world.step();
+        keepArenaRunning(world);
+        current.capture(world);
+        if (interestFilter != null) {
+            interestFilter.index(current);
+        }
+
+        boolean broadcastReady = false;
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            if (session.out.position() > BACKLOG_LIMIT) {
+                if (session.inStep) {
+                    // Fall back to a baseline of the session's own
+                    if (session.baseline == null) {
+                        session.baseline = new WorldState();
+                    }
+                    session.baseline.copyFrom(previous);
+                    session.hasBaseline = true;
+                    session.inStep = false;
+                }
+                snapshotsSkipped++;
+                continue;
+            }
+
+            int acknowledged = session.commands.getLastApplied();
+            if (acknowledged != 0) {
+                session.out = ArenaProtocol.ensureCapacity(session.out, ArenaProtocol.LENGTH_SIZE + 1 + Varint.MAX_LENGTH);
+                int ackStart = ArenaProtocol.beginMessage(session.out, ArenaProtocol.INPUT_ACK);
+                Varint.put(session.out, acknowledged);
+                ArenaProtocol.endMessage(session.out, ackStart);
+            }
+
+            if (interestFilter != null) {
+                sendView(session);
+            } else if (session.inStep && hasPrevious) {
+                if (!broadcastReady) {
+                    encodeBroadcast();
+                    broadcastReady = true;
+                }
+                session.out = ArenaProtocol.ensureCapacity(session.out, broadcast.remaining());
+                session.out.put(broadcast.duplicate());
+            } else {
+                WorldState base = session.hasBaseline ? session.baseline : null;
+                session.out = ArenaProtocol.ensureCapacity(session.out,
+                        SnapshotCodec.maxSize(base, current) + ArenaProtocol.LENGTH_SIZE + 1);
+                int messageStart = ArenaProtocol.beginMessage(session.out, ArenaProtocol.SNAPSHOT);
+                if (base != null) {
+                    SnapshotCodec.writeDelta(base, current, session.out);
+                } else {
+                    SnapshotCodec.writeFull(current, session.out);
+                }
+                ArenaProtocol.endMessage(session.out, messageStart);
+            }
+            // Filtered clients always get deltas from their own last view
+            session.inStep = interestFilter == null;
+            try {
+                flush(session);
+            } catch (IOException e) {
+                disconnect(session);
+                i--;
+            }
+        }
+
+        WorldState swap = previous;
+        previous = current;
+        current = swap;
+        hasPrevious = true;
+        ticks++;
+        tickTimes.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Undoes the end of the match and brings destroyed player tanks back
+     */
+    static void keepArenaRunning(GameWorld world) {
+        if (world.getGameState() == TankClient.GameState.GAME_OVER) {
+            world.setGameState(TankClient.GameState.RUNNING);
+        }
+        Tank playerTank = world.getPlayerTank();
+        if (!playerTank.isAlive() || playerTank.getHealthPoints() <= 0) {
+            world.respawnPlayer(playerTank);
+        }
+        List<Tank> remotePlayers = world.getRemotePlayers();
+        for (int i = 0; i < remotePlayers.size(); i++) {
+            Tank tank = remotePlayers.get(i);
+            if (!tank.isAlive() || tank.getHealthPoints() <= 0) {
+                world.respawnPlayer(tank);
+            }
+        }
+    }
+
+    /**
+     * Queues the part of this tick's state around a client's tank, as a delta from the last part it was sent
+     */
+    private void sendView(Session session) {
+        if (session.view == null) {
+            session.view = new WorldState();
+            if (session.baseline == null) {
+                session.baseline = new WorldState();
+            }
+        }
+        interestFilter.filter(current, session.tank.getEntityId(), session.view);
+        WorldState base = session.hasBaseline ? session.baseline : null;
+        // Encoded on the heap like the broadcast, then copied to the socket buffer in bulk
+        broadcast.clear();
+        broadcast = ArenaProtocol.ensureCapacity(broadcast,
+                SnapshotCodec.maxSize(base, session.view) + ArenaProtocol.LENGTH_SIZE + 1);
+        int messageStart = ArenaProtocol.beginMessage(broadcast, ArenaProtocol.SNAPSHOT);
+        if (base != null) {
+            SnapshotCodec.writeDelta(base, session.view, broadcast);
+        } else {
+            SnapshotCodec.writeFull(session.view, broadcast);
+        }
+        ArenaProtocol.endMessage(broadcast, messageStart);
+        broadcast.flip();
+        session.out = ArenaProtocol.ensureCapacity(session.out, broadcast.remaining());
+        session.out.put(broadcast);
+
+        WorldState sent = session.view;
+        session.view = session.baseline;
+        session.baseline = sent;
+        session.hasBaseline = true;
+    }
+
+    private void encodeBroadcast() {
+        broadcast.clear();
+        broadcast = ArenaProtocol.ensureCapacity(broadcast,
+                SnapshotCodec.maxSize(previous, current) + ArenaProtocol.LENGTH_SIZE + 1);
+        int messageStart = ArenaProtocol.beginMessage(broadcast, ArenaProtocol.SNAPSHOT);
+        SnapshotCodec.writeDelta(previous, current, broadcast);
+        ArenaProtocol.endMessage(broadcast, messageStart);
+        broadcast.flip();
+    }
+
+    /**
+     * Writes as much pending output as the socket takes and waits for writability if some is left
+     */
+    private void flush(Session session) throws IOException {
+        session.out.flip();
+        bytesSent += session.channel.write(session.out);
+        session.out.compact();
+        int interest = session.out.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (session.key.interestOps() != interest) {
+            session.key.interestOps(interest);
+        }
+    }
+
+    /**
+     * One connected client
+     */
+    private static final class Session {
+        final SocketChannel channel;
+        SelectionKey key;
+        Tank tank;
+        final CommandQueue commands = new CommandQueue(COMMAND_QUEUE_CAPACITY);
+        // Whether a fire key arrived since the last tick
+        boolean fireRequested = false;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        // Pending output in write mode
+        ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        // Whether the client has the server's previous state
+        boolean inStep = false;
+        // Last state the client received, kept only while it is not in step or when filtered
+        WorldState baseline;
+        boolean hasBaseline = false;
+        // This tick's filtered state, swapped with the baseline once queued
+        WorldState view;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
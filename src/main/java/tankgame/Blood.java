@@ -13,7 +13,7 @@ public class Blood {
     private final int height;
 
     // Reference to the main game client
-    private TankClient gameClient;
+    private GameContext gameClient;
 
     // Current index in the movement path
     private int pathIndex = 0;
@@ -49,15 +49,35 @@ public class Blood {
 
     /**
      * Renders the health pack on the game screen
+     * Retained for callers that drive the health pack without the game loop
      * @param graphics Graphics context for rendering
      */
     public void renderHealthPack(Graphics graphics) {
         if(!isActive) return;
 
+        draw(graphics);
+
+        updatePosition();
+    }
+
+    /**
+     * Draws the health pack without moving it
+     * @param graphics Graphics context for rendering
+     */
+    public void draw(Graphics graphics) {
+        if(!isActive) return;
+
         Color originalColor = graphics.getColor();
         graphics.setColor(Color.MAGENTA);
         graphics.fillRect(positionX, positionY, width, height);
         graphics.setColor(originalColor);
+    }
+
+    /**
+     * Advances the health pack by one simulation tick
+     */
+    public void update() {
+        if(!isActive) return;
 
         updatePosition();
     }
@@ -66,7 +86,7 @@ public class Blood {
      * Updates the health pack's position along its predefined path
      * Cycles through movement path coordinates
      */
-void updatePosition() {
+    void updatePosition() {
         pathIndex++;
         if(pathIndex == movementPath.length) {
             pathIndex = 0;
@@ -84,6 +104,16 @@ void updatePosition() {
         return new Rectangle(positionX, positionY, width, height);
     }
 
+    /**
+     * Checks whether a rectangle overlaps the health pack without allocating bounds
+     * Same result as getCollisionBounds().intersects(...) for positive sizes
+     * @return boolean indicating if the rectangle intersects the health pack
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        return x < positionX + this.width && x + width > positionX &&
+                y < positionY + this.height && y + height > positionY;
+    }
+
     /**
      * Checks if the health pack is currently active in the game
      * @return boolean indicating if health pack can be collected
@@ -92,6 +122,22 @@ void updatePosition() {
         return isActive;
     }
 
+    /**
+     * Gets the index of the current point in the movement path
+     */
+    int getPathIndex() {
+        return pathIndex;
+    }
+
+    /**
+     * Moves the health pack to a point of its path, e.g. to match an arena server
+     */
+    void setPathIndex(int index) {
+        pathIndex = Math.floorMod(index, movementPath.length);
+        positionX = movementPath[pathIndex][0];
+        positionY = movementPath[pathIndex][1];
+    }
+
     /**
      * Sets the active status of the health pack
      * @param status New active status to set
@@ -0,0 +1,142 @@
+package tankgame;
+import java.awt.*;
+
+/**
+ * BreakableWall Class - Represents a destructible wall in the game
+ * Extends the basic Wall class with health and damage mechanics
+ * Changes color based on remaining health and can be destroyed
+ */
+class BreakableWall extends Wall {
+    // Health points of the wall
+    private int health;
+    // Status flag indicating if wall is still functional
+    private boolean isAlive = true;
+    // Notified whenever the health changes, so cached renderings can be redrawn
+    private Runnable damageListener = null;
+
+    /**
+     * Constants for health management
+     * MAX_HEALTH: Maximum health points for a standard breakable wall
+     * MIN_HEALTH: Minimum health points (wall is destroyed below this)
+     */
+    private static final int MAX_HEALTH = 100;
+    private static final int MIN_HEALTH = 0;
+    private static final int FORTIFIED_HEALTH = 500;  // Fortified wall max health
+
+    /**
+     * Constructor for creating a standard breakable wall
+     * Initializes the wall with maximum health
+     *
+     * @param x Initial X coordinate of the wall
+     * @param y Initial Y coordinate of the wall
+     * @param width Width of the wall
+     * @param height Height of the wall
+     * @param client Reference to the game client
+     */
+    public BreakableWall(int x, int y, int width, int height, GameContext client) {
+        super(x, y, width, height, client);
+        this.health = MAX_HEALTH;
+    }
+
+    /**
+     * Constructor for creating a breakable wall with custom health
+     * Useful for creating walls with different strength levels
+     * Health value is clamped between MIN_HEALTH and MAX_FORTIFIED_HEALTH
+     *
+     * @param x Initial X coordinate of the wall
+     * @param y Initial Y coordinate of the wall
+     * @param width Width of the wall
+     * @param height Height of the wall
+     * @param client Reference to the game client
+     * @param health Initial health points for the wall
+     */
+    public BreakableWall(int x, int y, int width, int height, GameContext client, int health) {
+        super(x, y, width, height, client);
+        // Ensure health is within valid range
+        this.health = Math.min(Math.max(MIN_HEALTH, health), FORTIFIED_HEALTH);
+    }
+
+    /**
+     * Applies damage to the wall
+     * Reduces health by specified amount and checks for destruction
+     * Health cannot go below MIN_HEALTH
+     *
+     * @param amount Amount of damage to apply
+     */
+    public void damage(int amount) {
+        // Ensure health doesn't go below minimum
+        health = Math.max(MIN_HEALTH, health - amount);
+        // Check if wall should be destroyed
+        if (health <= MIN_HEALTH) {
+            isAlive = false;
+        }
+        if (damageListener != null) {
+            damageListener.run();
+        }
+    }
+
+    /**
+     * Sets the callback run after each hit
+     * @param listener Callback, or null for none
+     */
+    void setDamageListener(Runnable listener) {
+        this.damageListener = listener;
+    }
+
+    /**
+     * Handles collision with missiles
+     * Applies damage when hit and returns collision status
+     * Overrides the parent class's method to add damage mechanics
+     *
+     * @param missile The missile to check collision with
+     * @return true if collision occurred and was handled, false otherwise
+     */
+    @Override
+    public boolean handleMissileCollision(Missile missile) {
+        if (!isAlive) return false;
+
+        if (missile.intersects(getPositionX(), getPositionY(), getWidth(), getHeight())) {
+            damage(20); // Apply damage but don't create explosion
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the current alive status of the wall
+     * @return boolean indicating if wall is still alive
+     */
+    public boolean isAlive() {
+        return isAlive;
+    }
+
+    /**
+     * Gets the current health of the wall
+     * @return current health points
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Renders the wall with health-based color
+     * Color changes from green to red as health decreases
+     * Override parent's render method to add health visualization
+     *
+     * @param graphics Graphics context for rendering
+     */
+    @Override
+    public void render(Graphics graphics) {
+        if (!isAlive) return;
+
+        Color originalColor = graphics.getColor();
+        // Calculate green component based on health percentage
+        int greenValue = Math.min(255, Math.max(0, (int)(255 * (health / 100.0))));
+        // Create color with fixed red component and variable green
+        graphics.setColor(new Color(128, greenValue, 0));
+        // Draw the wall
+        graphics.fillRect(getPositionX(), getPositionY(), getWidth(), getHeight());
+        // Restore original color
+        graphics.setColor(originalColor);
+    }
+}
@@ -0,0 +1,88 @@
+package tankgame;
+
+/**
+ * CommandQueue Class - Input commands of one player waiting for the server
+ * Commands arrive numbered in order and are applied a few per tick, so a client
+ * whose commands bunch up in transit catches up within a couple of ticks while one
+ * that sends too many cannot move faster than the tick budget allows. The sequence
+ * number of the last applied command is sent back, letting the client drop the
+ * commands the server has seen and replay the rest on top of the server's state.
+ */
+final class CommandQueue {
+    private final long[] commands;
+    private int head = 0;
+    private int size = 0;
+    private int lastApplied = 0;
+    private long dropped = 0;
+
+    /**
+     * Constructor
+     * @param capacity Commands held at most; commands arriving while full are dropped
+     */
+    CommandQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        commands = new long[capacity];
+    }
+
+    /**
+     * Adds a command
+     * @param sequence Sequence number, increasing by one per command
+     * @param keys GameWorld.INPUT_* bits
+     * @return false if the queue was full and the command was dropped
+     */
+    boolean offer(int sequence, int keys) {
+        if (size == commands.length) {
+            dropped++;
+            return false;
+        }
+        commands[(head + size) % commands.length] = ((long) sequence << 32) | (keys & 0xFFFFFFFFL);
+        size++;
+        return true;
+    }
+
+    /**
+     * Applies the oldest commands to a tank
+     * @param max Commands to apply at most
+     * @return Number of commands applied
+     */
+    int apply(GameWorld world, Tank tank, int max) {
+        int applied = 0;
+        while (size > 0 && applied < max) {
+            long command = commands[head];
+            head = (head + 1) % commands.length;
+            size--;
+            world.applyCommand(tank, (int) command);
+            lastApplied = (int) (command >>> 32);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the sequence number of the last applied command, or 0 if none was applied
+     */
+    int getLastApplied() {
+        return lastApplied;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of commands dropped because the queue was full
+     */
+    long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gets how many commands a player may have applied per server tick
+     * Twice the commands a client sends in one server tick, rounded up
+     */
+    static int commandsPerTick(int tickRate) {
+        return 2 * Math.max(1, (TankClient.TICKS_PER_SECOND + tickRate - 1) / tickRate);
+    }
+}
@@ -0,0 +1,191 @@
+package tankgame;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * CoverIndex Class - Spatial hash over the cover points of all walls
+ * Built once from a wall set and rebuilt only when the walls change, so the AI can
+ * score the cover points near a tank instead of every point of every wall. Cover
+ * points outside the map are stored in the nearest edge cell.
+ */
+class CoverIndex {
+    // Cell edge length in pixels
+    static final int DEFAULT_CELL_SIZE = 64;
+
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+
+    // Head index of each cell's chain, -1 when empty
+    private final int[] cellHeads;
+    // Next index in the chain of the same cell, -1 at the end
+    private final int[] next;
+    private final CoverPoint[] points;
+
+    /**
+     * A cover position together with the wall it hides behind
+     */
+    static final class CoverPoint {
+        final Point position;
+        final Wall wall;
+
+        CoverPoint(Point position, Wall wall) {
+            this.position = position;
+            this.wall = wall;
+        }
+    }
+
+    /**
+     * Constructor for an index covering the game area
+     * @param walls Walls whose cover points are indexed
+     */
+    CoverIndex(Wall[] walls) {
+        this(walls, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for cover index
+     * @param walls Walls whose cover points are indexed
+     * @param width Width of the covered area in pixels
+     * @param height Height of the covered area in pixels
+     * @param cellSize Edge length of a cell in pixels
+     */
+    CoverIndex(Wall[] walls, int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, -1);
+
+        int total = 0;
+        Point[][] positions = new Point[walls.length][];
+        for (int i = 0; i < walls.length; i++) {
+            positions[i] = walls[i].getCoverPositions();
+            total += positions[i].length;
+        }
+        this.points = new CoverPoint[total];
+        this.next = new int[total];
+        int index = 0;
+        for (int i = 0; i < walls.length; i++) {
+            for (Point position : positions[i]) {
+                points[index] = new CoverPoint(position, walls[i]);
+                int cell = row(position.y) * columns + column(position.x);
+                next[index] = cellHeads[cell];
+                cellHeads[cell] = index;
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of indexed cover points
+     */
+    int size() {
+        return points.length;
+    }
+
+    /**
+     * Finds the best scoring cover point within a radius
+     * @param score Scoring function, higher is better
+     * @return Best cover point, or null if none lies within the radius
+     */
+    CoverPoint best(int x, int y, int radius, ToDoubleFunction<CoverPoint> score) {
+        long radiusSquared = (long) radius * radius;
+        CoverPoint best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int minColumn = column(x - radius);
+        int maxColumn = column(x + radius);
+        int minRow = row(y - radius);
+        int maxRow = row(y + radius);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i = cellHeads[r * columns + c]; i != -1; i = next[i]) {
+                    CoverPoint point = points[i];
+                    if (distanceSquared(point, x, y) > radiusSquared) continue;
+                    double pointScore = score.applyAsDouble(point);
+                    if (pointScore > bestScore) {
+                        bestScore = pointScore;
+                        best = point;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Collects the k cover points nearest to a position, nearest first
+     * Searches rings of cells outwards until no closer point can remain
+     * @param out List receiving the cover points; cleared first
+     */
+    void nearest(int x, int y, int k, List<CoverPoint> out) {
+        out.clear();
+        if (k <= 0 || points.length == 0) return;
+
+        int centerColumn = column(x);
+        int centerRow = row(y);
+        int maxRing = Math.max(Math.max(centerColumn, columns - 1 - centerColumn),
+                Math.max(centerRow, rows - 1 - centerRow));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                for (int c = centerColumn - ring; c <= centerColumn + ring; c += edgeRow ? 1 : ring * 2) {
+                    if (c >= 0 && c < columns) {
+                        insertNearest(cellHeads[r * columns + c], x, y, k, out);
+                    }
+                    if (ring == 0) break;
+                }
+            }
+            // Cells beyond this ring are at least ring cells plus the gap to the centre cell's edge away
+            if (out.size() == k) {
+                int edgeGap = Math.max(0, Math.min(
+                        Math.min(x - centerColumn * cellSize, (centerColumn + 1) * cellSize - x),
+                        Math.min(y - centerRow * cellSize, (centerRow + 1) * cellSize - y)));
+                long reach = (long) ring * cellSize + edgeGap;
+                CoverPoint farthest = out.get(k - 1);
+                if (reach * reach >= distanceSquared(farthest, x, y)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the points of one cell chain into a sorted list of at most k points
+     */
+    private void insertNearest(int head, int x, int y, int k, List<CoverPoint> out) {
+        for (int i = head; i != -1; i = next[i]) {
+            CoverPoint point = points[i];
+            long distance = distanceSquared(point, x, y);
+            if (out.size() == k && distance >= distanceSquared(out.get(k - 1), x, y)) continue;
+            int at = out.size();
+            while (at > 0 && distanceSquared(out.get(at - 1), x, y) > distance) {
+                at--;
+            }
+            out.add(at, point);
+            if (out.size() > k) {
+                out.remove(k);
+            }
+        }
+    }
+
+    private static long distanceSquared(CoverPoint point, int x, int y) {
+        long dx = point.position.x - x;
+        long dy = point.position.y - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int column(int x) {
+        return Math.min(Math.max(Math.floorDiv(x, cellSize), 0), columns - 1);
+    }
+
+    private int row(int y) {
+        return Math.min(Math.max(Math.floorDiv(y, cellSize), 0), rows - 1);
+    }
+}
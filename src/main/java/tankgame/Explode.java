@@ -6,14 +6,16 @@ import java.awt.*;
  */
 public class Explode {
 	// Position coordinates of the explosion
-	private final int positionX;
-    private final int positionY;
+	private int positionX;
+	private int positionY;
 
 	// Status flag indicating if the explosion animation is active
 	private boolean isActive = true;
+	// Identifies the explosion in world snapshots; 0 until the first snapshot assigns one
+	private int entityId = 0;
 
 	// Reference to the main game client
-	private final TankClient gameClient;
+	private GameContext gameClient;
 
 	/**
 	 * Array defining the explosion animation sequence
@@ -30,16 +32,66 @@ public class Explode {
 	 * @param posY Initial Y coordinate of the explosion
 	 * @param client Reference to the main game client
 	 */
-	public Explode(int posX, int posY, TankClient client) {
+	public Explode(int posX, int posY, GameContext client) {
 		this.positionX = posX;
 		this.positionY = posY;
 		this.gameClient = client;
 	}
+
+	/**
+	 * Restarts a pooled explosion at a new position
+	 * @param posX X coordinate of the explosion
+	 * @param posY Y coordinate of the explosion
+	 * @param client Reference to the main game client
+	 * @return This explosion
+	 */
+	Explode reset(int posX, int posY, GameContext client) {
+		this.positionX = posX;
+		this.positionY = posY;
+		this.gameClient = client;
+		this.isActive = true;
+		this.animationFrame = 0;
+		this.entityId = 0;
+		return this;
+	}
 	
 	public boolean getStatus() {
 		return this.isActive;
 	}
 
+	int getPositionX() {
+		return positionX;
+	}
+
+	int getPositionY() {
+		return positionY;
+	}
+
+	/**
+	 * Gets the index of the frame currently shown
+	 */
+	int getAnimationFrame() {
+		return animationFrame;
+	}
+
+	/**
+	 * Takes over state simulated elsewhere
+	 */
+	void applyState(int posX, int posY, int frame) {
+		this.positionX = posX;
+		this.positionY = posY;
+		this.animationFrame = frame;
+		this.isActive = true;
+	}
+
+	int getEntityId() {
+		return entityId;
+	}
+
+	void setEntityId(int entityId) {
+		this.entityId = entityId;
+	}
+
 	/**
 	 * Check explosion state
 	 * @return whether to continue rendering
@@ -79,6 +131,7 @@ public class Explode {
 
 	/**
 	 * Render and update explosion animation
+	 * Retained for callers that drive an explosion without the game loop
 	 * @param graphics Graphics context
 	 */
 	public void renderExplosion(Graphics graphics) {
@@ -88,4 +141,31 @@ public class Explode {
 		drawExplosionFrame(graphics);
 		updateAnimation();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Draws the current explosion frame without advancing the animation
+	 * @param graphics Graphics context
+	 */
+	public void draw(Graphics graphics) {
+		if(!isActive || animationFrame >= explosionSizes.length) {
+			return;
+		}
+		drawExplosionFrame(graphics);
+	}
+
+	/**
+	 * Advances the explosion by one simulation tick
+	 * The explosion becomes inactive once every frame has been shown
+	 */
+	public void update() {
+		if(!isActive) {
+			return;
+		}
+		if(animationFrame >= explosionSizes.length - 1) {
+			isActive = false;
+			animationFrame = 0;
+			return;
+		}
+		updateAnimation();
+	}
+}
@@ -0,0 +1,128 @@
+package tankgame;
+import java.util.Arrays;
+
+/**
+ * FlowField Class - Shared steering field towards one target cell
+ * A Dijkstra pass from the target over the path finder's navigation grid stores, for
+ * every reachable cell, the direction of the next step towards the target. Any number
+ * of tanks then read their pursuit direction in O(1). The field is recomputed only when
+ * the target moves to another cell or the walls change.
+ */
+class FlowField {
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Neighbour offsets, indexed like Tank.Direction (L, LU, U, RU, R, RD, D, LD)
+    private static final int[] STEP_X = {-1, -1, 0, 1, 1, 1, 0, -1};
+    private static final int[] STEP_Y = {0, -1, -1, -1, 0, 1, 1, 1};
+    private static final Tank.Direction[] DIRECTIONS = Tank.Direction.values();
+
+    private final PathFinder pathFinder;
+    private final int columns;
+    private final int rows;
+    private final int[] distance;
+    // Direction index of the next step towards the target, -1 at the target or where unreachable
+    private final byte[] nextStep;
+    private final PathFinder.BinaryHeap open;
+
+    private int targetCell = -1;
+    private long gridVersion = -1;
+    private long builds = 0;
+
+    /**
+     * Constructor for flow field
+     * @param pathFinder Navigation grid the field is laid over
+     */
+    FlowField(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+        this.columns = pathFinder.getColumns();
+        this.rows = pathFinder.getRows();
+        this.distance = new int[columns * rows];
+        this.nextStep = new byte[columns * rows];
+        this.open = new PathFinder.BinaryHeap(columns * rows);
+    }
+
+    /**
+     * Gets the direction a tank should move to approach a target along the field
+     * Rebuilds the field first if the target changed cells or the walls changed
+     * @return Direction of the next step, or null if the tank is already in the
+     *         target cell or cannot reach it
+     */
+    Tank.Direction directionFrom(int x, int y, int targetX, int targetY) {
+        update(pathFinder.cellAt(targetX, targetY));
+        int step = nextStep[pathFinder.cellAt(x, y)];
+        return step < 0 ? null : DIRECTIONS[step];
+    }
+
+    /**
+     * Rebuilds the field now if the target changed cells or the walls changed
+     * Until the target or walls change again, directionFrom only reads the field
+     */
+    void prepare(int targetX, int targetY) {
+        update(pathFinder.cellAt(targetX, targetY));
+    }
+
+    /**
+     * Gets the path cost from a position to the current target cell
+     * @return Cost in tenths of a cell, or Integer.MAX_VALUE if unreachable
+     */
+    int distanceFrom(int x, int y) {
+        return distance[pathFinder.cellAt(x, y)];
+    }
+
+    /**
+     * Gets how many times the field has been rebuilt
+     */
+    long getBuildCount() {
+        return builds;
+    }
+
+    private void update(int target) {
+        long version = pathFinder.getGridVersion();
+        if (target == targetCell && version == gridVersion) {
+            return;
+        }
+        build(target);
+        targetCell = target;
+        gridVersion = version;
+    }
+
+    /**
+     * Dijkstra from the target outwards; diagonal steps may not cut a blocked corner
+     */
+    private void build(int target) {
+        builds++;
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(nextStep, (byte) -1);
+        open.clear();
+        distance[target] = 0;
+        open.push(target, 0);
+
+        while (!open.isEmpty()) {
+            int current = open.peekPriority();
+            int cell = open.pop();
+            if (current > distance[cell]) continue;  // Stale entry
+            int column = cell % columns;
+            int row = cell / columns;
+            for (int step = 0; step < STEP_X.length; step++) {
+                int c = column + STEP_X[step];
+                int r = row + STEP_Y[step];
+                if (c < 0 || r < 0 || c >= columns || r >= rows) continue;
+                int neighbour = r * columns + c;
+                if (!pathFinder.isWalkable(neighbour)) continue;
+                boolean diagonal = STEP_X[step] != 0 && STEP_Y[step] != 0;
+                if (diagonal && (!pathFinder.isWalkable(row * columns + c)
+                        || !pathFinder.isWalkable(r * columns + column))) continue;
+
+                int cost = current + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                if (cost < distance[neighbour]) {
+                    distance[neighbour] = cost;
+                    // The neighbour moves back along this step to get here
+                    nextStep[neighbour] = (byte) ((step + 4) % STEP_X.length);
+                    open.push(neighbour, cost);
+                }
+            }
+        }
+    }
+}
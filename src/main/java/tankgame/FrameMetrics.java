@@ -0,0 +1,234 @@
+package tankgame;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * FrameMetrics Class - Per-phase timings and counters for ticks and frames
+ * The simulation records how long each phase of a tick takes and the renderer
+ * records painting, blitting and frame intervals. Readers such as the debug overlay
+ * or JMX may run on other threads while recording continues.
+ */
+class FrameMetrics implements FrameMetricsMXBean {
+    static final String OBJECT_NAME = "tankgame:type=FrameMetrics";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Measured phases; the simulation phases add up to TICK
+     */
+    enum Phase {
+        SPAWN, MISSILES, EXPLOSIONS, ENEMY_TANKS, PLAYER, WALLS, TICK,
+        // Drawing the scene into the back buffer, copying it to the screen, and the time between frames
+        PAINT, BLIT, FRAME,
+        // Start of drawing until the frame has been handed to the display, active rendering only
+        PRESENT
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+    private final LongAdder collisionChecks = new LongAdder();
+    private final LongAdder collisionHits = new LongAdder();
+    private final LongAdder aiDecisions = new LongAdder();
+    private final LongAdder aiDeferred = new LongAdder();
+
+    // Entity counts at the end of the latest tick
+    private volatile int missileCount;
+    private volatile int enemyTankCount;
+    private volatile int explosionCount;
+    // AI decisions still waiting for a tick below the decision limit
+    private volatile int aiBacklog;
+
+    FrameMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records a duration for a phase
+     * @param nanos Duration in nanoseconds
+     */
+    void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the time from a start mark until now and returns now as the next mark
+     * @param since Start of the phase from System.nanoTime()
+     * @return Current System.nanoTime()
+     */
+    long mark(Phase phase, long since) {
+        long now = System.nanoTime();
+        record(phase, now - since);
+        return now;
+    }
+
+    LatencyHistogram histogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    void countCollisionChecks(int checks) {
+        collisionChecks.add(checks);
+    }
+
+    void countCollisionHit() {
+        collisionHits.increment();
+    }
+
+    void countAIDecisions(int decisions) {
+        aiDecisions.add(decisions);
+    }
+
+    /**
+     * Counts due AI decisions pushed to a later tick because the decision limit was reached
+     */
+    void countAIDeferred(int decisions) {
+        aiDeferred.add(decisions);
+    }
+
+    void updateAIBacklog(int backlog) {
+        aiBacklog = backlog;
+    }
+
+    void updateEntityCounts(int missiles, int enemyTanks, int explosions) {
+        missileCount = missiles;
+        enemyTankCount = enemyTanks;
+        explosionCount = explosions;
+    }
+
+    /**
+     * Builds the text lines of the in-game debug overlay
+     */
+    List<String> overlayLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("tick  p50 %.2f  p99 %.2f  max %.2f ms",
+                millis(Phase.TICK, 50), millis(Phase.TICK, 99), toMillis(histogram(Phase.TICK).getMax())));
+        lines.add(String.format("frame p50 %.2f  p99 %.2f  max %.2f ms",
+                millis(Phase.FRAME, 50), millis(Phase.FRAME, 99), toMillis(histogram(Phase.FRAME).getMax())));
+        for (Phase phase : Phase.values()) {
+            if (phase != Phase.TICK && phase != Phase.FRAME) {
+                lines.add(String.format("  %-11s p99 %.3f ms", phase.name().toLowerCase(), millis(phase, 99)));
+            }
+        }
+        lines.add("missiles " + missileCount + "  tanks " + enemyTankCount + "  explosions " + explosionCount);
+        lines.add("collisions " + collisionHits.sum() + " / " + collisionChecks.sum() + " tested");
+        lines.add("ai decisions " + aiDecisions.sum() + "  deferred " + aiDeferred.sum() + "  backlog " + aiBacklog);
+        return lines;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, replacing an earlier registration
+     */
+    void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public long getTickCount() {
+        return histogram(Phase.TICK).getCount();
+    }
+
+    public double getTickMeanMillis() {
+        return histogram(Phase.TICK).getMean() / NANOS_PER_MILLI;
+    }
+
+    public double getTickP50Millis() {
+        return millis(Phase.TICK, 50);
+    }
+
+    public double getTickP99Millis() {
+        return millis(Phase.TICK, 99);
+    }
+
+    public double getTickMaxMillis() {
+        return toMillis(histogram(Phase.TICK).getMax());
+    }
+
+    public long getFrameCount() {
+        return histogram(Phase.FRAME).getCount();
+    }
+
+    public double getFrameP50Millis() {
+        return millis(Phase.FRAME, 50);
+    }
+
+    public double getFrameP99Millis() {
+        return millis(Phase.FRAME, 99);
+    }
+
+    public double getFrameMaxMillis() {
+        return toMillis(histogram(Phase.FRAME).getMax());
+    }
+
+    public Map<String, Double> getPhaseP99Millis() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            result.put(phase.name(), millis(phase, 99));
+        }
+        return result;
+    }
+
+    public int getMissileCount() {
+        return missileCount;
+    }
+
+    public int getEnemyTankCount() {
+        return enemyTankCount;
+    }
+
+    public int getExplosionCount() {
+        return explosionCount;
+    }
+
+    public long getCollisionChecks() {
+        return collisionChecks.sum();
+    }
+
+    public long getCollisionHits() {
+        return collisionHits.sum();
+    }
+
+    public long getAIDecisions() {
+        return aiDecisions.sum();
+    }
+
+    public long getAIDeferredDecisions() {
+        return aiDeferred.sum();
+    }
+
+    public int getAIBacklog() {
+        return aiBacklog;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        collisionChecks.reset();
+        collisionHits.reset();
+        aiDecisions.reset();
+        aiDeferred.reset();
+    }
+
+    private double millis(Phase phase, double percentile) {
+        return toMillis(histogram(phase).getValueAtPercentile(percentile));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
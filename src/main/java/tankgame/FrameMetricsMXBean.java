@@ -0,0 +1,68 @@
+package tankgame;
+import java.util.Map;
+
+/**
+ * FrameMetricsMXBean Interface - JMX view of the frame and tick timings
+ * Registered as {@value FrameMetrics#OBJECT_NAME}; durations are in milliseconds
+ * and percentiles cover everything recorded since the last reset
+ */
+public interface FrameMetricsMXBean {
+    long getTickCount();
+
+    double getTickMeanMillis();
+
+    double getTickP50Millis();
+
+    double getTickP99Millis();
+
+    double getTickMaxMillis();
+
+    long getFrameCount();
+
+    double getFrameP50Millis();
+
+    double getFrameP99Millis();
+
+    double getFrameMaxMillis();
+
+    /**
+     * Gets the 99th percentile of every phase, keyed by phase name
+     */
+    Map<String, Double> getPhaseP99Millis();
+
+    int getMissileCount();
+
+    int getEnemyTankCount();
+
+    int getExplosionCount();
+
+    /**
+     * Gets the number of collision pairs tested since the last reset
+     */
+    long getCollisionChecks();
+
+    /**
+     * Gets the number of collision tests that found an overlap since the last reset
+     */
+    long getCollisionHits();
+
+    /**
+     * Gets the number of enemy AI decisions made since the last reset
+     */
+    long getAIDecisions();
+
+    /**
+     * Gets how often a due AI decision was pushed to a later tick by the per-tick decision limit
+     */
+    long getAIDeferredDecisions();
+
+    /**
+     * Gets the number of AI decisions currently waiting for a later tick
+     */
+    int getAIBacklog();
+
+    /**
+     * Clears all timings and counters
+     */
+    void reset();
+}
@@ -0,0 +1,85 @@
+package tankgame;
+
+/**
+ * FramePacer Class - Deadline-based frame pacing for the game loop
+ * Frames are scheduled on a fixed grid of deadlines instead of sleeping for
+ * "period minus work", so oversleeping on one frame does not push every later
+ * frame back. A loop that falls more than a whole period behind skips the missed
+ * deadlines rather than rendering a burst of frames to catch up.
+ */
+class FramePacer {
+    // Sleep until this close to the deadline, then spin; Thread.sleep often overshoots by a millisecond
+    private static final long SPIN_NANOS = 1_000_000L;
+
+    private long periodNanos;
+    private long nextDeadline;
+    private boolean started = false;
+    private long missedFrames = 0;
+
+    /**
+     * Constructor for frame pacer
+     * @param periodNanos Time between frames in nanoseconds, must be positive
+     */
+    FramePacer(long periodNanos) {
+        setPeriodNanos(periodNanos);
+    }
+
+    /**
+     * Changes the frame period, taking effect from the next deadline
+     * @param periodNanos Time between frames in nanoseconds, must be positive
+     */
+    void setPeriodNanos(long periodNanos) {
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Frame period must be positive: " + periodNanos);
+        }
+        this.periodNanos = periodNanos;
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /**
+     * Gets how many deadlines were skipped because the loop ran late
+     */
+    long getMissedFrames() {
+        return missedFrames;
+    }
+
+    /**
+     * Schedules the next deadline and works out how long to wait for it
+     * The first call starts the grid at now
+     * @param now Current System.nanoTime()
+     * @return Nanoseconds until the next deadline, zero if it has already passed
+     */
+    long nextDelay(long now) {
+        if (!started) {
+            nextDeadline = now;
+            started = true;
+        }
+        nextDeadline += periodNanos;
+        if (now - nextDeadline > periodNanos) {
+            // Too far behind: drop the missed deadlines, keeping the grid's phase
+            long behind = (now - nextDeadline) / periodNanos;
+            missedFrames += behind;
+            nextDeadline += behind * periodNanos;
+        }
+        return Math.max(0, nextDeadline - now);
+    }
+
+    /**
+     * Blocks until the next frame deadline
+     * @throws InterruptedException if the game loop is interrupted while waiting
+     */
+    void awaitNextFrame() throws InterruptedException {
+        long delay = nextDelay(System.nanoTime());
+        long deadline = nextDeadline;
+        if (delay > SPIN_NANOS) {
+            long sleepNanos = delay - SPIN_NANOS;
+            Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+        }
+        while (System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
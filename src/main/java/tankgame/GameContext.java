@@ -0,0 +1,73 @@
+package tankgame;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * GameContext Interface - World services the game entities rely on
+ * Implemented by the headless GameWorld and by TankClient, which forwards to its world,
+ * so tanks, missiles and walls work the same with or without a window
+ */
+public interface GameContext {
+    /**
+     * Gets the player tank instance
+     * @return Player tank
+     */
+    Tank getPlayerTank();
+
+    List<Tank> getEnemyTanks();
+
+    List<Missile> getMissiles();
+
+    List<Explode> getExplosions();
+
+    Wall[] getWalls();
+
+    WallManager getWallManager();
+
+    /**
+     * Checks whether a rectangle overlaps any wall
+     * @return true if the rectangle intersects a wall
+     */
+    boolean isBlockedByWalls(int x, int y, int width, int height);
+
+    /**
+     * Checks whether the line between two points is blocked by a wall
+     * Intended for AI sight checks; the answer may be approximated to within a few pixels
+     * @return true if a wall intersects the line
+     */
+    boolean isSightBlocked(int x1, int y1, int x2, int y2);
+
+    /**
+     * Finds an alive enemy tank overlapping a rectangle
+     * @param exclude Tank to ignore, usually the one asking
+     * @return Overlapping enemy tank or null if none
+     */
+    Tank findEnemyTankAt(int x, int y, int width, int height, Tank exclude);
+
+    /**
+     * Launches a missile into the world
+     * @return The launched missile
+     */
+    Missile spawnMissile(int x, int y, boolean isPlayerMissile, Tank.Direction direction);
+
+    /**
+     * Starts an explosion in the world
+     * @return The started explosion
+     */
+    Explode spawnExplosion(int x, int y);
+
+    /**
+     * Splits an independent random stream off the world's seeded generator
+     * Entities take one stream each when created, so the same seed replays the same match
+     * @return New random stream, owned by the caller
+     */
+    SplittableRandom splitRandom();
+
+    int getScore();
+
+    void setScore(int score);
+
+    TankClient.GameState getGameState();
+
+    void setGameState(TankClient.GameState state);
+}
@@ -0,0 +1,105 @@
+package tankgame;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * GameEvents Class - JDK Flight Recorder events emitted by the game
+ * Each event spans one pass of the simulation, so a recording lines up gameplay
+ * spikes with GC pauses, safepoints and lock contention. When no recording is
+ * running, shouldCommit() is false and only begin()/end() timestamps are taken.
+ */
+final class GameEvents {
+    private static final String CATEGORY = "Tank War";
+
+    // Checked before creating a tick event, so ticks allocate nothing while no recording wants them
+    static final EventType TICK_TYPE = EventType.getEventType(TickEvent.class);
+    // Likewise for AI decisions, so a decision allocates no event while none is wanted
+    static final EventType AI_DECISION_TYPE = EventType.getEventType(AIDecisionEvent.class);
+
+    private GameEvents() {
+    }
+
+    @Name("tankgame.Tick")
+    @Label("Game Tick")
+    @Description("One fixed simulation step of the game world")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static class TickEvent extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Missiles")
+        int missiles;
+
+        @Label("Enemy Tanks")
+        int enemyTanks;
+
+        @Label("Explosions")
+        int explosions;
+
+        @Label("Walls")
+        int walls;
+    }
+
+    @Name("tankgame.AIDecision")
+    @Label("AI Decision")
+    @Description("One decision pass of an enemy tank's AI")
+    @Category({CATEGORY, "AI"})
+    @StackTrace(false)
+    static class AIDecisionEvent extends Event {
+        @Label("Tank X")
+        int tankX;
+
+        @Label("Tank Y")
+        int tankY;
+
+        @Label("Tank Health")
+        int health;
+
+        @Label("Enemy Tanks")
+        int enemyTanks;
+
+        @Label("Walls")
+        int walls;
+    }
+
+    @Name("tankgame.Spawn")
+    @Label("Enemy Spawn")
+    @Description("One wave of enemy tanks placed by the tank generator")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static class SpawnEvent extends Event {
+        @Label("Requested")
+        int requested;
+
+        @Label("Spawned")
+        int spawned;
+
+        @Label("Walls")
+        int walls;
+    }
+
+    @Name("tankgame.WallGeneration")
+    @Label("Wall Generation")
+    @Description("One pass of random wall placement")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static class WallGenerationEvent extends Event {
+        @Label("Requested")
+        int requested;
+
+        @Label("Placed")
+        int placed;
+
+        @Label("Attempts")
+        int attempts;
+
+        @Label("Total Walls")
+        int totalWalls;
+    }
+}
@@ -0,0 +1,613 @@
+package tankgame;
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * GameWorld Class - Headless simulation core
+ * Owns the tanks, missiles, explosions, walls and health pack and advances them
+ * one fixed tick per {@link #step()}. Nothing here touches AWT windows, so a world
+ * can run without a display, e.g. in tests or on a server, as fast as it is stepped.
+ * All randomness comes from streams split off one seeded generator and all game time
+ * is counted in ticks, so two worlds with the same seed and inputs play out identically.
+ * Not thread-safe; callers that share a world across threads must synchronize.
+ */
+public class GameWorld implements GameContext {
+    /**
+     * Idle objects kept for reuse; enough for several all-direction barrages in flight
+     */
+    static final int MISSILE_POOL_CAPACITY = 256;
+    static final int EXPLOSION_POOL_CAPACITY = 32;
+
+    // Bits of an input command: the movement keys held and a shot fired
+    static final int INPUT_LEFT = 1;
+    static final int INPUT_UP = 2;
+    static final int INPUT_RIGHT = 4;
+    static final int INPUT_DOWN = 8;
+    static final int INPUT_FIRE = 16;
+    static final int INPUT_MOVEMENT = INPUT_LEFT | INPUT_UP | INPUT_RIGHT | INPUT_DOWN;
+
+    // Number of walls and enemy tanks in a fresh match
+    private static final int INITIAL_WALL_COUNT = 5;
+    private static final int ENEMY_WAVE_SIZE = 5;
+
+    // Seed of the match; every entity splits its own random stream off the root generator
+    private final long seed;
+    private final SplittableRandom random;
+
+    // Player tank instance
+    private Tank playerTank;
+    private WallManager wallManager;
+    private final TankGenerator tankGenerator;
+
+    // Game object collections
+    private final List<Explode> explosions = new ArrayList<>();
+    private final List<Missile> missiles = new ArrayList<>();
+    private final List<Tank> enemyTanks = new ArrayList<>();
+    // Tanks of players who joined over the network, simulated like the player tank
+    private final List<Tank> remotePlayers = new ArrayList<>();
+
+    // Recycled missiles and explosions, refilled by the end-of-tick compaction
+    private final ObjectPool<Missile> missilePool =
+            new ObjectPool<>(MISSILE_POOL_CAPACITY, () -> new Missile(0, 0, Tank.Direction.STOP));
+    private final ObjectPool<Explode> explosionPool =
+            new ObjectPool<>(EXPLOSION_POOL_CAPACITY, () -> new Explode(0, 0, null));
+
+    // Broad-phase over enemy tanks, rebuilt at the start of every tick
+    private final TankGrid tankGrid = new TankGrid();
+    // Scratch list for tank candidates, reused by the single simulation thread
+    private final List<Tank> nearbyTanks = new ArrayList<>();
+
+    // Health power-up
+    private final Blood healthPack = new Blood();
+
+    // Phase timings and collision counters
+    private final FrameMetrics metrics = new FrameMetrics();
+    // Decides which enemy AIs think on which tick
+    private final AIScheduler aiScheduler = new AIScheduler(metrics);
+
+    // Receives player input and restarts while the match is recorded, null otherwise
+    private ReplayWriter replayWriter = null;
+
+    private TankClient.GameState gameState = TankClient.GameState.RUNNING;
+    private int score = 0;
+    private long tickCount = 0;
+    // Last id handed to an entity; never reset, so ids stay unique across restarts
+    private int lastEntityId = 0;
+
+    /**
+     * Constructor - Creates a fresh match with random walls and a player tank
+     * The seed is chosen at random; see {@link #getSeed()} to replay the match
+     */
+    public GameWorld() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor - Creates a fresh match with random walls and a player tank
+     * Enemy tanks are spawned on the first step
+     * @param seed Seed for every random decision in the match
+     */
+    public GameWorld(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+
+        // First create wall manager and generate walls
+        wallManager = new WallManager(this, this::getSimulationTimeMillis);
+        wallManager.generateRandomWalls(INITIAL_WALL_COUNT);
+
+        // Then create tank generator
+        tankGenerator = new TankGenerator(this);
+        playerTank = new Tank(50, 50, true, Tank.Direction.STOP, this);
+    }
+
+    /**
+     * Advances the world by one fixed tick
+     * Does nothing once the game is over
+     */
+    public void step() {
+        if (gameState == TankClient.GameState.GAME_OVER) {
+            return;
+        }
+
+        GameEvents.TickEvent tickEvent = GameEvents.TICK_TYPE.isEnabled() ? new GameEvents.TickEvent() : null;
+        if (tickEvent != null) {
+            tickEvent.begin();
+        }
+        long tickStart = System.nanoTime();
+
+        // Spawn enemy tanks if needed
+        spawnEnemyTanks();
+        rebuildTankGrid();
+        long mark = metrics.mark(FrameMetrics.Phase.SPAWN, tickStart);
+
+        updateMissiles();
+        mark = metrics.mark(FrameMetrics.Phase.MISSILES, mark);
+        updateExplosions();
+        mark = metrics.mark(FrameMetrics.Phase.EXPLOSIONS, mark);
+        updateEnemyTanks();
+        mark = metrics.mark(FrameMetrics.Phase.ENEMY_TANKS, mark);
+
+        // Update player tank; tanks driven by input commands moved when their commands were applied
+        if (playerTank.isAlive() && !playerTank.isCommandDriven()) {
+            playerTank.updatePosition();
+        }
+        playerTank.collectHealthPowerUp(healthPack);
+        for (int i = 0; i < remotePlayers.size(); i++) {
+            Tank player = remotePlayers.get(i);
+            if (player.isAlive() && !player.isCommandDriven()) {
+                player.updatePosition();
+            }
+            player.collectHealthPowerUp(healthPack);
+        }
+
+        healthPack.update();
+        mark = metrics.mark(FrameMetrics.Phase.PLAYER, mark);
+
+        wallManager.update(getSimulationTimeMillis());
+        long tickEnd = metrics.mark(FrameMetrics.Phase.WALLS, mark);
+
+        metrics.record(FrameMetrics.Phase.TICK, tickEnd - tickStart);
+        metrics.updateEntityCounts(missiles.size(), enemyTanks.size(), explosions.size());
+
+        if (tickEvent != null) {
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.tick = tickCount;
+                tickEvent.missiles = missiles.size();
+                tickEvent.enemyTanks = enemyTanks.size();
+                tickEvent.explosions = explosions.size();
+                tickEvent.walls = wallManager.getAllWalls().length;
+                tickEvent.commit();
+            }
+        }
+        tickCount++;
+    }
+
+    /**
+     * Spawns enemy tanks when needed
+     */
+    void spawnEnemyTanks() {
+        if (enemyTanks.isEmpty()) {
+            tankGenerator.spawnEnemyTanks(ENEMY_WAVE_SIZE);
+        }
+    }
+
+    /**
+     * Re-indexes the enemy tanks at their current positions for this tick's queries
+     */
+    void rebuildTankGrid() {
+        tankGrid.rebuild(enemyTanks);
+    }
+
+    /**
+     * Updates missiles for one tick and drops the inactive ones
+     */
+    void updateMissiles() {
+        for(int i = 0; i < missiles.size(); i++) {
+            Missile missile = missiles.get(i);
+            if (!missile.isActive()) {
+                continue;
+            }
+            // Check wall collisions first
+            metrics.countCollisionChecks(1);
+            if (wallManager.handleMissileCollision(missile)) {
+                metrics.countCollisionHit();
+                continue; // Skip other collision checks if missile hit a wall
+            }
+            // Only check tank collisions if missile didn't hit a wall
+            boolean hitTank = handleMissileTankCollisions(missile);
+            metrics.countCollisionChecks(1 + remotePlayers.size());
+            hitTank |= missile.handleTankCollision(playerTank);
+            for (int j = 0; j < remotePlayers.size(); j++) {
+                hitTank |= missile.handleTankCollision(remotePlayers.get(j));
+            }
+            if (hitTank) {
+                metrics.countCollisionHit();
+            }
+            if (missile.isActive()) {
+                missile.updatePosition();
+            }
+        }
+        missilePool.compact(missiles, missile -> !missile.isActive());
+    }
+
+    /**
+     * Checks a missile against the enemy tanks near it
+     * @return true if the missile hit a tank
+     */
+    boolean handleMissileTankCollisions(Missile missile) {
+        nearbyTanks.clear();
+        tankGrid.collectCandidates(missile.getPositionX(), missile.getPositionY(),
+                Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT, nearbyTanks);
+        metrics.countCollisionChecks(nearbyTanks.size());
+        for (int i = 0; i < nearbyTanks.size(); i++) {
+            if (missile.handleTankCollision(nearbyTanks.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advances explosion animations for one tick and drops finished ones
+     */
+    void updateExplosions() {
+        for(int i = 0; i < explosions.size(); i++) {
+            explosions.get(i).update();
+        }
+        explosionPool.compact(explosions, explosion -> !explosion.getStatus());
+    }
+
+    /**
+     * Updates enemy tanks for one tick and drops destroyed ones
+     * The AI decisions due this tick are planned first against a read-only snapshot,
+     * then applied in list order before the tanks move
+     */
+    void updateEnemyTanks() {
+        enemyTanks.removeIf(tank -> !tank.isAlive());
+        aiScheduler.planDue(tickCount, this, enemyTanks);
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            TankAI ai = enemyTanks.get(i).getAI();
+            if (ai != null) {
+                ai.applyIntent();
+            }
+        }
+        for(int i = 0; i < enemyTanks.size(); i++) {
+            Tank tank = enemyTanks.get(i);
+            metrics.countCollisionChecks(2);
+            if (wallManager.handleTankCollision(tank)) {
+                metrics.countCollisionHit();
+            }
+            if (tank.handleNearbyTankCollisions()) {
+                metrics.countCollisionHit();
+            }
+            tank.updatePosition();
+        }
+    }
+
+    /**
+     * Resets the world to a fresh match
+     */
+    public void reset() {
+        if (replayWriter != null) {
+            replayWriter.recordReset(tickCount);
+        }
+        // Game time restarts before anything timed is created
+        tickCount = 0;
+
+        // Reset player tank
+        playerTank = new Tank(50, 50, true, Tank.Direction.STOP, this);
+
+        wallManager = new WallManager(this, this::getSimulationTimeMillis);
+        wallManager.generateRandomWalls(INITIAL_WALL_COUNT);
+
+        // Clear enemy tanks, missiles, and explosions
+        enemyTanks.clear();
+        aiScheduler.clear();
+        tankGrid.clear();
+        missilePool.releaseAll(missiles);
+        explosionPool.releaseAll(explosions);
+
+        // Spawn new enemy tanks
+        tankGenerator.spawnEnemyTanks(ENEMY_WAVE_SIZE);
+        for (int i = 0; i < remotePlayers.size(); i++) {
+            respawnPlayer(remotePlayers.get(i));
+        }
+
+        // Reset score
+        score = 0;
+
+        // Reset game state to RUNNING
+        setGameState(TankClient.GameState.RUNNING);
+    }
+
+    /**
+     * Applies a key press to the player tank, recording it if a replay is being written
+     * @param keyCode KeyEvent.VK_* code of the pressed key
+     */
+    public void keyPressed(int keyCode) {
+        if (replayWriter != null) {
+            replayWriter.recordKeyPressed(tickCount, keyCode);
+        }
+        playerTank.handleKeyPressed(keyCode);
+    }
+
+    /**
+     * Applies a key release to the player tank, recording it if a replay is being written
+     * @param keyCode KeyEvent.VK_* code of the released key
+     */
+    public void keyReleased(int keyCode) {
+        if (replayWriter != null) {
+            replayWriter.recordKeyReleased(tickCount, keyCode);
+        }
+        playerTank.handleKeyReleased(keyCode);
+    }
+
+    /**
+     * Applies a key press from the window to the player tank, recording it if a replay is being written
+     */
+    public void keyPressed(KeyEvent event) {
+        if (replayWriter != null) {
+            replayWriter.recordKeyPressed(tickCount, event.getKeyCode());
+        }
+        playerTank.handleKeyPressed(event);
+    }
+
+    /**
+     * Applies a key release from the window to the player tank, recording it if a replay is being written
+     */
+    public void keyReleased(KeyEvent event) {
+        if (replayWriter != null) {
+            replayWriter.recordKeyReleased(tickCount, event.getKeyCode());
+        }
+        playerTank.handleKeyReleased(event);
+    }
+
+    /**
+     * Applies one input command to a tank and moves it one step
+     * A command-driven tank moves once per command rather than once per tick, so a
+     * client predicting its own tank runs exactly the movement the server runs
+     * @param keys INPUT_* bits
+     */
+    void applyCommand(Tank tank, int keys) {
+        setKey(tank, KeyEvent.VK_LEFT, (keys & INPUT_LEFT) != 0);
+        setKey(tank, KeyEvent.VK_UP, (keys & INPUT_UP) != 0);
+        setKey(tank, KeyEvent.VK_RIGHT, (keys & INPUT_RIGHT) != 0);
+        setKey(tank, KeyEvent.VK_DOWN, (keys & INPUT_DOWN) != 0);
+        if (tank.isAlive()) {
+            tank.updatePosition();
+        }
+        if ((keys & INPUT_FIRE) != 0) {
+            tank.handleKeyReleased(KeyEvent.VK_SPACE);
+        }
+    }
+
+    private static void setKey(Tank tank, int keyCode, boolean held) {
+        if (held) {
+            tank.handleKeyPressed(keyCode);
+        } else {
+            tank.handleKeyReleased(keyCode);
+        }
+    }
+
+    /**
+     * Gets the input command bit of a movement key
+     * @return INPUT_* bit, or 0 for keys that are not movement keys
+     */
+    static int inputBitFor(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT:
+                return INPUT_LEFT;
+            case KeyEvent.VK_UP:
+                return INPUT_UP;
+            case KeyEvent.VK_RIGHT:
+                return INPUT_RIGHT;
+            case KeyEvent.VK_DOWN:
+                return INPUT_DOWN;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Adds a tank for a player who joined over the network
+     * The tank takes part in the simulation like the player tank: it moves, collects
+     * the health pack and is hit by enemy missiles, but enemy AIs do not hunt it
+     * @return New tank at a free spawn point
+     */
+    Tank addRemotePlayer() {
+        Tank tank = new Tank(50, 50, true, Tank.Direction.STOP, this);
+        respawnPlayer(tank);
+        remotePlayers.add(tank);
+        return tank;
+    }
+
+    void removeRemotePlayer(Tank tank) {
+        remotePlayers.remove(tank);
+    }
+
+    List<Tank> getRemotePlayers() {
+        return remotePlayers;
+    }
+
+    /**
+     * Brings a player tank back at a free spawn point with full health
+     */
+    void respawnPlayer(Tank tank) {
+        Point spawn = tankGenerator.findValidSpawnPosition();
+        if (spawn != null) {
+            tank.placeAt(spawn.x, spawn.y);
+        }
+        tank.setHealthPoints(Tank.MAX_HEALTH);
+        tank.setAlive(true);
+    }
+
+    void setReplayWriter(ReplayWriter replayWriter) {
+        this.replayWriter = replayWriter;
+    }
+
+    ReplayWriter getReplayWriter() {
+        return replayWriter;
+    }
+
+    /**
+     * Hashes the simulated state: tick, score, tanks, missiles and walls
+     * Two runs that hash equal on every tick played out the same, so hashes taken by
+     * different builds from one replay show where their simulations diverge
+     */
+    public long stateHash() {
+        long hash = mix(0, tickCount);
+        hash = mix(hash, score);
+        hash = mix(hash, gameState.ordinal());
+        hash = mixTank(hash, playerTank);
+        for (int i = 0; i < remotePlayers.size(); i++) {
+            hash = mixTank(hash, remotePlayers.get(i));
+        }
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            hash = mixTank(hash, enemyTanks.get(i));
+        }
+        for (int i = 0; i < missiles.size(); i++) {
+            Missile missile = missiles.get(i);
+            hash = mix(hash, missile.getPositionX());
+            hash = mix(hash, missile.getPositionY());
+            hash = mix(hash, missile.isActive() ? 1 : 0);
+        }
+        for (Wall wall : wallManager.getAllWalls()) {
+            hash = mix(hash, wall.getPositionX());
+            hash = mix(hash, wall.getPositionY());
+            hash = mix(hash, wall instanceof BreakableWall ? ((BreakableWall) wall).getHealth() : -1);
+        }
+        return hash;
+    }
+
+    private static long mixTank(long hash, Tank tank) {
+        hash = mix(hash, tank.getPositionX());
+        hash = mix(hash, tank.getPositionY());
+        hash = mix(hash, tank.getMoveDirection().ordinal());
+        return mix(hash, tank.isAlive() ? tank.getHealthPoints() : -1);
+    }
+
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    public Missile spawnMissile(int x, int y, boolean isPlayerMissile, Tank.Direction direction) {
+        Missile missile = missilePool.acquire().reset(x, y, isPlayerMissile, direction, this);
+        missiles.add(missile);
+        return missile;
+    }
+
+    /**
+     * Removes every missile, returning it to the pool as the end-of-tick compaction does
+     */
+    void clearMissiles() {
+        missilePool.releaseAll(missiles);
+    }
+
+    public Explode spawnExplosion(int x, int y) {
+        Explode explosion = explosionPool.acquire().reset(x, y, this);
+        explosions.add(explosion);
+        return explosion;
+    }
+
+    public boolean isBlockedByWalls(int x, int y, int width, int height) {
+        return wallManager.intersectsAnyWall(x, y, width, height);
+    }
+
+    public boolean isSightBlocked(int x1, int y1, int x2, int y2) {
+        return wallManager.isSightBlocked(x1, y1, x2, y2);
+    }
+
+    public Tank findEnemyTankAt(int x, int y, int width, int height, Tank exclude) {
+        return tankGrid.findFirst(x, y, width, height, exclude);
+    }
+
+    /**
+     * Gets the phase timings and collision counters of this world
+     */
+    FrameMetrics getMetrics() {
+        return metrics;
+    }
+
+    AIScheduler getAIScheduler() {
+        return aiScheduler;
+    }
+
+    /**
+     * Hands out the next entity id for world snapshots
+     */
+    int nextEntityId() {
+        return ++lastEntityId;
+    }
+
+    /**
+     * Gets the seed the match was created with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public SplittableRandom splitRandom() {
+        return random.split();
+    }
+
+    /**
+     * Gets a random stream for an entity of a context
+     * Falls back to an unseeded stream for contexts without one, such as test doubles
+     */
+    static SplittableRandom randomFor(GameContext context) {
+        SplittableRandom stream = context == null ? null : context.splitRandom();
+        return stream != null ? stream : new SplittableRandom();
+    }
+
+    /**
+     * Gets the game time since the match started, advanced one tick period per step
+     * Used instead of the wall clock so timed events happen on the same tick in every run
+     */
+    public long getSimulationTimeMillis() {
+        return ticksToMillis(tickCount);
+    }
+
+    static long ticksToMillis(long ticks) {
+        return ticks * 1000L / TankClient.TICKS_PER_SECOND;
+    }
+
+    /**
+     * Gets the number of ticks simulated since the match started
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public Tank getPlayerTank() {
+        return playerTank;
+    }
+
+    public void setPlayerTank(Tank playerTank) {
+        this.playerTank = playerTank;
+    }
+
+    public Wall[] getWalls() {
+        return wallManager.getAllWalls();
+    }
+
+    public WallManager getWallManager() {
+        return wallManager;
+    }
+
+    public Blood getHealthPack() {
+        return healthPack;
+    }
+
+    public List<Missile> getMissiles() {
+        return missiles;
+    }
+
+    public List<Explode> getExplosions() {
+        return explosions;
+    }
+
+    public List<Tank> getEnemyTanks() {
+        return enemyTanks;
+    }
+
+    public TankClient.GameState getGameState() {
+        return gameState;
+    }
+
+    public void setGameState(TankClient.GameState state) {
+        this.gameState = state;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
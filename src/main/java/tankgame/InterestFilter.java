@@ -0,0 +1,246 @@
+package tankgame;
+import java.util.Arrays;
+
+/**
+ * InterestFilter Class - Cuts a world state down to what one observer needs to see
+ * Space is split into square cells. Each observer subscribes to the cells within a
+ * radius around its own tank and is sent the tanks, missiles and explosions indexed
+ * in them; missiles from a wider ring of cells are added too when they are heading
+ * toward the observer, so incoming fire shows up before it arrives. Walls are few
+ * and are kept when they overlap the subscribed area. The cell index is built once
+ * per state and shared by every observer, so filtering costs each observer only the
+ * entities near it, however large or crowded the rest of the world is.
+ * Observers without a tank in the state are sent everything.
+ */
+final class InterestFilter {
+    static final int DEFAULT_CELL_SIZE = 128;
+    static final int DEFAULT_RADIUS = 2;
+    // Extra cells beyond the radius searched for incoming missiles
+    static final int DEFAULT_MISSILE_MARGIN = 2;
+
+    // Largest grid indexed; the game area is a few dozen cells
+    private static final long MAX_CELLS = 1 << 22;
+
+    // Unit steps of each Tank.Direction, by ordinal
+    private static final int[] STEP_X = {-1, -1, 0, 1, 1, 1, 0, -1, 0};
+    private static final int[] STEP_Y = {0, -1, -1, -1, 0, 1, 1, 1, 0};
+
+    private final int cellSize;
+    private final int radius;
+    private final int missileRadius;
+
+    // Grid over the bounding box of the indexed state
+    private int originX;
+    private int originY;
+    private int columns = 1;
+    private int rows = 1;
+    private final CellIndex tankCells = new CellIndex();
+    private final CellIndex missileCells = new CellIndex();
+    private final CellIndex explosionCells = new CellIndex();
+
+    /**
+     * Constructor with the default cell size and radii
+     */
+    InterestFilter() {
+        this(DEFAULT_CELL_SIZE, DEFAULT_RADIUS, DEFAULT_MISSILE_MARGIN);
+    }
+
+    /**
+     * Constructor for interest filter
+     * @param cellSize Edge length of a cell in pixels
+     * @param radius Cells subscribed in every direction around the observer's cell
+     * @param missileMargin Further cells searched for missiles heading toward the observer
+     */
+    InterestFilter(int cellSize, int radius, int missileMargin) {
+        if (cellSize <= 0 || radius < 0 || missileMargin < 0) {
+            throw new IllegalArgumentException("Cell size must be positive and radii not negative");
+        }
+        this.cellSize = cellSize;
+        this.radius = radius;
+        this.missileRadius = radius + missileMargin;
+    }
+
+    int getCellSize() {
+        return cellSize;
+    }
+
+    int getRadius() {
+        return radius;
+    }
+
+    /**
+     * Indexes a state's entities by cell
+     * Must be called whenever the state changed, before filtering it
+     * @throws IllegalArgumentException if the entities are spread over too many cells to index
+     */
+    void index(WorldState state) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        WorldState.Table[] tables = {state.tanks, state.missiles, state.explosions};
+        int[] xColumns = {WorldState.TANK_X, WorldState.MISSILE_X, WorldState.EXPLOSION_X};
+        int[] yColumns = {WorldState.TANK_Y, WorldState.MISSILE_Y, WorldState.EXPLOSION_Y};
+        for (int t = 0; t < tables.length; t++) {
+            WorldState.Table table = tables[t];
+            for (int row = 0; row < table.size(); row++) {
+                int x = table.get(xColumns[t], row);
+                int y = table.get(yColumns[t], row);
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        if (minX > maxX) {
+            minX = minY = maxX = maxY = 0;
+        }
+        originX = minX;
+        originY = minY;
+        long spanColumns = ((long) maxX - minX) / cellSize + 1;
+        long spanRows = ((long) maxY - minY) / cellSize + 1;
+        if (spanColumns * spanRows > MAX_CELLS) {
+            throw new IllegalArgumentException("Entities span " + spanColumns + " x " + spanRows + " cells");
+        }
+        columns = (int) spanColumns;
+        rows = (int) spanRows;
+
+        tankCells.build(state.tanks, WorldState.TANK_X, WorldState.TANK_Y);
+        missileCells.build(state.missiles, WorldState.MISSILE_X, WorldState.MISSILE_Y);
+        explosionCells.build(state.explosions, WorldState.EXPLOSION_X, WorldState.EXPLOSION_Y);
+    }
+
+    /**
+     * Fills a state with the part of the indexed state an observer needs
+     * @param state State last passed to {@link #index}
+     * @param observerId Entity id of the observer's tank
+     * @param out State to fill; its previous contents are replaced
+     */
+    void filter(WorldState state, int observerId, WorldState out) {
+        int observerRow = state.tanks.find(observerId);
+        if (observerRow < 0) {
+            out.copyFrom(state);
+            return;
+        }
+        out.clear();
+        out.tick = state.tick;
+        out.score = state.score;
+        out.gameState = state.gameState;
+        out.healthPackIndex = state.healthPackIndex;
+        out.healthPackActive = state.healthPackActive;
+
+        int centerX = state.tanks.get(WorldState.TANK_X, observerRow) + Tank.TANK_WIDTH / 2;
+        int centerY = state.tanks.get(WorldState.TANK_Y, observerRow) + Tank.TANK_HEIGHT / 2;
+        int cellX = cellX(centerX);
+        int cellY = cellY(centerY);
+
+        addCells(tankCells, state.tanks, out.tanks, cellX, cellY);
+        out.tanks.sortById();
+        if (out.tanks.find(observerId) < 0) {
+            // Tanks are indexed by their corner, which may sit just outside the subscribed cells
+            out.tanks.addRow(state.tanks, observerRow);
+            out.tanks.sortById();
+        }
+        addCells(explosionCells, state.explosions, out.explosions, cellX, cellY);
+        out.explosions.sortById();
+        addMissiles(state.missiles, out.missiles, cellX, cellY, centerX, centerY);
+        out.missiles.sortById();
+        addWalls(state.walls, out.walls, cellX, cellY);
+    }
+
+    private void addCells(CellIndex index, WorldState.Table from, WorldState.Table to, int cellX, int cellY) {
+        int firstColumn = Math.max(0, cellX - radius);
+        int lastColumn = Math.min(columns - 1, cellX + radius);
+        int firstRow = Math.max(0, cellY - radius);
+        int lastRow = Math.min(rows - 1, cellY + radius);
+        for (int cy = firstRow; cy <= lastRow; cy++) {
+            for (int cx = firstColumn; cx <= lastColumn; cx++) {
+                for (int row = index.heads[cy * columns + cx]; row >= 0; row = index.next[row]) {
+                    to.addRow(from, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the missiles in the subscribed cells, and those further out that head toward the observer
+     */
+    private void addMissiles(WorldState.Table from, WorldState.Table to, int cellX, int cellY,
+                             int centerX, int centerY) {
+        int firstColumn = Math.max(0, cellX - missileRadius);
+        int lastColumn = Math.min(columns - 1, cellX + missileRadius);
+        int firstRow = Math.max(0, cellY - missileRadius);
+        int lastRow = Math.min(rows - 1, cellY + missileRadius);
+        for (int cy = firstRow; cy <= lastRow; cy++) {
+            boolean rowInside = Math.abs(cy - cellY) <= radius;
+            for (int cx = firstColumn; cx <= lastColumn; cx++) {
+                boolean inside = rowInside && Math.abs(cx - cellX) <= radius;
+                for (int row = missileCells.heads[cy * columns + cx]; row >= 0; row = missileCells.next[row]) {
+                    if (inside || headsToward(from, row, centerX, centerY)) {
+                        to.addRow(from, row);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean headsToward(WorldState.Table missiles, int row, int x, int y) {
+        int direction = missiles.get(WorldState.MISSILE_DIRECTION, row);
+        int dx = x - missiles.get(WorldState.MISSILE_X, row);
+        int dy = y - missiles.get(WorldState.MISSILE_Y, row);
+        return (long) STEP_X[direction] * dx + (long) STEP_Y[direction] * dy > 0;
+    }
+
+    private void addWalls(WorldState.Table from, WorldState.Table to, int cellX, int cellY) {
+        long left = originX + (long) (cellX - radius) * cellSize;
+        long top = originY + (long) (cellY - radius) * cellSize;
+        long right = originX + (long) (cellX + radius + 1) * cellSize;
+        long bottom = originY + (long) (cellY + radius + 1) * cellSize;
+        for (int row = 0; row < from.size(); row++) {
+            int x = from.get(WorldState.WALL_X, row);
+            int y = from.get(WorldState.WALL_Y, row);
+            if (x < right && x + from.get(WorldState.WALL_WIDTH, row) > left
+                    && y < bottom && y + from.get(WorldState.WALL_HEIGHT, row) > top) {
+                to.addRow(from, row);
+            }
+        }
+    }
+
+    /**
+     * Gets the column of a cell, which may lie outside the indexed grid
+     */
+    private int cellX(int x) {
+        return (int) Math.floorDiv((long) x - originX, cellSize);
+    }
+
+    private int cellY(int y) {
+        return (int) Math.floorDiv((long) y - originY, cellSize);
+    }
+
+    /**
+     * Rows of one table chained by cell; flat arrays reused between states
+     */
+    private final class CellIndex {
+        // Head row of each cell's chain, -1 when empty
+        int[] heads = new int[0];
+        // Next row in the chain of the same cell, -1 at the end
+        int[] next = new int[0];
+
+        void build(WorldState.Table table, int xColumn, int yColumn) {
+            int cells = columns * rows;
+            if (heads.length < cells) {
+                heads = new int[cells];
+            }
+            Arrays.fill(heads, 0, cells, -1);
+            if (next.length < table.size()) {
+                next = new int[Math.max(table.size(), next.length * 2)];
+            }
+            // Backwards, so each chain lists its rows in id order
+            for (int row = table.size() - 1; row >= 0; row--) {
+                int cell = cellY(table.get(yColumn, row)) * columns + cellX(table.get(xColumn, row));
+                next[row] = heads[cell];
+                heads[cell] = row;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package tankgame;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram Class - Fixed-memory histogram of durations in nanoseconds
+ * Log-linear buckets in the style of HdrHistogram: every power of two is split into
+ * 32 linear sub-buckets, so any recorded value is reported within about 3% while
+ * the whole range of a long fits in under 2000 counters. Recording never allocates
+ * and may happen on one thread while others read percentiles.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Block 0 holds 0..31 exactly; block k >= 1 holds the values whose highest bit is k + 4
+    private static final int BLOCKS = Long.SIZE - SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BLOCKS * SUB_BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records one value; negative values count as zero
+     */
+    void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(clamped));
+        totalCount.increment();
+        totalSum.add(clamped);
+        if (clamped > maxValue.get()) {
+            maxValue.accumulateAndGet(clamped, Math::max);
+        }
+    }
+
+    /**
+     * Gets the value below which the given percentage of recorded values fall
+     * @param percentile Percentage between 0 and 100
+     * @return Upper bound of the bucket holding that percentile, or 0 if nothing was recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long count = totalCount.sum();
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    long getMax() {
+        return maxValue.get();
+    }
+
+    double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0.0 : (double) totalSum.sum() / count;
+    }
+
+    /**
+     * Clears all recorded values
+     * Values recorded concurrently with a reset may be partly kept
+     */
+    void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalSum.reset();
+        maxValue.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueInBucket(int index) {
+        int block = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        if (block == 0) {
+            return subBucket;
+        }
+        int shift = block - 1;
+        long next = ((long) (SUB_BUCKETS + subBucket + 1)) << shift;
+        // The last bucket ends at Long.MAX_VALUE, where next overflows
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
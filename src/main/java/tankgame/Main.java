@@ -1,8 +1,154 @@
 package tankgame;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+
 public class Main {
+    private static final int DEFAULT_TICK_RATE = 30;
+
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--replay")) {
+            System.exit(replay(args) ? 0 : 1);
+        }
+        if (args.length >= 1 && args[0].equals("--server")) {
+            System.exit(serve(args) ? 0 : 1);
+        }
+        if (args.length >= 2 && args[0].equals("--connect")) {
+            if (!connect(args[1])) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--bots")) {
+            System.exit(bots(args) ? 0 : 1);
+        }
+        if (args.length >= 2 && args[0].equals("--lag-test")) {
+            lagTest(args);
+            return;
+        }
         TankClient tc = new TankClient();
         tc.launchGame();
     }
-}
\ No newline at end of file
+
+    /**
+     * Plays a recorded match headless: --replay file [--hash-every ticks]
+     * @return true if the match played out as recorded
+     */
+    private static boolean replay(String[] args) {
+        int hashEvery = 0;
+        if (args.length >= 4 && args[2].equals("--hash-every")) {
+            hashEvery = Integer.parseInt(args[3]);
+        }
+        try {
+            ReplayPlayer.Result result = ReplayPlayer.play(Paths.get(args[1]), hashEvery, System.out);
+            System.out.println(result);
+            return result.matchesRecording();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Runs an arena server until the process is stopped: --server [port] [--tick-rate N] [--interest radius]
+     * The match seed is read from the tankgame.seed system property if set
+     * @return false if the server could not start
+     */
+    private static boolean serve(String[] args) {
+        int port = ArenaServer.DEFAULT_PORT;
+        int index = 1;
+        if (args.length > index && !args[index].startsWith("--")) {
+            port = Integer.parseInt(args[index++]);
+        }
+        int tickRate = option(args, index, "--tick-rate", DEFAULT_TICK_RATE);
+        GameWorld world = TankClient.createWorld(System.getProperty("tankgame.seed"));
+        try (ArenaServer server = new ArenaServer(world, new InetSocketAddress(port), tickRate)) {
+            server.setInterestFilter(interestFilter(args, index));
+            server.start();
+            System.out.println("Arena listening on port " + server.getPort() + " at " + tickRate
+                    + " ticks/s, match seed " + world.getSeed());
+            while (true) {
+                Thread.sleep(10_000);
+                LatencyHistogram tickTimes = server.getTickTimes();
+                System.out.printf("%d players, tick p50 %.3f ms, p99 %.3f ms%n", server.getPlayerCount(),
+                        tickTimes.getValueAtPercentile(50) / 1e6, tickTimes.getValueAtPercentile(99) / 1e6);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Opens a window on an arena server: --connect host[:port]
+     * @return false if the server could not be reached
+     */
+    private static boolean connect(String target) {
+        String host = target;
+        int port = ArenaServer.DEFAULT_PORT;
+        int colon = target.lastIndexOf(':');
+        if (colon >= 0) {
+            host = target.substring(0, colon);
+            port = Integer.parseInt(target.substring(colon + 1));
+        }
+        try {
+            new TankClient(ArenaClient.connect(new InetSocketAddress(host, port))).launchGame();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Load-tests an arena server on loopback: --bots N [--ticks T] [--tick-rate R] [--interest radius]
+     */
+    private static boolean bots(String[] args) {
+        int players = Integer.parseInt(args[1]);
+        int ticks = option(args, 2, "--ticks", 300);
+        int tickRate = option(args, 2, "--tick-rate", DEFAULT_TICK_RATE);
+        try {
+            System.out.println(ArenaBots.run(players, ticks, tickRate, 3343L, interestFilter(args, 2)));
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Measures prediction corrections under simulated latency:
+     * --lag-test latencyMillis [--jitter ms] [--seconds N] [--tick-rate R]
+     */
+    private static void lagTest(String[] args) {
+        int latency = Integer.parseInt(args[1]);
+        int jitter = option(args, 2, "--jitter", 0);
+        int seconds = option(args, 2, "--seconds", 60);
+        int tickRate = option(args, 2, "--tick-rate", DEFAULT_TICK_RATE);
+        System.out.println(PredictionHarness.run(seconds, latency, jitter, tickRate, 3343L));
+    }
+
+    /**
+     * Creates the interest filter asked for with --interest radius, in cells, or null if not asked for
+     */
+    private static InterestFilter interestFilter(String[] args, int from) {
+        int radius = option(args, from, "--interest", -1);
+        return radius < 0 ? null : new InterestFilter(InterestFilter.DEFAULT_CELL_SIZE, radius,
+                InterestFilter.DEFAULT_MISSILE_MARGIN);
+    }
+
+    /**
+     * Gets the value following a flag, searching from the given index
+     */
+    private static int option(String[] args, int from, String flag, int defaultValue) {
+        for (int i = from; i + 1 < args.length; i++) {
+            if (args[i].equals(flag)) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return defaultValue;
+    }
+}
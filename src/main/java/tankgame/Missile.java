@@ -17,6 +17,8 @@ public class Missile {
 
 	// Missile position coordinates
 	private int positionX, positionY;
+	// Position at the start of the current tick, used for interpolated drawing
+	private int previousX, previousY;
 
 	// Missile movement direction
 	private Tank.Direction direction;
@@ -24,9 +26,11 @@ public class Missile {
 	// Missile properties
 	private boolean isFromPlayerTank;
 	private boolean isActive = true;
+	// Identifies the missile in world snapshots; 0 until the first snapshot assigns one
+	private int entityId = 0;
 
 	// Reference to game client
-	private TankClient gameClient;
+	private GameContext gameClient;
 
 	/**
 	 * Basic constructor for missile
@@ -37,6 +41,8 @@ public class Missile {
 	public Missile(int x, int y, Tank.Direction direction) {
 		this.positionX = x;
 		this.positionY = y;
+		this.previousX = x;
+		this.previousY = y;
 		this.direction = direction;
 	}
 
@@ -48,14 +54,37 @@ public class Missile {
 	 * @param direction Movement direction
 	 * @param client Game client reference
 	 */
-	public Missile(int x, int y, boolean isPlayerMissile, Tank.Direction direction, TankClient client) {
+	public Missile(int x, int y, boolean isPlayerMissile, Tank.Direction direction, GameContext client) {
 		this(x, y, direction);
 		this.isFromPlayerTank = isPlayerMissile;
 		this.gameClient = client;
 	}
 
+	/**
+	 * Reinitializes a pooled missile as if it had just been constructed
+	 * @param x Initial X coordinate
+	 * @param y Initial Y coordinate
+	 * @param isPlayerMissile Whether missile is from player tank
+	 * @param direction Movement direction
+	 * @param client Game client reference
+	 * @return This missile
+	 */
+	Missile reset(int x, int y, boolean isPlayerMissile, Tank.Direction direction, GameContext client) {
+		this.positionX = x;
+		this.positionY = y;
+		this.previousX = x;
+		this.previousY = y;
+		this.direction = direction;
+		this.isFromPlayerTank = isPlayerMissile;
+		this.gameClient = client;
+		this.isActive = true;
+		this.entityId = 0;
+		return this;
+	}
+
 	/**
 	 * Renders and updates missile state
+	 * Retained for callers that drive a missile without the game loop
 	 * @param graphics Graphics context for rendering
 	 */
 	public void render(Graphics graphics) {
@@ -64,24 +93,41 @@ public class Missile {
 			return;
 		}
 
+		draw(graphics, 1.0);
+
+		updatePosition();
+	}
+
+	/**
+	 * Draws the missile without changing its state
+	 * @param graphics Graphics context for rendering
+	 * @param alpha Interpolation factor between the previous (0.0) and current (1.0) tick position
+	 */
+	public void draw(Graphics graphics, double alpha) {
+		if(!isActive) return;
+
+		int drawX = Tank.interpolate(previousX, positionX, alpha);
+		int drawY = Tank.interpolate(previousY, positionY, alpha);
+
 		// Draw enhanced missile
 		Color originalColor = graphics.getColor();
 		graphics.setColor(Color.BLACK);
 		// Draw missile using filled circle
-		graphics.fillOval(positionX, positionY, MISSILE_WIDTH, MISSILE_HEIGHT);
+		graphics.fillOval(drawX, drawY, MISSILE_WIDTH, MISSILE_HEIGHT);
 		// Add missile glow effect
 		graphics.setColor(new Color(255, 200, 0, 150));
-		graphics.fillOval(positionX-1, positionY-1, MISSILE_WIDTH+2, MISSILE_HEIGHT+2);
+		graphics.fillOval(drawX-1, drawY-1, MISSILE_WIDTH+2, MISSILE_HEIGHT+2);
 
 		graphics.setColor(originalColor);
-
-		updatePosition();
 	}
 
 	/**
 	 * Updates missile position based on direction
 	 */
     void updatePosition() {
+		previousX = positionX;
+		previousY = positionY;
+
 		switch(direction) {
 			case L:
 				positionX -= MOVEMENT_SPEED_X;
@@ -146,6 +192,16 @@ public class Missile {
 		return new Rectangle(positionX, positionY, MISSILE_WIDTH, MISSILE_HEIGHT);
 	}
 
+	/**
+	 * Checks whether a rectangle overlaps the missile without allocating bounds
+	 * Same result as getCollisionBounds().intersects(...) for positive sizes
+	 * @return boolean indicating if the rectangle intersects the missile
+	 */
+	public boolean intersects(int x, int y, int width, int height) {
+		return x < positionX + MISSILE_WIDTH && x + width > positionX &&
+				y < positionY + MISSILE_HEIGHT && y + height > positionY;
+	}
+
 	/**
 	 * Handles collision with a single tank
 	 * @param tank Tank to check collision with
@@ -153,7 +209,7 @@ public class Missile {
 	 */
 	public boolean handleTankCollision(Tank tank) {
 		if(this.isActive &&
-				this.getCollisionBounds().intersects(tank.getCollisionBounds()) &&
+				tank.intersects(positionX, positionY, MISSILE_WIDTH, MISSILE_HEIGHT) &&
 				tank.isAlive() &&
 				this.isFromPlayerTank != tank.isPlayerControlled()) {
 
@@ -166,9 +222,8 @@ public class Missile {
 			} else {
 				// Destroy enemy tank immediately
 				tank.setAlive(false);
-				Explode explosion = new Explode(positionX, positionY, gameClient);
 				gameClient.setScore(gameClient.getScore() + 10);
-			    gameClient.getExplosions().add(explosion);
+				gameClient.spawnExplosion(positionX, positionY);
 			}
 
 			// Deactivate missile and create explosion
@@ -199,7 +254,7 @@ public class Missile {
 	 * @return boolean indicating if collision occurred
 	 */
 	public boolean handleWallCollision(Wall wall) {
-		if(this.isActive && this.getCollisionBounds().intersects(wall.getCollisionBounds())) {
+		if(this.isActive && wall.intersects(positionX, positionY, MISSILE_WIDTH, MISSILE_HEIGHT)) {
 			// Deactivate missile but don't create explosion
 			this.isActive = false;
 			wall.handleMissileCollision(this);
@@ -208,6 +263,27 @@ public class Missile {
 		return false;
 	}
 
+	/**
+	 * Takes over state simulated elsewhere, keeping the old position for interpolated drawing
+	 */
+	void applyState(int x, int y, Tank.Direction direction, boolean isPlayerMissile) {
+		this.previousX = positionX;
+		this.previousY = positionY;
+		this.positionX = x;
+		this.positionY = y;
+		this.direction = direction;
+		this.isFromPlayerTank = isPlayerMissile;
+		this.isActive = true;
+	}
+
+	int getEntityId() {
+		return entityId;
+	}
+
+	void setEntityId(int entityId) {
+		this.entityId = entityId;
+	}
+
 	public int getPositionX() {
 		return positionX;
 	}
@@ -220,7 +296,7 @@ public class Missile {
 		return direction;
 	}
 
-	public TankClient getGameClient() {
+	public GameContext getGameClient() {
 		return gameClient;
 	}
 
@@ -0,0 +1,171 @@
+package tankgame;
+import java.util.Arrays;
+
+/**
+ * MissileStore Class - Missiles kept as parallel primitive arrays
+ * Positions, directions and owners live in flat arrays indexed by slot, so a tick
+ * advances and bounds-checks every missile in one sequential loop. Slots are packed:
+ * removing a missile moves the last one into its slot, so indices are only stable
+ * until the next removal or advance.
+ */
+class MissileStore {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final Tank.Direction[] DIRECTIONS = Tank.Direction.values();
+    // Unit step per Tank.Direction ordinal: L, LU, U, RU, R, RD, D, LD, STOP
+    private static final int[] STEP_X = {-1, -1, 0, 1, 1, 1, 0, -1, 0};
+    private static final int[] STEP_Y = {0, -1, -1, -1, 0, 1, 1, 1, 0};
+
+    private int[] x;
+    private int[] y;
+    private byte[] dir;
+    private boolean[] player;
+    private int count = 0;
+
+    /**
+     * Constructor for an empty store
+     */
+    MissileStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for an empty store
+     * @param initialCapacity Number of missiles held before the arrays grow
+     */
+    MissileStore(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        x = new int[initialCapacity];
+        y = new int[initialCapacity];
+        dir = new byte[initialCapacity];
+        player = new boolean[initialCapacity];
+    }
+
+    /**
+     * Adds a missile
+     * @param posX Initial X coordinate
+     * @param posY Initial Y coordinate
+     * @param direction Movement direction
+     * @param fromPlayer Whether the missile is from the player tank
+     * @return Slot of the new missile
+     */
+    int add(int posX, int posY, Tank.Direction direction, boolean fromPlayer) {
+        if (count == x.length) {
+            grow();
+        }
+        x[count] = posX;
+        y[count] = posY;
+        dir[count] = (byte) direction.ordinal();
+        player[count] = fromPlayer;
+        return count++;
+    }
+
+    /**
+     * Copies a missile object into the store
+     * @return Slot of the new missile
+     */
+    int add(Missile missile) {
+        return add(missile.getPositionX(), missile.getPositionY(),
+                missile.getDirection(), missile.isFromPlayerTank());
+    }
+
+    /**
+     * Moves every missile one tick and drops those that left the game area
+     * Same movement and boundary rule as Missile.updatePosition()
+     * @return Number of missiles removed
+     */
+    int advance() {
+        int speedX = Missile.MOVEMENT_SPEED_X;
+        int speedY = Missile.MOVEMENT_SPEED_Y;
+        int removed = 0;
+        int i = 0;
+        while (i < count) {
+            int d = dir[i];
+            int newX = x[i] + STEP_X[d] * speedX;
+            int newY = y[i] + STEP_Y[d] * speedY;
+            if (newX < 0 || newY < 0 || newX > TankClient.GAME_WIDTH || newY > TankClient.GAME_HEIGHT) {
+                // The last missile takes this slot and is advanced on the next pass of the loop
+                remove(i);
+                removed++;
+            } else {
+                x[i] = newX;
+                y[i] = newY;
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the missile in a slot by moving the last missile into it
+     */
+    void remove(int index) {
+        checkIndex(index);
+        int last = --count;
+        x[index] = x[last];
+        y[index] = y[last];
+        dir[index] = dir[last];
+        player[index] = player[last];
+    }
+
+    /**
+     * Removes all missiles, keeping the allocated arrays
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Gets the number of live missiles
+     */
+    int size() {
+        return count;
+    }
+
+    int getX(int index) {
+        checkIndex(index);
+        return x[index];
+    }
+
+    int getY(int index) {
+        checkIndex(index);
+        return y[index];
+    }
+
+    Tank.Direction getDirection(int index) {
+        checkIndex(index);
+        return DIRECTIONS[dir[index]];
+    }
+
+    boolean isFromPlayerTank(int index) {
+        checkIndex(index);
+        return player[index];
+    }
+
+    /**
+     * Fills a Missile object with the state of a slot, for callers that work with missiles
+     * @param index Slot to read
+     * @param target Missile to overwrite, e.g. one taken from a pool
+     * @param client Game client reference given to the missile
+     * @return The target missile
+     */
+    Missile copyTo(int index, Missile target, GameContext client) {
+        checkIndex(index);
+        return target.reset(x[index], y[index], player[index], DIRECTIONS[dir[index]], client);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dir = Arrays.copyOf(dir, capacity);
+        player = Arrays.copyOf(player, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Missile slot " + index + " out of bounds for size " + count);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package tankgame;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * ObjectPool Class - Bounded free list of reusable game objects
+ * Objects are handed out by acquire() and returned by release(); once the pool
+ * holds its capacity, further released objects are left to the garbage collector
+ * @param <T> Type of pooled object
+ */
+class ObjectPool<T> {
+    private final Supplier<T> factory;
+    private final Object[] free;
+    private int freeCount = 0;
+
+    /**
+     * Constructor for object pool
+     * @param capacity Maximum number of idle objects kept for reuse
+     * @param factory Creates a new object when the pool is empty
+     */
+    ObjectPool(int capacity, Supplier<T> factory) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Pool capacity must not be negative: " + capacity);
+        }
+        this.factory = factory;
+        this.free = new Object[capacity];
+    }
+
+    /**
+     * Takes an idle object from the pool, or creates one if none is left
+     * The caller is responsible for resetting its state
+     */
+    @SuppressWarnings("unchecked")
+    T acquire() {
+        if (freeCount == 0) {
+            return factory.get();
+        }
+        T object = (T) free[--freeCount];
+        free[freeCount] = null;
+        return object;
+    }
+
+    /**
+     * Returns an object to the pool
+     * @return true if the object was kept, false if the pool was full
+     */
+    boolean release(T object) {
+        if (freeCount == free.length) {
+            return false;
+        }
+        free[freeCount++] = object;
+        return true;
+    }
+
+    /**
+     * Removes every dead object from a live list and releases it to the pool
+     * Each removal swaps the last element into the freed slot, so the pass is
+     * O(n) with no shifting; the order of the remaining objects is not kept
+     * @param live List of objects in use
+     * @param isDead Selects the objects to remove
+     * @return Number of objects removed
+     */
+    int compact(List<T> live, Predicate<? super T> isDead) {
+        int removed = 0;
+        int i = 0;
+        while (i < live.size()) {
+            T object = live.get(i);
+            if (isDead.test(object)) {
+                int last = live.size() - 1;
+                live.set(i, live.get(last));
+                live.remove(last);
+                release(object);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Releases every object of a live list and empties it
+     */
+    void releaseAll(List<T> live) {
+        for (int i = 0; i < live.size(); i++) {
+            release(live.get(i));
+        }
+        live.clear();
+    }
+
+    /**
+     * Gets the number of idle objects ready for reuse
+     */
+    int available() {
+        return freeCount;
+    }
+
+    /**
+     * Gets the maximum number of idle objects kept
+     */
+    int capacity() {
+        return free.length;
+    }
+}
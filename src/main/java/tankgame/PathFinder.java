@@ -0,0 +1,361 @@
+package tankgame;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PathFinder Class - A* paths for tanks over a navigation grid
+ * A cell is walkable when a tank with its top-left corner at the cell origin fits
+ * without touching a wall, so paths keep the whole hull clear. The search works on
+ * primitive arrays with a binary heap, and paths are cached per (start cell, goal cell)
+ * until the walls change. Searches are serialised on the finder, so concurrent callers
+ * are safe once the grid has been built with {@link #prepare()}.
+ */
+class PathFinder {
+    // Edge length of a navigation cell in pixels, half a tank wide
+    static final int DEFAULT_CELL_SIZE = 20;
+    // Paths kept before the least recently used ones are dropped
+    private static final int MAX_CACHED_PATHS = 512;
+    // How many cells around a blocked goal are searched for a walkable one
+    private static final int GOAL_SNAP_RADIUS = 3;
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+    private static final int[] EMPTY_PATH = new int[0];
+
+    private final WallManager wallManager;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+
+    // Walkability per cell, rebuilt from the walls on the first search after a change
+    private boolean[] walkable = null;
+    // Bumped on every invalidation so structures derived from the grid know to rebuild
+    private long gridVersion = 0;
+
+    // Search state reused between searches; a cell belongs to the current search only if its stamp matches
+    private final int[] gScore;
+    private final int[] cameFrom;
+    private final int[] stamp;
+    private final boolean[] closed;
+    private int searchId = 0;
+    private final BinaryHeap open;
+
+    private final Map<Long, int[]> cache = new LinkedHashMap<Long, int[]>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+    private long searches = 0;
+
+    /**
+     * Constructor for a path finder covering the game area
+     * @param wallManager Walls to route around
+     */
+    PathFinder(WallManager wallManager) {
+        this(wallManager, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for path finder
+     * @param wallManager Walls to route around
+     * @param width Width of the covered area in pixels
+     * @param height Height of the covered area in pixels
+     * @param cellSize Edge length of a navigation cell in pixels
+     */
+    PathFinder(WallManager wallManager, int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.wallManager = wallManager;
+        this.cellSize = cellSize;
+        this.columns = width / cellSize;
+        this.rows = height / cellSize;
+        int cells = columns * rows;
+        this.gScore = new int[cells];
+        this.cameFrom = new int[cells];
+        this.stamp = new int[cells];
+        this.closed = new boolean[cells];
+        this.open = new BinaryHeap(cells);
+    }
+
+    /**
+     * Drops the navigation grid and every cached path
+     * Called whenever a wall is added, destroyed or expires
+     */
+    void invalidate() {
+        walkable = null;
+        cache.clear();
+        gridVersion++;
+    }
+
+    /**
+     * Finds a path for a tank between two top-left positions
+     * A blocked goal is moved to the nearest walkable cell close by
+     * @return Cell indices from the cell after the start up to the goal; empty if the
+     *         tank is already there or the goal cannot be reached. Shared, do not modify.
+     */
+    synchronized int[] findPath(int startX, int startY, int goalX, int goalY) {
+        prepare();
+        int start = cellAt(startX, startY);
+        int goal = snapToWalkable(cellAt(goalX, goalY));
+        if (goal < 0 || goal == start) {
+            return EMPTY_PATH;
+        }
+        Long key = ((long) start << 32) | goal;
+        int[] path = cache.get(key);
+        if (path == null) {
+            path = search(start, goal);
+            cache.put(key, path);
+        }
+        return path;
+    }
+
+    /**
+     * Builds the navigation grid now if the walls changed since it was last built
+     * Afterwards isWalkable only reads, until the next invalidation
+     */
+    void prepare() {
+        if (walkable == null) {
+            buildGrid();
+        }
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCellSize() {
+        return cellSize;
+    }
+
+    long getGridVersion() {
+        return gridVersion;
+    }
+
+    /**
+     * Gets the top-left pixel X coordinate of a cell
+     */
+    int cellX(int cell) {
+        return (cell % columns) * cellSize;
+    }
+
+    /**
+     * Gets the top-left pixel Y coordinate of a cell
+     */
+    int cellY(int cell) {
+        return (cell / columns) * cellSize;
+    }
+
+    boolean isWalkable(int cell) {
+        prepare();
+        return walkable[cell];
+    }
+
+    /**
+     * Gets how many A* searches have run, i.e. cache misses
+     */
+    long getSearchCount() {
+        return searches;
+    }
+
+    int cellAt(int x, int y) {
+        int c = Math.min(Math.max(x / cellSize, 0), columns - 1);
+        int r = Math.min(Math.max(y / cellSize, 0), rows - 1);
+        return r * columns + c;
+    }
+
+    private void buildGrid() {
+        boolean[] grid = new boolean[columns * rows];
+        int maxX = columns * cellSize - Tank.TANK_WIDTH;
+        int maxY = rows * cellSize - Tank.TANK_HEIGHT;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int x = c * cellSize;
+                int y = r * cellSize;
+                grid[r * columns + c] = x <= maxX && y <= maxY
+                        && !wallManager.intersectsAnyWall(x, y, Tank.TANK_WIDTH, Tank.TANK_HEIGHT);
+            }
+        }
+        walkable = grid;
+    }
+
+    /**
+     * Finds the walkable cell nearest to a cell, searching a few cells around it
+     * @return Walkable cell, or -1 if none is close enough
+     */
+    private int snapToWalkable(int cell) {
+        if (walkable[cell]) return cell;
+        int column = cell % columns;
+        int row = cell / columns;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int r = Math.max(0, row - GOAL_SNAP_RADIUS); r <= Math.min(rows - 1, row + GOAL_SNAP_RADIUS); r++) {
+            for (int c = Math.max(0, column - GOAL_SNAP_RADIUS); c <= Math.min(columns - 1, column + GOAL_SNAP_RADIUS); c++) {
+                int candidate = r * columns + c;
+                int distance = (r - row) * (r - row) + (c - column) * (c - column);
+                if (walkable[candidate] && distance < bestDistance) {
+                    bestDistance = distance;
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs A* with 8-way moves; diagonal moves may not cut a blocked corner
+     * The start cell is expanded even if blocked, so a tank pressed against a wall can leave it
+     */
+    private int[] search(int start, int goal) {
+        searches++;
+        searchId++;
+        open.clear();
+        visit(start, 0, -1);
+        open.push(start, heuristic(start, goal));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (closed[current]) continue;
+            closed[current] = true;
+            if (current == goal) {
+                return reconstruct(start, goal);
+            }
+            int column = current % columns;
+            int row = current / columns;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx == 0 && dy == 0) continue;
+                    int c = column + dx;
+                    int r = row + dy;
+                    if (c < 0 || r < 0 || c >= columns || r >= rows) continue;
+                    int neighbour = r * columns + c;
+                    if (!walkable[neighbour]) continue;
+                    boolean diagonal = dx != 0 && dy != 0;
+                    if (diagonal && (!walkable[row * columns + c] || !walkable[r * columns + column])) continue;
+
+                    int tentative = gScore[current] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+                    if (stamp[neighbour] != searchId) {
+                        visit(neighbour, tentative, current);
+                    } else if (!closed[neighbour] && tentative < gScore[neighbour]) {
+                        gScore[neighbour] = tentative;
+                        cameFrom[neighbour] = current;
+                    } else {
+                        continue;
+                    }
+                    // Stale heap entries of the same cell are skipped once it is closed
+                    open.push(neighbour, tentative + heuristic(neighbour, goal));
+                }
+            }
+        }
+        return EMPTY_PATH;
+    }
+
+    private void visit(int cell, int g, int parent) {
+        stamp[cell] = searchId;
+        closed[cell] = false;
+        gScore[cell] = g;
+        cameFrom[cell] = parent;
+    }
+
+    private int[] reconstruct(int start, int goal) {
+        int length = 0;
+        for (int cell = goal; cell != start; cell = cameFrom[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = goal, i = length - 1; cell != start; cell = cameFrom[cell], i--) {
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    /**
+     * Octile distance, consistent with the straight and diagonal step costs
+     */
+    private int heuristic(int cell, int goal) {
+        int dx = Math.abs(cell % columns - goal % columns);
+        int dy = Math.abs(cell / columns - goal / columns);
+        return STRAIGHT_COST * Math.max(dx, dy) + (DIAGONAL_COST - STRAIGHT_COST) * Math.min(dx, dy);
+    }
+
+    /**
+     * Min-heap of cells keyed by priority, stored in parallel int arrays
+     * A cell may be pushed several times; callers skip entries for closed cells
+     */
+    static final class BinaryHeap {
+        private int[] cells;
+        private int[] priorities;
+        private int size = 0;
+
+        BinaryHeap(int initialCapacity) {
+            cells = new int[Math.max(1, initialCapacity)];
+            priorities = new int[cells.length];
+        }
+
+        void push(int cell, int priority) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (priorities[parent] <= priority) break;
+                cells[i] = cells[parent];
+                priorities[i] = priorities[parent];
+                i = parent;
+            }
+            cells[i] = cell;
+            priorities[i] = priority;
+        }
+
+        /**
+         * Gets the lowest priority without removing its cell
+         */
+        int peekPriority() {
+            return priorities[0];
+        }
+
+        /**
+         * Removes and returns the cell with the lowest priority
+         */
+        int pop() {
+            int top = cells[0];
+            size--;
+            if (size > 0) {
+                int cell = cells[size];
+                int priority = priorities[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && priorities[child + 1] < priorities[child]) child++;
+                    if (priorities[child] >= priority) break;
+                    cells[i] = cells[child];
+                    priorities[i] = priorities[child];
+                    i = child;
+                }
+                cells[i] = cell;
+                priorities[i] = priority;
+            }
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
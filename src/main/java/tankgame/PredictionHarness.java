@@ -0,0 +1,205 @@
+package tankgame;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * PredictionHarness Class - Measures client-side prediction under injected latency
+ * Runs a stand-in for the arena server and one predicting client in one thread on a
+ * simulated millisecond clock. Commands and snapshots travel through delay lines with
+ * a fixed one-way latency plus random jitter, arriving in order as they would over TCP.
+ * The server side does what {@link ArenaServer} does each tick: applies queued input
+ * commands, steps the world and sends the state with the last applied command. The
+ * client plays a restless bot and reconciles every state it receives, and the report
+ * says how often and how far reconciliation had to move the tank.
+ */
+final class PredictionHarness {
+    private static final int COMMAND_QUEUE_CAPACITY = 64;
+    // Chance per client tick that the bot changes course or fires
+    private static final double TURN_CHANCE = 0.1;
+    private static final double FIRE_CHANCE = 0.05;
+
+    /**
+     * Outcome of one run
+     */
+    static final class Report {
+        final int latencyMillis;
+        final int jitterMillis;
+        final long commands;
+        final long reconciliations;
+        final long corrections;
+        final double meanError;
+        final double p99Error;
+        final double maxError;
+        final long droppedCommands;
+
+        Report(int latencyMillis, int jitterMillis, long commands, long reconciliations, long corrections,
+               double meanError, double p99Error, double maxError, long droppedCommands) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.commands = commands;
+            this.reconciliations = reconciliations;
+            this.corrections = corrections;
+            this.meanError = meanError;
+            this.p99Error = p99Error;
+            this.maxError = maxError;
+            this.droppedCommands = droppedCommands;
+        }
+
+        /**
+         * Gets the share of received states that moved the predicted tank
+         */
+        double correctionRate() {
+            return reconciliations == 0 ? 0 : (double) corrections / reconciliations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("latency %d ms, jitter %d ms: %d commands, %d states, %.1f%% corrected, "
+                            + "error mean %.1f px, p99 %.1f px, max %.1f px, %d commands dropped",
+                    latencyMillis, jitterMillis, commands, reconciliations, 100 * correctionRate(),
+                    meanError, p99Error, maxError, droppedCommands);
+        }
+    }
+
+    /**
+     * A message in flight
+     */
+    private static final class Delivery<T> {
+        final long arrival;
+        final T payload;
+        final int sequence;
+
+        Delivery(long arrival, T payload, int sequence) {
+            this.arrival = arrival;
+            this.payload = payload;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * One direction of the simulated connection: in order, latency plus random jitter
+     */
+    private static final class DelayLine<T> {
+        private final ArrayDeque<Delivery<T>> inFlight = new ArrayDeque<>();
+        private final int latencyMillis;
+        private final int jitterMillis;
+        private final SplittableRandom random;
+        private long lastArrival = 0;
+
+        DelayLine(int latencyMillis, int jitterMillis, SplittableRandom random) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.random = random;
+        }
+
+        void send(long now, T payload, int sequence) {
+            long arrival = now + latencyMillis + (jitterMillis > 0 ? random.nextInt(jitterMillis + 1) : 0);
+            // A later message never overtakes an earlier one
+            lastArrival = Math.max(lastArrival, arrival);
+            inFlight.add(new Delivery<>(lastArrival, payload, sequence));
+        }
+
+        Delivery<T> receive(long now) {
+            Delivery<T> next = inFlight.peek();
+            return next != null && next.arrival <= now ? inFlight.poll() : null;
+        }
+    }
+
+    private PredictionHarness() {
+    }
+
+    /**
+     * Plays a match through a simulated connection
+     * @param seconds Simulated match length
+     * @param latencyMillis One-way latency
+     * @param jitterMillis Largest random delay added to the latency of each message
+     * @param serverTickRate Server ticks per second; the client ticks at {@link TankClient#TICKS_PER_SECOND}
+     * @param seed Seed for the world, the bot's input and the jitter
+     */
+    static Report run(int seconds, int latencyMillis, int jitterMillis, int serverTickRate, long seed) {
+        if (latencyMillis < 0 || jitterMillis < 0 || serverTickRate <= 0) {
+            throw new IllegalArgumentException("Latency and jitter must not be negative, tick rate must be positive");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        DelayLine<Integer> upstream = new DelayLine<>(latencyMillis, jitterMillis, random.split());
+        DelayLine<WorldState> downstream = new DelayLine<>(latencyMillis, jitterMillis, random.split());
+        SplittableRandom bot = random.split();
+
+        // Server side
+        GameWorld server = new GameWorld(seed);
+        Tank serverTank = server.getPlayerTank();
+        serverTank.setCommandDriven(true);
+        CommandQueue commands = new CommandQueue(COMMAND_QUEUE_CAPACITY);
+        int commandsPerTick = CommandQueue.commandsPerTick(serverTickRate);
+        WorldState captured = new WorldState();
+
+        // Client side
+        WorldMirror mirror = new WorldMirror(new GameWorld(0));
+        TankPredictor predictor = new TankPredictor(mirror.getWorld());
+        boolean hasState = false;
+        int heldKeys = 0;
+        long sent = 0;
+        double[] errors = new double[64];
+        int errorCount = 0;
+
+        long end = seconds * 1000L;
+        long nextServerTick = 0;
+        long nextClientTick = 0;
+        int serverTicks = 0;
+        int clientTicks = 0;
+        for (long now = 0; now < end; now++) {
+            Delivery<Integer> command;
+            while ((command = upstream.receive(now)) != null) {
+                commands.offer(command.sequence, command.payload);
+            }
+            if (now >= nextServerTick) {
+                commands.apply(server, serverTank, commandsPerTick);
+                server.step();
+                ArenaServer.keepArenaRunning(server);
+                captured.capture(server);
+                WorldState sentState = new WorldState();
+                sentState.copyFrom(captured);
+                downstream.send(now, sentState, commands.getLastApplied());
+                serverTicks++;
+                nextServerTick = serverTicks * 1000L / serverTickRate;
+            }
+
+            if (now >= nextClientTick) {
+                Delivery<WorldState> latest = null;
+                Delivery<WorldState> state;
+                while ((state = downstream.receive(now)) != null) {
+                    latest = state;
+                }
+                if (latest != null) {
+                    mirror.apply(latest.payload, serverTank.getEntityId());
+                    double error = predictor.reconcile(mirror.getWorld().getPlayerTank(), latest.sequence);
+                    if (hasState) {
+                        if (errorCount == errors.length) {
+                            errors = Arrays.copyOf(errors, errorCount * 2);
+                        }
+                        errors[errorCount++] = error;
+                    }
+                    hasState = true;
+                }
+                if (hasState) {
+                    if (bot.nextDouble() < TURN_CHANCE) {
+                        heldKeys = bot.nextInt(GameWorld.INPUT_MOVEMENT + 1);
+                    }
+                    int keys = heldKeys | (bot.nextDouble() < FIRE_CHANCE ? GameWorld.INPUT_FIRE : 0);
+                    int sequence = predictor.predict(mirror.getWorld().getPlayerTank(), keys);
+                    upstream.send(now, keys, sequence);
+                    sent++;
+                }
+                clientTicks++;
+                nextClientTick = clientTicks * 1000L / TankClient.TICKS_PER_SECOND;
+            }
+        }
+
+        Arrays.sort(errors, 0, errorCount);
+        double p99 = errorCount == 0 ? 0 : errors[Math.min(errorCount - 1, (int) Math.ceil(errorCount * 0.99) - 1)];
+        return new Report(latencyMillis, jitterMillis, sent, predictor.getReconciliations(),
+                predictor.getCorrections(), predictor.getMeanError(), p99, predictor.getMaxError(),
+                commands.getDropped());
+    }
+}
@@ -0,0 +1,148 @@
+package tankgame;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ReplayPlayer Class - Re-simulates a recorded match headless at full speed
+ * Rebuilds the world from the recorded seed and feeds it the recorded input on the
+ * recorded ticks, without a window or frame pacing, so recorded matches can be profiled
+ * offline. Optional per-tick state hashes let two builds be diffed tick by tick.
+ */
+final class ReplayPlayer {
+    /**
+     * Outcome of one playback
+     */
+    static final class Result {
+        final long seed;
+        final long ticks;
+        final long records;
+        final long elapsedNanos;
+        final boolean layoutMatches;
+        final long recordedHash;
+        final long finalHash;
+
+        Result(long seed, long ticks, long records, long elapsedNanos,
+               boolean layoutMatches, long recordedHash, long finalHash) {
+            this.seed = seed;
+            this.ticks = ticks;
+            this.records = records;
+            this.elapsedNanos = elapsedNanos;
+            this.layoutMatches = layoutMatches;
+            this.recordedHash = recordedHash;
+            this.finalHash = finalHash;
+        }
+
+        /**
+         * Checks whether this build played the match out exactly as it was recorded
+         */
+        boolean matchesRecording() {
+            return layoutMatches && recordedHash == finalHash;
+        }
+
+        @Override
+        public String toString() {
+            double millis = elapsedNanos / 1_000_000.0;
+            return String.format("seed %d: %d ticks, %d inputs in %.1f ms (%.0f ticks/s), %s",
+                    seed, ticks, records, millis, ticks / Math.max(millis / 1000.0, 1e-9),
+                    matchesRecording() ? "matches recording"
+                            : layoutMatches ? "DIVERGED from recording" : "DIFFERENT wall layout");
+        }
+    }
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * Plays a replay file
+     * @param file Replay written by ReplayWriter
+     * @param hashEvery Print the state hash every this many ticks; 0 for none
+     * @param hashes Stream receiving "tick hash" lines, may be null if hashEvery is 0
+     * @return Playback outcome
+     * @throws IOException if the file cannot be read or is not a valid replay
+     */
+    static Result play(Path file, int hashEvery, PrintStream hashes) throws IOException {
+        ByteBuffer in = read(file);
+        try {
+            if (in.getInt() != ReplayWriter.MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            byte version = in.get();
+            if (version != ReplayWriter.VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+            long seed = in.getLong();
+            byte[] layout = new byte[(int) Varint.get(in)];
+            in.get(layout);
+
+            long start = System.nanoTime();
+            GameWorld world = new GameWorld(seed);
+            boolean layoutMatches = Arrays.equals(layout, ReplayWriter.encodeLayout(world.getWalls()));
+            long ticks = 0;
+            long records = 0;
+            long tick = 0;
+            while (true) {
+                byte type = in.get();
+                tick += Varint.get(in);
+                ticks += advance(world, tick, ticks, hashEvery, hashes);
+                switch (type) {
+                    case ReplayWriter.KEY_PRESSED:
+                        world.keyPressed((int) Varint.get(in));
+                        break;
+                    case ReplayWriter.KEY_RELEASED:
+                        world.keyReleased((int) Varint.get(in));
+                        break;
+                    case ReplayWriter.RESET:
+                        world.reset();
+                        tick = 0;
+                        break;
+                    case ReplayWriter.END:
+                        long recordedHash = in.getLong();
+                        return new Result(seed, ticks, records, System.nanoTime() - start,
+                                layoutMatches, recordedHash, world.stateHash());
+                    default:
+                        throw new IOException("Corrupt replay: unknown record type " + type);
+                }
+                records++;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay: " + file, e);
+        }
+    }
+
+    /**
+     * Steps the world up to a tick; stops early if the game ends first
+     * @return Number of ticks stepped
+     */
+    private static long advance(GameWorld world, long tick, long played, int hashEvery, PrintStream hashes) {
+        long stepped = 0;
+        while (world.getTickCount() < tick && world.getGameState() != TankClient.GameState.GAME_OVER) {
+            world.step();
+            stepped++;
+            if (hashEvery > 0 && (played + stepped) % hashEvery == 0) {
+                hashes.printf("%d %016x%n", played + stepped, world.stateHash());
+            }
+        }
+        return stepped;
+    }
+
+    private static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay too large: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
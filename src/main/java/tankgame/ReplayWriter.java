@@ -0,0 +1,198 @@
+package tankgame;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ReplayWriter Class - Records a match to a compact binary replay file
+ * A match is fully determined by its seed and the player's input, so a replay holds
+ * only the seed, the initial wall layout (to detect builds that generate a different
+ * one), and every key press, key release and restart with the tick it happened on.
+ * Records are buffered and written through a FileChannel when the buffer fills.
+ *
+ * Layout: magic, version, seed, layout length and bytes, then records of a type byte,
+ * the tick as a varint delta from the previous record (from 0 after a restart) and a
+ * varint key code for key records. The END record carries the final state hash.
+ */
+final class ReplayWriter implements Closeable {
+    static final int MAGIC = 0x54575250;  // "TWRP"
+    static final byte VERSION = 1;
+
+    // Record types
+    static final byte END = 0;
+    static final byte KEY_PRESSED = 1;
+    static final byte KEY_RELEASED = 2;
+    static final byte RESET = 3;
+
+    // Wall types in the layout
+    static final byte WALL_PERMANENT = 0;
+    static final byte WALL_BREAKABLE = 1;
+    static final byte WALL_TEMPORARY = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Largest record: type byte, two 10-byte varints; END adds an 8-byte hash
+    private static final int MAX_RECORD_SIZE = 32;
+
+    private final GameWorld world;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long lastTick = 0;
+    private long records = 0;
+    private boolean closed = false;
+
+    private ReplayWriter(GameWorld world, FileChannel channel) {
+        this.world = world;
+        this.channel = channel;
+    }
+
+    /**
+     * Starts recording a freshly created world
+     * The writer attaches itself to the world, which passes it every input from then on
+     * @param world World that has not been stepped yet
+     * @param file Replay file, replaced if it exists
+     * @return Writer to close when the match ends
+     * @throws IllegalStateException if the world has already been stepped
+     */
+    static ReplayWriter start(GameWorld world, Path file) throws IOException {
+        if (world.getTickCount() != 0) {
+            throw new IllegalStateException("Replays must start with a fresh world");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ReplayWriter writer = new ReplayWriter(world, channel);
+        try {
+            writer.writeHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        world.setReplayWriter(writer);
+        return writer;
+    }
+
+    void recordKeyPressed(long tick, int keyCode) {
+        record(KEY_PRESSED, tick, keyCode);
+    }
+
+    void recordKeyReleased(long tick, int keyCode) {
+        record(KEY_RELEASED, tick, keyCode);
+    }
+
+    /**
+     * Records a restart; ticks of later records count from the new match's start
+     */
+    void recordReset(long tick) {
+        record(RESET, tick, 0);
+        lastTick = 0;
+    }
+
+    /**
+     * Gets the number of input and restart records written so far
+     */
+    long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Writes the END record with the world's current tick and state hash and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        world.setReplayWriter(null);
+        try {
+            ensureSpace(MAX_RECORD_SIZE);
+            buffer.put(END);
+            Varint.put(buffer, world.getTickCount() - lastTick);
+            buffer.putLong(world.stateHash());
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encodes the walls of a layout in order: type, position, size and health or expiry
+     */
+    static byte[] encodeLayout(Wall[] walls) {
+        ByteBuffer out = ByteBuffer.allocate(walls.length * (1 + 5 * 5 + 10));
+        for (Wall wall : walls) {
+            if (wall instanceof BreakableWall) {
+                out.put(WALL_BREAKABLE);
+            } else if (wall instanceof TemporaryWall) {
+                out.put(WALL_TEMPORARY);
+            } else {
+                out.put(WALL_PERMANENT);
+            }
+            Varint.put(out, Varint.zigZag(wall.getPositionX()));
+            Varint.put(out, Varint.zigZag(wall.getPositionY()));
+            Varint.put(out, Varint.zigZag(wall.getWidth()));
+            Varint.put(out, Varint.zigZag(wall.getHeight()));
+            if (wall instanceof BreakableWall) {
+                Varint.put(out, Varint.zigZag(((BreakableWall) wall).getHealth()));
+            } else if (wall instanceof TemporaryWall) {
+                Varint.put(out, Varint.zigZag(((TemporaryWall) wall).getExpirationTime()));
+            }
+        }
+        byte[] bytes = new byte[out.position()];
+        out.flip();
+        out.get(bytes);
+        return bytes;
+    }
+
+    private void writeHeader() throws IOException {
+        byte[] layout = encodeLayout(world.getWalls());
+        ByteBuffer header = ByteBuffer.allocate(4 + 1 + 8 + 5 + layout.length);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.putLong(world.getSeed());
+        Varint.put(header, layout.length);
+        header.put(layout);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    private void record(byte type, long tick, int keyCode) {
+        if (closed) return;
+        try {
+            ensureSpace(MAX_RECORD_SIZE);
+            buffer.put(type);
+            Varint.put(buffer, tick - lastTick);
+            if (type != RESET) {
+                Varint.put(buffer, keyCode);
+            }
+            lastTick = tick;
+            records++;
+        } catch (IOException e) {
+            // A broken recording must not take the game down with it
+            e.printStackTrace();
+            closed = true;
+            world.setReplayWriter(null);
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
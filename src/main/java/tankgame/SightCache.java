@@ -0,0 +1,227 @@
+package tankgame;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SightCache Class - Cached line-of-sight answers between coarse map cells
+ * Walls are rasterised into a fine occupancy grid, and sight between two points is
+ * answered for the pair of coarse cells holding them by marching a ray (DDA) from
+ * cell centre to cell centre through the occupancy grid. Answers are kept in a
+ * direct-mapped cache stamped with the wall generation, so a wall change drops every
+ * entry in O(1) and tanks moving between cells simply look up a different pair.
+ * The answer is approximate: it holds for the cell centres, not the exact points.
+ * Lookups may run on several threads at once as long as no wall changes meanwhile;
+ * each cache slot is one packed long, so a racing reader sees a whole entry or another.
+ */
+class SightCache {
+    // Edge length of the cells answers are cached for
+    static final int DEFAULT_CELL_SIZE = 16;
+    // Edge length of the occupancy cells walls are rasterised into
+    static final int DEFAULT_OCCUPANCY_SIZE = 4;
+    private static final int CACHE_SIZE = 1 << 14;
+
+    private final int cellSize;
+    private final int occupancySize;
+    private final int width;
+    private final int height;
+    private final int cellColumns;
+    private final int cellCount;
+    private final int occupancyColumns;
+    private final int occupancyRows;
+    // Number of walls covering each occupancy cell; counts let overlapping walls be removed independently
+    private final short[] occupancy;
+
+    // Direct-mapped cache; each slot packs generation (high 32 bits), cell pair and blocked flag (low bit)
+    private final AtomicLongArray slots = new AtomicLongArray(CACHE_SIZE);
+    // Bumped on every wall change; empty slots hold generation 0, so generations start at 1
+    private int generation = 1;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor for a cache covering the game area
+     */
+    SightCache() {
+        this(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, DEFAULT_CELL_SIZE, DEFAULT_OCCUPANCY_SIZE);
+    }
+
+    /**
+     * Constructor for sight cache
+     * @param width Width of the covered area in pixels
+     * @param height Height of the covered area in pixels
+     * @param cellSize Edge length of a cached cell in pixels
+     * @param occupancySize Edge length of an occupancy cell in pixels, at most cellSize
+     */
+    SightCache(int width, int height, int cellSize, int occupancySize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0 || occupancySize <= 0 || occupancySize > cellSize) {
+            throw new IllegalArgumentException("Invalid sight cache dimensions");
+        }
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+        this.occupancySize = occupancySize;
+        this.cellColumns = (width + cellSize - 1) / cellSize;
+        this.cellCount = cellColumns * ((height + cellSize - 1) / cellSize);
+        this.occupancyColumns = (width + occupancySize - 1) / occupancySize;
+        this.occupancyRows = (height + occupancySize - 1) / occupancySize;
+        this.occupancy = new short[occupancyColumns * occupancyRows];
+    }
+
+    /**
+     * Marks the occupancy cells covered by a wall and drops all cached answers
+     */
+    void addWall(Wall wall) {
+        markWall(wall, 1);
+    }
+
+    /**
+     * Clears the occupancy cells covered by a wall and drops all cached answers
+     */
+    void removeWall(Wall wall) {
+        markWall(wall, -1);
+    }
+
+    /**
+     * Removes all walls and drops all cached answers
+     */
+    void clear() {
+        Arrays.fill(occupancy, (short) 0);
+        generation++;
+    }
+
+    private void markWall(Wall wall, int delta) {
+        int minColumn = occupancyColumn(wall.getPositionX());
+        int maxColumn = occupancyColumn(wall.getPositionX() + wall.getWidth() - 1);
+        int minRow = occupancyRow(wall.getPositionY());
+        int maxRow = occupancyRow(wall.getPositionY() + wall.getHeight() - 1);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int index = r * occupancyColumns + c;
+                occupancy[index] = (short) Math.max(0, occupancy[index] + delta);
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * Checks whether walls block the sight between two points
+     * @return true if the ray between the centres of the points' cells crosses a wall
+     */
+    boolean isBlocked(int x1, int y1, int x2, int y2) {
+        int from = cellIndex(x1, y1);
+        int to = cellIndex(x2, y2);
+        // Sight is symmetric, so both orders share one entry
+        int pair = from <= to ? from * cellCount + to : to * cellCount + from;
+        int slot = mix(pair) & (CACHE_SIZE - 1);
+        long key = ((long) generation << 32) | ((long) pair << 1);
+        long entry = slots.getOpaque(slot);
+        if ((entry & ~1L) == key) {
+            hits.increment();
+            return (entry & 1L) != 0;
+        }
+        misses.increment();
+        boolean blocked = march(Math.min(from, to), Math.max(from, to));
+        slots.setOpaque(slot, blocked ? key | 1L : key);
+        return blocked;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Walks the occupancy cells crossed by the ray between two cell centres
+     * Occupancy inside the two end cells is ignored, so a point standing next to a
+     * wall that shares its cell is not treated as looking out from inside the wall
+     */
+    private boolean march(int fromCell, int toCell) {
+        double x1 = (fromCell % cellColumns + 0.5) * cellSize;
+        double y1 = (fromCell / cellColumns + 0.5) * cellSize;
+        double x2 = (toCell % cellColumns + 0.5) * cellSize;
+        double y2 = (toCell / cellColumns + 0.5) * cellSize;
+
+        int c = occupancyColumn((int) x1);
+        int r = occupancyRow((int) y1);
+        int endColumn = occupancyColumn((int) x2);
+        int endRow = occupancyRow((int) y2);
+
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : occupancySize / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : occupancySize / Math.abs(dy);
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? (c + 1) * (double) occupancySize : c * (double) occupancySize) - x1) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? (r + 1) * (double) occupancySize : r * (double) occupancySize) - y1) / dy;
+
+        int remaining = Math.abs(endColumn - c) + Math.abs(endRow - r);
+        while (true) {
+            if (isOccupied(c, r, fromCell, toCell)) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            if (tMaxX < tMaxY) {
+                c += stepX;
+                tMaxX += tDeltaX;
+                remaining--;
+            } else if (tMaxY < tMaxX) {
+                r += stepY;
+                tMaxY += tDeltaY;
+                remaining--;
+            } else {
+                // Passing through a corner: a wall on either side blocks the ray
+                if (isOccupied(c + stepX, r, fromCell, toCell) || isOccupied(c, r + stepY, fromCell, toCell)) {
+                    return true;
+                }
+                c += stepX;
+                r += stepY;
+                tMaxX += tDeltaX;
+                tMaxY += tDeltaY;
+                remaining -= 2;
+            }
+        }
+    }
+
+    private boolean isOccupied(int c, int r, int fromCell, int toCell) {
+        if (c < 0 || r < 0 || c >= occupancyColumns || r >= occupancyRows) return false;
+        if (occupancy[r * occupancyColumns + c] == 0) return false;
+        int cell = (r * occupancySize / cellSize) * cellColumns + c * occupancySize / cellSize;
+        return cell != fromCell && cell != toCell;
+    }
+
+    private int cellIndex(int x, int y) {
+        int c = clamp(x, width) / cellSize;
+        int r = clamp(y, height) / cellSize;
+        return r * cellColumns + c;
+    }
+
+    private int occupancyColumn(int x) {
+        return clamp(x, width) / occupancySize;
+    }
+
+    private int occupancyRow(int y) {
+        return clamp(y, height) / occupancySize;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.min(Math.max(value, 0), size - 1);
+    }
+
+    /**
+     * Spreads neighbouring pair indices over the cache slots
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+}
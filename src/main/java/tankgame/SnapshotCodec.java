@@ -0,0 +1,249 @@
+package tankgame;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * SnapshotCodec Class - Compact binary encoding of world states and of the deltas between them
+ * A delta lists, per table and in id order, only the rows that were added, removed or
+ * changed, and for changed rows only the columns that differ, each as a zigzag varint
+ * of the difference. A full snapshot is the delta against an empty state, so both go
+ * through the same merge of two id-sorted tables: linear in the entity count, with no
+ * lookups and no allocation.
+ *
+ * Layout: type byte, tick varint, base tick as a zigzag varint difference (deltas
+ * only), a mask byte of changed globals and their values, then the tank, missile,
+ * explosion and wall tables. Each table is a list of rows ended by a 0 byte: the id
+ * gap to the previous row, a mask byte of changed columns (or REMOVED) and the values.
+ */
+final class SnapshotCodec {
+    static final byte FULL = 1;
+    static final byte DELTA = 2;
+
+    // Global mask bits
+    private static final int GLOBAL_SCORE = 1;
+    private static final int GLOBAL_STATE = 2;
+    private static final int GLOBAL_HEALTH_PACK_INDEX = 4;
+    private static final int GLOBAL_HEALTH_PACK_ACTIVE = 8;
+
+    // Row mask bit for a row of the base that is gone; column bits use the rest
+    static final int REMOVED = 0x80;
+
+    // Header bytes: type, tick, base tick, global mask and four globals
+    private static final int MAX_HEADER_SIZE = 1 + 2 * Varint.MAX_LENGTH + 1 + 4 * 5;
+    // An int difference takes at most 5 varint bytes after zigzag mapping
+    private static final int MAX_VALUE_SIZE = 5;
+
+    private static final WorldState EMPTY = new WorldState();
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Writes a full snapshot, readable without any earlier state
+     * @param out Buffer with at least {@link #maxSize(WorldState, WorldState)} bytes left
+     */
+    static void writeFull(WorldState state, ByteBuffer out) {
+        write(FULL, EMPTY, state, out);
+    }
+
+    /**
+     * Writes the changes from one state to a later one
+     * @param base State the reader already has
+     * @param next State to encode
+     * @param out Buffer with at least {@link #maxSize(WorldState, WorldState)} bytes left
+     */
+    static void writeDelta(WorldState base, WorldState next, ByteBuffer out) {
+        write(DELTA, base, next, out);
+    }
+
+    /**
+     * Gets an upper bound of the bytes written for a delta, or for a full snapshot with a null base
+     */
+    static int maxSize(WorldState base, WorldState next) {
+        if (base == null) {
+            base = EMPTY;
+        }
+        return MAX_HEADER_SIZE
+                + maxTableSize(base.tanks, next.tanks)
+                + maxTableSize(base.missiles, next.missiles)
+                + maxTableSize(base.explosions, next.explosions)
+                + maxTableSize(base.walls, next.walls);
+    }
+
+    /**
+     * Reads a full snapshot or a delta
+     * @param in Encoded snapshot
+     * @param base State a delta was written against; ignored for full snapshots
+     * @param out Receives the decoded state; must not be the base
+     * @throws IOException if the snapshot is malformed or was written against another base
+     */
+    static void read(ByteBuffer in, WorldState base, WorldState out) throws IOException {
+        try {
+            byte type = in.get();
+            long tick = Varint.get(in);
+            if (type == FULL) {
+                base = EMPTY;
+            } else if (type == DELTA) {
+                long baseTick = tick - Varint.unZigZag(Varint.get(in));
+                if (base == null || base.tick != baseTick) {
+                    throw new IOException("Delta against tick " + baseTick + " does not apply to "
+                            + (base == null ? "no state" : "tick " + base.tick));
+                }
+            } else {
+                throw new IOException("Unknown snapshot type " + type);
+            }
+            out.tick = tick;
+
+            int globals = in.get();
+            out.score = (globals & GLOBAL_SCORE) != 0 ? (int) Varint.unZigZag(Varint.get(in)) : base.score;
+            out.gameState = (globals & GLOBAL_STATE) != 0 ? (int) Varint.get(in) : base.gameState;
+            out.healthPackIndex = (globals & GLOBAL_HEALTH_PACK_INDEX) != 0
+                    ? (int) Varint.get(in) : base.healthPackIndex;
+            out.healthPackActive = (globals & GLOBAL_HEALTH_PACK_ACTIVE) != 0
+                    ? !base.healthPackActive : base.healthPackActive;
+
+            readTable(in, base.tanks, out.tanks);
+            readTable(in, base.missiles, out.missiles);
+            readTable(in, base.explosions, out.explosions);
+            readTable(in, base.walls, out.walls);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot", e);
+        }
+    }
+
+    private static void write(byte type, WorldState base, WorldState next, ByteBuffer out) {
+        out.put(type);
+        Varint.put(out, next.tick);
+        if (type == DELTA) {
+            Varint.put(out, Varint.zigZag(next.tick - base.tick));
+        }
+
+        int globals = 0;
+        if (next.score != base.score) globals |= GLOBAL_SCORE;
+        if (next.gameState != base.gameState) globals |= GLOBAL_STATE;
+        if (next.healthPackIndex != base.healthPackIndex) globals |= GLOBAL_HEALTH_PACK_INDEX;
+        if (next.healthPackActive != base.healthPackActive) globals |= GLOBAL_HEALTH_PACK_ACTIVE;
+        out.put((byte) globals);
+        if ((globals & GLOBAL_SCORE) != 0) Varint.put(out, Varint.zigZag(next.score));
+        if ((globals & GLOBAL_STATE) != 0) Varint.put(out, next.gameState);
+        if ((globals & GLOBAL_HEALTH_PACK_INDEX) != 0) Varint.put(out, next.healthPackIndex);
+
+        writeTable(base.tanks, next.tanks, out);
+        writeTable(base.missiles, next.missiles, out);
+        writeTable(base.explosions, next.explosions, out);
+        writeTable(base.walls, next.walls, out);
+    }
+
+    /**
+     * Merges two id-sorted tables and writes the rows that differ
+     */
+    static void writeTable(WorldState.Table base, WorldState.Table next, ByteBuffer out) {
+        int columns = next.columnCount();
+        int baseSize = base.size();
+        int nextSize = next.size();
+        int i = 0;
+        int j = 0;
+        int lastId = 0;
+        while (i < baseSize || j < nextSize) {
+            int baseId = i < baseSize ? base.id(i) : Integer.MAX_VALUE;
+            int nextId = j < nextSize ? next.id(j) : Integer.MAX_VALUE;
+            if (baseId < nextId) {
+                Varint.put(out, baseId - lastId);
+                out.put((byte) REMOVED);
+                lastId = baseId;
+                i++;
+                continue;
+            }
+
+            // Write the row speculatively and take it back if nothing changed
+            boolean added = nextId < baseId;
+            int start = out.position();
+            Varint.put(out, nextId - lastId);
+            int maskPosition = out.position();
+            out.put((byte) 0);
+            int mask = 0;
+            for (int c = 0; c < columns; c++) {
+                int previous = added ? 0 : base.get(c, i);
+                int value = next.get(c, j);
+                if (value != previous) {
+                    mask |= 1 << c;
+                    Varint.put(out, Varint.zigZag((long) value - previous));
+                }
+            }
+            if (added || mask != 0) {
+                out.put(maskPosition, (byte) mask);
+                lastId = nextId;
+            } else {
+                out.position(start);
+            }
+            if (!added) {
+                i++;
+            }
+            j++;
+        }
+        out.put((byte) 0);
+    }
+
+    /**
+     * Rebuilds a table from its base and the rows written by {@link #writeTable}
+     */
+    static void readTable(ByteBuffer in, WorldState.Table base, WorldState.Table out) throws IOException {
+        int columns = base.columnCount();
+        int baseSize = base.size();
+        int i = 0;
+        int lastId = 0;
+        out.clear();
+        while (true) {
+            long gap = Varint.get(in);
+            if (gap == 0) break;
+            long id = lastId + gap;
+            if (id > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt snapshot: entity id out of range");
+            }
+            lastId = (int) id;
+
+            // Rows of the base before this one are unchanged
+            while (i < baseSize && base.id(i) < lastId) {
+                copyRow(base, i++, out);
+            }
+            boolean present = i < baseSize && base.id(i) == lastId;
+            int mask = in.get() & 0xFF;
+            if ((mask & REMOVED) != 0) {
+                if (!present) {
+                    throw new IOException("Corrupt snapshot: removed entity " + lastId + " is not in the base");
+                }
+                i++;
+                continue;
+            }
+
+            int row = out.add(lastId);
+            for (int c = 0; c < columns; c++) {
+                int value = present ? base.get(c, i) : 0;
+                if ((mask & (1 << c)) != 0) {
+                    value += (int) Varint.unZigZag(Varint.get(in));
+                }
+                out.set(c, row, value);
+            }
+            if (present) {
+                i++;
+            }
+        }
+        while (i < baseSize) {
+            copyRow(base, i++, out);
+        }
+    }
+
+    private static void copyRow(WorldState.Table from, int row, WorldState.Table to) {
+        int copy = to.add(from.id(row));
+        for (int c = 0; c < from.columnCount(); c++) {
+            to.set(c, copy, from.get(c, row));
+        }
+    }
+
+    private static int maxTableSize(WorldState.Table base, WorldState.Table next) {
+        // Id gap and mask per row of either table, every column of the new ones, end byte
+        int rowSize = Varint.MAX_LENGTH + 1 + next.columnCount() * MAX_VALUE_SIZE;
+        return (base.size() + next.size()) * rowSize + 1;
+    }
+}
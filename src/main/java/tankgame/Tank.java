@@ -1,7 +1,6 @@
 package tankgame;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.geom.AffineTransform;
 import java.util.*;
 import java.util.List;
 
@@ -15,14 +14,21 @@ public class Tank {
 	public static final int MOVEMENT_SPEED_Y = 5;
 	public static final int TANK_WIDTH = 40;
 	public static final int TANK_HEIGHT = 30;
+	static final int MAX_HEALTH = 100;
+	// Shared copy of Direction.values(), which clones its array on every call
+	private static final Direction[] DIRECTIONS = Direction.values();
 
 	// Tank state properties
 	private boolean isAlive = true;
 	private final HealthBar healthBar = new HealthBar();
-	private int healthPoints = 100;
+	private int healthPoints = MAX_HEALTH;
+	// Identifies the tank in world snapshots; 0 until the first snapshot assigns one
+	private int entityId = 0;
+	// Moved by input commands instead of once per world tick, see GameWorld.applyCommand
+	private boolean commandDriven = false;
 
 	// Game client reference
-	private TankClient gameClient;
+	private GameContext gameClient;
 
 	// Tank type flag
 	private final boolean isPlayerTank;
@@ -31,8 +37,8 @@ public class Tank {
 	private int currentX, currentY;
 	private int previousX, previousY;
 
-	// Random generator for AI movement
-	private static final Random randomGenerator = new Random();
+	// Random stream for AI movement, split off the world's seeded generator
+	private SplittableRandom randomGenerator;
 
 	private TankAI ai;
 
@@ -46,6 +52,36 @@ public class Tank {
 		this.ai = ai;
 	}
 
+	TankAI getAI() {
+		return ai;
+	}
+
+	int getEntityId() {
+		return entityId;
+	}
+
+	void setEntityId(int entityId) {
+		this.entityId = entityId;
+	}
+
+	boolean isCommandDriven() {
+		return commandDriven;
+	}
+
+	void setCommandDriven(boolean commandDriven) {
+		this.commandDriven = commandDriven;
+	}
+
+	/**
+	 * Gets this tank's random stream, creating an unseeded one if the tank has none yet
+	 */
+	private SplittableRandom random() {
+		if (randomGenerator == null) {
+			randomGenerator = new SplittableRandom();
+		}
+		return randomGenerator;
+	}
+
 	/**
 	 * Enum defining all possible movement directions
 	 */
@@ -61,7 +97,7 @@ public class Tank {
 		moveDirection = direction;
 	}
 	// AI movement counter
-	private int movementStep = randomGenerator.nextInt(12) + 3;
+	private int movementStep = random().nextInt(12) + 3;
 	public void setMovementStep(int step){
 		movementStep = step;
 	}
@@ -93,17 +129,22 @@ public class Tank {
 	/**
 	 * Constructor for creating a tank with specific direction and game client
 	 */
-	public Tank(int x, int y, boolean isPlayer, Direction dir, TankClient client) {
+	public Tank(int x, int y, boolean isPlayer, Direction dir, GameContext client) {
 		this(x, y, isPlayer);
 		this.moveDirection = dir;
 		this.gameClient = client;
 		if (!isPlayer) {
+			// Only AI-driven tanks draw random numbers
+			this.randomGenerator = GameWorld.randomFor(client);
+			this.movementStep = randomGenerator.nextInt(12) + 3;
 			this.ai = new TankAI(this, client);
 		}
 	}
 
 	/**
 	 * Renders the tank and updates its state
+	 * Retained for callers that drive a tank without the game loop;
+	 * the game loop uses {@link #draw(Graphics, double)} and {@link #updatePosition()} separately
 	 */
 	public void render(Graphics graphics) {
 		if(!isAlive) {
@@ -113,46 +154,35 @@ public class Tank {
 			return;
 		}
 
-		Color originalColor = graphics.getColor();
-
-		// Draw tracks with increased width
-		graphics.setColor(Color.DARK_GRAY);
-		graphics.fillRect(currentX - 5, currentY, 5, TANK_HEIGHT); // Left track
-		graphics.fillRect(currentX + TANK_WIDTH, currentY, 5, TANK_HEIGHT); // Right track
+		draw(graphics, 1.0);
 
-		// Draw tank body
-		graphics.setColor(isPlayerTank ? Color.RED : Color.BLUE);
-		graphics.fillRect(currentX, currentY, TANK_WIDTH, TANK_HEIGHT);
-
-		// Draw armor plate textures
-		graphics.setColor(isPlayerTank ? new Color(180, 0, 0) : new Color(0, 0, 180));
-		graphics.drawLine(currentX, currentY + TANK_HEIGHT/3,
-				currentX + TANK_WIDTH, currentY + TANK_HEIGHT/3);
-		graphics.drawLine(currentX, currentY + 2*TANK_HEIGHT/3,
-				currentX + TANK_WIDTH, currentY + 2*TANK_HEIGHT/3);
+		// Update position
+		updatePosition();
+	}
 
-		// Draw turret with reduced size
-		int turretWidth = 25;
-		int turretHeight = 25;
-		int turretX = currentX + (TANK_WIDTH - turretWidth)/2;
-		int turretY = currentY + (TANK_HEIGHT - turretHeight)/2;
-		graphics.setColor(Color.DARK_GRAY);
-		graphics.fillOval(turretX, turretY, turretWidth, turretHeight);
+	/**
+	 * Draws the tank without changing its state
+	 * @param graphics Graphics context for rendering
+	 * @param alpha Interpolation factor between the previous (0.0) and current (1.0) tick position
+	 */
+	public void draw(Graphics graphics, double alpha) {
+		if(!isAlive) return;
 
-		// Add armor ring around turret
-		graphics.setColor(isPlayerTank ? new Color(180, 0, 0) : new Color(0, 0, 180));
-		graphics.drawOval(turretX, turretY, turretWidth, turretHeight);
+		int drawX = interpolate(previousX, currentX, alpha);
+		int drawY = interpolate(previousY, currentY, alpha);
 
-		graphics.setColor(originalColor);
+		// Hull, turret and barrel come pre-rendered from the sprite atlas
+		TankSprites.draw(graphics, drawX, drawY, isPlayerTank, barrelDirection);
 
 		// Draw health bar if player tank
-		if(isPlayerTank) healthBar.render(graphics);
-
-		// Draw barrel
-		renderBarrel(graphics);
+		if(isPlayerTank) healthBar.render(graphics, drawX, drawY);
+	}
 
-		// Update position
-		updatePosition();
+	/**
+	 * Linear interpolation between two tick positions
+	 */
+	static int interpolate(int previous, int current, double alpha) {
+		return (int) Math.round(previous + (current - previous) * alpha);
 	}
 
 	/**
@@ -229,20 +259,15 @@ public class Tank {
 	 * @return true if collision would occur, false otherwise
 	 */
     boolean willCollideWithOtherTanks(int newX, int newY) {
-		Rectangle predictedBounds = new Rectangle(newX, newY, TANK_WIDTH, TANK_HEIGHT);
-
-		List<Tank> allTanks = new ArrayList<>(gameClient.getEnemyTanks());
-		if(!isPlayerTank) {
-			allTanks.add(gameClient.getPlayerTank());
+		// Enemy tanks come from the per-tick tank grid, so only nearby tanks are tested
+		if(gameClient.findEnemyTankAt(newX, newY, TANK_WIDTH, TANK_HEIGHT, this) != null) {
+			return true;
 		}
 
-		for(Tank otherTank : allTanks) {
-			if(this != otherTank && otherTank.isAlive()) {
-				Rectangle otherBounds = otherTank.getCollisionBounds();
-				if(predictedBounds.intersects(otherBounds)) {
-					return true;
-				}
-			}
+		if(!isPlayerTank) {
+			Tank playerTank = gameClient.getPlayerTank();
+			return playerTank != null && playerTank != this && playerTank.isAlive() &&
+					playerTank.intersects(newX, newY, TANK_WIDTH, TANK_HEIGHT);
 		}
 		return false;
 	}
@@ -254,15 +279,8 @@ public class Tank {
 	 * @return true if collision would occur, false otherwise
 	 */
     boolean willCollideWithWalls(int newX, int newY) {
-		Rectangle predictedBounds = new Rectangle(newX, newY, TANK_WIDTH, TANK_HEIGHT);
-
-		// Check collision with all walls from WallManager
-		for (Wall wall : gameClient.getWalls()) {
-			if (predictedBounds.intersects(wall.getCollisionBounds())) {
-				return true;
-			}
-		}
-		return false;
+		// Only walls bucketed near the predicted bounds are tested
+		return gameClient.isBlockedByWalls(newX, newY, TANK_WIDTH, TANK_HEIGHT);
 	}
 
 	/**
@@ -284,77 +302,25 @@ public class Tank {
 	 */
     void handleAIMovement() {
 		if(!isPlayerTank) {
-			Direction[] directions = Direction.values();
 			if(movementStep == 0) {
-				movementStep = randomGenerator.nextInt(12) + 3;
-				int randomDirection = randomGenerator.nextInt(directions.length);
-				moveDirection = directions[randomDirection];
+				movementStep = random().nextInt(12) + 3;
+				int randomDirection = random().nextInt(DIRECTIONS.length);
+				moveDirection = DIRECTIONS[randomDirection];
 			}
 			movementStep--;
 
-			if(randomGenerator.nextInt(40) > 38) {
+			if(random().nextInt(40) > 38) {
 				fireMissile();
 			}
 		}
 	}
 
 	void renderBarrel(Graphics graphics) {
-		int centerX = currentX + TANK_WIDTH/2;
-		int centerY = currentY + TANK_HEIGHT/2;
-		graphics.setColor(Color.DARK_GRAY);
-
-		// Set barrel dimensions
-		int barrelLength = 30;
-		int barrelWidth = 8;
-
-		Graphics2D g2d = (Graphics2D)graphics;
-		// Store the original transform
-		AffineTransform oldTransform = g2d.getTransform();
-
-		switch(barrelDirection) {
-			case L:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(Math.PI);
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case LU:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(-3 * Math.PI/4);  // -135 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case U:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(-Math.PI/2);  // -90 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case RU:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(-Math.PI/4);  // -45 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case R:
-				g2d.translate(centerX, centerY);
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case RD:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(Math.PI/4);  // 45 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case D:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(Math.PI/2);  // 90 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-			case LD:
-				g2d.translate(centerX, centerY);
-				g2d.rotate(3 * Math.PI/4);  // 135 degrees
-				g2d.fillRect(0, -barrelWidth/2, barrelLength, barrelWidth);
-				break;
-		}
+		renderBarrel(graphics, currentX, currentY);
+	}
 
-		// Restore the original transform
-		g2d.setTransform(oldTransform);
+	private void renderBarrel(Graphics graphics, int drawX, int drawY) {
+		TankSprites.paintBarrel(graphics, drawX, drawY, barrelDirection);
 	}
 
 	/**
@@ -369,7 +335,14 @@ public class Tank {
 	 * Handles key press events for tank control
 	 */
 	public void handleKeyPressed(KeyEvent event) {
-		int keyCode = event.getKeyCode();
+		handleKeyPressed(event.getKeyCode());
+	}
+
+	/**
+	 * Handles a key press by key code, e.g. when replaying recorded input
+	 * @param keyCode KeyEvent.VK_* code of the pressed key
+	 */
+	public void handleKeyPressed(int keyCode) {
 		switch(keyCode) {
 			case KeyEvent.VK_F2:
 				if(!isAlive) {
@@ -424,7 +397,14 @@ public class Tank {
 	 * Handles key release events for tank control
 	 */
 	public void handleKeyReleased(KeyEvent event) {
-		int keyCode = event.getKeyCode();
+		handleKeyReleased(event.getKeyCode());
+	}
+
+	/**
+	 * Handles a key release by key code, e.g. when replaying recorded input
+	 * @param keyCode KeyEvent.VK_* code of the released key
+	 */
+	public void handleKeyReleased(int keyCode) {
 		switch(keyCode) {
 			case KeyEvent.VK_SPACE:
 				fireMissile();
@@ -455,9 +435,7 @@ public class Tank {
 		if(!isAlive) return null;
 		int missileX = currentX + TANK_WIDTH/2 - Missile.MISSILE_WIDTH/2;
 		int missileY = currentY + TANK_HEIGHT/2 - Missile.MISSILE_HEIGHT/2;
-		Missile missile = new Missile(missileX, missileY, isPlayerTank, barrelDirection, gameClient);
-		gameClient.getMissiles().add(missile);
-		return missile;
+		return gameClient.spawnMissile(missileX, missileY, isPlayerTank, barrelDirection);
 	}
 
 	/**
@@ -467,9 +445,7 @@ public class Tank {
 		if(!isAlive) return null;
 		int missileX = currentX + TANK_WIDTH/2 - Missile.MISSILE_WIDTH/2;
 		int missileY = currentY + TANK_HEIGHT/2 - Missile.MISSILE_HEIGHT/2;
-		Missile missile = new Missile(missileX, missileY, isPlayerTank, direction, gameClient);
-		gameClient.getMissiles().add(missile);
-		return missile;
+		return gameClient.spawnMissile(missileX, missileY, isPlayerTank, direction);
 	}
 
 	/**
@@ -479,6 +455,15 @@ public class Tank {
 		return new Rectangle(currentX, currentY, TANK_WIDTH, TANK_HEIGHT);
 	}
 
+	/**
+	 * Checks whether a rectangle overlaps the tank without allocating bounds
+	 * Same result as getCollisionBounds().intersects(...) for positive sizes
+	 */
+	public boolean intersects(int x, int y, int width, int height) {
+		return x < currentX + TANK_WIDTH && x + width > currentX &&
+				y < currentY + TANK_HEIGHT && y + height > currentY;
+	}
+
 	/**
 	 * Checks if tank is alive
 	 */
@@ -504,7 +489,7 @@ public class Tank {
 	 * Handles collision with walls
 	 */
 	public boolean handleWallCollision(Wall wall) {
-		if(this.isAlive && this.getCollisionBounds().intersects(wall.getCollisionBounds())) {
+		if(this.isAlive && wall.intersects(currentX, currentY, TANK_WIDTH, TANK_HEIGHT)) {
 			this.revertToPreviousPosition();
 			return true;
 		}
@@ -515,10 +500,11 @@ public class Tank {
 	 * Handles collision with other tanks
 	 */
 	public boolean handleTankCollisions(java.util.List<Tank> tanks) {
-		for(Tank otherTank : tanks) {
+		for(int i = 0; i < tanks.size(); i++) {
+			Tank otherTank = tanks.get(i);
 			if(this != otherTank) {
 				if(this.isAlive && otherTank.isAlive() &&
-						this.getCollisionBounds().intersects(otherTank.getCollisionBounds())) {
+						otherTank.intersects(currentX, currentY, TANK_WIDTH, TANK_HEIGHT)) {
 					this.revertToPreviousPosition();
 					otherTank.revertToPreviousPosition();
 					return true;
@@ -528,13 +514,28 @@ public class Tank {
 		return false;
 	}
 
+	/**
+	 * Handles collision with nearby enemy tanks found through the tank grid
+	 * Same outcome as handleTankCollisions(gameClient.getEnemyTanks()) without scanning every tank
+	 */
+	public boolean handleNearbyTankCollisions() {
+		if(!this.isAlive) return false;
+
+		Tank otherTank = gameClient.findEnemyTankAt(currentX, currentY, TANK_WIDTH, TANK_HEIGHT, this);
+		if(otherTank != null) {
+			this.revertToPreviousPosition();
+			otherTank.revertToPreviousPosition();
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Fires missiles in all directions
 	 */
 	private void fireInAllDirections() {
-		Direction[] directions = Direction.values();
 		for(int i = 0; i < 8; i++) {
-			fireMissile(directions[i]);
+			fireMissile(DIRECTIONS[i]);
 		}
 	}
 
@@ -564,13 +565,13 @@ public class Tank {
 		private static final int BAR_HEIGHT = 6;  // Reduced height for less intrusive look
 		private static final int BAR_VERTICAL_OFFSET = 8;  // Distance above tank
 
-		public void render(Graphics graphics) {
+		public void render(Graphics graphics, int drawX, int drawY) {
 			Color originalColor = graphics.getColor();
 
 			// Calculate center-aligned position
 			int barWidth = TANK_WIDTH - 10;  // Slightly narrower than tank
-			int barX = currentX + (TANK_WIDTH - barWidth) / 2;  // Center horizontally
-			int barY = currentY - BAR_HEIGHT - BAR_VERTICAL_OFFSET;  // Position above tank
+			int barX = drawX + (TANK_WIDTH - barWidth) / 2;  // Center horizontally
+			int barY = drawY - BAR_HEIGHT - BAR_VERTICAL_OFFSET;  // Position above tank
 
 			// Draw background (empty bar)
 			graphics.setColor(Color.GRAY);
@@ -598,7 +599,7 @@ public class Tank {
 	 */
 	public boolean collectHealthPowerUp(Blood healthPowerUp) {
 		if(this.isAlive && healthPowerUp.isActive() &&
-				this.getCollisionBounds().intersects(healthPowerUp.getCollisionBounds())) {
+				healthPowerUp.intersects(currentX, currentY, TANK_WIDTH, TANK_HEIGHT)) {
 			this.healthPoints = 100;
 			healthPowerUp.setActive(false);
 			return true;
@@ -606,6 +607,37 @@ public class Tank {
 		return false;
 	}
 
+	/**
+	 * Puts the tank at a position without a move in between, e.g. when it respawns
+	 */
+	void placeAt(int x, int y) {
+		currentX = previousX = x;
+		currentY = previousY = y;
+	}
+
+	/**
+	 * Moves the tank to a position as if it had moved there in the last tick
+	 * Used for tanks whose movement is simulated elsewhere, so drawing still interpolates
+	 */
+	void moveTo(int x, int y) {
+		previousX = currentX;
+		previousY = currentY;
+		currentX = x;
+		currentY = y;
+	}
+
+	/**
+	 * Takes over state simulated elsewhere, e.g. received from an arena server
+	 * Moves like {@link #moveTo(int, int)} and sets the rest without side effects
+	 */
+	void applyState(int x, int y, Direction move, Direction barrel, int health, boolean alive) {
+		moveTo(x, y);
+		moveDirection = move;
+		barrelDirection = barrel;
+		healthPoints = health;
+		isAlive = alive;
+	}
+
 	public void setCurrentX(int currentX) {
 		this.currentX = currentX;
 	}
@@ -619,7 +651,7 @@ public class Tank {
 	public int getPositionY() { return currentY; }
 	public void setBarrelDirection(Direction dir) { this.barrelDirection = dir; }
 	public void setMovementDirection(Direction dir) { this.moveDirection = dir; }
-//	public Direction getBarrelDirection() { return barrelDirection; }
+	public Direction getBarrelDirection() { return barrelDirection; }
 	public Direction getMoveDirection() {
 		return moveDirection;
 	}
@@ -630,15 +662,16 @@ public class Tank {
  * Ensures tanks spawn in valid positions without overlapping walls or other tanks
  */
 class TankGenerator  {
-	private final TankClient gameClient;
-	private final Random random = new Random();
+	private final GameContext gameClient;
+	private final SplittableRandom random;
 
 	// Constants for spawn settings
 	private static final int SPAWN_PADDING = 50;  // Minimum distance from edges
 	private static final int MAX_SPAWN_ATTEMPTS = 50;  // Maximum attempts to find valid position
 
-	public TankGenerator(TankClient gameClient) {
+	public TankGenerator(GameContext gameClient) {
 		this.gameClient = gameClient;
+		this.random = GameWorld.randomFor(gameClient);
 	}
 
 	/**
@@ -657,10 +690,9 @@ class TankGenerator  {
 		);
 
 		// Check collision with walls
-		for (Wall wall : gameClient.getWalls()) {
-			if (paddedBounds.intersects(wall.getCollisionBounds())) {
-				return false;
-			}
+		if (gameClient.isBlockedByWalls(paddedBounds.x, paddedBounds.y,
+				paddedBounds.width, paddedBounds.height)) {
+			return false;
 		}
 
 		// Check collision with existing tanks
@@ -704,6 +736,8 @@ class TankGenerator  {
 	 * @return Number of successfully spawned tanks
 	 */
 	public int spawnEnemyTanks(int count) {
+		GameEvents.SpawnEvent spawnEvent = new GameEvents.SpawnEvent();
+		spawnEvent.begin();
 		int successfulSpawns = 0;
 		List<Tank> enemyTanks = gameClient.getEnemyTanks();
 
@@ -722,6 +756,13 @@ class TankGenerator  {
 			}
 		}
 
+		spawnEvent.end();
+		if (spawnEvent.shouldCommit()) {
+			spawnEvent.requested = count;
+			spawnEvent.spawned = successfulSpawns;
+			spawnEvent.walls = gameClient.getWalls().length;
+			spawnEvent.commit();
+		}
 		return successfulSpawns;
 	}
 }
\ No newline at end of file
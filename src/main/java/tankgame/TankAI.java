@@ -1,12 +1,16 @@
 package tankgame;
-import java.awt.geom.Line2D;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
 import java.awt.*;
 
 public class TankAI {
     private final Tank controlledTank;
-    private final TankClient gameClient;
-    private static final Random random = new Random();
+    // World the decisions read from; swapped for a read-only snapshot while planning
+    private GameContext gameClient;
+    // Own stream per AI: decisions are planned concurrently and must replay from the world's seed
+    private final SplittableRandom random;
 
     private static final int DANGER_HEALTH = 30; // Health threshold to seek cover
     private static final int COVER_CHECK_INTERVAL = 500; // Milliseconds
@@ -19,27 +23,163 @@ public class TankAI {
     private static final double DECISION_INTERVAL = 1.0; // Seconds between AI decisions
     private long lastDecisionTime = 0;
 
+    // Cover search: points within the radius are scored; with none in range, the nearest few are
+    private static final int COVER_SEARCH_RADIUS = TARGETING_RANGE;
+    private static final int FALLBACK_COVER_CANDIDATES = 4;
+    private final List<CoverIndex.CoverPoint> nearestCover = new ArrayList<>(FALLBACK_COVER_CANDIDATES + 1);
+
+    // Decisions made by plan(), held until applyIntent(); null fields mean "leave unchanged"
+    private Tank.Direction plannedMove = null;
+    private Tank.Direction plannedBarrel = null;
+    private boolean plannedFire = false;
+    private boolean planning = false;
+    // Game time of the decision being planned, in milliseconds
+    private long planTime = 0;
+    // Set once the world plans this AI, so update() no longer decides on its own
+    private boolean scheduled = false;
+    // Tick within the scheduler's decision interval this AI decides on, -1 until assigned
+    private int schedulePhase = -1;
+    // Whether a decision is queued with the scheduler and not yet made
+    private boolean decisionPending = false;
+
     /**
      * Constructor for tank AI controller
      * @param tank The tank this AI controls
      * @param gameClient Reference to main game client
      */
-    public TankAI(Tank tank, TankClient gameClient) {
+    public TankAI(Tank tank, GameContext gameClient) {
         this.controlledTank = tank;
         this.gameClient = gameClient;
+        this.random = GameWorld.randomFor(gameClient);
     }
 
     /**
      * Updates AI behavior
-     * Should be called each game frame
+     * Should be called each game frame; does nothing for an AI the world plans with {@link #plan}
      */
     public void update() {
-        // Only update AI decision-making at intervals
-        if (System.currentTimeMillis() - lastDecisionTime < DECISION_INTERVAL * 1000) {
+        if (scheduled || !decisionDue()) {
+            return;
+        }
+        decide();
+    }
+
+    /**
+     * Makes one decision now without touching the tank
+     * Reads only from the given snapshot and records the chosen move, barrel direction
+     * and shot as an intent, so many AIs can plan concurrently; {@link #applyIntent}
+     * carries the intent out afterwards on the simulation thread. The caller decides
+     * when decisions are due, and update() no longer decides for this AI.
+     * @param snapshot Read-only view of the world for this tick
+     * @param timeMillis Game time of this tick, used instead of the wall clock for AI timers
+     */
+    void plan(GameContext snapshot, long timeMillis) {
+        scheduled = true;
+        clearIntent();
+        planTime = timeMillis;
+        GameContext live = gameClient;
+        gameClient = snapshot;
+        planning = true;
+        try {
+            decide();
+        } finally {
+            planning = false;
+            gameClient = live;
+        }
+    }
+
+    /**
+     * Applies the intent recorded by the last {@link #plan} call to the tank
+     */
+    void applyIntent() {
+        if (plannedBarrel != null) {
+            controlledTank.setBarrelDirection(plannedBarrel);
+        }
+        if (plannedMove != null) {
+            controlledTank.setMovementDirection(plannedMove);
+        }
+        if (plannedFire) {
+            controlledTank.fireMissile();
+        }
+        clearIntent();
+    }
+
+    Tank.Direction getPlannedMove() {
+        return plannedMove;
+    }
+
+    Tank.Direction getPlannedBarrel() {
+        return plannedBarrel;
+    }
+
+    boolean isFirePlanned() {
+        return plannedFire;
+    }
+
+    int getSchedulePhase() {
+        return schedulePhase;
+    }
+
+    void setSchedulePhase(int schedulePhase) {
+        this.schedulePhase = schedulePhase;
+    }
+
+    boolean isDecisionPending() {
+        return decisionPending;
+    }
+
+    void setDecisionPending(boolean decisionPending) {
+        this.decisionPending = decisionPending;
+    }
+
+    private void clearIntent() {
+        plannedMove = null;
+        plannedBarrel = null;
+        plannedFire = false;
+    }
+
+    /**
+     * Gets the current time for AI timers: game time while planning, otherwise the wall clock
+     */
+    private long now() {
+        return planning ? planTime : System.currentTimeMillis();
+    }
+
+    /**
+     * Checks the decision interval and starts a new one if it has elapsed
+     */
+    private boolean decisionDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastDecisionTime < DECISION_INTERVAL * 1000) {
+            return false;
+        }
+        lastDecisionTime = now;
+        return true;
+    }
+
+    private void decide() {
+        if (!GameEvents.AI_DECISION_TYPE.isEnabled()) {
+            think();
             return;
         }
+        GameEvents.AIDecisionEvent decisionEvent = new GameEvents.AIDecisionEvent();
+        decisionEvent.begin();
+        think();
+        decisionEvent.end();
+        if (decisionEvent.shouldCommit()) {
+            decisionEvent.tankX = controlledTank.getPositionX();
+            decisionEvent.tankY = controlledTank.getPositionY();
+            decisionEvent.health = controlledTank.getHealthPoints();
+            decisionEvent.enemyTanks = gameClient.getEnemyTanks().size();
+            decisionEvent.walls = gameClient.getWalls().length;
+            decisionEvent.commit();
+        }
+    }
 
-        lastDecisionTime = System.currentTimeMillis();
+    /**
+     * Makes one decision immediately, regardless of the decision interval
+     */
+    void think() {
         Tank playerTank = gameClient.getPlayerTank();
 
         if (!playerTank.isAlive() || !controlledTank.isAlive()) {
@@ -73,7 +213,7 @@ public class TankAI {
 
         // Convert angle to direction
         Tank.Direction newDirection = angleToDirection(angle);
-        controlledTank.setBarrelDirection(newDirection);
+        aim(newDirection);
     }
 
     /**
@@ -96,9 +236,18 @@ public class TankAI {
      * Moves tank towards player
      */
     private void moveTowardsPlayer(Tank playerTank) {
-        int dx = playerTank.getPositionX() - controlledTank.getPositionX();
-        int dy = playerTank.getPositionY() - controlledTank.getPositionY();
-        controlledTank.setMovementDirection(angleToDirection(Math.atan2(dy, dx)));
+        // Every tank reads the same flow field, so pursuit costs O(1) per tank
+        WallManager wallManager = gameClient.getWallManager();
+        if (wallManager != null) {
+            Tank.Direction direction = wallManager.getPlayerFlowField().directionFrom(
+                    controlledTank.getPositionX(), controlledTank.getPositionY(),
+                    playerTank.getPositionX(), playerTank.getPositionY());
+            if (direction != null) {
+                steer(direction);
+                return;
+            }
+        }
+        moveTowardsPosition(playerTank.getPositionX(), playerTank.getPositionY());
     }
 
     /**
@@ -107,7 +256,7 @@ public class TankAI {
     private void moveAwayFromPlayer(Tank playerTank) {
         int dx = controlledTank.getPositionX() - playerTank.getPositionX();
         int dy = controlledTank.getPositionY() - playerTank.getPositionY();
-        controlledTank.setMovementDirection(angleToDirection(Math.atan2(dy, dx)));
+        steer(angleToDirection(Math.atan2(dy, dx)));
     }
 
     /**
@@ -117,9 +266,9 @@ public class TankAI {
         // Check health status
         if (controlledTank.getHealthPoints() < DANGER_HEALTH) {
             // Low health - prioritize finding cover
-            if (System.currentTimeMillis() - lastCoverCheck > COVER_CHECK_INTERVAL) {
+            if (now() - lastCoverCheck > COVER_CHECK_INTERVAL) {
                 seekSafestCover();
-                lastCoverCheck = System.currentTimeMillis();
+                lastCoverCheck = now();
             }
             return;
         }
@@ -136,6 +285,12 @@ public class TankAI {
      * Finds and moves to the safest available cover
      */
     void seekSafestCover() {
+        CoverIndex coverIndex = getCoverIndex();
+        if (coverIndex != null) {
+            moveToBestCover(coverIndex, point -> evaluateCoverPosition(point.position, point.wall));
+            return;
+        }
+
         Wall[] walls = gameClient.getWalls();
         if (walls == null || walls.length == 0) {
             // 如果没有墙或者墙数组为空，不进行任何操作
@@ -163,6 +318,40 @@ public class TankAI {
         }
     }
 
+    /**
+     * Gets the world's cover point index
+     * @return Cover index, or null when the context has no wall manager to build one from
+     */
+    private CoverIndex getCoverIndex() {
+        WallManager wallManager = gameClient.getWallManager();
+        return wallManager == null ? null : wallManager.getCoverIndex();
+    }
+
+    /**
+     * Moves towards the best scoring cover point near the tank
+     * Only points within COVER_SEARCH_RADIUS are scored, or the nearest few if none are that close
+     */
+    private void moveToBestCover(CoverIndex coverIndex, ToDoubleFunction<CoverIndex.CoverPoint> score) {
+        int x = controlledTank.getPositionX();
+        int y = controlledTank.getPositionY();
+        CoverIndex.CoverPoint best = coverIndex.best(x, y, COVER_SEARCH_RADIUS, score);
+        if (best == null) {
+            coverIndex.nearest(x, y, FALLBACK_COVER_CANDIDATES, nearestCover);
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (CoverIndex.CoverPoint point : nearestCover) {
+                double pointScore = score.applyAsDouble(point);
+                if (pointScore > bestScore) {
+                    bestScore = pointScore;
+                    best = point;
+                }
+            }
+            nearestCover.clear();
+        }
+        if (best != null) {
+            moveTowardsPosition(best.position.x, best.position.y);
+        }
+    }
+
     /**
      * Evaluates how good a cover position is
      */
@@ -268,7 +457,7 @@ public class TankAI {
         // Add 90 or -90 degrees for perpendicular movement
         angle += (random.nextBoolean() ? Math.PI/2 : -Math.PI/2);
 
-        controlledTank.setMovementDirection(angleToDirection(angle));
+        steer(angleToDirection(angle));
     }
 
     /**
@@ -276,6 +465,12 @@ public class TankAI {
      */
     void seekTacticalAdvantage() {
         Tank playerTank = gameClient.getPlayerTank();
+        CoverIndex coverIndex = getCoverIndex();
+        if (coverIndex != null) {
+            moveToBestCover(coverIndex, point -> evaluateTacticalPosition(point.position, point.wall, playerTank));
+            return;
+        }
+
         Wall[] walls = gameClient.getWalls();
 
         // Find position that gives good firing angle but keeps some cover
@@ -330,29 +525,16 @@ public class TankAI {
 
     boolean hasPartialCover(Point position, Wall wall, Tank playerTank) {
         // Calculate if wall provides some cover but still allows firing
-        Line2D sightLine = new Line2D.Double(
-                playerTank.getPositionX(), playerTank.getPositionY(),
-                position.x, position.y
-        );
-
         Rectangle wallBounds = wall.getCollisionBounds();
-        return !sightLine.intersects(wallBounds) &&
+        return !wallBounds.intersectsLine(playerTank.getPositionX(), playerTank.getPositionY(),
+                position.x, position.y) &&
                 position.distance(wall.getPositionX(), wall.getPositionY()) < 100;
     }
 
     boolean hasGoodFiringAngle(Point position, Tank playerTank) {
         // Check if position provides clear line of sight to player
-        Line2D sightLine = new Line2D.Double(
-                position.x, position.y,
-                playerTank.getPositionX(), playerTank.getPositionY()
-        );
-
-        for (Wall wall : gameClient.getWalls()) {
-            if (sightLine.intersects(wall.getCollisionBounds())) {
-                return false;
-            }
-        }
-        return true;
+        return !gameClient.isSightBlocked(position.x, position.y,
+                playerTank.getPositionX(), playerTank.getPositionY());
     }
 
     /**
@@ -378,13 +560,39 @@ public class TankAI {
 
     /**
      * Moves tank towards a specific position
+     * Follows the first straight stretch of an A* path around the walls when one is
+     * found, otherwise heads straight for the position
      * @param targetX X coordinate to move towards
      * @param targetY Y coordinate to move towards
      */
     void moveTowardsPosition(int targetX, int targetY) {
-        int dx = targetX - controlledTank.getPositionX();
-        int dy = targetY - controlledTank.getPositionY();
-        controlledTank.setMovementDirection(angleToDirection(Math.atan2(dy, dx)));
+        int x = controlledTank.getPositionX();
+        int y = controlledTank.getPositionY();
+        WallManager wallManager = gameClient.getWallManager();
+        PathFinder pathFinder = wallManager == null ? null : wallManager.getPathFinder();
+        if (pathFinder != null) {
+            int[] path = pathFinder.findPath(x, y, targetX, targetY);
+            if (path.length > 0) {
+                int waypoint = endOfStraightRun(pathFinder.cellAt(x, y), path);
+                targetX = pathFinder.cellX(waypoint);
+                targetY = pathFinder.cellY(waypoint);
+            }
+        }
+        int dx = targetX - x;
+        int dy = targetY - y;
+        steer(angleToDirection(Math.atan2(dy, dx)));
+    }
+
+    /**
+     * Finds the last cell of a path reached by repeating its first step
+     */
+    private static int endOfStraightRun(int start, int[] path) {
+        int step = path[0] - start;
+        int end = path[0];
+        for (int i = 1; i < path.length && path[i] - path[i - 1] == step; i++) {
+            end = path[i];
+        }
+        return end;
     }
 
     /**
@@ -421,7 +629,7 @@ public class TankAI {
                 // Higher chance to shoot when closer
                 int shootChance = (int)(70 * (SHOOTING_RANGE - distance) / SHOOTING_RANGE);
                 if (random.nextInt(100) < shootChance) {
-                    controlledTank.fireMissile();
+                    fire();
                 }
             }
         }
@@ -431,21 +639,46 @@ public class TankAI {
      * Checks if there's clear line of sight to target
      */
     boolean hasLineOfSight(Tank target) {
-        // Implement ray casting to check for obstacles between tank and target
-        Line2D sightLine = new Line2D.Double(
+        // Answered from the world's sight cache, which is only recomputed after walls change
+        return !gameClient.isSightBlocked(
                 controlledTank.getPositionX(),
                 controlledTank.getPositionY(),
                 target.getPositionX(),
                 target.getPositionY()
         );
+    }
 
-        // Check if line intersects any walls
-        for (Wall wall : gameClient.getWalls()) {
-            if (sightLine.intersects(wall.getCollisionBounds())) {
-                return false;
-            }
+    /**
+     * Sets the movement direction, or records it while planning
+     */
+    private void steer(Tank.Direction direction) {
+        if (planning) {
+            plannedMove = direction;
+        } else {
+            controlledTank.setMovementDirection(direction);
+        }
+    }
+
+    /**
+     * Sets the barrel direction, or records it while planning
+     */
+    private void aim(Tank.Direction direction) {
+        if (planning) {
+            plannedBarrel = direction;
+        } else {
+            controlledTank.setBarrelDirection(direction);
+        }
+    }
+
+    /**
+     * Fires a missile, or records the shot while planning
+     */
+    private void fire() {
+        if (planning) {
+            plannedFire = true;
+        } else {
+            controlledTank.fireMissile();
         }
-        return true;
     }
 
     /**
@@ -1,77 +1,171 @@
 package tankgame;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.SplittableRandom;
 import javax.swing.*;
 import javax.swing.JButton;
 import javax.swing.JPanel;
 
-import java.util.ArrayList;
-
 /**
  * TankClient Class - Main game window and controller
- * Manages game state, rendering, and user input
+ * Renders a GameWorld, drives it on the game loop thread and forwards user input
  */
-public class TankClient extends Frame {
+public class TankClient extends Frame implements GameContext {
     /**
      * Game window dimensions
      */
     public static final int GAME_WIDTH = 800;
     public static final int GAME_HEIGHT = 600;
 
-    // Player tank instance
-    private Tank playerTank = new Tank(50, 50, true, Tank.Direction.STOP, this);
-    private WallManager wallManager;
-    private final TankGenerator tankGenerator;
+    /**
+     * Fixed simulation rate, independent of the rendering frame rate
+     */
+    public static final int TICKS_PER_SECOND = 20;
+    static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    // Upper bound on the time simulated after a stall, so a long pause cannot trigger a burst of catch-up ticks
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+    private static final int DEFAULT_TARGET_FPS = 60;
+    private static final Color BACKGROUND_COLOR = new Color(232, 232, 232); // Light gray
 
-    // Game object collections
-    private final List<Explode> explosions = new ArrayList<>();
-    private final List<Missile> missiles = new ArrayList<>();
-    private final List<Tank> enemyTanks = new ArrayList<>();
+    /**
+     * How frames reach the screen
+     * PASSIVE repaints through the AWT event thread, ACTIVE draws into a BufferStrategy
+     * on the game loop thread at the target FPS, and VSYNC does the same paced to the
+     * display refresh rate with triple buffering
+     */
+    public enum RenderMode {
+        PASSIVE, ACTIVE, VSYNC;
+
+        /**
+         * Parses a mode name case-insensitively, e.g. from the tankgame.render system property
+         * @return Matching mode, or PASSIVE for null or unknown names
+         */
+        static RenderMode parse(String name) {
+            if (name != null) {
+                for (RenderMode mode : values()) {
+                    if (mode.name().equalsIgnoreCase(name.trim())) {
+                        return mode;
+                    }
+                }
+            }
+            return PASSIVE;
+        }
+    }
+
+    // Simulation state; this window only draws it and forwards input
+    private final GameWorld world;
 
     // Double buffering image
     private Image offScreenImage = null;
 
-    // Health power-up
-    private final Blood healthPack = new Blood();
+    // Guards world state shared between the game loop thread and the AWT event thread
+    private final Object simulationLock = new Object();
+    // Replay being recorded, see -Dtankgame.record; null when not recording
+    private ReplayWriter replayWriter = null;
+    // Connection to an arena server and the mirror it fills the world through; null when playing locally
+    private final ArenaClient arena;
+    private final WorldMirror mirror;
+    // Moves the own tank ahead of the server's snapshots in arena mode
+    private final TankPredictor predictor;
+    // Movement keys held and whether a shot is waiting for the next input command, in arena mode
+    private int heldKeys = 0;
+    private boolean fireRequested = false;
+    // Fraction of a tick elapsed since the last simulation step, used for interpolated drawing
+    private volatile double interpolation = 1.0;
+    private volatile int targetFps = DEFAULT_TARGET_FPS;
+    private PaintThread gameLoop;
+    private volatile RenderMode renderMode = RenderMode.parse(System.getProperty("tankgame.render"));
+    // Mode the current buffer strategy was created for, touched only by the game loop thread
+    private RenderMode strategyMode = null;
+    // Display refresh rate looked up on first use in VSYNC mode, 0 until then
+    private int displayRefreshRate = 0;
+
+    // Debug overlay with frame timings, toggled with F3
+    private volatile boolean debugOverlayVisible = false;
+    // Start of the previous frame, touched by whichever thread renders in the current mode
+    private long lastFrameNanos = 0;
 
     //game over state button
     JButton playAgainButton;
     JButton quitButton;
 
     public void setPlayerTank(Tank mockPlayerTank) {
-        this.playerTank = mockPlayerTank;
+        world.setPlayerTank(mockPlayerTank);
     }
 
     //gameState game over/running
     enum GameState { RUNNING, GAME_OVER }
-    private GameState gameState = GameState.RUNNING;
-    private int score = 0;
-
 
     public void setGameState(GameState state) {
-        this.gameState = state;
+        world.setGameState(state);
     }
 
     public GameState getGameState() {
-        return gameState;
+        return world.getGameState();
     }
 
     public void setScore(int score){
-        this.score = score;
+        world.setScore(score);
     }
 
     public int getScore() {
-        return score;
+        return world.getScore();
     }
 
+    public SplittableRandom splitRandom() {
+        return world.splitRandom();
+    }
+
+    /**
+     * Constructor - Opens a window on a fresh match
+     * The match seed is read from the tankgame.seed system property if set
+     */
     public TankClient() {
-        // First create wall manager and generate walls
-        wallManager = new WallManager(this);
-        wallManager.generateRandomWalls(5);
+        this(createWorld(System.getProperty("tankgame.seed")));
+    }
+
+    /**
+     * Creates a world from a seed given as text, or with a random seed if none is given
+     * A seed that is not a number is reported and replaced by a random one
+     */
+    static GameWorld createWorld(String seed) {
+        if (seed == null || seed.isBlank()) {
+            return new GameWorld();
+        }
+        try {
+            return new GameWorld(Long.parseLong(seed.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring match seed \"" + seed + "\", not a number; using a random seed");
+            return new GameWorld();
+        }
+    }
 
-        // Then create tank generator and initialize tanks
-        tankGenerator = new TankGenerator(this);
+    /**
+     * Constructor - Opens a window rendering an existing world
+     * @param world Simulation to draw and drive
+     */
+    public TankClient(GameWorld world) {
+        this(world, null);
+    }
+
+    /**
+     * Constructor - Opens a window showing the world of an arena server
+     * Key input goes to the server, and the window draws the snapshots it sends back
+     * @param arena Connection to the server
+     */
+    TankClient(ArenaClient arena) {
+        this(new GameWorld(0), arena);
+    }
+
+    private TankClient(GameWorld world, ArenaClient arena) {
+        this.world = world;
+        this.arena = arena;
+        this.mirror = arena == null ? null : new WorldMirror(world);
+        this.predictor = arena == null ? null : new TankPredictor(world);
         //initGameOverButtons();
 
         // 设置布局和其他窗口属性
@@ -84,128 +178,243 @@ public class TankClient extends Frame {
         // 窗口事件处理
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                System.exit(0);
+                exitGame();
             }
         });
         addKeyListener(new KeyMonitor());
+        world.getMetrics().registerMBean();
+        if (arena == null) {
+            startRecording(System.getProperty("tankgame.record"));
+        }
 
         setVisible(true);
-        new Thread(new PaintThread()).start();
+        startGameLoop();
     }
 
     /**
      * Renders the game state
+     * Only draws; the world is advanced by {@link #stepSimulation()} on the game loop thread
      * @param graphics Graphics context for rendering
      */
     public void paint(Graphics graphics) {
-        if (gameState == GameState.GAME_OVER) {
-            score = getScore();
-            renderGameOver(graphics, score);
-        } else {
-            // Draw game statistics
-            drawGameStats(graphics);
-
-            // Spawn enemy tanks if needed
-            spawnEnemyTanks();
-
-            // Update and render missiles
-            updateMissiles(graphics);
+        synchronized (simulationLock) {
+            if (world.getGameState() == GameState.GAME_OVER) {
+                renderGameOver(graphics, world.getScore());
+            } else {
+                double alpha = interpolation;
 
-            // Update and render explosions
-            updateExplosions(graphics);
+                // Draw game statistics
+                drawGameStats(graphics);
 
-            // Update and render enemy tanks
-            updateEnemyTanks(graphics);
-
-            // Update and render player tank
-            playerTank.render(graphics);
-            playerTank.collectHealthPowerUp(healthPack);
-
-            healthPack.renderHealthPack(graphics);
+                for (Missile missile : world.getMissiles()) {
+                    missile.draw(graphics, alpha);
+                }
+                for (Explode explosion : world.getExplosions()) {
+                    explosion.draw(graphics);
+                }
+                for (Tank tank : world.getEnemyTanks()) {
+                    tank.draw(graphics, alpha);
+                }
+                for (Tank tank : world.getRemotePlayers()) {
+                    tank.draw(graphics, alpha);
+                }
+                world.getPlayerTank().draw(graphics, alpha);
+                world.getHealthPack().draw(graphics);
+                world.getWallManager().render(graphics);
 
-            // Update and render walls
-            wallManager.update(System.currentTimeMillis());
-            wallManager.render(graphics);
+                if (debugOverlayVisible) {
+                    drawDebugOverlay(graphics);
+                }
+            }
         }
+    }
 
+    /**
+     * Advances the world by one fixed tick, or to the arena server's latest snapshot
+     * In arena mode the own tank is then moved ahead by the keys held this tick
+     * Called by the game loop; never from the paint path
+     */
+    void stepSimulation() {
+        synchronized (simulationLock) {
+            if (arena == null) {
+                world.step();
+                return;
+            }
+            try {
+                Tank ownTank = world.getPlayerTank();
+                if (arena.poll() > 0) {
+                    mirror.apply(arena.getState(), arena.getTankId());
+                    ownTank = world.getPlayerTank();
+                    predictor.reconcile(ownTank, arena.getInputAck());
+                }
+                int keys = heldKeys | (fireRequested ? GameWorld.INPUT_FIRE : 0);
+                fireRequested = false;
+                arena.sendInput(predictor.predict(ownTank, keys), keys);
+            } catch (IOException e) {
+                e.printStackTrace();
+                world.setGameState(GameState.GAME_OVER);
+            }
+        }
     }
 
     /**
      * Draws game statistics on screen
      */
     private void drawGameStats(Graphics graphics) {
-        graphics.drawString("Enemy Tanks Count: " + enemyTanks.size(), 10, 50);
-        graphics.drawString("Player Health: " + playerTank.getHealthPoints(), 10, 70);
-        graphics.drawString("Score: " + this.getScore(), 10, 90);
+        graphics.drawString("Enemy Tanks Count: " + world.getEnemyTanks().size(), 10, 50);
+        graphics.drawString("Player Health: " + world.getPlayerTank().getHealthPoints(), 10, 70);
+        graphics.drawString("Score: " + world.getScore(), 10, 90);
     }
 
-
     /**
-     * Spawns enemy tanks when needed
+     * Draws frame timings and counters in the top right corner
      */
-    void spawnEnemyTanks() {
-        if (enemyTanks.isEmpty()) {
-            tankGenerator.spawnEnemyTanks(5);
+    private void drawDebugOverlay(Graphics graphics) {
+        Color originalColor = graphics.getColor();
+        graphics.setColor(Color.DARK_GRAY);
+        int y = 50;
+        // A server's world is mirrored here, so only a local match has a seed to replay
+        if (arena == null) {
+            graphics.drawString("seed " + world.getSeed(), GAME_WIDTH - 300, y);
+            y += 15;
         }
+        for (String line : world.getMetrics().overlayLines()) {
+            graphics.drawString(line, GAME_WIDTH - 300, y);
+            y += 15;
+        }
+        graphics.setColor(originalColor);
+    }
+
+    public void setDebugOverlayVisible(boolean visible) {
+        this.debugOverlayVisible = visible;
+    }
+
+    public boolean isDebugOverlayVisible() {
+        return debugOverlayVisible;
+    }
+
+    void spawnEnemyTanks() {
+        world.spawnEnemyTanks();
+    }
+
+    void updateMissiles() {
+        world.updateMissiles();
+    }
+
+    void updateExplosions() {
+        world.updateExplosions();
+    }
+
+    void updateEnemyTanks() {
+        world.updateEnemyTanks();
+    }
+
+    public Missile spawnMissile(int x, int y, boolean isPlayerMissile, Tank.Direction direction) {
+        return world.spawnMissile(x, y, isPlayerMissile, direction);
+    }
+
+    public Explode spawnExplosion(int x, int y) {
+        return world.spawnExplosion(x, y);
     }
 
     /**
-     * Updates and renders missiles
+     * Implements double buffering for smooth rendering
+     * Used in passive mode, and in every mode while the game over screen is shown
      */
-    void updateMissiles(Graphics graphics) {
-        for(int i = 0; i < missiles.size(); i++) {
-            Missile missile = missiles.get(i);
-            // Check wall collisions first
-            if (wallManager.handleMissileCollision(missile)) {
-                continue; // Skip other collision checks if missile hit a wall
-            }
-            // Only check tank collisions if missile didn't hit a wall
-            missile.handleTankCollisions(enemyTanks);
-            missile.handleTankCollision(playerTank);
-            missile.render(graphics);
+    public void update(Graphics graphics) {
+        FrameMetrics metrics = world.getMetrics();
+        long frameStart = startFrame();
+
+        if(offScreenImage == null) {
+            offScreenImage = createImage(GAME_WIDTH, GAME_HEIGHT);
         }
+        Graphics offGraphics = offScreenImage.getGraphics();
+        drawFrame(offGraphics);
+        long paintEnd = metrics.mark(FrameMetrics.Phase.PAINT, frameStart);
+        graphics.drawImage(offScreenImage, 0, 0, null);
+        metrics.mark(FrameMetrics.Phase.BLIT, paintEnd);
     }
 
     /**
-     * Updates and renders explosions
+     * Draws one frame through the buffer strategy on the calling thread
+     * Loops until the frame was presented without the buffer contents being lost
+     * @return false if the window cannot be drawn to yet
      */
-    void updateExplosions(Graphics graphics) {
-        for(int i = 0; i < explosions.size(); i++) {
-            Explode explosion = explosions.get(i);
-            explosion.renderExplosion(graphics);
+    boolean renderActiveFrame() {
+        BufferStrategy strategy = obtainBufferStrategy();
+        if (strategy == null) {
+            return false;
         }
+        FrameMetrics metrics = world.getMetrics();
+        long frameStart = startFrame();
+        long paintEnd;
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    drawFrame(graphics);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            paintEnd = metrics.mark(FrameMetrics.Phase.PAINT, frameStart);
+            strategy.show();
+            // Flush queued drawing so the measured present covers the frame reaching the display
+            Toolkit.getDefaultToolkit().sync();
+        } while (strategy.contentsLost());
+        long presented = metrics.mark(FrameMetrics.Phase.BLIT, paintEnd);
+        metrics.record(FrameMetrics.Phase.PRESENT, presented - frameStart);
+        return true;
     }
 
     /**
-     * Updates and renders enemy tanks
+     * Gets a buffer strategy matching the render mode, creating it on first use or after a mode change
+     * @return Buffer strategy, or null if the window is not displayable
      */
-    void updateEnemyTanks(Graphics graphics) {
-        for(int i = 0; i < enemyTanks.size(); i++) {
-            Tank tank = enemyTanks.get(i);
-            wallManager.handleTankCollision(tank);
-            tank.handleTankCollisions(enemyTanks);
-            tank.render(graphics);
+    private BufferStrategy obtainBufferStrategy() {
+        if (!isDisplayable()) {
+            return null;
+        }
+        RenderMode mode = renderMode;
+        if (strategyMode != mode || getBufferStrategy() == null) {
+            if (mode == RenderMode.VSYNC) {
+                try {
+                    // Ask for page flipping; falls back to blitting below if the pipeline cannot flip
+                    createBufferStrategy(3, new BufferCapabilities(new ImageCapabilities(true),
+                            new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+                } catch (AWTException e) {
+                    createBufferStrategy(3);
+                }
+            } else {
+                createBufferStrategy(2);
+            }
+            strategyMode = mode;
         }
+        return getBufferStrategy();
     }
 
     /**
-     * Implements double buffering for smooth rendering
+     * Records the interval since the previous frame
+     * @return Start of this frame from System.nanoTime()
      */
-    public void update(Graphics graphics) {
-        if(offScreenImage == null) {
-            offScreenImage = createImage(GAME_WIDTH, GAME_HEIGHT);
+    private long startFrame() {
+        long frameStart = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            world.getMetrics().record(FrameMetrics.Phase.FRAME, frameStart - lastFrameNanos);
         }
-        Graphics offGraphics = offScreenImage.getGraphics();
-        Color originalColor = offGraphics.getColor();
-        // Change background color to light gray
-        offGraphics.setColor(new Color(232, 232, 232)); // Light gray
-        // Alternative colors:
-        // offGraphics.setColor(new Color(245, 245, 245)); // Lighter gray
-        // offGraphics.setColor(new Color(230, 230, 240)); // Light blue-gray
-        offGraphics.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
-        offGraphics.setColor(originalColor);
-        paint(offGraphics);
-        graphics.drawImage(offScreenImage, 0, 0, null);
+        lastFrameNanos = frameStart;
+        return frameStart;
+    }
+
+    /**
+     * Clears the background and paints the scene
+     */
+    private void drawFrame(Graphics graphics) {
+        Color originalColor = graphics.getColor();
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
+        graphics.setColor(originalColor);
+        paint(graphics);
     }
 
     /**
@@ -218,20 +427,89 @@ public class TankClient extends Frame {
         setResizable(false);
         setBackground(new Color(189, 174, 174));
 
-        // Then initialize game objects
-        spawnEnemyTanks();
+        // Then initialize game objects; an arena server brings its own
+        if (arena == null) {
+            synchronized (simulationLock) {
+                world.spawnEnemyTanks();
+            }
+        }
 
         // Window event handlers
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                System.exit(0);
+                exitGame();
             }
         });
         addKeyListener(new KeyMonitor());
 
         // Finally make window visible and start game loop
         setVisible(true);
-        new Thread(new PaintThread()).start();
+        startGameLoop();
+    }
+
+    /**
+     * Starts the game loop thread unless it is already running
+     */
+    void startGameLoop() {
+        if (gameLoop != null && gameLoop.running) {
+            return;
+        }
+        gameLoop = new PaintThread();
+        Thread thread = new Thread(gameLoop, "TankWar-GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sets how often the game loop requests a repaint
+     * The simulation rate stays at {@link #TICKS_PER_SECOND} regardless
+     * @param fps Target frames per second, must be positive
+     */
+    public void setTargetFps(int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Target FPS must be positive: " + fps);
+        }
+        this.targetFps = fps;
+    }
+
+    public int getTargetFps() {
+        return targetFps;
+    }
+
+    /**
+     * Switches how frames are presented; takes effect on the next frame
+     */
+    public void setRenderMode(RenderMode mode) {
+        this.renderMode = mode;
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Gets the time between frames for the current render mode
+     * VSYNC follows the display refresh rate when the device reports one
+     */
+    long framePeriodNanos() {
+        if (renderMode == RenderMode.VSYNC) {
+            if (displayRefreshRate == 0) {
+                displayRefreshRate = lookUpRefreshRate();
+            }
+            return 1_000_000_000L / displayRefreshRate;
+        }
+        return 1_000_000_000L / targetFps;
+    }
+
+    private int lookUpRefreshRate() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            int refreshRate = configuration.getDevice().getDisplayMode().getRefreshRate();
+            if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return refreshRate;
+            }
+        }
+        return DEFAULT_TARGET_FPS;
     }
 
     /**
@@ -259,7 +537,7 @@ public class TankClient extends Frame {
         quitButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                System.exit(0);
+                exitGame();
             }
         });
 
@@ -272,26 +550,56 @@ public class TankClient extends Frame {
 
     }
 
-    void restartGame() {
-        // Reset player tank
-        playerTank = new Tank(50, 50, true, Tank.Direction.STOP, this);
-
-        wallManager = new WallManager(this);
-        wallManager.generateRandomWalls(5);
-
-        // Clear enemy tanks, missiles, and explosions
-        enemyTanks.clear();
-        missiles.clear();
-        explosions.clear();
+    /**
+     * Starts recording the match to a replay file if a path is given
+     * @param path Replay file, or null to play without recording
+     */
+    private void startRecording(String path) {
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        synchronized (simulationLock) {
+            try {
+                replayWriter = ReplayWriter.start(world, Paths.get(path.trim()));
+            } catch (IOException | IllegalStateException e) {
+                e.printStackTrace();
+            }
+        }
+    }
 
-        // Spawn new enemy tanks
-        tankGenerator.spawnEnemyTanks(5);
+    /**
+     * Finishes the replay being recorded, if any
+     */
+    void stopRecording() {
+        synchronized (simulationLock) {
+            if (replayWriter == null) {
+                return;
+            }
+            try {
+                replayWriter.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            replayWriter = null;
+        }
+    }
 
-        // Reset score
-        score = 0;
+    private void exitGame() {
+        stopRecording();
+        if (arena != null) {
+            try {
+                arena.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        System.exit(0);
+    }
 
-        // Reset game state to RUNNING
-        setGameState(GameState.RUNNING);
+    void restartGame() {
+        synchronized (simulationLock) {
+            world.reset();
+        }
 
         // Remove any existing key listeners
         for (KeyListener kl : getKeyListeners()) {
@@ -314,15 +622,54 @@ public class TankClient extends Frame {
      * @return Player tank
      */
     public Tank getPlayerTank() {
-        return playerTank;
+        return world.getPlayerTank();
+    }
+
+    /**
+     * Gets the simulation this window renders
+     */
+    public GameWorld getWorld() {
+        return world;
     }
 
     public Wall[] getWalls() {
-        return wallManager.getAllWalls();
+        return world.getWalls();
+    }
+
+    /**
+     * Checks whether a rectangle overlaps any wall, using the wall grid
+     * @return true if the rectangle intersects a wall
+     */
+    public boolean isBlockedByWalls(int x, int y, int width, int height) {
+        return world.isBlockedByWalls(x, y, width, height);
+    }
+
+    /**
+     * Checks whether the line between two points is blocked by a wall, using the sight cache
+     * @return true if a wall intersects the line
+     */
+    public boolean isSightBlocked(int x1, int y1, int x2, int y2) {
+        return world.isSightBlocked(x1, y1, x2, y2);
     }
 
     /**
-     * Game rendering thread
+     * Finds an alive enemy tank overlapping a rectangle, using the per-tick tank grid
+     * @param exclude Tank to ignore, usually the one asking
+     * @return Overlapping enemy tank or null if none
+     */
+    public Tank findEnemyTankAt(int x, int y, int width, int height, Tank exclude) {
+        return world.findEnemyTankAt(x, y, width, height, exclude);
+    }
+
+    public WallManager getWallManager() {
+        return world.getWallManager();
+    }
+
+    /**
+     * Game loop thread
+     * Runs the simulation at a fixed tick using an accumulator, then renders or requests
+     * a repaint with the leftover fraction of a tick as the interpolation factor.
+     * Frames are paced against fixed deadlines by a {@link FramePacer}.
      */
     class PaintThread implements Runnable {
         volatile boolean running = true; // 添加一个标志变量
@@ -332,10 +679,29 @@ public class TankClient extends Frame {
         }
 
         public void run() {
+            long previousTime = System.nanoTime();
+            long accumulator = 0;
+            FramePacer pacer = new FramePacer(framePeriodNanos());
+
             while (running) { // 使用标志变量控制循环
-                repaint();
+                long frameStart = System.nanoTime();
+                accumulator += Math.min(frameStart - previousTime, MAX_FRAME_NANOS);
+                previousTime = frameStart;
+
+                while (accumulator >= TICK_NANOS) {
+                    stepSimulation();
+                    accumulator -= TICK_NANOS;
+                }
+                interpolation = (double) accumulator / TICK_NANOS;
+
+                // The game over screen uses AWT components, so it always goes through repaint
+                boolean active = renderMode != RenderMode.PASSIVE && getGameState() != GameState.GAME_OVER;
+                if (!active || !renderActiveFrame()) {
+                    repaint();
+                }
                 try {
-                    Thread.sleep(50);
+                    pacer.setPeriodNanos(framePeriodNanos());
+                    pacer.awaitNextFrame();
                 } catch (InterruptedException e) {
                     e.printStackTrace();
                     running = false; // 退出循环
@@ -346,14 +712,59 @@ public class TankClient extends Frame {
 
     /**
      * Keyboard input handler
+     * Input is applied under the simulation lock so it never interleaves with a tick
      */
     class KeyMonitor extends KeyAdapter {
         public void keyReleased(KeyEvent e) {
-            playerTank.handleKeyReleased(e);
+            synchronized (simulationLock) {
+                if (arena != null) {
+                    int bit = GameWorld.inputBitFor(e.getKeyCode());
+                    if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+                        fireRequested = true;
+                    } else if (bit != 0) {
+                        heldKeys &= ~bit;
+                    } else {
+                        sendToArena(ArenaProtocol.KEY_RELEASED, e.getKeyCode());
+                    }
+                } else {
+                    world.keyReleased(e);
+                }
+            }
         }
 
         public void keyPressed(KeyEvent e) {
-            playerTank.handleKeyPressed(e);
+            if (e.getKeyCode() == KeyEvent.VK_F3) {
+                debugOverlayVisible = !debugOverlayVisible;
+                return;
+            }
+            synchronized (simulationLock) {
+                if (arena != null) {
+                    int bit = GameWorld.inputBitFor(e.getKeyCode());
+                    if (bit != 0) {
+                        heldKeys |= bit;
+                    } else {
+                        sendToArena(ArenaProtocol.KEY_PRESSED, e.getKeyCode());
+                    }
+                } else {
+                    world.keyPressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forwards a key other than the movement keys and fire to the arena server
+     * A lost connection shows up on the next poll
+     */
+    private void sendToArena(byte type, int keyCode) {
+        try {
+            if (type == ArenaProtocol.KEY_PRESSED) {
+                arena.keyPressed(keyCode);
+            } else {
+                arena.keyReleased(keyCode);
+            }
+        } catch (IOException e) {
+            world.setGameState(GameState.GAME_OVER);
         }
     }
 
@@ -363,15 +774,15 @@ public class TankClient extends Frame {
 
     // Getter methods for collections
     public List<Missile> getMissiles() {
-        return missiles;
+        return world.getMissiles();
     }
 
     public List<Explode> getExplosions() {
-        return explosions;
+        return world.getExplosions();
     }
 
     public List<Tank> getEnemyTanks() {
-        return enemyTanks;
+        return world.getEnemyTanks();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package tankgame;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TankGrid Class - Spatial hash over tanks, rebuilt once per simulation tick
+ * Each tank is stored in the single cell holding its top-left corner; queries widen
+ * their cell range by one tank size plus one tick of movement so tanks that moved
+ * since the rebuild are still found. Storage is flat arrays reused between ticks.
+ */
+class TankGrid {
+    // Cell edge length in pixels, at least one tank wide so a tank spans at most two cells per axis
+    static final int DEFAULT_CELL_SIZE = 64;
+    // How far a tank may drift from its indexed position before the next rebuild
+    private static final int MOVEMENT_SLACK = Math.max(Tank.MOVEMENT_SPEED_X, Tank.MOVEMENT_SPEED_Y);
+
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+
+    // Head index of each cell's chain, -1 when empty
+    private final int[] cellHeads;
+    // Next index in the chain of the same cell, -1 at the end
+    private int[] next = new int[64];
+    private Tank[] tanks = new Tank[64];
+    private int count = 0;
+
+    /**
+     * Constructor for a grid covering the game area
+     */
+    TankGrid() {
+        this(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for tank grid
+     * @param width Width of the covered area in pixels
+     * @param height Height of the covered area in pixels
+     * @param cellSize Edge length of a cell in pixels
+     */
+    TankGrid(int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, -1);
+    }
+
+    /**
+     * Re-indexes the given tanks at their current positions
+     * Dead tanks are skipped
+     */
+    void rebuild(List<Tank> tankList) {
+        clear();
+        if (tanks.length < tankList.size()) {
+            int capacity = Math.max(tankList.size(), tanks.length * 2);
+            tanks = new Tank[capacity];
+            next = new int[capacity];
+        }
+        for (int i = 0; i < tankList.size(); i++) {
+            Tank tank = tankList.get(i);
+            if (!tank.isAlive()) continue;
+
+            int cell = cellIndex(tank.getPositionX(), tank.getPositionY());
+            tanks[count] = tank;
+            next[count] = cellHeads[cell];
+            cellHeads[cell] = count;
+            count++;
+        }
+    }
+
+    /**
+     * Removes all tanks from the grid
+     */
+    void clear() {
+        Arrays.fill(cellHeads, -1);
+        Arrays.fill(tanks, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Finds an alive tank, other than the excluded one, whose current bounds overlap a rectangle
+     * @param exclude Tank to ignore, usually the one asking
+     * @return Overlapping tank or null if none
+     */
+    Tank findFirst(int x, int y, int width, int height, Tank exclude) {
+        if (count == 0) return null;
+
+        int minColumn = column(x - Tank.TANK_WIDTH - MOVEMENT_SLACK);
+        int maxColumn = column(x + width + MOVEMENT_SLACK);
+        int minRow = row(y - Tank.TANK_HEIGHT - MOVEMENT_SLACK);
+        int maxRow = row(y + height + MOVEMENT_SLACK);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i = cellHeads[r * columns + c]; i != -1; i = next[i]) {
+                    Tank tank = tanks[i];
+                    if (tank != exclude && tank.isAlive() && tank.intersects(x, y, width, height)) {
+                        return tank;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the tanks indexed near a rectangle without narrowing them further
+     * @param out List receiving the candidate tanks
+     */
+    void collectCandidates(int x, int y, int width, int height, List<Tank> out) {
+        if (count == 0) return;
+
+        int minColumn = column(x - Tank.TANK_WIDTH - MOVEMENT_SLACK);
+        int maxColumn = column(x + width + MOVEMENT_SLACK);
+        int minRow = row(y - Tank.TANK_HEIGHT - MOVEMENT_SLACK);
+        int maxRow = row(y + height + MOVEMENT_SLACK);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i = cellHeads[r * columns + c]; i != -1; i = next[i]) {
+                    out.add(tanks[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of indexed tanks
+     */
+    int size() {
+        return count;
+    }
+
+    private int cellIndex(int x, int y) {
+        return row(y) * columns + column(x);
+    }
+
+    // Positions outside the covered area are clamped into the border cells
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, cellSize)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+    }
+}
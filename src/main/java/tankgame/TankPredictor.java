@@ -0,0 +1,117 @@
+package tankgame;
+
+/**
+ * TankPredictor Class - Client-side prediction of the player's own tank
+ * Every client tick the held keys become a numbered input command that is sent to
+ * the server and applied at once to the local tank with the same movement code the
+ * server runs, wall and tank collisions included, so the tank answers the keys
+ * without waiting a round trip. When an authoritative state arrives it reflects the
+ * server's tank after some command; the commands after it are replayed on top, and
+ * where that lands differs from where the tank was predicted to be is the correction
+ * the player sees. Shots are not predicted; they appear with the server's state.
+ */
+final class TankPredictor {
+    // Commands kept for replay; a power of two
+    private static final int HISTORY = 256;
+
+    private final GameWorld world;
+    private final int[] history = new int[HISTORY];
+    private int nextSequence = 1;
+    private int acknowledged = 0;
+
+    // Where the tank was last predicted to be
+    private int predictedX;
+    private int predictedY;
+    private boolean hasPrediction = false;
+
+    private long reconciliations = 0;
+    private long corrections = 0;
+    private double errorSum = 0;
+    private double maxError = 0;
+
+    /**
+     * Constructor
+     * @param world Local world the tank moves in, e.g. a {@link WorldMirror}'s
+     */
+    TankPredictor(GameWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Numbers a command and applies its movement to the tank
+     * @param keys GameWorld.INPUT_* bits
+     * @return Sequence number to send with the command
+     */
+    int predict(Tank tank, int keys) {
+        int sequence = nextSequence++;
+        history[sequence & (HISTORY - 1)] = keys;
+        world.applyCommand(tank, keys & GameWorld.INPUT_MOVEMENT);
+        remember(tank);
+        return sequence;
+    }
+
+    /**
+     * Replays the commands the server has not applied yet on top of its state
+     * @param tank Tank holding the server's state after command {@code acknowledged}
+     * @param acknowledged Sequence number of the last command the server applied
+     * @return Distance in pixels between the prediction and the reconciled position
+     */
+    double reconcile(Tank tank, int acknowledged) {
+        if (acknowledged > this.acknowledged) {
+            this.acknowledged = Math.min(acknowledged, nextSequence - 1);
+        }
+        // Commands too old to be in the history are lost; replay what is left
+        int first = Math.max(this.acknowledged + 1, nextSequence - HISTORY);
+        for (int sequence = first; sequence < nextSequence; sequence++) {
+            world.applyCommand(tank, history[sequence & (HISTORY - 1)] & GameWorld.INPUT_MOVEMENT);
+        }
+
+        double error = 0;
+        if (hasPrediction) {
+            error = Math.hypot(tank.getCurrentX() - predictedX, tank.getCurrentY() - predictedY);
+            reconciliations++;
+            if (error > 0) {
+                corrections++;
+                errorSum += error;
+                maxError = Math.max(maxError, error);
+            }
+        }
+        remember(tank);
+        return error;
+    }
+
+    private void remember(Tank tank) {
+        predictedX = tank.getCurrentX();
+        predictedY = tank.getCurrentY();
+        hasPrediction = true;
+    }
+
+    /**
+     * Gets the number of commands sent but not yet applied by the server
+     */
+    int getPendingCount() {
+        return nextSequence - 1 - acknowledged;
+    }
+
+    long getReconciliations() {
+        return reconciliations;
+    }
+
+    /**
+     * Gets the number of reconciliations that moved the tank
+     */
+    long getCorrections() {
+        return corrections;
+    }
+
+    /**
+     * Gets the mean distance the tank moved in the reconciliations that moved it
+     */
+    double getMeanError() {
+        return corrections == 0 ? 0 : errorSum / corrections;
+    }
+
+    double getMaxError() {
+        return maxError;
+    }
+}
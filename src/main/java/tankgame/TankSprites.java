@@ -0,0 +1,135 @@
+package tankgame;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * TankSprites Class - Pre-rendered tank images
+ * Every barrel direction of both factions is drawn once into a single atlas image,
+ * so a tank is drawn each frame with one drawImage call instead of a dozen
+ * Java2D calls and transforms
+ */
+final class TankSprites {
+	// Room around the hull for the tracks and for a barrel pointing in any direction
+	static final int PADDING = 20;
+	static final int SPRITE_WIDTH = Tank.TANK_WIDTH + PADDING * 2;
+	static final int SPRITE_HEIGHT = Tank.TANK_HEIGHT + PADDING * 2;
+
+	private static final int BARREL_LENGTH = 30;
+	private static final int BARREL_WIDTH = 8;
+	private static final int TURRET_SIZE = 25;
+
+	private static final Color PLAYER_ARMOR = new Color(180, 0, 0);
+	private static final Color ENEMY_ARMOR = new Color(0, 0, 180);
+
+	// One row per faction (player first), one column per barrel direction
+	private static final BufferedImage ATLAS = buildAtlas();
+
+	private TankSprites() {
+	}
+
+	/**
+	 * Draws a tank from the atlas
+	 * @param graphics Graphics context for rendering
+	 * @param x X coordinate of the tank body
+	 * @param y Y coordinate of the tank body
+	 * @param isPlayer Whether to use the player's colors
+	 * @param barrel Direction the barrel points in
+	 */
+	static void draw(Graphics graphics, int x, int y, boolean isPlayer, Tank.Direction barrel) {
+		int sourceX = barrel.ordinal() * SPRITE_WIDTH;
+		int sourceY = isPlayer ? 0 : SPRITE_HEIGHT;
+		int destX = x - PADDING;
+		int destY = y - PADDING;
+		graphics.drawImage(ATLAS, destX, destY, destX + SPRITE_WIDTH, destY + SPRITE_HEIGHT,
+				sourceX, sourceY, sourceX + SPRITE_WIDTH, sourceY + SPRITE_HEIGHT, null);
+	}
+
+	static BufferedImage getAtlas() {
+		return ATLAS;
+	}
+
+	private static BufferedImage buildAtlas() {
+		Tank.Direction[] directions = Tank.Direction.values();
+		BufferedImage atlas = new BufferedImage(SPRITE_WIDTH * directions.length, SPRITE_HEIGHT * 2,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = atlas.createGraphics();
+		try {
+			for (int row = 0; row < 2; row++) {
+				for (Tank.Direction direction : directions) {
+					int x = direction.ordinal() * SPRITE_WIDTH + PADDING;
+					int y = row * SPRITE_HEIGHT + PADDING;
+					paintBody(graphics, x, y, row == 0);
+					paintBarrel(graphics, x, y, direction);
+				}
+			}
+		} finally {
+			graphics.dispose();
+		}
+		return atlas;
+	}
+
+	/**
+	 * Draws the tracks, hull, armor plates and turret of a tank
+	 */
+	static void paintBody(Graphics graphics, int x, int y, boolean isPlayer) {
+		Color originalColor = graphics.getColor();
+		Color armor = isPlayer ? PLAYER_ARMOR : ENEMY_ARMOR;
+
+		// Draw tracks with increased width
+		graphics.setColor(Color.DARK_GRAY);
+		graphics.fillRect(x - 5, y, 5, Tank.TANK_HEIGHT); // Left track
+		graphics.fillRect(x + Tank.TANK_WIDTH, y, 5, Tank.TANK_HEIGHT); // Right track
+
+		// Draw tank body
+		graphics.setColor(isPlayer ? Color.RED : Color.BLUE);
+		graphics.fillRect(x, y, Tank.TANK_WIDTH, Tank.TANK_HEIGHT);
+
+		// Draw armor plate textures
+		graphics.setColor(armor);
+		graphics.drawLine(x, y + Tank.TANK_HEIGHT/3, x + Tank.TANK_WIDTH, y + Tank.TANK_HEIGHT/3);
+		graphics.drawLine(x, y + 2*Tank.TANK_HEIGHT/3, x + Tank.TANK_WIDTH, y + 2*Tank.TANK_HEIGHT/3);
+
+		// Draw turret with reduced size
+		int turretX = x + (Tank.TANK_WIDTH - TURRET_SIZE)/2;
+		int turretY = y + (Tank.TANK_HEIGHT - TURRET_SIZE)/2;
+		graphics.setColor(Color.DARK_GRAY);
+		graphics.fillOval(turretX, turretY, TURRET_SIZE, TURRET_SIZE);
+
+		// Add armor ring around turret
+		graphics.setColor(armor);
+		graphics.drawOval(turretX, turretY, TURRET_SIZE, TURRET_SIZE);
+
+		graphics.setColor(originalColor);
+	}
+
+	/**
+	 * Draws a barrel rotated from the center of the tank; STOP draws nothing
+	 */
+	static void paintBarrel(Graphics graphics, int x, int y, Tank.Direction direction) {
+		if (direction == Tank.Direction.STOP) return;
+
+		Graphics2D g2d = (Graphics2D)graphics;
+		// Store the original transform
+		AffineTransform oldTransform = g2d.getTransform();
+		g2d.setColor(Color.DARK_GRAY);
+		g2d.translate(x + Tank.TANK_WIDTH/2, y + Tank.TANK_HEIGHT/2);
+		g2d.rotate(barrelAngle(direction));
+		g2d.fillRect(0, -BARREL_WIDTH/2, BARREL_LENGTH, BARREL_WIDTH);
+		// Restore the original transform
+		g2d.setTransform(oldTransform);
+	}
+
+	private static double barrelAngle(Tank.Direction direction) {
+		switch (direction) {
+			case L: return Math.PI;
+			case LU: return -3 * Math.PI/4;  // -135 degrees
+			case U: return -Math.PI/2;  // -90 degrees
+			case RU: return -Math.PI/4;  // -45 degrees
+			case RD: return Math.PI/4;  // 45 degrees
+			case D: return Math.PI/2;  // 90 degrees
+			case LD: return 3 * Math.PI/4;  // 135 degrees
+			default: return 0;
+		}
+	}
+}
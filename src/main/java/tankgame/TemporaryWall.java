@@ -0,0 +1,33 @@
+package tankgame;
+import java.awt.*;
+
+/**
+ * TemporaryWall Class - Wall that exists for a limited time
+ */
+class TemporaryWall extends Wall {
+    private final long expirationTime;
+
+    public TemporaryWall(int x, int y, int width, int height, GameContext client, long expirationTime) {
+        super(x, y, width, height, client);
+        this.expirationTime = expirationTime;
+    }
+
+    @Override
+    public void render(Graphics graphics) {
+        Color originalColor = graphics.getColor();
+        graphics.setColor(new Color(0, 191, 255, 180)); // Semi-transparent light blue
+        graphics.fillRect(getPositionX(), getPositionY(), getWidth(), getHeight());
+        graphics.setColor(originalColor);
+    }
+
+    public boolean hasExpired(long currentTime) {
+        return currentTime > expirationTime;
+    }
+
+    /**
+     * Gets the time after which the wall disappears, on the wall manager's clock
+     */
+    public long getExpirationTime() {
+        return expirationTime;
+    }
+}
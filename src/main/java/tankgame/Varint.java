@@ -0,0 +1,57 @@
+package tankgame;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Varint Class - Variable-length integer coding shared by the binary formats
+ * Unsigned LEB128: seven bits per byte, high bit set on all but the last, so small
+ * values take one byte. Signed values are zigzag-mapped first so small negatives do too.
+ */
+final class Varint {
+    // A 64-bit value needs at most ten 7-bit groups
+    static final int MAX_LENGTH = 10;
+
+    private Varint() {
+    }
+
+    /**
+     * Writes an unsigned varint
+     */
+    static void put(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned varint
+     * @throws IOException if the input ends inside the varint or it is longer than any 64-bit value needs
+     */
+    static long get(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!in.hasRemaining()) {
+                throw new IOException("Truncated varint");
+            }
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Maps signed values to unsigned ones so small negatives stay short as varints
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -14,6 +14,12 @@ public class Wall {
 	private final int width;
 	private final int height;
 
+	// Walls never move, so their bounds are built once and shared by internal queries
+	private final Rectangle bounds;
+
+	// Identifies the wall in world snapshots; 0 until the first snapshot assigns one
+	private int entityId = 0;
+
     /**
 	 * Constructor for creating a wall
 	 * @param x Initial X coordinate of the wall
@@ -22,11 +28,12 @@ public class Wall {
 	 * @param height Height of the wall
 	 * @param client Reference to the game client
 	 */
-	public Wall(int x, int y, int width, int height, TankClient client) {
+	public Wall(int x, int y, int width, int height, GameContext client) {
 		this.positionX = x;
 		this.positionY = y;
 		this.width = width;
 		this.height = height;
+		this.bounds = new Rectangle(x, y, width, height);
         // Reference to game client
     }
 
@@ -48,7 +55,7 @@ public class Wall {
 	 */
 	public boolean handleMissileCollision(Missile missile) {
         // Basic walls just block missiles without taking damage
-        return getCollisionBounds().intersects(missile.getCollisionBounds());
+        return missile.intersects(positionX, positionY, width, height);
     }
 
 	/**
@@ -102,10 +109,30 @@ public class Wall {
 	/**
 	 * Gets the collision bounds of the wall
 	 * Used for collision detection with tanks and missiles
+	 * Returns a copy so callers cannot move the wall's cached bounds
 	 * @return Rectangle representing the wall's bounds
 	 */
 	public Rectangle getCollisionBounds() {
-		return new Rectangle(positionX, positionY, width, height);
+		return new Rectangle(bounds);
+	}
+
+	/**
+	 * Checks whether a rectangle overlaps the wall
+	 * Same result as getCollisionBounds().intersects(...) for positive sizes
+	 * @return true if the rectangle intersects the wall
+	 */
+	public boolean intersects(int x, int y, int width, int height) {
+		return x < positionX + this.width && x + width > positionX &&
+				y < positionY + this.height && y + height > positionY;
+	}
+
+	/**
+	 * Checks whether a line segment touches the wall
+	 * Same result as Line2D.intersects(getCollisionBounds())
+	 * @return true if the segment intersects the wall
+	 */
+	public boolean intersectsLine(double x1, double y1, double x2, double y2) {
+		return bounds.intersectsLine(x1, y1, x2, y2);
 	}
 
 	/**
@@ -139,4 +166,12 @@ public class Wall {
 	public int getHeight() {
 		return height;
 	}
+
+	int getEntityId() {
+		return entityId;
+	}
+
+	void setEntityId(int entityId) {
+		this.entityId = entityId;
+	}
 }
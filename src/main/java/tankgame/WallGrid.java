@@ -0,0 +1,285 @@
+package tankgame;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WallGrid Class - Uniform grid broad-phase for walls
+ * Each wall is bucketed into every cell its bounds touch, so rectangle and
+ * segment queries only test the walls stored in the cells they cover
+ */
+class WallGrid {
+    // Default cell edge length in pixels, roughly one tank plus padding
+    static final int DEFAULT_CELL_SIZE = 64;
+
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<Wall>[] cells;
+    private int wallCount = 0;
+
+    /**
+     * Constructor for a grid covering the game area
+     */
+    WallGrid() {
+        this(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for wall grid
+     * @param width Width of the covered area in pixels
+     * @param height Height of the covered area in pixels
+     * @param cellSize Edge length of a cell in pixels
+     */
+    WallGrid(int width, int height, int cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.cellSize = cellSize;
+        this.columns = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Wall>[] buckets = new List[columns * rows];
+        this.cells = buckets;
+    }
+
+    /**
+     * Adds a wall to every cell its bounds touch
+     */
+    void insert(Wall wall) {
+        int minColumn = column(wall.getPositionX());
+        int maxColumn = column(wall.getPositionX() + wall.getWidth());
+        int minRow = row(wall.getPositionY());
+        int maxRow = row(wall.getPositionY() + wall.getHeight());
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int index = r * columns + c;
+                if (cells[index] == null) {
+                    cells[index] = new ArrayList<>(4);
+                }
+                cells[index].add(wall);
+            }
+        }
+        wallCount++;
+    }
+
+    /**
+     * Removes a wall from every cell it was bucketed into
+     */
+    void remove(Wall wall) {
+        int minColumn = column(wall.getPositionX());
+        int maxColumn = column(wall.getPositionX() + wall.getWidth());
+        int minRow = row(wall.getPositionY());
+        int maxRow = row(wall.getPositionY() + wall.getHeight());
+        boolean removed = false;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                List<Wall> bucket = cells[r * columns + c];
+                if (bucket != null) {
+                    removed |= bucket.remove(wall);
+                }
+            }
+        }
+        if (removed) {
+            wallCount--;
+        }
+    }
+
+    /**
+     * Removes all walls from the grid
+     */
+    void clear() {
+        for (List<Wall> bucket : cells) {
+            if (bucket != null) {
+                bucket.clear();
+            }
+        }
+        wallCount = 0;
+    }
+
+    /**
+     * Checks whether a rectangle overlaps any wall
+     * @return true if at least one wall intersects the rectangle
+     */
+    boolean intersectsAny(int x, int y, int width, int height) {
+        return findFirst(x, y, width, height) != null;
+    }
+
+    /**
+     * Finds the first wall overlapping a rectangle
+     * @return Overlapping wall or null if none
+     */
+    Wall findFirst(int x, int y, int width, int height) {
+        if (wallCount == 0) return null;
+
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                List<Wall> bucket = cells[r * columns + c];
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Wall wall = bucket.get(i);
+                    if (wall.intersects(x, y, width, height)) {
+                        return wall;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects walls stored in the cells overlapping a rectangle
+     * Candidates are not narrowed further and each wall is added once
+     * @param out List receiving the candidate walls
+     */
+    void collectCandidates(int x, int y, int width, int height, List<Wall> out) {
+        if (wallCount == 0) return;
+
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                List<Wall> bucket = cells[r * columns + c];
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Wall wall = bucket.get(i);
+                    if (isReferenceCell(wall, x, y, c, r)) {
+                        out.add(wall);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a line segment touches any wall
+     * Walks the cells crossed by the segment (Amanatides-Woo traversal), visiting
+     * both neighbours when the segment passes exactly through a cell corner
+     * @return true if a wall intersects the segment
+     */
+    boolean intersectsSegment(int x1, int y1, int x2, int y2) {
+        if (wallCount == 0) return false;
+
+        int c = Math.floorDiv(x1, cellSize);
+        int r = Math.floorDiv(y1, cellSize);
+        int endColumn = Math.floorDiv(x2, cellSize);
+        int endRow = Math.floorDiv(y2, cellSize);
+
+        int dx = x2 - x1;
+        int dy = y2 - y1;
+        int stepX = Integer.signum(dx);
+        int stepY = Integer.signum(dy);
+
+        // Parametric distance along the segment to the next vertical / horizontal cell boundary
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : (double) cellSize / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : (double) cellSize / Math.abs(dy);
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? (c + 1) * (double) cellSize : c * (double) cellSize) - x1) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? (r + 1) * (double) cellSize : r * (double) cellSize) - y1) / dy;
+
+        // Number of cell boundaries still to cross; bounds the walk against rounding drift
+        int remaining = Math.abs(endColumn - c) + Math.abs(endRow - r);
+        while (true) {
+            if (segmentHitsCell(c, r, x1, y1, x2, y2)) {
+                return true;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            if (tMaxX < tMaxY) {
+                c += stepX;
+                tMaxX += tDeltaX;
+                remaining--;
+            } else if (tMaxY < tMaxX) {
+                r += stepY;
+                tMaxY += tDeltaY;
+                remaining--;
+            } else {
+                // Passing through a corner: also test both side neighbours
+                if (segmentHitsCell(c + stepX, r, x1, y1, x2, y2)
+                        || segmentHitsCell(c, r + stepY, x1, y1, x2, y2)) {
+                    return true;
+                }
+                c += stepX;
+                r += stepY;
+                tMaxX += tDeltaX;
+                tMaxY += tDeltaY;
+                remaining -= 2;
+            }
+        }
+    }
+
+    /**
+     * Tests the walls of one cell against a segment
+     */
+    private boolean segmentHitsCell(int c, int r, int x1, int y1, int x2, int y2) {
+        List<Wall> bucket = cells[clampRow(r) * columns + clampColumn(c)];
+        if (bucket == null) return false;
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i).intersectsLine(x1, y1, x2, y2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A wall spanning several cells is reported only from the cell holding the
+     * top-left corner of its overlap with the query, so no dedup set is needed
+     */
+    private boolean isReferenceCell(Wall wall, int x, int y, int c, int r) {
+        int overlapX = Math.max(x, wall.getPositionX());
+        int overlapY = Math.max(y, wall.getPositionY());
+        return column(overlapX) == c && row(overlapY) == r;
+    }
+
+    /**
+     * Gets the number of walls stored in the grid
+     */
+    int size() {
+        return wallCount;
+    }
+
+    int getCellSize() {
+        return cellSize;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the walls bucketed in a cell, or null if it is empty
+     * Coordinates outside the grid are clamped to the border cells
+     */
+    List<Wall> cellAt(int c, int r) {
+        return cells[clampRow(r) * columns + clampColumn(c)];
+    }
+
+    // Positions outside the covered area are clamped into the border cells
+    private int column(int x) {
+        return clampColumn(Math.floorDiv(x, cellSize));
+    }
+
+    private int row(int y) {
+        return clampRow(Math.floorDiv(y, cellSize));
+    }
+
+    private int clampColumn(int c) {
+        return Math.max(0, Math.min(columns - 1, c));
+    }
+
+    private int clampRow(int r) {
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+}
@@ -0,0 +1,88 @@
+package tankgame;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * WallLayer Class - Pre-rendered image of a set of walls
+ * The walls are drawn into an off-screen image once and the image is blitted
+ * every frame; it is redrawn only after invalidate() reports a change
+ */
+class WallLayer {
+    private static final Color CLEAR = new Color(0, 0, 0, 0);
+
+    private final Consumer<Graphics> painter;
+    private final int width;
+    private final int height;
+    private BufferedImage image = null;
+    private volatile boolean dirty = true;
+    private int bakeCount = 0;
+
+    /**
+     * Constructor for a layer covering the game area
+     * @param painter Draws the walls of the layer
+     */
+    WallLayer(Consumer<Graphics> painter) {
+        this(painter, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT);
+    }
+
+    /**
+     * Constructor for wall layer
+     * @param painter Draws the walls of the layer
+     * @param width Width of the layer in pixels
+     * @param height Height of the layer in pixels
+     */
+    WallLayer(Consumer<Graphics> painter, int width, int height) {
+        this.painter = painter;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Marks the layer for redrawing before the next render
+     */
+    void invalidate() {
+        dirty = true;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Gets how many times the walls have been drawn into the image
+     */
+    int getBakeCount() {
+        return bakeCount;
+    }
+
+    /**
+     * Draws the layer, redrawing the walls into the image first if it is dirty
+     * @param graphics Graphics context for rendering
+     */
+    void render(Graphics graphics) {
+        if (dirty) {
+            bake();
+        }
+        graphics.drawImage(image, 0, 0, null);
+    }
+
+    private void bake() {
+        if (image == null) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        Graphics2D imageGraphics = image.createGraphics();
+        try {
+            // Clear to fully transparent so the background shows through
+            imageGraphics.setComposite(AlphaComposite.Src);
+            imageGraphics.setColor(CLEAR);
+            imageGraphics.fillRect(0, 0, width, height);
+            imageGraphics.setComposite(AlphaComposite.SrcOver);
+            painter.accept(imageGraphics);
+        } finally {
+            imageGraphics.dispose();
+        }
+        dirty = false;
+        bakeCount++;
+    }
+}
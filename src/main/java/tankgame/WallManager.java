@@ -2,6 +2,7 @@ package tankgame;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * WallManager Class - Handles wall generation and management
@@ -29,15 +30,45 @@ public class WallManager {
     private final List<Wall> permanentWalls = new ArrayList<>();
     private final List<BreakableWall> breakableWalls = new ArrayList<>();
     private final List<TemporaryWall> temporaryWalls = new ArrayList<>();
-    private final TankClient gameClient;
+    private final GameContext gameClient;
+    // Time source for temporary wall expiry; the world supplies game time so expiry replays exactly
+    private final LongSupplier clock;
+
+    // Broad-phase index kept in step with the wall lists
+    private final WallGrid wallGrid = new WallGrid();
+    // Approximate line-of-sight answers for the AI, dropped whenever a wall is added or removed
+    private final SightCache sightCache = new SightCache();
+    // Cover points of all walls, rebuilt on the next query after the wall set changes
+    private CoverIndex coverIndex = null;
+    // AI navigation over the walls, invalidated together with the other derived structures
+    private final PathFinder pathFinder = new PathFinder(this);
+    // Pursuit directions towards the player, shared by every AI tank
+    private final FlowField playerFlowField = new FlowField(pathFinder);
+    // Snapshot returned by getAllWalls, rebuilt only after the wall set changes
+    private Wall[] allWallsCache = null;
+
+    // Pre-rendered walls: permanent walls change only when the set does, while
+    // breakable and temporary walls also change on damage or expiry
+    private final WallLayer staticLayer = new WallLayer(this::paintPermanentWalls);
+    private final WallLayer dynamicLayer = new WallLayer(this::paintDynamicWalls);
 
     /**
      * Constructor for wall manager
      * @param client Reference to game client
      */
-    public WallManager(TankClient client) {
+    public WallManager(GameContext client) {
+        this(client, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor for wall manager
+     * @param client Reference to game client
+     * @param clock Current time in milliseconds, used to time temporary walls
+     */
+    public WallManager(GameContext client, LongSupplier clock) {
         this.gameClient = client;
-        this.generator = new WallGenerator(this);
+        this.clock = clock;
+        this.generator = new WallGenerator(this, GameWorld.randomFor(client));
         generator.generateDefaultLayout();
     }
 
@@ -67,28 +98,42 @@ public class WallManager {
      * @param currentTime Current game time in milliseconds
      */
     public void update(long currentTime) {
-        // Update temporary walls
-        Iterator<TemporaryWall> iterator = temporaryWalls.iterator();
-        while (iterator.hasNext()) {
-            TemporaryWall wall = iterator.next();
+        // Update temporary walls; indexed loops, as this runs every tick and iterators are allocated
+        for (int i = 0; i < temporaryWalls.size(); i++) {
+            TemporaryWall wall = temporaryWalls.get(i);
             if (wall.hasExpired(currentTime)) {
-                iterator.remove();
+                temporaryWalls.remove(i--);
+                wallRemoved(wall);
             }
         }
 
         // Update breakable walls
-        breakableWalls.removeIf(wall -> !wall.isAlive());
+        for (int i = 0; i < breakableWalls.size(); i++) {
+            BreakableWall wall = breakableWalls.get(i);
+            if (!wall.isAlive()) {
+                breakableWalls.remove(i--);
+                wallRemoved(wall);
+            }
+        }
     }
 
     /**
      * Renders all walls
+     * Each layer is redrawn only if its walls changed since the last frame
      * @param graphics Graphics context for rendering
      */
     public void render(Graphics graphics) {
-        // Render all types of walls
+        staticLayer.render(graphics);
+        dynamicLayer.render(graphics);
+    }
+
+    private void paintPermanentWalls(Graphics graphics) {
         for (Wall wall : permanentWalls) {
             wall.render(graphics);
         }
+    }
+
+    private void paintDynamicWalls(Graphics graphics) {
         for (BreakableWall wall : breakableWalls) {
             wall.render(graphics);
         }
@@ -97,10 +142,25 @@ public class WallManager {
         }
     }
 
+    WallLayer getStaticLayer() {
+        return staticLayer;
+    }
+
+    WallLayer getDynamicLayer() {
+        return dynamicLayer;
+    }
+
     public void cleanWalls() {
         permanentWalls.clear();
         breakableWalls.clear();
         temporaryWalls.clear();
+        wallGrid.clear();
+        sightCache.clear();
+        allWallsCache = null;
+        coverIndex = null;
+        pathFinder.invalidate();
+        staticLayer.invalidate();
+        dynamicLayer.invalidate();
     }
 
     /**
@@ -108,7 +168,9 @@ public class WallManager {
      */
     public void addPermanentWall(int x, int y, int width, int height) {
         if (width <= 0 || height <= 0) return;
-        permanentWalls.add(new Wall(x, y, width, height, gameClient));
+        Wall wall = new Wall(x, y, width, height, gameClient);
+        permanentWalls.add(wall);
+        wallAdded(wall);
     }
 
     /**
@@ -116,7 +178,10 @@ public class WallManager {
      */
     public void addBreakableWall(int x, int y, int width, int height) {
         if (width <= 0 || height <= 0) return;
-        breakableWalls.add(new BreakableWall(x, y, width, height, gameClient));
+        BreakableWall wall = new BreakableWall(x, y, width, height, gameClient);
+        wall.setDamageListener(dynamicLayer::invalidate);
+        breakableWalls.add(wall);
+        wallAdded(wall);
     }
 
     /**
@@ -124,7 +189,10 @@ public class WallManager {
      */
     public void addFortifiedWall(int x, int y, int width, int height) {
         if (width <= 0 || height <= 0) return;
-        breakableWalls.add(new BreakableWall(x, y, width, height, gameClient, MAX_FORTIFIED_HEALTH));
+        BreakableWall wall = new BreakableWall(x, y, width, height, gameClient, MAX_FORTIFIED_HEALTH);
+        wall.setDamageListener(dynamicLayer::invalidate);
+        breakableWalls.add(wall);
+        wallAdded(wall);
     }
 
     /**
@@ -132,8 +200,54 @@ public class WallManager {
      */
     public void addTemporaryWall(int x, int y, int width, int height) {
         if (width <= 0 || height <= 0) return;
-        temporaryWalls.add(new TemporaryWall(x, y, width, height, gameClient,
-                System.currentTimeMillis() + TEMPORARY_WALL_DURATION));
+        TemporaryWall wall = new TemporaryWall(x, y, width, height, gameClient,
+                clock.getAsLong() + TEMPORARY_WALL_DURATION);
+        temporaryWalls.add(wall);
+        wallAdded(wall);
+    }
+
+    /**
+     * Adds a wall built elsewhere, e.g. from a world snapshot
+     * Breakable and temporary walls keep their own health and expiry
+     */
+    void addWall(Wall wall) {
+        if (wall instanceof BreakableWall) {
+            ((BreakableWall) wall).setDamageListener(dynamicLayer::invalidate);
+            breakableWalls.add((BreakableWall) wall);
+        } else if (wall instanceof TemporaryWall) {
+            temporaryWalls.add((TemporaryWall) wall);
+        } else {
+            permanentWalls.add(wall);
+        }
+        wallAdded(wall);
+    }
+
+    /**
+     * Keeps the spatial index in step after a wall is added
+     */
+    private void wallAdded(Wall wall) {
+        wallGrid.insert(wall);
+        sightCache.addWall(wall);
+        allWallsCache = null;
+        coverIndex = null;
+        pathFinder.invalidate();
+        layerOf(wall).invalidate();
+    }
+
+    /**
+     * Keeps the spatial index in step after a wall is destroyed or expires
+     */
+    private void wallRemoved(Wall wall) {
+        wallGrid.remove(wall);
+        sightCache.removeWall(wall);
+        allWallsCache = null;
+        coverIndex = null;
+        pathFinder.invalidate();
+        layerOf(wall).invalidate();
+    }
+
+    private WallLayer layerOf(Wall wall) {
+        return wall instanceof BreakableWall || wall instanceof TemporaryWall ? dynamicLayer : staticLayer;
     }
 
     /**
@@ -143,204 +257,149 @@ public class WallManager {
 
     /**
      * Gets all walls for collision detection
+     * The array is shared until the wall set changes and must not be modified
      * @return Array of all walls
      */
     public Wall[] getAllWalls() {
-        List<Wall> allWalls = new ArrayList<>();
-        if (!permanentWalls.isEmpty()) allWalls.addAll(permanentWalls);
-        if (!breakableWalls.isEmpty()) allWalls.addAll(breakableWalls);
-        if (!temporaryWalls.isEmpty()) allWalls.addAll(temporaryWalls);
-        return allWalls.toArray(new Wall[0]);
+        if (allWallsCache == null) {
+            List<Wall> allWalls = new ArrayList<>();
+            if (!permanentWalls.isEmpty()) allWalls.addAll(permanentWalls);
+            if (!breakableWalls.isEmpty()) allWalls.addAll(breakableWalls);
+            if (!temporaryWalls.isEmpty()) allWalls.addAll(temporaryWalls);
+            allWallsCache = allWalls.toArray(new Wall[0]);
+        }
+        return allWallsCache;
     }
 
     /**
-     * Generic collision handler for game objects
-     * @param gameObject Object to check collision with walls
-     * @param <T> Type of game object (Missile or Tank)
-     * @return true if collision occurred
+     * Checks whether a rectangle overlaps any wall
+     * Only walls bucketed near the rectangle are tested
+     * @return true if the rectangle intersects a wall
      */
-    private <T> boolean handleCollisionWithWalls(T gameObject) {
-        if (gameObject == null) return false;
-
-        for (Wall wall : getAllWalls()) {
-            if (wall == null) continue;
-
-            if (gameObject instanceof Missile) {
-                if (wall.handleMissileCollision((Missile)gameObject)) {
-                    return true;
-                }
-            } else if (gameObject instanceof Tank) {
-                if (((Tank)gameObject).handleWallCollision(wall)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public boolean intersectsAnyWall(int x, int y, int width, int height) {
+        return wallGrid.intersectsAny(x, y, width, height);
     }
 
     /**
-     * Handle missile collision with walls
+     * Checks whether a line segment is blocked by any wall
+     * Only walls bucketed in the cells crossed by the segment are tested
+     * @return true if a wall intersects the segment
      */
-    public boolean handleMissileCollision(Missile missile) {
-        return handleCollisionWithWalls(missile);
+    public boolean isSegmentBlocked(int x1, int y1, int x2, int y2) {
+        return wallGrid.intersectsSegment(x1, y1, x2, y2);
     }
 
     /**
-     * Handle tank collision with walls
+     * Checks whether walls block the sight between two points
+     * Answers are cached per pair of coarse cells and approximate the exact
+     * {@link #isSegmentBlocked} test to within a cell
+     * @return true if a wall blocks the sight line
      */
-    public void handleTankCollision(Tank tank) {
-        handleCollisionWithWalls(tank);
+    public boolean isSightBlocked(int x1, int y1, int x2, int y2) {
+        return sightCache.isBlocked(x1, y1, x2, y2);
     }
-}
 
-/**
- * BreakableWall Class - Represents a destructible wall in the game
- * Extends the basic Wall class with health and damage mechanics
- * Changes color based on remaining health and can be destroyed
- */
-class BreakableWall extends Wall {
-    // Health points of the wall
-    private int health;
-    // Status flag indicating if wall is still functional
-    private boolean isAlive = true;
+    SightCache getSightCache() {
+        return sightCache;
+    }
 
-    /**
-     * Constants for health management
-     * MAX_HEALTH: Maximum health points for a standard breakable wall
-     * MIN_HEALTH: Minimum health points (wall is destroyed below this)
-     */
-    private static final int MAX_HEALTH = 100;
-    private static final int MIN_HEALTH = 0;
-    private static final int FORTIFIED_HEALTH = 500;  // Fortified wall max health
+    PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    FlowField getPlayerFlowField() {
+        return playerFlowField;
+    }
 
     /**
-     * Constructor for creating a standard breakable wall
-     * Initializes the wall with maximum health
-     *
-     * @param x Initial X coordinate of the wall
-     * @param y Initial Y coordinate of the wall
-     * @param width Width of the wall
-     * @param height Height of the wall
-     * @param client Reference to the game client
+     * Builds every lazily derived wall structure the AI queries
+     * After this, and until the walls change, the queries only read shared state and
+     * may run on several threads at once
+     * @param playerX X coordinate the player flow field should lead to
+     * @param playerY Y coordinate the player flow field should lead to
      */
-    public BreakableWall(int x, int y, int width, int height, TankClient client) {
-        super(x, y, width, height, client);
-        this.health = MAX_HEALTH;
+    void prepareQueries(int playerX, int playerY) {
+        getAllWalls();
+        getCoverIndex();
+        pathFinder.prepare();
+        playerFlowField.prepare(playerX, playerY);
     }
 
     /**
-     * Constructor for creating a breakable wall with custom health
-     * Useful for creating walls with different strength levels
-     * Health value is clamped between MIN_HEALTH and MAX_FORTIFIED_HEALTH
-     *
-     * @param x Initial X coordinate of the wall
-     * @param y Initial Y coordinate of the wall
-     * @param width Width of the wall
-     * @param height Height of the wall
-     * @param client Reference to the game client
-     * @param health Initial health points for the wall
+     * Gets the spatial index over the cover points of all walls
+     * The index is shared until the wall set changes and must not be modified
      */
-    public BreakableWall(int x, int y, int width, int height, TankClient client, int health) {
-        super(x, y, width, height, client);
-        // Ensure health is within valid range
-        this.health = Math.min(Math.max(MIN_HEALTH, health), FORTIFIED_HEALTH);
+    CoverIndex getCoverIndex() {
+        if (coverIndex == null) {
+            coverIndex = new CoverIndex(getAllWalls());
+        }
+        return coverIndex;
     }
 
     /**
-     * Applies damage to the wall
-     * Reduces health by specified amount and checks for destruction
-     * Health cannot go below MIN_HEALTH
-     *
-     * @param amount Amount of damage to apply
+     * Collects the walls stored near a rectangle, each at most once
+     * @param out List receiving the candidate walls
      */
-    public void damage(int amount) {
-        // Ensure health doesn't go below minimum
-        health = Math.max(MIN_HEALTH, health - amount);
-        // Check if wall should be destroyed
-        if (health <= MIN_HEALTH) {
-            isAlive = false;
-        }
+    public void collectWallsNear(int x, int y, int width, int height, List<Wall> out) {
+        wallGrid.collectCandidates(x, y, width, height, out);
     }
 
     /**
-     * Handles collision with missiles
-     * Applies damage when hit and returns collision status
-     * Overrides the parent class's method to add damage mechanics
-     *
-     * @param missile The missile to check collision with
-     * @return true if collision occurred and was handled, false otherwise
+     * Generic collision handler for game objects
+     * @param gameObject Object to check collision with walls
+     * @param <T> Type of game object (Missile or Tank)
+     * @return true if collision occurred
      */
-    @Override
-    public boolean handleMissileCollision(Missile missile) {
-        if (!isAlive) return false;
+    private <T> boolean handleCollisionWithWalls(T gameObject) {
+        if (gameObject == null) return false;
 
-        if (getCollisionBounds().intersects(missile.getCollisionBounds())) {
-            damage(20); // Apply damage but don't create explosion
-            return true;
+        if (gameObject instanceof Missile missile) {
+            return handleCollisionInCells(missile.getPositionX(), missile.getPositionY(),
+                    Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT, missile, null);
+        } else if (gameObject instanceof Tank tank) {
+            return handleCollisionInCells(tank.getPositionX(), tank.getPositionY(),
+                    Tank.TANK_WIDTH, Tank.TANK_HEIGHT, null, tank);
         }
         return false;
     }
 
     /**
-     * Gets the current alive status of the wall
-     * @return boolean indicating if wall is still alive
+     * Runs the collision handlers of the walls bucketed around an object's bounds
      */
-    public boolean isAlive() {
-        return isAlive;
+    private boolean handleCollisionInCells(int x, int y, int width, int height, Missile missile, Tank tank) {
+        int cellSize = wallGrid.getCellSize();
+        int minColumn = Math.floorDiv(x, cellSize);
+        int maxColumn = Math.floorDiv(x + width, cellSize);
+        int minRow = Math.floorDiv(y, cellSize);
+        int maxRow = Math.floorDiv(y + height, cellSize);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                List<Wall> bucket = wallGrid.cellAt(c, r);
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Wall wall = bucket.get(i);
+                    if (missile != null ? wall.handleMissileCollision(missile) : tank.handleWallCollision(wall)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
     }
 
     /**
-     * Gets the current health of the wall
-     * @return current health points
+     * Handle missile collision with walls
      */
-    public int getHealth() {
-        return health;
+    public boolean handleMissileCollision(Missile missile) {
+        return handleCollisionWithWalls(missile);
     }
 
     /**
-     * Renders the wall with health-based color
-     * Color changes from green to red as health decreases
-     * Override parent's render method to add health visualization
-     *
-     * @param graphics Graphics context for rendering
+     * Handle tank collision with walls
+     * @return true if the tank hit a wall and was moved back
      */
-    @Override
-    public void render(Graphics graphics) {
-        if (!isAlive) return;
-
-        Color originalColor = graphics.getColor();
-        // Calculate green component based on health percentage
-        int greenValue = Math.min(255, Math.max(0, (int)(255 * (health / 100.0))));
-        // Create color with fixed red component and variable green
-        graphics.setColor(new Color(128, greenValue, 0));
-        // Draw the wall
-        graphics.fillRect(getPositionX(), getPositionY(), getWidth(), getHeight());
-        // Restore original color
-        graphics.setColor(originalColor);
-    }
-}
-
-/**
- * TemporaryWall Class - Wall that exists for a limited time
- */
-class TemporaryWall extends Wall {
-    private final long expirationTime;
-
-    public TemporaryWall(int x, int y, int width, int height, TankClient client, long expirationTime) {
-        super(x, y, width, height, client);
-        this.expirationTime = expirationTime;
-    }
-
-    @Override
-    public void render(Graphics graphics) {
-        Color originalColor = graphics.getColor();
-        graphics.setColor(new Color(0, 191, 255, 180)); // Semi-transparent light blue
-        graphics.fillRect(getPositionX(), getPositionY(), getWidth(), getHeight());
-        graphics.setColor(originalColor);
-    }
-
-    public boolean hasExpired(long currentTime) {
-        return currentTime > expirationTime;
+    public boolean handleTankCollision(Tank tank) {
+        return handleCollisionWithWalls(tank);
     }
 }
 
@@ -350,7 +409,7 @@ class TemporaryWall extends Wall {
  */
 class WallGenerator {
     private final WallManager wallManager;
-    private final Random random = new Random();
+    private final SplittableRandom random;
 
     // Constants for generation settings
     private static final int PADDING = 20;
@@ -366,9 +425,11 @@ class WallGenerator {
     /**
      * Constructor for wall generator
      * @param wallManager Reference to the wall manager
+     * @param random Random stream for layouts
      */
-    public WallGenerator(WallManager wallManager) {
+    public WallGenerator(WallManager wallManager, SplittableRandom random) {
         this.wallManager = wallManager;
+        this.random = random;
     }
 
     /**
@@ -386,10 +447,9 @@ class WallGenerator {
         );
 
         // Check overlap with existing walls
-        for (Wall wall : wallManager.getAllWalls()) {
-            if (paddedBounds.intersects(wall.getCollisionBounds())) {
-                return true;
-            }
+        if (wallManager.intersectsAnyWall(paddedBounds.x, paddedBounds.y,
+                paddedBounds.width, paddedBounds.height)) {
+            return true;
         }
 
         // Check screen edge proximity
@@ -418,6 +478,8 @@ class WallGenerator {
      * Generates random walls
      */
     public void generateRandomWalls(int count) {
+        GameEvents.WallGenerationEvent generationEvent = new GameEvents.WallGenerationEvent();
+        generationEvent.begin();
         int successfulPlacements = 0;
         int maxAttempts = count * 2;
         int attempts = 0;
@@ -439,6 +501,15 @@ class WallGenerator {
             createRandomWall(position.x, position.y, width, height);
             successfulPlacements++;
         }
+
+        generationEvent.end();
+        if (generationEvent.shouldCommit()) {
+            generationEvent.requested = count;
+            generationEvent.placed = successfulPlacements;
+            generationEvent.attempts = attempts;
+            generationEvent.totalWalls = wallManager.getAllWalls().length;
+            generationEvent.commit();
+        }
     }
 
     /**
@@ -0,0 +1,177 @@
+package tankgame;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WorldMirror Class - Keeps a local world in step with states simulated elsewhere
+ * Each applied {@link WorldState} updates the world's tanks, missiles, explosions,
+ * walls and health pack in place, creating and dropping objects as entities appear
+ * and disappear, so a TankClient can draw an arena server's world exactly as it draws
+ * a local one. The mirrored world is never stepped.
+ */
+final class WorldMirror {
+    private static final Tank.Direction[] DIRECTIONS = Tank.Direction.values();
+    private static final TankClient.GameState[] STATES = TankClient.GameState.values();
+
+    private final GameWorld world;
+
+    // Objects of the last applied state by entity id, and the ones being built for the next
+    private Map<Integer, Tank> tanks = new HashMap<>();
+    private Map<Integer, Tank> nextTanks = new HashMap<>();
+    private Map<Integer, Missile> missiles = new HashMap<>();
+    private Map<Integer, Missile> nextMissiles = new HashMap<>();
+    private Map<Integer, Explode> explosions = new HashMap<>();
+    private Map<Integer, Explode> nextExplosions = new HashMap<>();
+    // Walls of the last applied state; the wall set is rebuilt only when they change
+    private final WorldState.Table walls = new WorldState.Table(WorldState.WALL_COLUMNS);
+    private boolean wallsApplied = false;
+
+    /**
+     * Constructor for world mirror
+     * @param world World to overwrite with every applied state
+     */
+    WorldMirror(GameWorld world) {
+        this.world = world;
+    }
+
+    GameWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Makes the world match a state
+     * @param state State to show
+     * @param ownTankId Entity id of the tank to make the world's player tank, or 0 for none
+     */
+    void apply(WorldState state, int ownTankId) {
+        applyTanks(state.tanks, ownTankId);
+        applyMissiles(state.missiles);
+        applyExplosions(state.explosions);
+        if (!wallsApplied || !walls.equals(state.walls)) {
+            applyWalls(state.walls);
+        }
+
+        Blood healthPack = world.getHealthPack();
+        healthPack.setPathIndex(state.healthPackIndex);
+        healthPack.setActive(state.healthPackActive);
+        world.setScore(state.score);
+        world.setGameState(STATES[state.gameState]);
+        // Collision queries against the mirrored world see the new tank positions
+        world.rebuildTankGrid();
+    }
+
+    private void applyTanks(WorldState.Table rows, int ownTankId) {
+        List<Tank> enemyTanks = world.getEnemyTanks();
+        List<Tank> remotePlayers = world.getRemotePlayers();
+        enemyTanks.clear();
+        remotePlayers.clear();
+        nextTanks.clear();
+        boolean ownFound = false;
+        for (int row = 0; row < rows.size(); row++) {
+            int id = rows.id(row);
+            int flags = rows.get(WorldState.TANK_FLAGS, row);
+            boolean isPlayer = (flags & WorldState.FLAG_PLAYER) != 0;
+            int x = rows.get(WorldState.TANK_X, row);
+            int y = rows.get(WorldState.TANK_Y, row);
+            Tank tank = tanks.get(id);
+            if (tank == null) {
+                // Player tanks can be moved locally, see TankPredictor; enemy tanks only ever follow the states
+                tank = isPlayer ? new Tank(x, y, true, Tank.Direction.STOP, world) : new Tank(x, y, false);
+                tank.setEntityId(id);
+            }
+            tank.applyState(x, y, DIRECTIONS[rows.get(WorldState.TANK_DIRECTION, row)],
+                    DIRECTIONS[rows.get(WorldState.TANK_BARREL, row)],
+                    rows.get(WorldState.TANK_HEALTH, row), (flags & WorldState.FLAG_ALIVE) != 0);
+            nextTanks.put(id, tank);
+
+            if (id == ownTankId) {
+                world.setPlayerTank(tank);
+                ownFound = true;
+            } else if (isPlayer) {
+                remotePlayers.add(tank);
+            } else {
+                enemyTanks.add(tank);
+            }
+        }
+        if (!ownFound) {
+            // Spectating, or the own tank is gone: hide whatever tank is left in the player slot
+            world.getPlayerTank().setAlive(false);
+        }
+        Map<Integer, Tank> swap = tanks;
+        tanks = nextTanks;
+        nextTanks = swap;
+    }
+
+    private void applyMissiles(WorldState.Table rows) {
+        List<Missile> live = world.getMissiles();
+        live.clear();
+        nextMissiles.clear();
+        for (int row = 0; row < rows.size(); row++) {
+            int id = rows.id(row);
+            int x = rows.get(WorldState.MISSILE_X, row);
+            int y = rows.get(WorldState.MISSILE_Y, row);
+            Tank.Direction direction = DIRECTIONS[rows.get(WorldState.MISSILE_DIRECTION, row)];
+            boolean isPlayerMissile = (rows.get(WorldState.MISSILE_FLAGS, row) & WorldState.FLAG_PLAYER) != 0;
+            Missile missile = missiles.get(id);
+            if (missile == null) {
+                missile = new Missile(x, y, isPlayerMissile, direction, world);
+                missile.setEntityId(id);
+            }
+            missile.applyState(x, y, direction, isPlayerMissile);
+            nextMissiles.put(id, missile);
+            live.add(missile);
+        }
+        Map<Integer, Missile> swap = missiles;
+        missiles = nextMissiles;
+        nextMissiles = swap;
+    }
+
+    private void applyExplosions(WorldState.Table rows) {
+        List<Explode> live = world.getExplosions();
+        live.clear();
+        nextExplosions.clear();
+        for (int row = 0; row < rows.size(); row++) {
+            int id = rows.id(row);
+            Explode explosion = explosions.get(id);
+            if (explosion == null) {
+                explosion = new Explode(0, 0, world);
+                explosion.setEntityId(id);
+            }
+            explosion.applyState(rows.get(WorldState.EXPLOSION_X, row), rows.get(WorldState.EXPLOSION_Y, row),
+                    rows.get(WorldState.EXPLOSION_FRAME, row));
+            nextExplosions.put(id, explosion);
+            live.add(explosion);
+        }
+        Map<Integer, Explode> swap = explosions;
+        explosions = nextExplosions;
+        nextExplosions = swap;
+    }
+
+    private void applyWalls(WorldState.Table rows) {
+        WallManager wallManager = world.getWallManager();
+        wallManager.cleanWalls();
+        for (int row = 0; row < rows.size(); row++) {
+            int x = rows.get(WorldState.WALL_X, row);
+            int y = rows.get(WorldState.WALL_Y, row);
+            int width = rows.get(WorldState.WALL_WIDTH, row);
+            int height = rows.get(WorldState.WALL_HEIGHT, row);
+            Wall wall;
+            switch (rows.get(WorldState.WALL_TYPE, row)) {
+                case WorldState.WALL_BREAKABLE:
+                    wall = new BreakableWall(x, y, width, height, world, rows.get(WorldState.WALL_HEALTH, row));
+                    break;
+                case WorldState.WALL_TEMPORARY:
+                    wall = new TemporaryWall(x, y, width, height, world, rows.get(WorldState.WALL_EXPIRY, row));
+                    break;
+                default:
+                    wall = new Wall(x, y, width, height, world);
+                    break;
+            }
+            wall.setEntityId(rows.id(row));
+            wallManager.addWall(wall);
+        }
+        walls.copyFrom(rows);
+        wallsApplied = true;
+    }
+}
@@ -0,0 +1,137 @@
+package tankgame;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * WorldSnapshot Class - Read-only view of a world for one AI think phase
+ * Captures the player, the tank and missile lists and the wall set at the start of the
+ * phase, and builds every lazily derived wall structure (cover index, navigation grid,
+ * player flow field) up front, so AIs planning on several threads only ever read
+ * shared state. Anything that would change the world throws UnsupportedOperationException.
+ * Valid only while the world is not stepped.
+ */
+final class WorldSnapshot implements GameContext {
+    private GameContext world;
+    private Tank playerTank;
+    private List<Tank> enemyTanks;
+    private List<Missile> missiles;
+    private List<Explode> explosions;
+    // The world's lists behind the read-only views, to tell when a view can be kept
+    private List<Tank> enemyTankSource;
+    private List<Missile> missileSource;
+    private List<Explode> explosionSource;
+    private Wall[] walls;
+    private WallManager wallManager;
+    private int score;
+    private TankClient.GameState gameState;
+
+    /**
+     * Constructor for world snapshot
+     * @param world World to view; must not change while the snapshot is in use
+     */
+    WorldSnapshot(GameContext world) {
+        capture(world);
+    }
+
+    /**
+     * Captures the world again for a new think phase
+     * The read-only list views are kept while the world's lists are the same ones,
+     * so a scheduler reusing one snapshot allocates nothing per phase.
+     * @param world World to view; must not change while the snapshot is in use
+     */
+    void capture(GameContext world) {
+        this.world = world;
+        this.playerTank = world.getPlayerTank();
+        if (enemyTankSource != world.getEnemyTanks()) {
+            enemyTankSource = world.getEnemyTanks();
+            enemyTanks = Collections.unmodifiableList(enemyTankSource);
+        }
+        if (missileSource != world.getMissiles()) {
+            missileSource = world.getMissiles();
+            missiles = Collections.unmodifiableList(missileSource);
+        }
+        if (explosionSource != world.getExplosions()) {
+            explosionSource = world.getExplosions();
+            explosions = Collections.unmodifiableList(explosionSource);
+        }
+        this.walls = world.getWalls();
+        this.wallManager = world.getWallManager();
+        this.score = world.getScore();
+        this.gameState = world.getGameState();
+        if (wallManager != null) {
+            wallManager.prepareQueries(playerTank.getPositionX(), playerTank.getPositionY());
+        }
+    }
+
+    public Tank getPlayerTank() {
+        return playerTank;
+    }
+
+    public List<Tank> getEnemyTanks() {
+        return enemyTanks;
+    }
+
+    public List<Missile> getMissiles() {
+        return missiles;
+    }
+
+    public List<Explode> getExplosions() {
+        return explosions;
+    }
+
+    /**
+     * Gets the walls as of the start of the phase
+     * The array is shared and must not be modified
+     */
+    public Wall[] getWalls() {
+        return walls;
+    }
+
+    public WallManager getWallManager() {
+        return wallManager;
+    }
+
+    public boolean isBlockedByWalls(int x, int y, int width, int height) {
+        return world.isBlockedByWalls(x, y, width, height);
+    }
+
+    public boolean isSightBlocked(int x1, int y1, int x2, int y2) {
+        return world.isSightBlocked(x1, y1, x2, y2);
+    }
+
+    public Tank findEnemyTankAt(int x, int y, int width, int height, Tank exclude) {
+        return world.findEnemyTankAt(x, y, width, height, exclude);
+    }
+
+    public Missile spawnMissile(int x, int y, boolean isPlayerMissile, Tank.Direction direction) {
+        throw new UnsupportedOperationException("World snapshot is read-only");
+    }
+
+    public Explode spawnExplosion(int x, int y) {
+        throw new UnsupportedOperationException("World snapshot is read-only");
+    }
+
+    /**
+     * Entities are only created on the simulation thread, so there is nothing to split for
+     */
+    public SplittableRandom splitRandom() {
+        throw new UnsupportedOperationException("World snapshot is read-only");
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        throw new UnsupportedOperationException("World snapshot is read-only");
+    }
+
+    public TankClient.GameState getGameState() {
+        return gameState;
+    }
+
+    public void setGameState(TankClient.GameState state) {
+        throw new UnsupportedOperationException("World snapshot is read-only");
+    }
+}
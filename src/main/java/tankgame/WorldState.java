@@ -0,0 +1,379 @@
+package tankgame;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WorldState Class - Plain copy of the observable state of a world at one tick
+ * Tanks, missiles, explosions and walls are held as tables of int columns, one row
+ * per entity, sorted by entity id. Entities get their id from the world the first time
+ * they are captured and keep it until they are removed, so two states of the same
+ * world can be compared row by row; see {@link SnapshotCodec}. Capturing reuses the
+ * tables' arrays, so a state captured every tick stops allocating once it has grown.
+ */
+final class WorldState {
+    // Tank columns
+    static final int TANK_X = 0;
+    static final int TANK_Y = 1;
+    static final int TANK_DIRECTION = 2;
+    static final int TANK_BARREL = 3;
+    static final int TANK_HEALTH = 4;
+    static final int TANK_FLAGS = 5;
+    static final int TANK_COLUMNS = 6;
+    // Bits of TANK_FLAGS
+    static final int FLAG_PLAYER = 1;
+    static final int FLAG_ALIVE = 2;
+
+    // Missile columns; MISSILE_FLAGS holds FLAG_PLAYER
+    static final int MISSILE_X = 0;
+    static final int MISSILE_Y = 1;
+    static final int MISSILE_DIRECTION = 2;
+    static final int MISSILE_FLAGS = 3;
+    static final int MISSILE_COLUMNS = 4;
+
+    // Explosion columns
+    static final int EXPLOSION_X = 0;
+    static final int EXPLOSION_Y = 1;
+    static final int EXPLOSION_FRAME = 2;
+    static final int EXPLOSION_COLUMNS = 3;
+
+    // Wall columns; health is 0 and expiry -1 for walls without them
+    static final int WALL_X = 0;
+    static final int WALL_Y = 1;
+    static final int WALL_WIDTH = 2;
+    static final int WALL_HEIGHT = 3;
+    static final int WALL_TYPE = 4;
+    static final int WALL_HEALTH = 5;
+    static final int WALL_EXPIRY = 6;
+    static final int WALL_COLUMNS = 7;
+    // Values of WALL_TYPE, as in the replay layout
+    static final int WALL_PERMANENT = ReplayWriter.WALL_PERMANENT;
+    static final int WALL_BREAKABLE = ReplayWriter.WALL_BREAKABLE;
+    static final int WALL_TEMPORARY = ReplayWriter.WALL_TEMPORARY;
+
+    long tick;
+    int score;
+    int gameState;
+    int healthPackIndex;
+    boolean healthPackActive;
+
+    final Table tanks = new Table(TANK_COLUMNS);
+    final Table missiles = new Table(MISSILE_COLUMNS);
+    final Table explosions = new Table(EXPLOSION_COLUMNS);
+    final Table walls = new Table(WALL_COLUMNS);
+
+    /**
+     * Captures a world, replacing the previous contents of this state
+     * Entities without an id yet are given one
+     * @return This state
+     */
+    WorldState capture(GameWorld world) {
+        tick = world.getTickCount();
+        score = world.getScore();
+        gameState = world.getGameState().ordinal();
+        healthPackIndex = world.getHealthPack().getPathIndex();
+        healthPackActive = world.getHealthPack().isActive();
+
+        tanks.clear();
+        captureTank(world, world.getPlayerTank());
+        List<Tank> remotePlayers = world.getRemotePlayers();
+        for (int i = 0; i < remotePlayers.size(); i++) {
+            captureTank(world, remotePlayers.get(i));
+        }
+        List<Tank> enemyTanks = world.getEnemyTanks();
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            captureTank(world, enemyTanks.get(i));
+        }
+        tanks.sortById();
+
+        missiles.clear();
+        List<Missile> worldMissiles = world.getMissiles();
+        for (int i = 0; i < worldMissiles.size(); i++) {
+            Missile missile = worldMissiles.get(i);
+            if (!missile.isActive()) continue;
+            if (missile.getEntityId() == 0) {
+                missile.setEntityId(world.nextEntityId());
+            }
+            int row = missiles.add(missile.getEntityId());
+            missiles.set(MISSILE_X, row, missile.getPositionX());
+            missiles.set(MISSILE_Y, row, missile.getPositionY());
+            missiles.set(MISSILE_DIRECTION, row, missile.getDirection().ordinal());
+            missiles.set(MISSILE_FLAGS, row, missile.isFromPlayerTank() ? FLAG_PLAYER : 0);
+        }
+        missiles.sortById();
+
+        explosions.clear();
+        List<Explode> worldExplosions = world.getExplosions();
+        for (int i = 0; i < worldExplosions.size(); i++) {
+            Explode explosion = worldExplosions.get(i);
+            if (!explosion.getStatus()) continue;
+            if (explosion.getEntityId() == 0) {
+                explosion.setEntityId(world.nextEntityId());
+            }
+            int row = explosions.add(explosion.getEntityId());
+            explosions.set(EXPLOSION_X, row, explosion.getPositionX());
+            explosions.set(EXPLOSION_Y, row, explosion.getPositionY());
+            explosions.set(EXPLOSION_FRAME, row, explosion.getAnimationFrame());
+        }
+        explosions.sortById();
+
+        walls.clear();
+        for (Wall wall : world.getWalls()) {
+            if (wall.getEntityId() == 0) {
+                wall.setEntityId(world.nextEntityId());
+            }
+            int row = walls.add(wall.getEntityId());
+            walls.set(WALL_X, row, wall.getPositionX());
+            walls.set(WALL_Y, row, wall.getPositionY());
+            walls.set(WALL_WIDTH, row, wall.getWidth());
+            walls.set(WALL_HEIGHT, row, wall.getHeight());
+            if (wall instanceof BreakableWall) {
+                walls.set(WALL_TYPE, row, WALL_BREAKABLE);
+                walls.set(WALL_HEALTH, row, ((BreakableWall) wall).getHealth());
+                walls.set(WALL_EXPIRY, row, -1);
+            } else if (wall instanceof TemporaryWall) {
+                // Simulation time, far below the int range for any real match
+                long expiry = ((TemporaryWall) wall).getExpirationTime();
+                walls.set(WALL_TYPE, row, WALL_TEMPORARY);
+                walls.set(WALL_HEALTH, row, 0);
+                walls.set(WALL_EXPIRY, row, (int) Math.min(expiry, Integer.MAX_VALUE));
+            } else {
+                walls.set(WALL_TYPE, row, WALL_PERMANENT);
+                walls.set(WALL_HEALTH, row, 0);
+                walls.set(WALL_EXPIRY, row, -1);
+            }
+        }
+        walls.sortById();
+        return this;
+    }
+
+    private void captureTank(GameWorld world, Tank tank) {
+        if (tank.getEntityId() == 0) {
+            tank.setEntityId(world.nextEntityId());
+        }
+        int row = tanks.add(tank.getEntityId());
+        tanks.set(TANK_X, row, tank.getPositionX());
+        tanks.set(TANK_Y, row, tank.getPositionY());
+        tanks.set(TANK_DIRECTION, row, tank.getMoveDirection().ordinal());
+        tanks.set(TANK_BARREL, row, tank.getBarrelDirection().ordinal());
+        tanks.set(TANK_HEALTH, row, tank.getHealthPoints());
+        tanks.set(TANK_FLAGS, row, (tank.isPlayerControlled() ? FLAG_PLAYER : 0)
+                | (tank.isAlive() ? FLAG_ALIVE : 0));
+    }
+
+    /**
+     * Empties this state, as before the first snapshot of a stream
+     */
+    void clear() {
+        tick = 0;
+        score = 0;
+        gameState = 0;
+        healthPackIndex = 0;
+        healthPackActive = false;
+        tanks.clear();
+        missiles.clear();
+        explosions.clear();
+        walls.clear();
+    }
+
+    /**
+     * Makes this state a copy of another
+     */
+    void copyFrom(WorldState other) {
+        tick = other.tick;
+        score = other.score;
+        gameState = other.gameState;
+        healthPackIndex = other.healthPackIndex;
+        healthPackActive = other.healthPackActive;
+        tanks.copyFrom(other.tanks);
+        missiles.copyFrom(other.missiles);
+        explosions.copyFrom(other.explosions);
+        walls.copyFrom(other.walls);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WorldState)) return false;
+        WorldState other = (WorldState) o;
+        return tick == other.tick && score == other.score && gameState == other.gameState
+                && healthPackIndex == other.healthPackIndex && healthPackActive == other.healthPackActive
+                && tanks.equals(other.tanks) && missiles.equals(other.missiles)
+                && explosions.equals(other.explosions) && walls.equals(other.walls);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(tick);
+        hash = 31 * hash + score;
+        hash = 31 * hash + tanks.hashCode();
+        hash = 31 * hash + missiles.hashCode();
+        hash = 31 * hash + explosions.hashCode();
+        return 31 * hash + walls.hashCode();
+    }
+
+    /**
+     * Table Class - Rows of int columns keyed by entity id
+     * Column-major, so comparing one field across all rows walks one array
+     */
+    static final class Table {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int columnCount;
+        private int size = 0;
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int[][] columns;
+        // Set when a row is added out of id order
+        private boolean unsorted = false;
+
+        // Scratch for sortById, swapped with the live arrays
+        private long[] order = new long[0];
+        private int[] spareIds = new int[0];
+        private int[][] spareColumns;
+
+        Table(int columnCount) {
+            this.columnCount = columnCount;
+            this.columns = new int[columnCount][INITIAL_CAPACITY];
+            this.spareColumns = new int[columnCount][0];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int columnCount() {
+            return columnCount;
+        }
+
+        int id(int row) {
+            return ids[row];
+        }
+
+        int get(int column, int row) {
+            return columns[column][row];
+        }
+
+        void set(int column, int row, int value) {
+            columns[column][row] = value;
+        }
+
+        /**
+         * Appends a row with every column 0
+         * @return Index of the new row
+         */
+        int add(int id) {
+            if (size == ids.length) {
+                grow();
+            }
+            if (size > 0 && id <= ids[size - 1]) {
+                unsorted = true;
+            }
+            ids[size] = id;
+            for (int c = 0; c < columnCount; c++) {
+                columns[c][size] = 0;
+            }
+            return size++;
+        }
+
+        /**
+         * Appends a copy of a row of another table with the same columns
+         * @return Index of the new row
+         */
+        int addRow(Table source, int sourceRow) {
+            int row = add(source.ids[sourceRow]);
+            for (int c = 0; c < columnCount; c++) {
+                columns[c][row] = source.columns[c][sourceRow];
+            }
+            return row;
+        }
+
+        /**
+         * Finds the row of an entity
+         * @return Row index, or -1 if the table has no row with this id
+         */
+        int find(int id) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            return row >= 0 ? row : -1;
+        }
+
+        void clear() {
+            size = 0;
+            unsorted = false;
+        }
+
+        void copyFrom(Table other) {
+            if (ids.length < other.size) {
+                ids = new int[other.ids.length];
+                columns = new int[columnCount][other.ids.length];
+            }
+            System.arraycopy(other.ids, 0, ids, 0, other.size);
+            for (int c = 0; c < columnCount; c++) {
+                System.arraycopy(other.columns[c], 0, columns[c], 0, other.size);
+            }
+            size = other.size;
+            unsorted = other.unsorted;
+        }
+
+        /**
+         * Puts the rows in ascending id order
+         * Rows are captured in list order, which the pools' swap removal scrambles,
+         * so the rows are sorted by packed (id, row) keys and permuted in one pass
+         */
+        void sortById() {
+            if (!unsorted) return;
+            // Spares as large as the live arrays, so swapping never gives back capacity
+            if (spareIds.length < ids.length) {
+                order = new long[ids.length];
+                spareIds = new int[ids.length];
+                spareColumns = new int[columnCount][ids.length];
+            }
+            for (int row = 0; row < size; row++) {
+                order[row] = (long) ids[row] << 32 | row;
+            }
+            Arrays.sort(order, 0, size);
+            for (int i = 0; i < size; i++) {
+                int row = (int) order[i];
+                spareIds[i] = ids[row];
+                for (int c = 0; c < columnCount; c++) {
+                    spareColumns[c][i] = columns[c][row];
+                }
+            }
+            int[] swapIds = ids;
+            ids = spareIds;
+            spareIds = swapIds;
+            int[][] swapColumns = columns;
+            columns = spareColumns;
+            spareColumns = swapColumns;
+            unsorted = false;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            for (int c = 0; c < columnCount; c++) {
+                columns[c] = Arrays.copyOf(columns[c], capacity);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Table)) return false;
+            Table other = (Table) o;
+            if (size != other.size || columnCount != other.columnCount) return false;
+            if (!Arrays.equals(ids, 0, size, other.ids, 0, size)) return false;
+            for (int c = 0; c < columnCount; c++) {
+                if (!Arrays.equals(columns[c], 0, size, other.columns[c], 0, size)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = size;
+            for (int row = 0; row < size; row++) {
+                hash = 31 * hash + ids[row];
+            }
+            return hash;
+        }
+    }
+}
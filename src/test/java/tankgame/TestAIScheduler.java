@@ -0,0 +1,159 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests staggering and limiting of enemy AI decisions
+ */
+class TestAIScheduler {
+    private GameWorld world;
+    private FrameMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        metrics = new FrameMetrics();
+    }
+
+    private List<Tank> spawn(int count) {
+        List<Tank> tanks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tanks.add(new Tank(100 + (i * 37) % 600, 100 + (i * 53) % 400, false, Tank.Direction.STOP, world));
+        }
+        return tanks;
+    }
+
+    @Test
+    void testTanksSpawnedTogetherDecideOnDifferentTicks() {
+        AIScheduler scheduler = new AIScheduler(4, Integer.MAX_VALUE, metrics);
+        List<Tank> tanks = spawn(8);
+
+        for (long tick = 0; tick < 4; tick++) {
+            assertEquals(2, scheduler.planDue(tick, world, tanks));
+        }
+        assertEquals(8, metrics.getAIDecisions());
+    }
+
+    @Test
+    void testEachTankDecidesOncePerInterval() {
+        AIScheduler scheduler = new AIScheduler(5, Integer.MAX_VALUE, metrics);
+        List<Tank> tanks = spawn(3);
+
+        int decisions = 0;
+        for (long tick = 0; tick < 20; tick++) {
+            decisions += scheduler.planDue(tick, world, tanks);
+        }
+
+        assertEquals(3 * 4, decisions);
+        assertEquals(0, metrics.getAIDeferredDecisions());
+    }
+
+    @Test
+    void testLimitDefersRemainingDecisions() {
+        AIScheduler scheduler = new AIScheduler(1, 1, metrics);
+        List<Tank> tanks = spawn(3);
+
+        assertEquals(1, scheduler.planDue(0, world, tanks));
+        assertEquals(2, scheduler.getBacklog());
+        assertEquals(2, metrics.getAIDeferredDecisions());
+        assertEquals(2, metrics.getAIBacklog());
+
+        // Deferred decisions are not queued twice when their tank is due again
+        assertEquals(1, scheduler.planDue(1, world, tanks));
+        assertEquals(2, scheduler.getBacklog());
+    }
+
+    @Test
+    void testDeferredDecisionsGoFirst() {
+        AIScheduler scheduler = new AIScheduler(2, 1, metrics);
+        List<Tank> tanks = spawn(4);
+
+        scheduler.planDue(0, world, tanks);
+        assertEquals(1, scheduler.getBacklog());
+
+        // The tank deferred on tick 0 is planned before the tanks due on tick 1
+        Tank deferred = tanks.get(2);
+        assertTrue(deferred.getAI().isDecisionPending());
+        scheduler.planDue(1, world, tanks);
+        assertFalse(deferred.getAI().isDecisionPending());
+    }
+
+    @Test
+    void testDeadDeferredTanksAreDropped() {
+        AIScheduler scheduler = new AIScheduler(1, 1, metrics);
+        List<Tank> tanks = spawn(2);
+
+        scheduler.planDue(0, world, tanks);
+        assertEquals(1, scheduler.getBacklog());
+        tanks.get(1).setAlive(false);
+        tanks.remove(1);
+
+        scheduler.planDue(1, world, tanks);
+        assertEquals(0, scheduler.getBacklog());
+    }
+
+    @Test
+    void testLargeBatchIsPlannedCompletely() {
+        AIScheduler scheduler = new AIScheduler(1, Integer.MAX_VALUE, metrics);
+        List<Tank> tanks = spawn(AIScheduler.PARALLEL_THRESHOLD * 8);
+
+        assertEquals(tanks.size(), scheduler.planDue(0, world, tanks));
+        for (Tank tank : tanks) {
+            assertFalse(tank.getAI().isDecisionPending());
+        }
+    }
+
+    @Test
+    void testLargeBatchIsCutAtLimitInListOrder() {
+        int limit = AIScheduler.PARALLEL_THRESHOLD + 8;
+        AIScheduler scheduler = new AIScheduler(1, limit, metrics);
+        List<Tank> tanks = spawn(limit * 2 + 5);
+
+        assertEquals(limit, scheduler.planDue(0, world, tanks));
+        for (int i = 0; i < tanks.size(); i++) {
+            assertEquals(i >= limit, tanks.get(i).getAI().isDecisionPending(), "Tank " + i);
+        }
+
+        // The deferred tanks are planned next, before the tanks due again
+        assertEquals(limit, scheduler.planDue(1, world, tanks));
+        for (int i = 0; i < tanks.size(); i++) {
+            assertEquals(i < limit || i >= limit * 2, tanks.get(i).getAI().isDecisionPending(), "Tank " + i);
+        }
+    }
+
+    @Test
+    void testClearDropsBacklog() {
+        AIScheduler scheduler = new AIScheduler(1, 1, metrics);
+        List<Tank> tanks = spawn(3);
+        scheduler.planDue(0, world, tanks);
+
+        scheduler.clear();
+
+        assertEquals(0, scheduler.getBacklog());
+        assertFalse(tanks.get(2).getAI().isDecisionPending());
+    }
+
+    @Test
+    void testInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new AIScheduler(0, 1, metrics));
+    }
+
+    @Test
+    void testInvalidDecisionLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new AIScheduler(1, 0, metrics));
+    }
+
+    @Test
+    void testWorldStepsThroughScheduler() {
+        world.step();
+
+        assertEquals(1, world.getMetrics().getAIDecisions());
+        assertEquals(0, world.getAIScheduler().getBacklog());
+    }
+}
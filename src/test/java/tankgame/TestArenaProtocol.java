@@ -0,0 +1,70 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests message framing between the arena server and its clients
+ */
+class TestArenaProtocol {
+
+    @Test
+    void testKeyMessageRoundTrip() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ArenaProtocol.putKey(buffer, ArenaProtocol.KEY_PRESSED, java.awt.event.KeyEvent.VK_LEFT);
+        ArenaProtocol.putKey(buffer, ArenaProtocol.KEY_RELEASED, java.awt.event.KeyEvent.VK_SPACE);
+        buffer.flip();
+
+        ByteBuffer first = ArenaProtocol.nextMessage(buffer);
+        assertEquals(ArenaProtocol.KEY_PRESSED, first.get());
+        assertEquals(java.awt.event.KeyEvent.VK_LEFT, Varint.get(first));
+        assertFalse(first.hasRemaining());
+
+        ByteBuffer second = ArenaProtocol.nextMessage(buffer);
+        assertEquals(ArenaProtocol.KEY_RELEASED, second.get());
+        assertEquals(java.awt.event.KeyEvent.VK_SPACE, Varint.get(second));
+        assertNull(ArenaProtocol.nextMessage(buffer));
+    }
+
+    @Test
+    void testIncompleteMessageWaits() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ArenaProtocol.putKey(buffer, ArenaProtocol.KEY_PRESSED, 300);
+        int length = buffer.position();
+
+        for (int available = 0; available < length; available++) {
+            ByteBuffer partial = buffer.duplicate();
+            partial.position(0).limit(available);
+            assertNull(ArenaProtocol.nextMessage(partial));
+            assertEquals(0, partial.position());
+        }
+    }
+
+    @Test
+    void testBadLengthIsRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.putInt(-1).flip();
+        assertThrows(IOException.class, () -> ArenaProtocol.nextMessage(buffer));
+
+        ByteBuffer huge = ByteBuffer.allocate(8);
+        huge.putInt(ArenaProtocol.MAX_MESSAGE_SIZE + 1).flip();
+        assertThrows(IOException.class, () -> ArenaProtocol.nextMessage(huge));
+    }
+
+    @Test
+    void testEnsureCapacityKeepsContents() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put((byte) 1).put((byte) 2).put((byte) 3);
+
+        ByteBuffer larger = ArenaProtocol.ensureCapacity(buffer, 10);
+        assertTrue(larger.remaining() >= 10);
+        assertTrue(larger.isDirect());
+        assertEquals(3, larger.position());
+        assertEquals(2, larger.get(1));
+        assertSame(larger, ArenaProtocol.ensureCapacity(larger, 1));
+    }
+}
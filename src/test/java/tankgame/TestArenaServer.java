@@ -0,0 +1,234 @@
+package tankgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs an arena server on the loopback interface with real client connections
+ */
+class TestArenaServer {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private ArenaServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ArenaServer(new GameWorld(7), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Polls the clients until the condition holds
+     */
+    private static void await(BooleanSupplier condition, ArenaClient... clients) throws IOException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            for (ArenaClient client : clients) {
+                client.poll();
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static int findTank(ArenaClient client, int tankId) {
+        return client.hasState() ? client.getState().tanks.find(tankId) : -1;
+    }
+
+    @Test
+    void testClientsSeeEachOther() throws IOException {
+        try (ArenaClient first = ArenaClient.connect(address);
+             ArenaClient second = ArenaClient.connect(address)) {
+            await(() -> first.getTankId() != 0 && second.getTankId() != 0, first, second);
+            assertNotEquals(first.getTankId(), second.getTankId());
+            assertEquals(50, first.getTickRate());
+
+            await(() -> findTank(first, second.getTankId()) >= 0 && findTank(second, first.getTankId()) >= 0,
+                    first, second);
+            assertTrue(findTank(first, first.getTankId()) >= 0);
+            assertEquals(2, server.getPlayerCount());
+        }
+    }
+
+    @Test
+    void testKeysSteerOwnTank() throws IOException {
+        try (ArenaClient client = ArenaClient.connect(address)) {
+            await(() -> findTank(client, client.getTankId()) >= 0, client);
+
+            client.keyPressed(java.awt.event.KeyEvent.VK_RIGHT);
+            int right = Tank.Direction.R.ordinal();
+            await(() -> {
+                int row = findTank(client, client.getTankId());
+                return row >= 0 && client.getState().tanks.get(WorldState.TANK_DIRECTION, row) == right;
+            }, client);
+
+            client.keyReleased(java.awt.event.KeyEvent.VK_RIGHT);
+            int stop = Tank.Direction.STOP.ordinal();
+            await(() -> {
+                int row = findTank(client, client.getTankId());
+                return row >= 0 && client.getState().tanks.get(WorldState.TANK_DIRECTION, row) == stop;
+            }, client);
+        }
+    }
+
+    @Test
+    void testFireFloodIsLimitedPerTick() throws IOException {
+        try (ArenaClient client = ArenaClient.connect(address)) {
+            await(() -> findTank(client, client.getTankId()) >= 0, client);
+
+            long start = server.getTickCount();
+            for (int i = 0; i < 2000; i++) {
+                client.keyReleased(java.awt.event.KeyEvent.VK_SPACE);
+                client.keyReleased(java.awt.event.KeyEvent.VK_A);
+                client.keyPressed(java.awt.event.KeyEvent.VK_F2);
+            }
+            await(() -> server.getTickCount() > start + 10, client);
+            client.poll();
+
+            // At most one player missile per tick since the flood, however many fire keys arrived
+            WorldState.Table missiles = client.getState().missiles;
+            int fired = 0;
+            for (int row = 0; row < missiles.size(); row++) {
+                if ((missiles.get(WorldState.MISSILE_FLAGS, row) & WorldState.FLAG_PLAYER) != 0) {
+                    fired++;
+                }
+            }
+            assertTrue(fired <= server.getTickCount() - start, "Fired " + fired);
+        }
+    }
+
+    @Test
+    void testInputCommandsAreAcknowledged() throws IOException {
+        try (ArenaClient client = ArenaClient.connect(address)) {
+            await(() -> findTank(client, client.getTankId()) >= 0, client);
+            assertEquals(0, client.getInputAck());
+
+            client.sendInput(1, GameWorld.INPUT_RIGHT);
+            client.sendInput(2, GameWorld.INPUT_RIGHT);
+            int right = Tank.Direction.R.ordinal();
+            await(() -> client.getInputAck() == 2, client);
+            int row = findTank(client, client.getTankId());
+            assertEquals(right, client.getState().tanks.get(WorldState.TANK_BARREL, row));
+        }
+    }
+
+    @Test
+    void testDisconnectRemovesTank() throws IOException {
+        try (ArenaClient stays = ArenaClient.connect(address)) {
+            ArenaClient leaves = ArenaClient.connect(address);
+            await(() -> leaves.getTankId() != 0 && findTank(stays, leaves.getTankId()) >= 0, stays, leaves);
+            int leftTankId = leaves.getTankId();
+
+            leaves.close();
+            await(() -> findTank(stays, leftTankId) < 0, stays);
+            assertEquals(1, server.getPlayerCount());
+            assertTrue(findTank(stays, stays.getTankId()) >= 0);
+        }
+    }
+
+    @Test
+    void testSnapshotsFollowTicks() throws IOException {
+        try (ArenaClient client = ArenaClient.connect(address)) {
+            await(() -> client.getSnapshotCount() >= 10, client);
+            assertTrue(client.getBytesReceived() > 0);
+            assertTrue(server.getTickCount() >= 10);
+            assertTrue(server.getTickTimes().getCount() >= 10);
+        }
+    }
+
+    /**
+     * Writes a message whose payload stops short of what its type needs
+     */
+    private static void writeTruncatedMessage(SocketChannel channel, byte type) throws IOException {
+        ByteBuffer message = ByteBuffer.allocate(ArenaProtocol.LENGTH_SIZE + 1);
+        message.putInt(1).put(type).flip();
+        while (message.hasRemaining()) {
+            channel.write(message);
+        }
+    }
+
+    @Test
+    void testTruncatedMessageDropsOnlyItsClient() throws IOException {
+        try (ArenaClient client = ArenaClient.connect(address);
+             SocketChannel malformed = SocketChannel.open(address)) {
+            await(() -> server.getPlayerCount() == 2 && client.getSnapshotCount() > 0, client);
+
+            writeTruncatedMessage(malformed, ArenaProtocol.KEY_PRESSED);
+            await(() -> server.getPlayerCount() == 1, client);
+
+            long ticks = server.getTickCount();
+            long snapshots = client.getSnapshotCount();
+            await(() -> server.getTickCount() >= ticks + 5 && client.getSnapshotCount() >= snapshots + 5, client);
+            assertTrue(findTank(client, client.getTankId()) >= 0);
+        }
+    }
+
+    @Test
+    void testClientRejectsTruncatedMessage() throws IOException {
+        try (ServerSocketChannel fakeServer = ServerSocketChannel.open()) {
+            fakeServer.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            try (ArenaClient client = ArenaClient.connect((InetSocketAddress) fakeServer.getLocalAddress());
+                 SocketChannel toClient = fakeServer.accept()) {
+                writeTruncatedMessage(toClient, ArenaProtocol.WELCOME);
+                long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                assertThrows(IOException.class, () -> {
+                    while (System.currentTimeMillis() < deadline) {
+                        client.poll();
+                    }
+                });
+            }
+        }
+    }
+
+    @Test
+    void testFilteredClientsSeeTheirSurroundings() throws IOException {
+        ArenaServer filtered = new ArenaServer(new GameWorld(7),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        filtered.setInterestFilter(new InterestFilter());
+        filtered.start();
+        try (ArenaClient client = ArenaClient.connect(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), filtered.getPort()))) {
+            await(() -> client.getSnapshotCount() >= 10 && findTank(client, client.getTankId()) >= 0, client);
+            assertThrows(IllegalStateException.class, () -> filtered.setInterestFilter(null));
+        } finally {
+            filtered.close();
+        }
+    }
+
+    @Test
+    void testTickRateMustBePositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArenaServer(new GameWorld(1), new InetSocketAddress(0), 0));
+    }
+
+    @Test
+    void testBotsReport() throws IOException {
+        ArenaBots.Report report = ArenaBots.run(4, 20, 50, 1);
+        assertEquals(4, report.players);
+        assertTrue(report.ticks >= 20);
+        assertTrue(report.snapshotsReceived > 0);
+        assertTrue(report.bytesPerClientTick() > 0);
+    }
+}
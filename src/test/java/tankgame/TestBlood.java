@@ -111,6 +111,26 @@ class TestBlood {
 
 
 
+    @Test
+    void testDrawDoesNotMove() {
+        blood.draw(mockGraphics);
+        blood.draw(mockGraphics);
+
+        Rectangle bounds = blood.getCollisionBounds();
+        assertEquals(350, bounds.x);
+        assertEquals(300, bounds.y);
+    }
+
+    @Test
+    void testUpdateWhenInactive() {
+        blood.setActive(false);
+        blood.update();
+
+        Rectangle bounds = blood.getCollisionBounds();
+        assertEquals(350, bounds.x);
+        assertEquals(300, bounds.y);
+    }
+
     @Test
     void testBloodInitialization() {
         // test for the initial position (350, 300)
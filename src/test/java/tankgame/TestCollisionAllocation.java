@@ -0,0 +1,171 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the collision hot path and the simulation tick against allocations
+ * Measures the bytes allocated by the current thread while repeating every
+ * collision query a simulation tick performs, and while stepping a warmed-up world
+ */
+class TestCollisionAllocation {
+    private static final int ITERATIONS = 10_000;
+    private static final int WARMUP_TICKS = 5_000;
+    private static final int MEASURED_TICKS = 2_000;
+    // Headroom for one-off allocations by the measuring code itself
+    private static final long ALLOCATION_BUDGET_BYTES = 1024;
+    // Average a tick with AI decisions may allocate, for the odd path point a plan keeps
+    private static final long DECISION_TICK_BUDGET_BYTES = 64;
+
+    private WallManager wallManager;
+    private TankGrid tankGrid;
+    private List<Tank> enemyTanks;
+    private List<Tank> nearbyTanks;
+    private List<Wall> nearbyWalls;
+    private Tank playerTank;
+    private Missile missile;
+    private Blood healthPack;
+    private Wall wall;
+
+    @BeforeEach
+    void setUp() {
+        wallManager = new WallManager(null);
+        wallManager.addPermanentWall(100, 100, 200, 20);
+        wallManager.addBreakableWall(400, 300, 20, 120);
+        wallManager.addFortifiedWall(600, 100, 40, 40);
+        wall = wallManager.getAllWalls()[0];
+
+        enemyTanks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            enemyTanks.add(new Tank(40 + (i % 5) * 150, 200 + (i / 5) * 80, false));
+        }
+        tankGrid = new TankGrid();
+        nearbyTanks = new ArrayList<>(32);
+        nearbyWalls = new ArrayList<>(32);
+
+        playerTank = new Tank(700, 500, true);
+        // Player missile placed away from every tank and wall, so nothing is consumed by a hit
+        missile = new Missile(10, 550, Tank.Direction.U);
+        healthPack = new Blood(20, 20);
+    }
+
+    @Test
+    void testCollisionChecksDoNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = allocationCountingBean();
+        assumeTrue(threadBean != null, "Thread allocation counting is not supported on this JVM");
+
+        // Warm up so class loading and JIT compilation happen before measuring
+        int hits = runCollisionChecks(ITERATIONS);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        hits += runCollisionChecks(ITERATIONS);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(hits > 0, "Scenario should contain at least one overlap");
+        assertTrue(allocated < ALLOCATION_BUDGET_BYTES,
+                "Collision checks allocated " + allocated + " bytes over " + ITERATIONS + " iterations");
+    }
+
+    /**
+     * Ticks must not allocate once pools and lists have grown, and ticks with AI
+     * decisions only a few bytes on average: the scheduler reuses its world snapshot
+     * and plans leave no garbage beyond the odd path point. Walls are cleared because
+     * a missile stopped by a wall stays in the world until the wall gives way, so with
+     * walls the live missile count keeps growing and the pool keeps running dry.
+     */
+    @Test
+    void testSteadyStateTicksDoNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = allocationCountingBean();
+        assumeTrue(threadBean != null, "Thread allocation counting is not supported on this JVM");
+
+        GameWorld world = new GameWorld(3343);
+        world.getWallManager().cleanWalls();
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            stepImmortal(world);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long quietAllocated = 0;
+        long decisionAllocated = 0;
+        int quietTicks = 0;
+        int decisionTicks = 0;
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            long decisions = world.getMetrics().getAIDecisions();
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            stepImmortal(world);
+            long bytes = threadBean.getThreadAllocatedBytes(threadId) - before;
+            if (world.getMetrics().getAIDecisions() == decisions) {
+                quietAllocated += bytes;
+                quietTicks++;
+            } else {
+                decisionAllocated += bytes;
+                decisionTicks++;
+            }
+        }
+
+        assertEquals(TankClient.GameState.RUNNING, world.getGameState());
+        assertFalse(world.getEnemyTanks().isEmpty(), "Enemies should stay alive to keep moving and firing");
+        assertTrue(quietTicks > MEASURED_TICKS / 2, "Most ticks should have no AI decision due");
+        assertTrue(decisionTicks > 0, "Enemies should keep deciding");
+        assertTrue(quietAllocated < ALLOCATION_BUDGET_BYTES,
+                "Ticks allocated " + quietAllocated + " bytes over " + quietTicks + " ticks without AI decisions");
+        assertTrue(decisionAllocated < ALLOCATION_BUDGET_BYTES + decisionTicks * DECISION_TICK_BUDGET_BYTES,
+                "Ticks allocated " + decisionAllocated + " bytes over " + decisionTicks + " ticks with AI decisions");
+    }
+
+    /**
+     * Steps the world with the player healed first, so enemy fire never ends the match
+     */
+    private static void stepImmortal(GameWorld world) {
+        world.getPlayerTank().setHealthPoints(Tank.MAX_HEALTH);
+        world.step();
+    }
+
+    private int runCollisionChecks(int iterations) {
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            tankGrid.rebuild(enemyTanks);
+
+            if (wallManager.intersectsAnyWall(110, 90, Tank.TANK_WIDTH, Tank.TANK_HEIGHT)) hits++;
+            if (wallManager.isSegmentBlocked(0, 0, 700, 500)) hits++;
+            if (wallManager.handleMissileCollision(missile)) hits++;
+            if (tankGrid.findFirst(40, 200, Tank.TANK_WIDTH, Tank.TANK_HEIGHT, null) != null) hits++;
+
+            nearbyTanks.clear();
+            tankGrid.collectCandidates(300, 300, Tank.TANK_WIDTH, Tank.TANK_HEIGHT, nearbyTanks);
+            nearbyWalls.clear();
+            wallManager.collectWallsNear(380, 280, 60, 60, nearbyWalls);
+
+            for (int t = 0; t < enemyTanks.size(); t++) {
+                Tank tank = enemyTanks.get(t);
+                if (missile.handleTankCollision(tank)) hits++;
+                if (tank.handleWallCollision(wall)) hits++;
+            }
+            if (missile.handleTankCollision(playerTank)) hits++;
+            if (wall.handleMissileCollision(missile)) hits++;
+            if (playerTank.collectHealthPowerUp(healthPack)) hits++;
+        }
+        return hits + nearbyTanks.size() + nearbyWalls.size();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCountingBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)) {
+            return null;
+        }
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threadBean;
+    }
+}
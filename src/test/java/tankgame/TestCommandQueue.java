@@ -0,0 +1,71 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests buffering and applying of input commands on the server
+ */
+class TestCommandQueue {
+    private GameWorld world;
+    private Tank tank;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(7);
+        world.getWallManager().cleanWalls();
+        tank = world.getPlayerTank();
+        tank.placeAt(300, 300);
+        tank.setCommandDriven(true);
+    }
+
+    @Test
+    void testCommandsApplyInOrderUpToLimit() {
+        CommandQueue queue = new CommandQueue(8);
+        queue.offer(1, GameWorld.INPUT_RIGHT);
+        queue.offer(2, GameWorld.INPUT_RIGHT);
+        queue.offer(3, GameWorld.INPUT_DOWN);
+
+        assertEquals(2, queue.apply(world, tank, 2));
+        assertEquals(2, queue.getLastApplied());
+        assertEquals(300 + 2 * Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+        assertEquals(300, tank.getCurrentY());
+
+        assertEquals(1, queue.apply(world, tank, 2));
+        assertEquals(3, queue.getLastApplied());
+        assertEquals(300 + Tank.MOVEMENT_SPEED_Y, tank.getCurrentY());
+        assertEquals(0, queue.apply(world, tank, 2));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testFullQueueDropsCommands() {
+        CommandQueue queue = new CommandQueue(2);
+        assertTrue(queue.offer(1, 0));
+        assertTrue(queue.offer(2, 0));
+        assertFalse(queue.offer(3, 0));
+        assertEquals(1, queue.getDropped());
+
+        queue.apply(world, tank, 1);
+        assertTrue(queue.offer(4, 0));
+        queue.apply(world, tank, 5);
+        assertEquals(4, queue.getLastApplied());
+    }
+
+    @Test
+    void testNothingAppliedMeansNoAcknowledgement() {
+        CommandQueue queue = new CommandQueue(4);
+        assertEquals(0, queue.apply(world, tank, 3));
+        assertEquals(0, queue.getLastApplied());
+        assertThrows(IllegalArgumentException.class, () -> new CommandQueue(0));
+    }
+
+    @Test
+    void testCommandsPerTickCoverClientRate() {
+        assertEquals(2, CommandQueue.commandsPerTick(TankClient.TICKS_PER_SECOND));
+        assertEquals(2, CommandQueue.commandsPerTick(TankClient.TICKS_PER_SECOND * 3));
+        assertTrue(CommandQueue.commandsPerTick(TankClient.TICKS_PER_SECOND / 2) >= 4);
+    }
+}
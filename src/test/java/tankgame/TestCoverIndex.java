@@ -0,0 +1,145 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCoverIndex {
+
+    private static Wall[] randomWalls(Random random, int count) {
+        Wall[] walls = new Wall[count];
+        for (int i = 0; i < count; i++) {
+            boolean vertical = random.nextBoolean();
+            walls[i] = new Wall(random.nextInt(TankClient.GAME_WIDTH), random.nextInt(TankClient.GAME_HEIGHT),
+                    vertical ? 20 : 40 + random.nextInt(160), vertical ? 40 + random.nextInt(160) : 20, null);
+        }
+        return walls;
+    }
+
+    private static List<CoverIndex.CoverPoint> allPoints(Wall[] walls) {
+        List<CoverIndex.CoverPoint> points = new ArrayList<>();
+        for (Wall wall : walls) {
+            for (java.awt.Point position : wall.getCoverPositions()) {
+                points.add(new CoverIndex.CoverPoint(position, wall));
+            }
+        }
+        return points;
+    }
+
+    private static double distance(CoverIndex.CoverPoint point, int x, int y) {
+        return point.position.distance(x, y);
+    }
+
+    @Test
+    void testEmptyIndex() {
+        CoverIndex index = new CoverIndex(new Wall[0]);
+        List<CoverIndex.CoverPoint> out = new ArrayList<>();
+        index.nearest(100, 100, 3, out);
+
+        assertEquals(0, index.size());
+        assertNull(index.best(100, 100, 1000, point -> 0));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    void testIndexesFourPointsPerWall() {
+        Wall wall = new Wall(200, 200, 100, 20, null);
+        CoverIndex index = new CoverIndex(new Wall[] {wall});
+
+        assertEquals(4, index.size());
+        CoverIndex.CoverPoint left = index.best(160, 200, 5, point -> 0);
+        assertNotNull(left);
+        assertSame(wall, left.wall);
+        assertEquals(160, left.position.x);
+    }
+
+    @Test
+    void testBestOnlyScoresPointsWithinRadius() {
+        Random random = new Random(7);
+        Wall[] walls = randomWalls(random, 60);
+        CoverIndex index = new CoverIndex(walls);
+
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(TankClient.GAME_WIDTH);
+            int y = random.nextInt(TankClient.GAME_HEIGHT);
+            int radius = 50 + random.nextInt(200);
+            // Score by x so there is a single best point
+            CoverIndex.CoverPoint expected = allPoints(walls).stream()
+                    .filter(point -> distance(point, x, y) <= radius)
+                    .max(Comparator.comparingDouble((CoverIndex.CoverPoint point) -> point.position.x * 10_000.0 + point.position.y))
+                    .orElse(null);
+            CoverIndex.CoverPoint actual = index.best(x, y, radius, point -> point.position.x * 10_000.0 + point.position.y);
+
+            if (expected == null) {
+                assertNull(actual);
+            } else {
+                assertEquals(expected.position, actual.position);
+            }
+        }
+    }
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        Random random = new Random(11);
+        Wall[] walls = randomWalls(random, 40);
+        CoverIndex index = new CoverIndex(walls);
+        List<CoverIndex.CoverPoint> out = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(TankClient.GAME_WIDTH + 200) - 100;
+            int y = random.nextInt(TankClient.GAME_HEIGHT + 200) - 100;
+            int k = 1 + random.nextInt(6);
+            List<CoverIndex.CoverPoint> expected = allPoints(walls);
+            expected.sort(Comparator.comparingDouble(point -> distance(point, x, y)));
+
+            index.nearest(x, y, k, out);
+
+            assertEquals(k, out.size());
+            for (int j = 0; j < k; j++) {
+                assertEquals(distance(expected.get(j), x, y), distance(out.get(j), x, y), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testWallManagerRebuildsAfterWallChanges() {
+        WallManager wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        CoverIndex empty = wallManager.getCoverIndex();
+        assertSame(empty, wallManager.getCoverIndex());
+
+        wallManager.addPermanentWall(200, 200, 100, 20);
+
+        assertNotSame(empty, wallManager.getCoverIndex());
+        assertEquals(4, wallManager.getCoverIndex().size());
+    }
+
+    @Test
+    void testAIMovesTowardsNearbyCover() {
+        GameWorld world = new GameWorld();
+        world.getWallManager().cleanWalls();
+        world.getWallManager().addPermanentWall(400, 300, 20, 100);
+        Tank enemy = new Tank(500, 420, false, Tank.Direction.STOP, world);
+
+        new TankAI(enemy, world).seekSafestCover();
+
+        assertNotEquals(Tank.Direction.STOP, enemy.getMoveDirection());
+    }
+
+    @Test
+    void testAIFallsBackToNearestCoverOutOfRange() {
+        GameWorld world = new GameWorld();
+        world.getWallManager().cleanWalls();
+        world.getWallManager().addPermanentWall(700, 500, 20, 40);
+        Tank enemy = new Tank(60, 60, false, Tank.Direction.STOP, world);
+
+        new TankAI(enemy, world).seekTacticalAdvantage();
+
+        assertEquals(Tank.Direction.RD, enemy.getMoveDirection());
+    }
+}
@@ -132,6 +132,44 @@ class TestExplode {
         verify(mockGraphics, never()).fillOval(anyInt(), anyInt(), anyInt(), anyInt());
     }
 
+    @Test
+    void testDrawDoesNotAdvanceAnimation() {
+        explode.draw(mockGraphics);
+        explode.draw(mockGraphics);
+
+        assertEquals(0, getPrivateField(explode, "animationFrame"));
+        verify(mockGraphics, times(2)).fillOval(100, 200, 4, 4);
+    }
+
+    @Test
+    void testUpdateDeactivatesAfterLastFrame() {
+        // 10 frames are shown, the tenth update ends the explosion
+        for (int i = 0; i < 9; i++) {
+            explode.update();
+            assertTrue(explode.getStatus());
+        }
+        explode.update();
+
+        assertFalse(explode.getStatus());
+        explode.draw(mockGraphics);
+        verify(mockGraphics, never()).fillOval(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testResetRestartsFinishedExplosion() {
+        for (int i = 0; i < 10; i++) {
+            explode.update();
+        }
+        assertFalse(explode.getStatus());
+
+        assertSame(explode, explode.reset(300, 400, mockGameClient));
+
+        assertTrue(explode.getStatus());
+        assertEquals(0, getPrivateField(explode, "animationFrame"));
+        explode.draw(mockGraphics);
+        verify(mockGraphics, times(1)).fillOval(300, 400, 4, 4);
+    }
+
     /** Helper methods for accessing private fields **/
 
     private Object getPrivateField(Object obj, String fieldName) {
@@ -0,0 +1,135 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestFlowField {
+    private WallManager wallManager;
+    private FlowField field;
+
+    @BeforeEach
+    void setUp() {
+        wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        field = wallManager.getPlayerFlowField();
+    }
+
+    @Test
+    void testOpenMapPointsStraightAtTarget() {
+        assertEquals(Tank.Direction.R, field.directionFrom(100, 300, 500, 300));
+        assertEquals(Tank.Direction.LU, field.directionFrom(500, 500, 100, 100));
+        assertEquals(Tank.Direction.D, field.directionFrom(300, 100, 300, 500));
+        assertNull(field.directionFrom(305, 505, 300, 500));
+    }
+
+    @Test
+    void testRebuildsOnlyWhenTargetChangesCellOrWallsChange() {
+        field.directionFrom(100, 100, 500, 300);
+        field.directionFrom(200, 400, 505, 305);
+        field.directionFrom(700, 100, 510, 310);
+        assertEquals(1, field.getBuildCount());
+
+        field.directionFrom(100, 100, 600, 300);
+        assertEquals(2, field.getBuildCount());
+
+        wallManager.addTemporaryWall(100, 100, 100, 20);
+        field.directionFrom(100, 100, 600, 300);
+        assertEquals(3, field.getBuildCount());
+    }
+
+    @Test
+    void testFollowingFieldReachesTargetAroundWall() {
+        // Wall between the tank and the target, open at the bottom
+        wallManager.addPermanentWall(300, 60, 20, 400);
+
+        int x = 200;
+        int y = 200;
+        int cellSize = wallManager.getPathFinder().getCellSize();
+        for (int steps = 0; steps < 200; steps++) {
+            Tank.Direction direction = field.directionFrom(x, y, 400, 200);
+            if (direction == null) break;
+            x += stepX(direction) * cellSize;
+            y += stepY(direction) * cellSize;
+            assertFalse(wallManager.intersectsAnyWall(x, y, Tank.TANK_WIDTH, Tank.TANK_HEIGHT));
+        }
+
+        assertEquals(wallManager.getPathFinder().cellAt(400, 200), wallManager.getPathFinder().cellAt(x, y));
+    }
+
+    @Test
+    void testDistanceMatchesAStarPathLength() {
+        Random random = new Random(5);
+        wallManager.generateRandomWalls(15);
+        PathFinder pathFinder = wallManager.getPathFinder();
+        for (int i = 0; i < 50; i++) {
+            int targetX = random.nextInt(TankClient.GAME_WIDTH - Tank.TANK_WIDTH);
+            int targetY = random.nextInt(TankClient.GAME_HEIGHT - Tank.TANK_HEIGHT);
+            int target = pathFinder.cellAt(targetX, targetY);
+            int x = random.nextInt(TankClient.GAME_WIDTH - Tank.TANK_WIDTH);
+            int y = random.nextInt(TankClient.GAME_HEIGHT - Tank.TANK_HEIGHT);
+            if (!pathFinder.isWalkable(target) || !pathFinder.isWalkable(pathFinder.cellAt(x, y))) continue;
+
+            field.directionFrom(x, y, targetX, targetY);
+            int[] path = pathFinder.findPath(targetX, targetY, x, y);
+            int distance = field.distanceFrom(x, y);
+
+            if (path.length == 0) {
+                assertTrue(distance == Integer.MAX_VALUE || pathFinder.cellAt(x, y) == target);
+            } else {
+                assertEquals(cost(pathFinder, target, path), distance);
+            }
+        }
+    }
+
+    @Test
+    void testUnreachableCellHasNoDirection() {
+        wallManager.addPermanentWall(400, 0, 20, TankClient.GAME_HEIGHT);
+
+        assertNull(field.directionFrom(100, 300, 700, 300));
+    }
+
+    @Test
+    void testAIPursuesPlayerAlongField() {
+        GameWorld world = new GameWorld();
+        world.getWallManager().cleanWalls();
+        world.getPlayerTank().setCurrentX(700);
+        world.getPlayerTank().setCurrentY(300);
+        Tank enemy = new Tank(100, 300, false, Tank.Direction.STOP, world);
+
+        new TankAI(enemy, world).decideMoveStrategy(600, world.getPlayerTank());
+
+        assertEquals(Tank.Direction.R, enemy.getMoveDirection());
+    }
+
+    private static int cost(PathFinder pathFinder, int start, int[] path) {
+        int columns = pathFinder.getColumns();
+        int total = 0;
+        int previous = start;
+        for (int cell : path) {
+            boolean diagonal = cell % columns != previous % columns && cell / columns != previous / columns;
+            total += diagonal ? 14 : 10;
+            previous = cell;
+        }
+        return total;
+    }
+
+    private static int stepX(Tank.Direction direction) {
+        switch (direction) {
+            case L: case LU: case LD: return -1;
+            case R: case RU: case RD: return 1;
+            default: return 0;
+        }
+    }
+
+    private static int stepY(Tank.Direction direction) {
+        switch (direction) {
+            case U: case LU: case RU: return -1;
+            case D: case LD: case RD: return 1;
+            default: return 0;
+        }
+    }
+}
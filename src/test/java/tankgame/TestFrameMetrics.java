@@ -0,0 +1,91 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestFrameMetrics {
+    private FrameMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new FrameMetrics();
+    }
+
+    @Test
+    void testRecordPerPhase() {
+        metrics.record(FrameMetrics.Phase.TICK, 2_000_000);
+        metrics.record(FrameMetrics.Phase.MISSILES, 500_000);
+
+        assertEquals(1, metrics.getTickCount());
+        assertEquals(2.0, metrics.getTickMaxMillis());
+        assertEquals(0, metrics.histogram(FrameMetrics.Phase.WALLS).getCount());
+        assertEquals(1, metrics.histogram(FrameMetrics.Phase.MISSILES).getCount());
+        assertTrue(metrics.getPhaseP99Millis().get("MISSILES") >= 0.5);
+    }
+
+    @Test
+    void testMarkRecordsElapsedTime() {
+        long start = System.nanoTime() - 1_000_000;
+        long mark = metrics.mark(FrameMetrics.Phase.SPAWN, start);
+
+        assertTrue(mark >= start + 1_000_000);
+        assertTrue(metrics.histogram(FrameMetrics.Phase.SPAWN).getMax() >= 1_000_000);
+    }
+
+    @Test
+    void testCountersAndReset() {
+        metrics.countCollisionChecks(5);
+        metrics.countCollisionHit();
+        metrics.updateEntityCounts(3, 4, 1);
+        metrics.record(FrameMetrics.Phase.FRAME, 16_000_000);
+
+        assertEquals(5, metrics.getCollisionChecks());
+        assertEquals(1, metrics.getCollisionHits());
+        assertEquals(3, metrics.getMissileCount());
+        assertEquals(4, metrics.getEnemyTankCount());
+        assertEquals(1, metrics.getExplosionCount());
+        assertEquals(1, metrics.getFrameCount());
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getCollisionChecks());
+        assertEquals(0, metrics.getCollisionHits());
+        assertEquals(0, metrics.getFrameCount());
+    }
+
+    @Test
+    void testOverlayLinesCoverEveryPhase() {
+        String overlay = String.join("\n", metrics.overlayLines());
+
+        assertTrue(overlay.contains("tick"));
+        assertTrue(overlay.contains("frame"));
+        assertTrue(overlay.contains("enemy_tanks"));
+        assertTrue(overlay.contains("blit"));
+        assertTrue(overlay.contains("collisions"));
+    }
+
+    @Test
+    void testRegisterMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(FrameMetrics.OBJECT_NAME);
+        metrics.record(FrameMetrics.Phase.TICK, 1_000);
+
+        metrics.registerMBean();
+        // A second registration replaces the first instead of failing
+        FrameMetrics replacement = new FrameMetrics();
+        replacement.registerMBean();
+
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(0L, server.getAttribute(name, "TickCount"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestFramePacer {
+    private static final long PERIOD = 16_000_000L;
+
+    @Test
+    void testDeadlinesFollowFixedGrid() {
+        FramePacer pacer = new FramePacer(PERIOD);
+
+        assertEquals(PERIOD, pacer.nextDelay(1_000));
+        // A slow frame shortens the next wait instead of shifting every later frame
+        assertEquals(PERIOD - 5_000_000L, pacer.nextDelay(1_000 + PERIOD + 5_000_000L));
+        assertEquals(PERIOD, pacer.nextDelay(1_000 + 2 * PERIOD));
+        assertEquals(0, pacer.getMissedFrames());
+    }
+
+    @Test
+    void testLateFrameRunsImmediately() {
+        FramePacer pacer = new FramePacer(PERIOD);
+        pacer.nextDelay(0);
+
+        assertEquals(0, pacer.nextDelay(2 * PERIOD + PERIOD / 2));
+        assertEquals(0, pacer.getMissedFrames());
+    }
+
+    @Test
+    void testFarBehindSkipsMissedDeadlines() {
+        FramePacer pacer = new FramePacer(PERIOD);
+        pacer.nextDelay(0);
+
+        assertEquals(0, pacer.nextDelay(10 * PERIOD + 1_000));
+        assertEquals(8, pacer.getMissedFrames());
+        // The next frame is back on the original grid rather than in a catch-up burst
+        assertEquals(PERIOD - 1_000, pacer.nextDelay(10 * PERIOD + 1_000));
+    }
+
+    @Test
+    void testPeriodChangeAppliesToNextDeadline() {
+        FramePacer pacer = new FramePacer(PERIOD);
+        pacer.nextDelay(0);
+        pacer.setPeriodNanos(2 * PERIOD);
+
+        assertEquals(2 * PERIOD, pacer.nextDelay(PERIOD));
+        assertEquals(2 * PERIOD, pacer.getPeriodNanos());
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new FramePacer(0));
+    }
+
+    @Test
+    void testAwaitNextFrameWaitsForDeadline() throws InterruptedException {
+        FramePacer pacer = new FramePacer(5_000_000L);
+        long start = System.nanoTime();
+        pacer.awaitNextFrame();
+        pacer.awaitNextFrame();
+
+        assertTrue(System.nanoTime() - start >= 10_000_000L);
+    }
+
+    @Test
+    void testRenderModeParse() {
+        assertEquals(TankClient.RenderMode.ACTIVE, TankClient.RenderMode.parse("active"));
+        assertEquals(TankClient.RenderMode.VSYNC, TankClient.RenderMode.parse(" VSync "));
+        assertEquals(TankClient.RenderMode.PASSIVE, TankClient.RenderMode.parse(null));
+        assertEquals(TankClient.RenderMode.PASSIVE, TankClient.RenderMode.parse("fast"));
+    }
+}
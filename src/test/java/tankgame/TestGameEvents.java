@@ -0,0 +1,69 @@
+package tankgame;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGameEvents {
+
+    @Test
+    void testEventsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("tankgame", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("tankgame.Tick");
+                recording.enable("tankgame.AIDecision");
+                recording.enable("tankgame.Spawn");
+                recording.enable("tankgame.WallGeneration");
+                recording.start();
+
+                GameWorld world = new GameWorld();
+                world.step();
+                new TankAI(world.getEnemyTanks().get(0), world).update();
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<String> names = events.stream()
+                    .map(event -> event.getEventType().getName())
+                    .collect(Collectors.toList());
+            assertTrue(names.contains("tankgame.Tick"));
+            assertTrue(names.contains("tankgame.AIDecision"));
+            assertTrue(names.contains("tankgame.Spawn"));
+            assertTrue(names.contains("tankgame.WallGeneration"));
+
+            RecordedEvent tick = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("tankgame.Tick"))
+                    .findFirst().orElseThrow();
+            assertEquals(0L, tick.getLong("tick"));
+            assertTrue(tick.getInt("enemyTanks") > 0);
+            assertFalse(tick.getDuration().isNegative());
+
+            RecordedEvent spawn = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("tankgame.Spawn"))
+                    .findFirst().orElseThrow();
+            assertEquals(5, spawn.getInt("requested"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testNothingIsCommittedWithoutRecording() {
+        GameEvents.TickEvent event = new GameEvents.TickEvent();
+        event.begin();
+        event.end();
+
+        assertFalse(event.shouldCommit());
+    }
+}
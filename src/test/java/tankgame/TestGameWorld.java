@@ -0,0 +1,264 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the simulation core without a display
+ */
+class TestGameWorld {
+    private GameWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+        Missile.MOVEMENT_SPEED_X = 10;
+        Missile.MOVEMENT_SPEED_Y = 10;
+    }
+
+    @Test
+    void testInitialState() {
+        assertNotNull(world.getPlayerTank());
+        assertTrue(world.getPlayerTank().isAlive());
+        assertTrue(world.getEnemyTanks().isEmpty());
+        assertTrue(world.getMissiles().isEmpty());
+        assertTrue(world.getExplosions().isEmpty());
+        assertEquals(TankClient.GameState.RUNNING, world.getGameState());
+        assertEquals(0, world.getScore());
+        assertEquals(0, world.getTickCount());
+    }
+
+    @Test
+    void testStepSpawnsEnemiesAndCountsTicks() {
+        world.step();
+
+        assertFalse(world.getEnemyTanks().isEmpty());
+        assertEquals(1, world.getTickCount());
+    }
+
+    @Test
+    void testStepRecordsPhaseMetrics() {
+        world.step();
+        world.step();
+
+        FrameMetrics metrics = world.getMetrics();
+        assertEquals(2, metrics.getTickCount());
+        assertEquals(2, metrics.histogram(FrameMetrics.Phase.MISSILES).getCount());
+        assertEquals(2, metrics.histogram(FrameMetrics.Phase.WALLS).getCount());
+        assertEquals(world.getEnemyTanks().size(), metrics.getEnemyTankCount());
+        assertTrue(metrics.getCollisionChecks() > 0);
+    }
+
+    @Test
+    void testStepDoesNothingWhenGameOver() {
+        world.setGameState(TankClient.GameState.GAME_OVER);
+        world.step();
+
+        assertTrue(world.getEnemyTanks().isEmpty());
+        assertEquals(0, world.getTickCount());
+    }
+
+    @Test
+    void testSpawnedMissileUsesWorldAsContext() {
+        Missile missile = world.spawnMissile(400, 300, true, Tank.Direction.U);
+
+        assertSame(world, missile.getGameClient());
+        assertTrue(world.getMissiles().contains(missile));
+    }
+
+    @Test
+    void testUpdateMissilesRecyclesInactiveMissiles() {
+        Missile missile = world.spawnMissile(400, 300, true, Tank.Direction.U);
+        missile.setActive(false);
+
+        world.updateMissiles();
+
+        assertTrue(world.getMissiles().isEmpty());
+        assertSame(missile, world.spawnMissile(10, 20, false, Tank.Direction.D));
+        assertEquals(10, missile.getPositionX());
+        assertTrue(missile.isActive());
+    }
+
+    @Test
+    void testUpdateMissilesMovesActiveMissiles() {
+        world.getWallManager().cleanWalls();
+        Missile missile = world.spawnMissile(400, 300, true, Tank.Direction.L);
+
+        world.updateMissiles();
+
+        assertEquals(400 - Missile.MOVEMENT_SPEED_X, missile.getPositionX());
+    }
+
+    @Test
+    void testSpawnedExplosionIsRecycledWhenFinished() {
+        Explode explosion = world.spawnExplosion(100, 100);
+        for (int i = 0; i < 10; i++) {
+            world.updateExplosions();
+        }
+
+        assertTrue(world.getExplosions().isEmpty());
+        assertSame(explosion, world.spawnExplosion(200, 200));
+        assertTrue(explosion.getStatus());
+    }
+
+    @Test
+    void testReset() {
+        world.step();
+        world.spawnMissile(400, 300, true, Tank.Direction.U);
+        world.setScore(50);
+        world.setGameState(TankClient.GameState.GAME_OVER);
+        Tank oldPlayer = world.getPlayerTank();
+
+        world.reset();
+
+        assertNotSame(oldPlayer, world.getPlayerTank());
+        assertTrue(world.getMissiles().isEmpty());
+        assertFalse(world.getEnemyTanks().isEmpty());
+        assertEquals(0, world.getScore());
+        assertEquals(0, world.getTickCount());
+        assertEquals(TankClient.GameState.RUNNING, world.getGameState());
+    }
+
+    @Test
+    void testSoakRunsWithoutDisplay() {
+        for (int tick = 0; tick < 5_000 && world.getGameState() == TankClient.GameState.RUNNING; tick++) {
+            if (tick % 5 == 0) {
+                world.getPlayerTank().fireMissile(Tank.Direction.values()[tick % 8]);
+            }
+            world.step();
+        }
+
+        assertTrue(world.getTickCount() > 0);
+        for (Missile missile : world.getMissiles()) {
+            assertTrue(missile.isActive());
+        }
+    }
+
+    /**
+     * Plays a match with scripted player fire and captures its state as text
+     */
+    private static String playMatch(GameWorld world, int ticks) {
+        for (int tick = 0; tick < ticks && world.getGameState() == TankClient.GameState.RUNNING; tick++) {
+            if (tick % 7 == 0) {
+                world.getPlayerTank().fireMissile(Tank.Direction.values()[tick % 8]);
+            }
+            world.step();
+        }
+        StringBuilder state = new StringBuilder();
+        state.append(world.getTickCount()).append(' ').append(world.getScore()).append('\n');
+        for (Wall wall : world.getWalls()) {
+            state.append("wall ").append(wall.getPositionX()).append(',').append(wall.getPositionY())
+                    .append(' ').append(wall.getWidth()).append('x').append(wall.getHeight()).append('\n');
+        }
+        for (Tank tank : world.getEnemyTanks()) {
+            state.append("tank ").append(tank.getPositionX()).append(',').append(tank.getPositionY())
+                    .append(' ').append(tank.getMoveDirection()).append(' ').append(tank.getHealthPoints()).append('\n');
+        }
+        for (Missile missile : world.getMissiles()) {
+            state.append("missile ").append(missile.getPositionX()).append(',').append(missile.getPositionY()).append('\n');
+        }
+        return state.toString();
+    }
+
+    @Test
+    void testSameSeedReplaysSameMatch() {
+        String first = playMatch(new GameWorld(3343), 600);
+        String second = playMatch(new GameWorld(3343), 600);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentMatches() {
+        assertNotEquals(playMatch(new GameWorld(1), 50), playMatch(new GameWorld(2), 50));
+    }
+
+    @Test
+    void testSeedIsKept() {
+        assertEquals(42, new GameWorld(42).getSeed());
+    }
+
+    @Test
+    void testSeedTextIsParsedOrReplaced() {
+        assertEquals(42, TankClient.createWorld(" 42 ").getSeed());
+        assertNotNull(TankClient.createWorld(null));
+        assertNotNull(TankClient.createWorld("not a seed"));
+    }
+
+    @Test
+    void testSimulationTimeFollowsTicks() {
+        for (int i = 0; i < TankClient.TICKS_PER_SECOND; i++) {
+            world.step();
+        }
+
+        assertEquals(1000, world.getSimulationTimeMillis());
+        world.reset();
+        assertEquals(0, world.getSimulationTimeMillis());
+    }
+
+    @Test
+    void testRemotePlayerMovesWithWorld() {
+        world = new GameWorld(3343);
+        // Spawn the enemy wave first so it cannot land on the remote tank
+        world.step();
+        Tank remote = world.addRemotePlayer();
+        assertTrue(world.getRemotePlayers().contains(remote));
+        assertTrue(remote.isAlive());
+        assertEquals(Tank.MAX_HEALTH, remote.getHealthPoints());
+
+        // Walls may block some directions, but never all four at a spawn point
+        boolean moved = false;
+        int[] keys = {java.awt.event.KeyEvent.VK_RIGHT, java.awt.event.KeyEvent.VK_DOWN,
+                java.awt.event.KeyEvent.VK_LEFT, java.awt.event.KeyEvent.VK_UP};
+        for (int key : keys) {
+            int startX = remote.getCurrentX();
+            int startY = remote.getCurrentY();
+            remote.handleKeyPressed(key);
+            world.step();
+            remote.handleKeyReleased(key);
+            moved |= startX != remote.getCurrentX() || startY != remote.getCurrentY();
+        }
+        assertTrue(moved);
+
+        world.removeRemotePlayer(remote);
+        assertTrue(world.getRemotePlayers().isEmpty());
+    }
+
+    @Test
+    void testRespawnPlayerRestoresHealth() {
+        Tank remote = world.addRemotePlayer();
+        remote.setHealthPoints(0);
+        remote.setAlive(false);
+        world.setGameState(TankClient.GameState.RUNNING);
+
+        world.respawnPlayer(remote);
+        assertTrue(remote.isAlive());
+        assertEquals(Tank.MAX_HEALTH, remote.getHealthPoints());
+    }
+
+    @Test
+    void testCommandDrivenTankMovesOncePerCommand() {
+        world.getWallManager().cleanWalls();
+        Tank tank = world.getPlayerTank();
+        tank.placeAt(300, 300);
+        tank.setCommandDriven(true);
+
+        world.applyCommand(tank, GameWorld.INPUT_RIGHT);
+        assertEquals(300 + Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+        world.step();
+        assertEquals(300 + Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+
+        world.applyCommand(tank, GameWorld.INPUT_FIRE);
+        assertEquals(300 + Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+        assertFalse(world.getMissiles().isEmpty());
+    }
+
+    @Test
+    void testInputBitsOfKeys() {
+        assertEquals(GameWorld.INPUT_LEFT, GameWorld.inputBitFor(java.awt.event.KeyEvent.VK_LEFT));
+        assertEquals(GameWorld.INPUT_DOWN, GameWorld.inputBitFor(java.awt.event.KeyEvent.VK_DOWN));
+        assertEquals(0, GameWorld.inputBitFor(java.awt.event.KeyEvent.VK_SPACE));
+    }
+}
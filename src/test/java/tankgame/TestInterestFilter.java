@@ -0,0 +1,150 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests per-observer filtering of world states
+ */
+class TestInterestFilter {
+    private static final int OBSERVER = 1;
+
+    private WorldState state;
+    private InterestFilter filter;
+    private WorldState view;
+
+    @BeforeEach
+    void setUp() {
+        state = new WorldState();
+        // 100 px cells, one cell around the observer's, two more for incoming missiles
+        filter = new InterestFilter(100, 1, 2);
+        view = new WorldState();
+        addTank(OBSERVER, 1000, 1000);
+    }
+
+    private void addTank(int id, int x, int y) {
+        int row = state.tanks.add(id);
+        state.tanks.set(WorldState.TANK_X, row, x);
+        state.tanks.set(WorldState.TANK_Y, row, y);
+        state.tanks.set(WorldState.TANK_FLAGS, row, WorldState.FLAG_ALIVE);
+    }
+
+    private void addMissile(int id, int x, int y, Tank.Direction direction) {
+        int row = state.missiles.add(id);
+        state.missiles.set(WorldState.MISSILE_X, row, x);
+        state.missiles.set(WorldState.MISSILE_Y, row, y);
+        state.missiles.set(WorldState.MISSILE_DIRECTION, row, direction.ordinal());
+    }
+
+    private void addWall(int id, int x, int y, int width, int height) {
+        int row = state.walls.add(id);
+        state.walls.set(WorldState.WALL_X, row, x);
+        state.walls.set(WorldState.WALL_Y, row, y);
+        state.walls.set(WorldState.WALL_WIDTH, row, width);
+        state.walls.set(WorldState.WALL_HEIGHT, row, height);
+    }
+
+    private void filter(int observerId) {
+        filter.index(state);
+        filter.filter(state, observerId, view);
+    }
+
+    @Test
+    void testOnlyNearbyTanksAreSent() {
+        addTank(2, 1100, 1000);
+        addTank(3, 1600, 1000);
+        addTank(4, 0, 0);
+        filter(OBSERVER);
+
+        assertTrue(view.tanks.find(OBSERVER) >= 0);
+        assertTrue(view.tanks.find(2) >= 0);
+        assertEquals(-1, view.tanks.find(3));
+        assertEquals(-1, view.tanks.find(4));
+        assertEquals(2, view.tanks.size());
+    }
+
+    @Test
+    void testIncomingMissilesArePrioritized() {
+        // Two cells further out than the subscribed ones, one flying at the observer, one away
+        addMissile(10, 1350, 1020, Tank.Direction.L);
+        addMissile(11, 1350, 1060, Tank.Direction.R);
+        // Close by, flying away, still sent
+        addMissile(12, 1050, 1050, Tank.Direction.R);
+        // Beyond the missile ring
+        addMissile(13, 1600, 1020, Tank.Direction.L);
+        filter(OBSERVER);
+
+        assertTrue(view.missiles.find(10) >= 0);
+        assertEquals(-1, view.missiles.find(11));
+        assertTrue(view.missiles.find(12) >= 0);
+        assertEquals(-1, view.missiles.find(13));
+    }
+
+    @Test
+    void testWallsOverlappingTheAreaAreSent() {
+        addWall(20, 1150, 900, 400, 20);
+        addWall(21, 2000, 2000, 50, 50);
+        filter(OBSERVER);
+
+        assertTrue(view.walls.find(20) >= 0);
+        assertEquals(-1, view.walls.find(21));
+    }
+
+    @Test
+    void testObserverWithoutTankGetsEverything() {
+        addTank(2, 0, 0);
+        addMissile(10, 5000, 5000, Tank.Direction.D);
+        filter(99);
+
+        assertEquals(state, view);
+    }
+
+    @Test
+    void testGlobalsAreKept() {
+        state.tick = 42;
+        state.score = 70;
+        state.healthPackIndex = 3;
+        state.healthPackActive = true;
+        filter(OBSERVER);
+
+        assertEquals(42, view.tick);
+        assertEquals(70, view.score);
+        assertEquals(3, view.healthPackIndex);
+        assertTrue(view.healthPackActive);
+    }
+
+    @Test
+    void testFilteredViewsEncodeAsDeltas() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            addTank(100 + i, 700 + (i * 53) % 600, 700 + (i * 31) % 600);
+        }
+        filter(OBSERVER);
+        WorldState previous = new WorldState();
+        previous.copyFrom(view);
+
+        // Everything drifts right; some tanks enter the area and some leave it
+        for (int row = 0; row < state.tanks.size(); row++) {
+            state.tanks.set(WorldState.TANK_X, row, state.tanks.get(WorldState.TANK_X, row) + 60);
+        }
+        state.tick++;
+        filter(OBSERVER);
+
+        ByteBuffer buffer = ByteBuffer.allocate(SnapshotCodec.maxSize(previous, view));
+        SnapshotCodec.writeDelta(previous, view, buffer);
+        buffer.flip();
+        WorldState decoded = new WorldState();
+        SnapshotCodec.read(buffer, previous, decoded);
+        assertEquals(view, decoded);
+    }
+
+    @Test
+    void testInvalidSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new InterestFilter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InterestFilter(100, -1, 1));
+    }
+}
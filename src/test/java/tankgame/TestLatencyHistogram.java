@@ -0,0 +1,91 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLatencyHistogram {
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(5.5, histogram.getMean());
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + (long) (random.nextDouble() * 50_000_000L);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " below exact value");
+            assertTrue(reported <= exact * 1.04, "p" + percentile + " off by more than the bucket width");
+        }
+    }
+
+    @Test
+    void testBucketBoundaries() {
+        for (long value : new long[] {0, 31, 32, 63, 64, 1_000_003, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueInBucket(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void testNegativeCountsAsZero() {
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testInvalidPercentile() {
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    void testReset() {
+        histogram.record(500);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+}
@@ -59,6 +59,26 @@ class TestMissile {
         assertEquals(client, missile.getGameClient());
     }
 
+    @Test
+    public void testResetReinitializesMissile() {
+        Missile missile = new Missile(100, 200, false, Tank.Direction.U, null);
+        missile.setActive(false);
+
+        assertSame(missile, missile.reset(300, 400, true, Tank.Direction.R, mockClient));
+
+        assertEquals(300, missile.getPositionX());
+        assertEquals(400, missile.getPositionY());
+        assertEquals(Tank.Direction.R, missile.getDirection());
+        assertTrue(missile.isFromPlayerTank());
+        assertTrue(missile.isActive());
+        assertEquals(mockClient, missile.getGameClient());
+
+        // No interpolation trail back to the previous position
+        Graphics mockGraphics = mock(Graphics.class);
+        missile.draw(mockGraphics, 0.0);
+        verify(mockGraphics, times(1)).fillOval(300, 400, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT);
+    }
+
     @Test
     public void testHandleTankCollision() {
         int x = 100;
@@ -79,7 +99,9 @@ class TestMissile {
         Missile missile = new Missile(x, y, direction);
 
         // Set up the wall mock to return a collision boundary that intersects with the missile's position
-        when(wall.getCollisionBounds()).thenReturn(new Rectangle(x, y, 10, 10));
+        Rectangle bounds = new Rectangle(x, y, 10, 10);
+        when(wall.getCollisionBounds()).thenReturn(bounds);
+        when(wall.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
 
         assertTrue(missile.handleWallCollision(wall));
         assertFalse(missile.isActive());
@@ -125,6 +147,19 @@ class TestMissile {
         verify(mockGraphics, times(1)).fillOval(x-1, y-1, Missile.MISSILE_WIDTH+2, Missile.MISSILE_HEIGHT+2);
     }
 
+    @Test
+    public void testDrawInterpolatesBetweenTicks() {
+        Missile missile = new Missile(100, 200, Tank.Direction.R);
+        missile.updatePosition();
+
+        Graphics mockGraphics = mock(Graphics.class);
+        missile.draw(mockGraphics, 0.5);
+
+        // Halfway between the previous (100) and current (110) position, and no movement
+        verify(mockGraphics, times(1)).fillOval(105, 200, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT);
+        assertEquals(110, missile.getPositionX());
+    }
+
     @Test
     public void testRenderInactive() {
         int x = 100;
@@ -156,7 +191,9 @@ class TestMissile {
         Tank mockTank = mock(Tank.class);
 
         // 模拟坦克的碰撞边界
-        when(mockTank.getCollisionBounds()).thenReturn(new Rectangle(x, y, 30, 30));
+        Rectangle bounds = new Rectangle(x, y, 30, 30);
+        when(mockTank.getCollisionBounds()).thenReturn(bounds);
+        when(mockTank.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
         when(mockTank.isAlive()).thenReturn(true); // 模拟坦克是活着的
         when(mockTank.isPlayerControlled()).thenReturn(false); // 假设坦克是敌方坦克
 
@@ -175,7 +212,9 @@ class TestMissile {
         Missile missile = new Missile(x, y, true, direction, mockClient);
 
         Wall mockWall = mock(Wall.class);
-        when(mockWall.getCollisionBounds()).thenReturn(new Rectangle(x, y, 10, 10));
+        Rectangle bounds = new Rectangle(x, y, 10, 10);
+        when(mockWall.getCollisionBounds()).thenReturn(bounds);
+        when(mockWall.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
 
         boolean collision = missile.handleWallCollision(mockWall);
 
@@ -193,7 +232,9 @@ class TestMissile {
         Tank mockTank = mock(Tank.class);
 
         // 模拟坦克的碰撞边界，设置为一个与导弹不相交的 Rectangle
-        when(mockTank.getCollisionBounds()).thenReturn(new Rectangle(x + 50, y + 50, 30, 30));
+        Rectangle bounds = new Rectangle(x + 50, y + 50, 30, 30);
+        when(mockTank.getCollisionBounds()).thenReturn(bounds);
+        when(mockTank.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
         when(mockTank.isAlive()).thenReturn(true); // 模拟坦克是活着的
         when(mockTank.isPlayerControlled()).thenReturn(false); // 假设坦克是敌方坦克
 
@@ -212,7 +253,9 @@ class TestMissile {
         Missile missile = new Missile(x, y, true, direction, mockClient);
 
         Wall mockWall = mock(Wall.class);
-        when(mockWall.getCollisionBounds()).thenReturn(new Rectangle(x + 10, y + 10, 10, 10));
+        Rectangle bounds = new Rectangle(x + 10, y + 10, 10, 10);
+        when(mockWall.getCollisionBounds()).thenReturn(bounds);
+        when(mockWall.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
 
         boolean collision = missile.handleWallCollision(mockWall);
 
@@ -230,7 +273,9 @@ class TestMissile {
         Tank mockTank = mock(Tank.class);
 
         // 模拟坦克的碰撞边界
-        when(mockTank.getCollisionBounds()).thenReturn(new Rectangle(x, y, 30, 30));
+        Rectangle bounds = new Rectangle(x, y, 30, 30);
+        when(mockTank.getCollisionBounds()).thenReturn(bounds);
+        when(mockTank.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
         when(mockTank.isAlive()).thenReturn(true); // 确保坦克是活的
 
         List<Tank> tanks = List.of(mockTank);
@@ -254,7 +299,9 @@ class TestMissile {
         Tank mockTank = mock(Tank.class);
 
         // 模拟坦克的碰撞边界，定义一个和导弹无交集的 Rectangle
-        when(mockTank.getCollisionBounds()).thenReturn(new Rectangle(x + 50, y + 50, 30, 30));
+        Rectangle bounds = new Rectangle(x + 50, y + 50, 30, 30);
+        when(mockTank.getCollisionBounds()).thenReturn(bounds);
+        when(mockTank.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
         when(mockTank.isAlive()).thenReturn(true); // 保证坦克是活着的
         when(mockTank.isPlayerControlled()).thenReturn(false); // 假设坦克是敌方坦克
 
@@ -276,7 +323,9 @@ class TestMissile {
         Missile missile = new Missile(x, y, true, direction, mockClient);
 
         Wall mockWall = mock(Wall.class);
-        when(mockWall.getCollisionBounds()).thenReturn(new Rectangle(x, y, 10, 10));
+        Rectangle bounds = new Rectangle(x, y, 10, 10);
+        when(mockWall.getCollisionBounds()).thenReturn(bounds);
+        when(mockWall.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
 
         boolean collision = missile.handleWallCollision(mockWall);
 
@@ -292,7 +341,9 @@ class TestMissile {
         Missile missile = new Missile(x, y, true, direction, mockClient);
 
         Wall mockWall = mock(Wall.class);
-        when(mockWall.getCollisionBounds()).thenReturn(new Rectangle(x + 10, y + 10, 10, 10));
+        Rectangle bounds = new Rectangle(x + 10, y + 10, 10, 10);
+        when(mockWall.getCollisionBounds()).thenReturn(bounds);
+        when(mockWall.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(TestTank.overlaps(bounds));
 
         boolean collision = missile.handleWallCollision(mockWall);
 
@@ -0,0 +1,145 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestMissileStore {
+    private MissileStore store;
+
+    @BeforeEach
+    void setUp() {
+        Missile.MOVEMENT_SPEED_X = 10;
+        Missile.MOVEMENT_SPEED_Y = 10;
+        store = new MissileStore(4);
+    }
+
+    @Test
+    void testAddAndRead() {
+        int slot = store.add(100, 200, Tank.Direction.RD, true);
+
+        assertEquals(0, slot);
+        assertEquals(1, store.size());
+        assertEquals(100, store.getX(0));
+        assertEquals(200, store.getY(0));
+        assertEquals(Tank.Direction.RD, store.getDirection(0));
+        assertTrue(store.isFromPlayerTank(0));
+    }
+
+    @Test
+    void testInvalidCapacityAndIndex() {
+        assertThrows(IllegalArgumentException.class, () -> new MissileStore(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getX(0));
+        store.add(1, 1, Tank.Direction.U, false);
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getY(1));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            store.add(i, i, Tank.Direction.D, i % 2 == 0);
+        }
+
+        assertEquals(100, store.size());
+        assertEquals(99, store.getX(99));
+        assertFalse(store.isFromPlayerTank(99));
+    }
+
+    @Test
+    void testRemoveMovesLastIntoSlot() {
+        store.add(10, 10, Tank.Direction.L, false);
+        store.add(20, 20, Tank.Direction.U, false);
+        store.add(30, 30, Tank.Direction.R, true);
+
+        store.remove(0);
+
+        assertEquals(2, store.size());
+        assertEquals(30, store.getX(0));
+        assertEquals(Tank.Direction.R, store.getDirection(0));
+        assertTrue(store.isFromPlayerTank(0));
+        assertEquals(20, store.getX(1));
+    }
+
+    @Test
+    void testAdvanceDropsMissilesLeavingTheArea() {
+        store.add(5, 300, Tank.Direction.L, false);
+        store.add(400, 300, Tank.Direction.STOP, false);
+        store.add(TankClient.GAME_WIDTH - 5, 300, Tank.Direction.R, false);
+
+        assertEquals(2, store.advance());
+
+        assertEquals(1, store.size());
+        assertEquals(400, store.getX(0));
+    }
+
+    @Test
+    void testAdvanceMatchesMissileObjects() {
+        Random random = new Random(7);
+        Tank.Direction[] directions = Tank.Direction.values();
+        List<Missile> missiles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Missile missile = new Missile(random.nextInt(TankClient.GAME_WIDTH), random.nextInt(TankClient.GAME_HEIGHT),
+                    random.nextBoolean(), directions[random.nextInt(directions.length)], null);
+            missiles.add(missile);
+            store.add(missile);
+        }
+
+        for (int tick = 0; tick < 100; tick++) {
+            for (Missile missile : missiles) {
+                missile.updatePosition();
+            }
+            missiles.removeIf(missile -> !missile.isActive());
+            store.advance();
+
+            assertEquals(missiles.size(), store.size());
+            assertEquals(positions(missiles), storePositions());
+        }
+    }
+
+    @Test
+    void testCopyToFillsMissileView() {
+        store.add(120, 240, Tank.Direction.LU, true);
+        Missile view = new Missile(0, 0, Tank.Direction.STOP);
+        view.setActive(false);
+
+        assertSame(view, store.copyTo(0, view, null));
+
+        assertEquals(120, view.getPositionX());
+        assertEquals(240, view.getPositionY());
+        assertEquals(Tank.Direction.LU, view.getDirection());
+        assertTrue(view.isFromPlayerTank());
+        assertTrue(view.isActive());
+    }
+
+    @Test
+    void testClear() {
+        store.add(1, 1, Tank.Direction.U, false);
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.advance());
+    }
+
+    private static List<String> positions(List<Missile> missiles) {
+        List<String> result = new ArrayList<>();
+        for (Missile missile : missiles) {
+            result.add(missile.getPositionX() + "," + missile.getPositionY() + "," + missile.getDirection());
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private List<String> storePositions() {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            result.add(store.getX(i) + "," + store.getY(i) + "," + store.getDirection(i));
+        }
+        result.sort(null);
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestObjectPool {
+    private ObjectPool<Missile> pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ObjectPool<>(2, () -> new Missile(0, 0, Tank.Direction.STOP));
+    }
+
+    @Test
+    void testAcquireCreatesWhenEmpty() {
+        assertEquals(0, pool.available());
+        assertNotNull(pool.acquire());
+        assertNotSame(pool.acquire(), pool.acquire());
+    }
+
+    @Test
+    void testReleasedObjectIsReused() {
+        Missile missile = pool.acquire();
+        assertTrue(pool.release(missile));
+        assertEquals(1, pool.available());
+
+        assertSame(missile, pool.acquire());
+        assertEquals(0, pool.available());
+    }
+
+    @Test
+    void testReleaseBeyondCapacityIsDropped() {
+        assertTrue(pool.release(new Missile(0, 0, Tank.Direction.STOP)));
+        assertTrue(pool.release(new Missile(0, 0, Tank.Direction.STOP)));
+        assertFalse(pool.release(new Missile(0, 0, Tank.Direction.STOP)));
+        assertEquals(pool.capacity(), pool.available());
+    }
+
+    @Test
+    void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ObjectPool<Missile>(-1, () -> new Missile(0, 0, Tank.Direction.STOP)));
+    }
+
+    @Test
+    void testCompactRemovesDeadAndReleasesThem() {
+        ObjectPool<Missile> largePool = new ObjectPool<>(8, () -> new Missile(0, 0, Tank.Direction.STOP));
+        List<Missile> live = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            live.add(new Missile(i * 10, 0, Tank.Direction.STOP));
+        }
+        Missile first = live.get(0);
+        Missile third = live.get(2);
+        Missile last = live.get(5);
+        first.setActive(false);
+        third.setActive(false);
+        last.setActive(false);
+
+        int removed = largePool.compact(live, missile -> !missile.isActive());
+
+        assertEquals(3, removed);
+        assertEquals(3, live.size());
+        assertTrue(live.stream().allMatch(Missile::isActive));
+        assertEquals(3, largePool.available());
+        List<Missile> recycled = List.of(largePool.acquire(), largePool.acquire(), largePool.acquire());
+        assertTrue(recycled.containsAll(List.of(first, third, last)));
+    }
+
+    @Test
+    void testCompactAllDead() {
+        List<Missile> live = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Missile missile = new Missile(0, 0, Tank.Direction.STOP);
+            missile.setActive(false);
+            live.add(missile);
+        }
+
+        assertEquals(4, pool.compact(live, missile -> !missile.isActive()));
+        assertTrue(live.isEmpty());
+        assertEquals(pool.capacity(), pool.available());
+    }
+
+    @Test
+    void testReleaseAllEmptiesList() {
+        List<Missile> live = new ArrayList<>(List.of(pool.acquire(), pool.acquire()));
+
+        pool.releaseAll(live);
+
+        assertTrue(live.isEmpty());
+        assertEquals(2, pool.available());
+    }
+}
@@ -0,0 +1,136 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPathFinder {
+    private WallManager wallManager;
+    private PathFinder pathFinder;
+
+    @BeforeEach
+    void setUp() {
+        wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        pathFinder = wallManager.getPathFinder();
+    }
+
+    /**
+     * Checks that consecutive cells are neighbours and that every cell keeps a tank clear of walls
+     */
+    private void assertValidPath(int startX, int startY, int[] path) {
+        int previous = pathFinder.cellAt(startX, startY);
+        int columns = pathFinder.getColumns();
+        for (int cell : path) {
+            assertTrue(Math.abs(cell % columns - previous % columns) <= 1);
+            assertTrue(Math.abs(cell / columns - previous / columns) <= 1);
+            assertFalse(wallManager.intersectsAnyWall(pathFinder.cellX(cell), pathFinder.cellY(cell),
+                    Tank.TANK_WIDTH, Tank.TANK_HEIGHT));
+            previous = cell;
+        }
+    }
+
+    @Test
+    void testStraightPathOnEmptyMap() {
+        int[] path = pathFinder.findPath(100, 100, 300, 100);
+
+        assertEquals(10, path.length);
+        assertEquals(300, pathFinder.cellX(path[path.length - 1]));
+        assertEquals(100, pathFinder.cellY(path[path.length - 1]));
+        assertValidPath(100, 100, path);
+    }
+
+    @Test
+    void testDiagonalPathUsesDiagonalSteps() {
+        int[] path = pathFinder.findPath(100, 100, 300, 300);
+
+        assertEquals(10, path.length);
+    }
+
+    @Test
+    void testPathRoutesAroundWall() {
+        wallManager.addPermanentWall(300, 100, 20, 300);
+
+        int[] path = pathFinder.findPath(200, 240, 400, 240);
+
+        assertTrue(path.length > 10);
+        assertEquals(400, pathFinder.cellX(path[path.length - 1]));
+        assertValidPath(200, 240, path);
+    }
+
+    @Test
+    void testUnreachableGoal() {
+        // Close off the right side of the map completely
+        wallManager.addPermanentWall(500, 0, 20, TankClient.GAME_HEIGHT);
+
+        assertEquals(0, pathFinder.findPath(100, 100, 700, 300).length);
+    }
+
+    @Test
+    void testBlockedGoalSnapsToNearbyCell() {
+        wallManager.addPermanentWall(400, 300, 100, 20);
+
+        int[] path = pathFinder.findPath(100, 300, 420, 300);
+
+        assertTrue(path.length > 0);
+        int goal = path[path.length - 1];
+        assertTrue(pathFinder.isWalkable(goal));
+        assertTrue(Math.abs(pathFinder.cellX(goal) - 420) <= 60);
+    }
+
+    @Test
+    void testPathsAreCachedUntilWallsChange() {
+        int[] first = pathFinder.findPath(100, 100, 300, 300);
+        assertSame(first, pathFinder.findPath(105, 110, 310, 305));
+        assertEquals(1, pathFinder.getSearchCount());
+
+        wallManager.addBreakableWall(200, 150, 100, 20);
+
+        assertNotSame(first, pathFinder.findPath(100, 100, 300, 300));
+        assertEquals(2, pathFinder.getSearchCount());
+    }
+
+    @Test
+    void testRandomMapsGiveValidPaths() {
+        Random random = new Random(3);
+        wallManager.generateRandomWalls(15);
+        for (int i = 0; i < 100; i++) {
+            int startX = random.nextInt(TankClient.GAME_WIDTH - Tank.TANK_WIDTH);
+            int startY = random.nextInt(TankClient.GAME_HEIGHT - Tank.TANK_HEIGHT);
+            int[] path = pathFinder.findPath(startX, startY,
+                    random.nextInt(TankClient.GAME_WIDTH), random.nextInt(TankClient.GAME_HEIGHT));
+            assertValidPath(startX, startY, path);
+        }
+    }
+
+    @Test
+    void testHeapOrdersByPriority() {
+        PathFinder.BinaryHeap heap = new PathFinder.BinaryHeap(2);
+        int[] priorities = {50, 10, 40, 30, 20, 60, 0};
+        for (int i = 0; i < priorities.length; i++) {
+            heap.push(i, priorities[i]);
+        }
+
+        int[] expected = {6, 1, 4, 3, 2, 0, 5};
+        for (int cell : expected) {
+            assertEquals(cell, heap.pop());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testAIFollowsPathAroundWall() {
+        GameWorld world = new GameWorld();
+        world.getWallManager().cleanWalls();
+        // Wall straight between the tank and its target, open at the bottom
+        world.getWallManager().addPermanentWall(300, 60, 20, 300);
+        Tank enemy = new Tank(200, 200, false, Tank.Direction.STOP, world);
+
+        new TankAI(enemy, world).moveTowardsPosition(400, 200);
+
+        assertEquals(Tank.Direction.RD, enemy.getMoveDirection());
+    }
+}
@@ -0,0 +1,41 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the prediction harness through simulated connections
+ */
+class TestPredictionHarness {
+
+    @Test
+    void testWithoutLatencyPredictionHoldsUntilRespawn() {
+        PredictionHarness.Report report = PredictionHarness.run(10, 0, 0, TankClient.TICKS_PER_SECOND, 5);
+        assertTrue(report.commands >= 10 * TankClient.TICKS_PER_SECOND - 1);
+        assertTrue(report.reconciliations > 0);
+        assertTrue(report.correctionRate() < 0.01, report.toString());
+        assertEquals(0, report.droppedCommands);
+    }
+
+    @Test
+    void testLatencyIsMeasured() {
+        PredictionHarness.Report report = PredictionHarness.run(10, 150, 50, 30, 5);
+        assertTrue(report.reconciliations > 0);
+        assertTrue(report.corrections <= report.reconciliations);
+        assertTrue(report.maxError >= report.p99Error);
+        assertTrue(report.p99Error >= 0);
+        assertEquals(150, report.latencyMillis);
+    }
+
+    @Test
+    void testSameSeedGivesSameReport() {
+        assertEquals(PredictionHarness.run(5, 100, 20, 30, 9).toString(),
+                PredictionHarness.run(5, 100, 20, 30, 9).toString());
+    }
+
+    @Test
+    void testNegativeLatencyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PredictionHarness.run(1, -1, 0, 30, 1));
+    }
+}
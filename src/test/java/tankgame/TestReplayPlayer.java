@@ -0,0 +1,100 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests headless playback of recorded matches
+ */
+class TestReplayPlayer {
+    @TempDir
+    Path directory;
+
+    private static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_UP, KeyEvent.VK_RIGHT, KeyEvent.VK_DOWN};
+
+    /**
+     * Records a match with scripted input and a restart half way
+     * @return Number of ticks stepped
+     */
+    private long record(GameWorld world, Path file, int ticks) throws IOException {
+        long stepped = 0;
+        try (ReplayWriter writer = ReplayWriter.start(world, file)) {
+            for (int tick = 0; tick < ticks; tick++) {
+                if (tick % 10 == 0) {
+                    world.keyPressed(KEYS[(tick / 10) % KEYS.length]);
+                }
+                if (tick % 10 == 6) {
+                    world.keyReleased(KEYS[(tick / 10) % KEYS.length]);
+                    world.keyReleased(KeyEvent.VK_SPACE);
+                }
+                if (tick == ticks / 2) {
+                    world.reset();
+                }
+                long before = world.getTickCount();
+                world.step();
+                stepped += world.getTickCount() - before;
+            }
+            assertNotNull(writer);
+        }
+        return stepped;
+    }
+
+    @Test
+    void testPlaybackReproducesMatch() throws IOException {
+        Path file = directory.resolve("match.replay");
+        GameWorld world = new GameWorld(2024);
+        long ticks = record(world, file, 400);
+
+        ReplayPlayer.Result result = ReplayPlayer.play(file, 0, null);
+
+        assertTrue(result.layoutMatches);
+        assertEquals(world.stateHash(), result.recordedHash);
+        assertEquals(result.recordedHash, result.finalHash);
+        assertTrue(result.matchesRecording());
+        assertEquals(2024, result.seed);
+        assertEquals(ticks, result.ticks);
+        assertTrue(result.toString().contains("matches recording"));
+    }
+
+    @Test
+    void testHashLinesAreIdenticalAcrossRuns() throws IOException {
+        Path file = directory.resolve("hashes.replay");
+        record(new GameWorld(7), file, 200);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        ReplayPlayer.play(file, 20, new PrintStream(first, true));
+        ReplayPlayer.play(file, 20, new PrintStream(second, true));
+
+        assertFalse(first.toString().isEmpty());
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("not.replay");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> ReplayPlayer.play(file, 0, null));
+    }
+
+    @Test
+    void testRejectsTruncatedFiles() throws IOException {
+        Path file = directory.resolve("full.replay");
+        record(new GameWorld(3), file, 50);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.replay");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 9));
+
+        assertThrows(IOException.class, () -> ReplayPlayer.play(truncated, 0, null));
+    }
+}
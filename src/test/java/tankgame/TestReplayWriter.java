@@ -0,0 +1,70 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the binary replay encoding
+ */
+class TestReplayWriter {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testHeaderHoldsSeedAndLayout() throws IOException {
+        GameWorld world = new GameWorld(99);
+        Path file = directory.resolve("header.replay");
+        ReplayWriter.start(world, file).close();
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(ReplayWriter.MAGIC, in.getInt());
+        assertEquals(ReplayWriter.VERSION, in.get());
+        assertEquals(99, in.getLong());
+        byte[] layout = new byte[(int) Varint.get(in)];
+        in.get(layout);
+        assertArrayEquals(ReplayWriter.encodeLayout(world.getWalls()), layout);
+        assertEquals(ReplayWriter.END, in.get());
+    }
+
+    @Test
+    void testWorldPassesInputToWriter() throws IOException {
+        GameWorld world = new GameWorld(5);
+        ReplayWriter writer = ReplayWriter.start(world, directory.resolve("input.replay"));
+        assertSame(writer, world.getReplayWriter());
+
+        world.keyPressed(KeyEvent.VK_LEFT);
+        world.step();
+        world.keyReleased(KeyEvent.VK_LEFT);
+        world.reset();
+        assertEquals(3, writer.getRecordCount());
+
+        writer.close();
+        assertNull(world.getReplayWriter());
+        world.keyPressed(KeyEvent.VK_UP);
+        assertEquals(3, writer.getRecordCount());
+    }
+
+    @Test
+    void testRefusesWorldInProgress() {
+        GameWorld world = new GameWorld(5);
+        world.step();
+
+        assertThrows(IllegalStateException.class,
+                () -> ReplayWriter.start(world, directory.resolve("late.replay")));
+    }
+
+    @Test
+    void testLayoutIsCompact() {
+        Wall[] walls = new GameWorld(1).getWalls();
+        // Type byte plus a handful of short varints per wall
+        assertTrue(ReplayWriter.encodeLayout(walls).length <= walls.length * 16);
+    }
+}
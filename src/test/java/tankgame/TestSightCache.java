@@ -0,0 +1,115 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSightCache {
+    private SightCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SightCache();
+    }
+
+    @Test
+    void testEmptyMapNeverBlocks() {
+        assertFalse(cache.isBlocked(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT));
+        assertFalse(cache.isBlocked(100, 300, 700, 300));
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new SightCache(0, 600, 16, 4));
+        assertThrows(IllegalArgumentException.class, () -> new SightCache(800, 600, 4, 16));
+    }
+
+    @Test
+    void testWallBetweenPointsBlocks() {
+        cache.addWall(new Wall(400, 200, 20, 200, null));
+
+        assertTrue(cache.isBlocked(100, 300, 700, 300));
+        assertTrue(cache.isBlocked(700, 300, 100, 300));
+        assertFalse(cache.isBlocked(100, 100, 700, 100));
+    }
+
+    @Test
+    void testRepeatedQueriesHitCache() {
+        cache.addWall(new Wall(400, 200, 20, 200, null));
+        cache.isBlocked(100, 300, 700, 300);
+        // Same cells in the other order and a few pixels off
+        cache.isBlocked(702, 301, 103, 298);
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testWallChangesInvalidate() {
+        Wall wall = new Wall(400, 200, 20, 200, null);
+        assertFalse(cache.isBlocked(100, 300, 700, 300));
+
+        cache.addWall(wall);
+        assertTrue(cache.isBlocked(100, 300, 700, 300));
+
+        cache.removeWall(wall);
+        assertFalse(cache.isBlocked(100, 300, 700, 300));
+
+        cache.addWall(wall);
+        cache.clear();
+        assertFalse(cache.isBlocked(100, 300, 700, 300));
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void testOverlappingWallsAreRemovedIndependently() {
+        Wall first = new Wall(400, 200, 20, 200, null);
+        Wall second = new Wall(400, 280, 20, 40, null);
+        cache.addWall(first);
+        cache.addWall(second);
+
+        cache.removeWall(first);
+
+        assertTrue(cache.isBlocked(100, 300, 700, 300));
+    }
+
+    @Test
+    void testMostlyAgreesWithExactSegmentTest() {
+        Random random = new Random(42);
+        WallGrid grid = new WallGrid();
+        for (int i = 0; i < 20; i++) {
+            boolean vertical = random.nextBoolean();
+            Wall wall = new Wall(50 + random.nextInt(650), 50 + random.nextInt(450),
+                    vertical ? 20 : 40 + random.nextInt(160), vertical ? 40 + random.nextInt(160) : 20, null);
+            grid.insert(wall);
+            cache.addWall(wall);
+        }
+
+        int agree = 0;
+        int queries = 2_000;
+        for (int i = 0; i < queries; i++) {
+            int x1 = random.nextInt(TankClient.GAME_WIDTH);
+            int y1 = random.nextInt(TankClient.GAME_HEIGHT);
+            int x2 = random.nextInt(TankClient.GAME_WIDTH);
+            int y2 = random.nextInt(TankClient.GAME_HEIGHT);
+            if (cache.isBlocked(x1, y1, x2, y2) == grid.intersectsSegment(x1, y1, x2, y2)) {
+                agree++;
+            }
+        }
+        assertTrue(agree >= queries * 9 / 10, "agreed on " + agree + " of " + queries);
+    }
+
+    @Test
+    void testWallManagerKeepsCacheInStep() {
+        WallManager wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        assertFalse(wallManager.isSightBlocked(100, 300, 700, 300));
+
+        wallManager.addPermanentWall(400, 200, 20, 200);
+
+        assertTrue(wallManager.isSightBlocked(100, 300, 700, 300));
+    }
+}
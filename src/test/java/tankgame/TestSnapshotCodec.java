@@ -0,0 +1,140 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests full and delta encoding of world states
+ */
+class TestSnapshotCodec {
+    private GameWorld world;
+    private ByteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(7);
+        buffer = ByteBuffer.allocate(1 << 16);
+        Missile.MOVEMENT_SPEED_X = 10;
+        Missile.MOVEMENT_SPEED_Y = 10;
+    }
+
+    @Test
+    void testFullSnapshotRoundTrip() throws IOException {
+        for (int i = 0; i < 30; i++) {
+            world.step();
+        }
+        world.spawnExplosion(200, 200);
+        world.spawnMissile(300, 300, false, Tank.Direction.LD);
+        WorldState state = new WorldState().capture(world);
+
+        SnapshotCodec.writeFull(state, buffer);
+        assertTrue(buffer.position() <= SnapshotCodec.maxSize(null, state));
+        buffer.flip();
+        WorldState decoded = new WorldState();
+        SnapshotCodec.read(buffer, null, decoded);
+
+        assertEquals(state, decoded);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testDeltaChainFollowsMatch() throws IOException {
+        WorldState previous = new WorldState().capture(world);
+        WorldState current = new WorldState();
+        WorldState client = new WorldState();
+        WorldState decoded = new WorldState();
+        SnapshotCodec.writeFull(previous, buffer);
+        buffer.flip();
+        SnapshotCodec.read(buffer, null, client);
+
+        for (int tick = 0; tick < 300; tick++) {
+            if (tick % 15 == 0) {
+                world.keyPressed(java.awt.event.KeyEvent.VK_SPACE);
+                world.keyReleased(java.awt.event.KeyEvent.VK_SPACE);
+            }
+            world.step();
+            current.capture(world);
+            buffer.clear();
+            SnapshotCodec.writeDelta(previous, current, buffer);
+            assertTrue(buffer.position() <= SnapshotCodec.maxSize(previous, current));
+            buffer.flip();
+            SnapshotCodec.read(buffer, client, decoded);
+
+            assertEquals(current, decoded);
+            client.copyFrom(decoded);
+            previous.copyFrom(current);
+        }
+    }
+
+    @Test
+    void testUnchangedStateCostsOnlyHeader() {
+        world.step();
+        WorldState state = new WorldState().capture(world);
+
+        SnapshotCodec.writeDelta(state, state, buffer);
+
+        // Type, tick, base tick, globals and four empty tables
+        assertEquals(8, buffer.position());
+    }
+
+    @Test
+    void testOnlyChangedFieldsAreWritten() throws IOException {
+        world.step();
+        WorldState base = new WorldState().capture(world);
+        WorldState next = new WorldState();
+        next.copyFrom(base);
+        next.tanks.set(WorldState.TANK_X, 0, next.tanks.get(WorldState.TANK_X, 0) + 5);
+
+        SnapshotCodec.writeDelta(base, next, buffer);
+
+        // Header plus one row: id gap, mask and one small difference
+        assertTrue(buffer.position() <= 8 + 1 + 1 + 1 + 1);
+        buffer.flip();
+        WorldState decoded = new WorldState();
+        SnapshotCodec.read(buffer, base, decoded);
+        assertEquals(next, decoded);
+    }
+
+    @Test
+    void testRemovedEntitiesAreDropped() throws IOException {
+        world.spawnMissile(100, 100, true, Tank.Direction.R);
+        world.spawnMissile(200, 100, true, Tank.Direction.R);
+        WorldState base = new WorldState().capture(world);
+        world.getMissiles().get(0).setActive(false);
+        WorldState next = new WorldState().capture(world);
+
+        SnapshotCodec.writeDelta(base, next, buffer);
+        buffer.flip();
+        WorldState decoded = new WorldState();
+        SnapshotCodec.read(buffer, base, decoded);
+
+        assertEquals(1, decoded.missiles.size());
+        assertEquals(next, decoded);
+    }
+
+    @Test
+    void testDeltaRejectsOtherBase() {
+        WorldState base = new WorldState().capture(world);
+        world.step();
+        WorldState next = new WorldState().capture(world);
+        SnapshotCodec.writeDelta(base, next, buffer);
+        buffer.flip();
+
+        assertThrows(IOException.class, () -> SnapshotCodec.read(buffer, next, new WorldState()));
+    }
+
+    @Test
+    void testTruncatedSnapshot() {
+        world.step();
+        SnapshotCodec.writeFull(new WorldState().capture(world), buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 3);
+
+        assertThrows(IOException.class, () -> SnapshotCodec.read(buffer, null, new WorldState()));
+    }
+}
@@ -50,6 +50,24 @@ class TestTank {
         when(gameClient.getEnemyTanks()).thenReturn(new ArrayList<>());
 //        when(gameClient.getWalls()).thenReturn(new ArrayList<>());
         when(gameClient.getPlayerTank()).thenReturn(new Tank(200, 200, true));
+        stubEnemyTankQuery(gameClient);
+    }
+
+    /**
+     * Answers the client's tank grid query by scanning whatever getEnemyTanks() returns
+     */
+    static void stubEnemyTankQuery(TankClient client) {
+        when(client.findEnemyTankAt(anyInt(), anyInt(), anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            Rectangle bounds = new Rectangle(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+            Tank exclude = invocation.getArgument(4);
+            for (Tank other : client.getEnemyTanks()) {
+                if (other != exclude && other.isAlive() && bounds.intersects(other.getCollisionBounds())) {
+                    return other;
+                }
+            }
+            return null;
+        });
     }
 
     private KeyEvent createKeyEvent(final int keyCode) {
@@ -61,6 +79,38 @@ class TestTank {
                 (char) keyCode);
     }
 
+    /**
+     * Routes the wall queries of a mocked client through the given walls' bounds
+     */
+    static void stubWalls(TankClient client, Wall... walls) {
+        when(client.getWalls()).thenReturn(walls);
+        when(client.isBlockedByWalls(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Rectangle bounds = new Rectangle(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+            for (Wall wall : walls) {
+                if (bounds.intersects(wall.getCollisionBounds())) return true;
+            }
+            return false;
+        });
+        when(client.isSightBlocked(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            java.awt.geom.Line2D line = new java.awt.geom.Line2D.Double(
+                    (int) invocation.getArgument(0), (int) invocation.getArgument(1),
+                    (int) invocation.getArgument(2), (int) invocation.getArgument(3));
+            for (Wall wall : walls) {
+                if (line.intersects(wall.getCollisionBounds())) return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Answers a mocked entity's intersects(x, y, width, height) against fixed bounds
+     */
+    static org.mockito.stubbing.Answer<Boolean> overlaps(Rectangle bounds) {
+        return invocation -> bounds.intersects(new Rectangle(invocation.getArgument(0), invocation.getArgument(1),
+                invocation.getArgument(2), invocation.getArgument(3)));
+    }
+
     @Test
     void testConstructor() {
         assertEquals(100, tank.getPositionX());
@@ -138,6 +188,17 @@ class TestTank {
         assertEquals(0, gameClient.getScore());
     }
 
+    @Test
+    void testDrawDoesNotMove() {
+        Tank tank = new Tank(100, 100, true, Tank.Direction.R, gameClient);
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+        tank.draw(graphics, 1.0);
+
+        assertEquals(100, tank.getPositionX());
+        assertEquals(Color.RED.getRGB(), image.getRGB(101, 101));
+    }
+
     @Test
     void testRenderBarrel() {
         Tank tank = new Tank(100, 100, true);
@@ -147,6 +208,30 @@ class TestTank {
         tank.renderBarrel(graphics);
     }
 
+    @Test
+    void testHandleNearbyTankCollisions() {
+        Tank enemy = new Tank(130, 100, false, Tank.Direction.STOP, gameClient);
+        when(gameClient.getEnemyTanks()).thenReturn(List.of(enemy));
+
+        tank.setMovementDirection(Tank.Direction.R);
+        tank.setCurrentX(95);
+        tank.setCurrentY(100);
+        tank.updatePosition();
+        // Force an overlap the movement check would normally prevent
+        tank.setCurrentX(110);
+
+        assertTrue(tank.handleNearbyTankCollisions());
+        assertEquals(95, tank.getPositionX());
+    }
+
+    @Test
+    void testIntersectsMatchesCollisionBounds() {
+        Tank tank = new Tank(100, 100, true);
+        assertTrue(tank.intersects(130, 120, 20, 20));
+        assertFalse(tank.intersects(140, 100, 20, 20));
+        assertEquals(tank.getCollisionBounds().intersects(new Rectangle(60, 80, 41, 21)), tank.intersects(60, 80, 41, 21));
+    }
+
     @Test
     void testRevertToPreviousPosition(){
         Tank tank = new Tank(100, 100, true);
@@ -174,7 +259,7 @@ class TestTank {
     @Test
     void testWallCollision() {
         Wall wall = new Wall(150, 100, 20, 40, gameClient);
-        when(gameClient.getWalls()).thenReturn(new Wall[]{wall});
+        stubWalls(gameClient, wall);
 
         tank = new Tank(100, 100, true, Tank.Direction.R, gameClient);
 //        int originalX = tank.getPositionX();
@@ -586,7 +671,7 @@ class TestTank {
     @Test
     void testWillCollideWithWalls() {
         Wall wall = new Wall(100, 100, 40, 30, gameClient);
-        when(gameClient.getWalls()).thenReturn(new Wall[]{wall});
+        stubWalls(gameClient, wall);
         assertTrue(tank.willCollideWithWalls(100, 100));
     }
 
@@ -620,7 +705,9 @@ class TestTank {
         Tank tank = new Tank(100, 100, true);
         Blood mockBlood = mock(Blood.class);
         when(mockBlood.isActive()).thenReturn(true);
-        when(mockBlood.getCollisionBounds()).thenReturn(new Rectangle(150, 150, 10, 10));
+        Rectangle bloodBounds = new Rectangle(150, 150, 10, 10);
+        when(mockBlood.getCollisionBounds()).thenReturn(bloodBounds);
+        when(mockBlood.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(overlaps(bloodBounds));
 
         boolean result = tank.collectHealthPowerUp(mockBlood);
 
@@ -633,7 +720,9 @@ class TestTank {
         Tank tank = new Tank(100, 100, true);
         Blood mockBlood = mock(Blood.class);
         when(mockBlood.isActive()).thenReturn(true);
-        when(mockBlood.getCollisionBounds()).thenReturn(new Rectangle(105, 105, 10, 10));
+        Rectangle bloodBounds = new Rectangle(105, 105, 10, 10);
+        when(mockBlood.getCollisionBounds()).thenReturn(bloodBounds);
+        when(mockBlood.intersects(anyInt(), anyInt(), anyInt(), anyInt())).thenAnswer(overlaps(bloodBounds));
 
         boolean result = tank.collectHealthPowerUp(mockBlood);
 
@@ -784,7 +873,7 @@ class TestTank {
     @Test
     void testInvalidSpawnPosition() {
         Wall wall = new Wall(90, 90, 40, 30, gameClient);
-        when(gameClient.getWalls()).thenReturn(new Wall[]{wall});
+        stubWalls(gameClient, wall);
         when(gameClient.getEnemyTanks()).thenReturn(new ArrayList<>());
 
         assertFalse(tankGenerator.isValidSpawnPosition(100, 100));
@@ -792,7 +881,7 @@ class TestTank {
 
     @Test
     void testSpawnEnemyTanksNoValidPosition() {
-        when(gameClient.getWalls()).thenReturn(new Wall[]{new Wall(0, 0, 800, 600, gameClient)});
+        stubWalls(gameClient, new Wall(0, 0, 800, 600, gameClient));
         when(gameClient.getEnemyTanks()).thenReturn(new ArrayList<>());
 
         int count = 5;
@@ -835,7 +924,7 @@ class TestTank {
 
     @Test
     void testSpawnEnemyTanksNoValidPosition2() {
-        when(gameClient.getWalls()).thenReturn(new Wall[]{new Wall(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, gameClient)});
+        stubWalls(gameClient, new Wall(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, gameClient));
         when(gameClient.getEnemyTanks()).thenReturn(new ArrayList<>());
         when(gameClient.getPlayerTank()).thenReturn(new Tank(0, 0, true, Tank.Direction.STOP, gameClient));
 
@@ -243,7 +243,7 @@ class TestTankAI {
         
         when(playerTank.getPositionX()).thenReturn(200);
         when(playerTank.getPositionY()).thenReturn(200);
-        when(mockClient.getWalls()).thenReturn(new Wall[]{wall});
+        TestTank.stubWalls(mockClient, wall);
         TankAI tankAI = new TankAI(controlledTank, mockClient);
         // Test
         boolean result = tankAI.hasGoodFiringAngle(position, playerTank);
@@ -264,7 +264,7 @@ class TestTankAI {
         
         when(playerTank.getPositionX()).thenReturn(200);
         when(playerTank.getPositionY()).thenReturn(200);
-        when(mockClient.getWalls()).thenReturn(new Wall[]{wall1, wall2});
+        TestTank.stubWalls(mockClient, wall1, wall2);
 
         // Test
         boolean result = tankAI.hasGoodFiringAngle(position, playerTank);
@@ -494,7 +494,7 @@ class TestTankAI {
 
         // Setup wall that blocks the sight line
         when(wall.getCollisionBounds()).thenReturn(new Rectangle(75, 75, 50, 50));
-        when(mockClient.getWalls()).thenReturn(new Wall[]{wall});
+        TestTank.stubWalls(mockClient, wall);
 
         // Test
         assertFalse(tankAI.hasLineOfSight(targetTank));
@@ -514,7 +514,7 @@ class TestTankAI {
 
         // Setup wall that touches the sight line
         when(wall.getCollisionBounds()).thenReturn(new Rectangle(75, 75, 50, 50));
-        when(mockClient.getWalls()).thenReturn(new Wall[]{wall});
+        TestTank.stubWalls(mockClient, wall);
 
         // Test
         assertFalse(tankAI.hasLineOfSight(targetTank));
@@ -534,7 +534,7 @@ class TestTankAI {
 
         // Setup wall that does not block the view but is close
         when(wall.getCollisionBounds()).thenReturn(new Rectangle(75, 75, 50, 50));
-        when(mockClient.getWalls()).thenReturn(new Wall[]{wall});
+        TestTank.stubWalls(mockClient, wall);
 
         // Test
         assertFalse(tankAI.hasLineOfSight(targetTank));
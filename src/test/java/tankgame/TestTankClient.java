@@ -94,18 +94,43 @@ class TestTankClient {
     }
 
     @Test
-    void testMissileUpdateAndRender() {
+    void testMissileUpdate() {
         // 创建导弹并添加到游戏中
         Missile missile = new Missile(100, 100, true, Tank.Direction.LU, tankClient);
         tankClient.getMissiles().add(missile);
 
-        // 模拟渲染逻辑
-        Graphics graphics = new Canvas().getGraphics();
-        tankClient.updateMissiles(graphics);
+        // 模拟一次模拟步进
+        tankClient.updateMissiles();
 
-        // 验证导弹是否被渲染
+        // 验证导弹是否移动
         assertEquals(1, tankClient.getMissiles().size());
-        assertEquals(100, tankClient.getMissiles().get(0).getPositionX());
+        assertEquals(100 - Missile.MOVEMENT_SPEED_X, tankClient.getMissiles().get(0).getPositionX());
+    }
+
+    @Test
+    void testPaintDoesNotAdvanceWorld() {
+        Missile missile = new Missile(100, 100, true, Tank.Direction.R, tankClient);
+        tankClient.getMissiles().add(missile);
+
+        BufferedImage bufferedImage = new BufferedImage(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = bufferedImage.createGraphics();
+        tankClient.paint(graphics);
+        tankClient.paint(graphics);
+
+        // 渲染不应改变世界状态
+        assertEquals(100, missile.getPositionX());
+        assertEquals(100, missile.getPositionY());
+    }
+
+    @Test
+    void testStepSimulationRemovesInactiveMissiles() {
+        Missile missile = new Missile(100, 100, true, Tank.Direction.R, tankClient);
+        missile.setActive(false);
+        tankClient.getMissiles().add(missile);
+
+        tankClient.stepSimulation();
+
+        assertTrue(tankClient.getMissiles().isEmpty());
     }
 
     @Test
@@ -202,23 +227,22 @@ class TestTankClient {
 
     @Test
     void testUpdateExplosions() {
-        // Mock Graphics 对象
-        Graphics graphics = mock(Graphics.class);
-
         // Mock Explode 对象
         Explode explosion1 = mock(Explode.class);
         Explode explosion2 = mock(Explode.class);
+        when(explosion1.getStatus()).thenReturn(true);
+        when(explosion2.getStatus()).thenReturn(true);
 
         // 将 Mock 的爆炸对象添加到 explosions 列表中
         tankClient.getExplosions().add(explosion1);
         tankClient.getExplosions().add(explosion2);
 
         // 调用 updateExplosions 方法
-        tankClient.updateExplosions(graphics);
+        tankClient.updateExplosions();
 
-        // 验证每个爆炸对象的 renderExplosion 方法是否被调用
-        verify(explosion1, times(1)).renderExplosion(graphics);
-        verify(explosion2, times(1)).renderExplosion(graphics);
+        // 验证每个爆炸对象的 update 方法是否被调用
+        verify(explosion1, times(1)).update();
+        verify(explosion2, times(1)).update();
 
         // 验证 explosions 列表中所有对象都被正确处理
         assertEquals(2, tankClient.getExplosions().size());
@@ -226,18 +250,21 @@ class TestTankClient {
 
     @Test
     void testUpdateExplosionsWithEmptyList() {
-        // Mock Graphics 对象
-        Graphics graphics = mock(Graphics.class);
-
         // 确保 explosions 列表为空
         tankClient.getExplosions().clear();
 
         // 调用 updateExplosions 方法
-        tankClient.updateExplosions(graphics);
+        tankClient.updateExplosions();
 
-        // 验证 explosions 列表为空时 renderExplosion 不被调用
+        // 验证 explosions 列表为空
         assertTrue(tankClient.getExplosions().isEmpty());
-        verifyNoInteractions(graphics); // 确保没有与 Graphics 对象交互
+    }
+
+    @Test
+    void testSetTargetFpsRejectsNonPositive() {
+        assertThrows(IllegalArgumentException.class, () -> tankClient.setTargetFps(0));
+        tankClient.setTargetFps(240);
+        assertEquals(240, tankClient.getTargetFps());
     }
 
     @Test
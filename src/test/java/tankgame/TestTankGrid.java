@@ -0,0 +1,96 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTankGrid {
+    private TankGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new TankGrid();
+    }
+
+    @Test
+    void testEmptyGrid() {
+        assertEquals(0, grid.size());
+        assertNull(grid.findFirst(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, null));
+    }
+
+    @Test
+    void testFindsOverlappingTank() {
+        Tank a = new Tank(100, 100, false);
+        Tank b = new Tank(300, 300, false);
+        grid.rebuild(List.of(a, b));
+
+        assertSame(a, grid.findFirst(120, 110, Tank.TANK_WIDTH, Tank.TANK_HEIGHT, null));
+        assertNull(grid.findFirst(120, 110, Tank.TANK_WIDTH, Tank.TANK_HEIGHT, a));
+        assertNull(grid.findFirst(500, 100, Tank.TANK_WIDTH, Tank.TANK_HEIGHT, null));
+    }
+
+    @Test
+    void testSkipsDeadTanks() {
+        Tank dead = new Tank(100, 100, false);
+        dead.setAlive(false);
+        grid.rebuild(List.of(dead));
+
+        assertEquals(0, grid.size());
+        assertNull(grid.findFirst(100, 100, 10, 10, null));
+    }
+
+    @Test
+    void testFindsTankThatMovedAfterRebuild() {
+        // Indexed in cell (0, 0), then moved one step into the next cell
+        Tank tank = new Tank(60, 60, false);
+        grid.rebuild(List.of(tank));
+        tank.setCurrentX(60 + Tank.MOVEMENT_SPEED_X);
+        tank.setCurrentY(60 + Tank.MOVEMENT_SPEED_Y);
+
+        assertSame(tank, grid.findFirst(100, 90, 10, 10, null));
+    }
+
+    @Test
+    void testRebuildGrowsCapacity() {
+        List<Tank> tanks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tanks.add(new Tank(i % 20 * 40, i / 20 * 30, false));
+        }
+        grid.rebuild(tanks);
+
+        assertEquals(500, grid.size());
+    }
+
+    @Test
+    void testQueriesMatchBruteForce() {
+        Random random = new Random(3343);
+        List<Tank> tanks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tanks.add(new Tank(random.nextInt(TankClient.GAME_WIDTH), random.nextInt(TankClient.GAME_HEIGHT), false));
+        }
+        grid.rebuild(tanks);
+
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(TankClient.GAME_WIDTH);
+            int y = random.nextInt(TankClient.GAME_HEIGHT);
+            boolean expected = false;
+            for (Tank tank : tanks) {
+                expected |= tank.intersects(x, y, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT);
+            }
+            assertEquals(expected, grid.findFirst(x, y, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT, null) != null);
+
+            List<Tank> candidates = new ArrayList<>();
+            grid.collectCandidates(x, y, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT, candidates);
+            for (Tank tank : tanks) {
+                if (tank.intersects(x, y, Missile.MISSILE_WIDTH, Missile.MISSILE_HEIGHT)) {
+                    assertTrue(candidates.contains(tank));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests prediction and reconciliation of the own tank
+ */
+class TestTankPredictor {
+    private GameWorld world;
+    private Tank tank;
+    private TankPredictor predictor;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(7);
+        world.getWallManager().cleanWalls();
+        tank = world.getPlayerTank();
+        tank.placeAt(300, 300);
+        predictor = new TankPredictor(world);
+    }
+
+    @Test
+    void testPredictionMovesAtOnce() {
+        int first = predictor.predict(tank, GameWorld.INPUT_RIGHT);
+        int second = predictor.predict(tank, GameWorld.INPUT_RIGHT | GameWorld.INPUT_FIRE);
+
+        assertEquals(first + 1, second);
+        assertEquals(300 + 2 * Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+        assertEquals(2, predictor.getPendingCount());
+        // Shots are left to the server
+        assertTrue(world.getMissiles().isEmpty());
+    }
+
+    @Test
+    void testReconcileReplaysUnacknowledgedCommands() {
+        for (int i = 0; i < 5; i++) {
+            predictor.predict(tank, GameWorld.INPUT_RIGHT);
+        }
+        // The server has applied three of the five commands
+        tank.placeAt(300 + 3 * Tank.MOVEMENT_SPEED_X, 300);
+
+        assertEquals(0, predictor.reconcile(tank, 3));
+        assertEquals(300 + 5 * Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+        assertEquals(2, predictor.getPendingCount());
+        assertEquals(1, predictor.getReconciliations());
+        assertEquals(0, predictor.getCorrections());
+    }
+
+    @Test
+    void testReconcileCorrectsMisprediction() {
+        predictor.predict(tank, GameWorld.INPUT_DOWN);
+        predictor.predict(tank, GameWorld.INPUT_DOWN);
+        // Something stopped the tank on the server after the first command
+        tank.placeAt(300, 300 + Tank.MOVEMENT_SPEED_Y - 20);
+
+        double error = predictor.reconcile(tank, 1);
+        assertEquals(20, error, 1e-9);
+        assertEquals(300 + 2 * Tank.MOVEMENT_SPEED_Y - 20, tank.getCurrentY());
+        assertEquals(1, predictor.getCorrections());
+        assertEquals(20, predictor.getMeanError(), 1e-9);
+        assertEquals(20, predictor.getMaxError(), 1e-9);
+    }
+
+    @Test
+    void testPredictionCollidesWithWalls() {
+        world.getWallManager().addWall(new Wall(300 + Tank.TANK_WIDTH, 300, 20, Tank.TANK_HEIGHT, world));
+
+        predictor.predict(tank, GameWorld.INPUT_RIGHT);
+        assertEquals(300, tank.getCurrentX());
+    }
+
+    @Test
+    void testStaleAcknowledgementIsIgnored() {
+        predictor.predict(tank, GameWorld.INPUT_LEFT);
+        predictor.predict(tank, GameWorld.INPUT_LEFT);
+        tank.placeAt(300 - 2 * Tank.MOVEMENT_SPEED_X, 300);
+        predictor.reconcile(tank, 2);
+
+        // An older state arriving late must not replay commands the server already applied
+        tank.placeAt(300 - 2 * Tank.MOVEMENT_SPEED_X, 300);
+        predictor.reconcile(tank, 1);
+        assertEquals(0, predictor.getPendingCount());
+        assertEquals(300 - 2 * Tank.MOVEMENT_SPEED_X, tank.getCurrentX());
+    }
+}
@@ -0,0 +1,70 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that tanks drawn from the atlas match the tanks drawn with Java2D calls
+ */
+class TestTankSprites {
+
+    private static BufferedImage blank() {
+        return new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testAtlasHoldsEveryDirectionOfBothFactions() {
+        BufferedImage atlas = TankSprites.getAtlas();
+
+        assertEquals(TankSprites.SPRITE_WIDTH * Tank.Direction.values().length, atlas.getWidth());
+        assertEquals(TankSprites.SPRITE_HEIGHT * 2, atlas.getHeight());
+    }
+
+    @Test
+    void testSpriteMatchesDirectDrawing() {
+        for (boolean isPlayer : new boolean[] {true, false}) {
+            for (Tank.Direction direction : Tank.Direction.values()) {
+                BufferedImage expected = blank();
+                Graphics2D expectedGraphics = expected.createGraphics();
+                TankSprites.paintBody(expectedGraphics, 80, 80, isPlayer);
+                TankSprites.paintBarrel(expectedGraphics, 80, 80, direction);
+                expectedGraphics.dispose();
+
+                BufferedImage actual = blank();
+                Graphics2D actualGraphics = actual.createGraphics();
+                TankSprites.draw(actualGraphics, 80, 80, isPlayer, direction);
+                actualGraphics.dispose();
+
+                assertSameImage(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void testTankIsDrawnWithOneImageCall() {
+        Tank tank = new Tank(100, 100, false);
+        Graphics graphics = mock(Graphics.class);
+
+        tank.draw(graphics, 1.0);
+
+        verify(graphics).drawImage(TankSprites.getAtlas(),
+                100 - TankSprites.PADDING, 100 - TankSprites.PADDING,
+                100 - TankSprites.PADDING + TankSprites.SPRITE_WIDTH, 100 - TankSprites.PADDING + TankSprites.SPRITE_HEIGHT,
+                Tank.Direction.D.ordinal() * TankSprites.SPRITE_WIDTH, TankSprites.SPRITE_HEIGHT,
+                (Tank.Direction.D.ordinal() + 1) * TankSprites.SPRITE_WIDTH, TankSprites.SPRITE_HEIGHT * 2, null);
+        verifyNoMoreInteractions(graphics);
+    }
+}
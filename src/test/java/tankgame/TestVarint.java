@@ -0,0 +1,64 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the variable-length integer coding
+ */
+class TestVarint {
+    @Test
+    void testRoundTrip() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        long[] values = {0, 1, 127, 128, 300, 1L << 35, Long.MAX_VALUE};
+        for (long value : values) {
+            Varint.put(buffer, value);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, Varint.get(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testSmallValuesTakeOneByte() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Varint.put(buffer, 127);
+        assertEquals(1, buffer.position());
+        Varint.put(buffer, Varint.zigZag(-1));
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    void testZigZagRoundTrip() {
+        for (long value : new long[]{0, -1, 1, -64, 64, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, Varint.unZigZag(Varint.zigZag(value)));
+        }
+    }
+
+    @Test
+    void testMalformedVarint() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int i = 0; i < 12; i++) {
+            buffer.put((byte) 0x80);
+        }
+        buffer.flip();
+
+        assertThrows(IOException.class, () -> Varint.get(buffer));
+    }
+
+    @Test
+    void testTruncatedVarint() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) 0x80).put((byte) 0x80);
+        buffer.flip();
+
+        assertThrows(IOException.class, () -> Varint.get(buffer));
+        assertThrows(IOException.class, () -> Varint.get(ByteBuffer.allocate(0)));
+    }
+}
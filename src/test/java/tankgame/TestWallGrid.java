@@ -0,0 +1,135 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestWallGrid {
+    private WallGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new WallGrid(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, 64);
+    }
+
+    @Test
+    void testEmptyGrid() {
+        assertEquals(0, grid.size());
+        assertFalse(grid.intersectsAny(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT));
+        assertFalse(grid.intersectsSegment(0, 0, TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT));
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new WallGrid(0, 600, 64));
+        assertThrows(IllegalArgumentException.class, () -> new WallGrid(800, 600, 0));
+    }
+
+    @Test
+    void testRectangleQuery() {
+        Wall wall = new Wall(100, 100, 200, 20, null);
+        grid.insert(wall);
+
+        assertTrue(grid.intersectsAny(250, 90, 40, 30));
+        assertSame(wall, grid.findFirst(250, 90, 40, 30));
+        // Touching edges do not count, same as Rectangle.intersects
+        assertFalse(grid.intersectsAny(300, 100, 40, 30));
+        assertFalse(grid.intersectsAny(500, 500, 40, 30));
+    }
+
+    @Test
+    void testRemove() {
+        Wall wall = new Wall(100, 100, 200, 20, null);
+        grid.insert(wall);
+        grid.remove(wall);
+
+        assertEquals(0, grid.size());
+        assertFalse(grid.intersectsAny(100, 100, 200, 20));
+    }
+
+    @Test
+    void testSegmentQuery() {
+        grid.insert(new Wall(390, 100, 20, 400, null));
+
+        assertTrue(grid.intersectsSegment(100, 300, 700, 300));
+        assertTrue(grid.intersectsSegment(700, 50, 100, 550));
+        assertFalse(grid.intersectsSegment(100, 50, 700, 50));
+        assertFalse(grid.intersectsSegment(100, 300, 380, 300));
+    }
+
+    @Test
+    void testOutOfAreaQueries() {
+        grid.insert(new Wall(-50, -50, 60, 60, null));
+
+        assertTrue(grid.intersectsAny(-40, -40, 10, 10));
+        assertTrue(grid.intersectsSegment(-100, 0, 100, 0));
+        assertFalse(grid.intersectsAny(900, 700, 10, 10));
+    }
+
+    @Test
+    void testCollectCandidatesReportsEachWallOnce() {
+        Wall longWall = new Wall(0, 300, 800, 20, null);
+        Wall farWall = new Wall(700, 50, 20, 20, null);
+        grid.insert(longWall);
+        grid.insert(farWall);
+
+        List<Wall> candidates = new ArrayList<>();
+        grid.collectCandidates(0, 250, 800, 100, candidates);
+
+        assertEquals(List.of(longWall), candidates);
+    }
+
+    @Test
+    void testQueriesMatchBruteForce() {
+        Random random = new Random(3343);
+        List<Wall> walls = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean vertical = random.nextBoolean();
+            Wall wall = new Wall(random.nextInt(760), random.nextInt(560),
+                    vertical ? 20 : 40 + random.nextInt(160), vertical ? 40 + random.nextInt(160) : 20, null);
+            walls.add(wall);
+            grid.insert(wall);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(800), y = random.nextInt(600);
+            int x2 = random.nextInt(800), y2 = random.nextInt(600);
+            Rectangle box = new Rectangle(x, y, 40, 30);
+            Line2D line = new Line2D.Double(x, y, x2, y2);
+
+            boolean boxExpected = false, lineExpected = false;
+            for (Wall wall : walls) {
+                boxExpected |= box.intersects(wall.getCollisionBounds());
+                lineExpected |= line.intersects(wall.getCollisionBounds());
+            }
+            assertEquals(boxExpected, grid.intersectsAny(x, y, 40, 30));
+            assertEquals(lineExpected, grid.intersectsSegment(x, y, x2, y2));
+        }
+    }
+
+    @Test
+    void testWallManagerKeepsGridInStep() {
+        WallManager wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        wallManager.addBreakableWall(100, 100, 50, 50);
+        wallManager.addTemporaryWall(400, 400, 50, 50);
+
+        assertTrue(wallManager.intersectsAnyWall(120, 120, 10, 10));
+        assertTrue(wallManager.isSegmentBlocked(0, 425, 800, 425));
+
+        BreakableWall breakable = (BreakableWall) wallManager.getAllWalls()[0];
+        breakable.damage(100);
+        wallManager.update(System.currentTimeMillis() + WallManager.TEMPORARY_WALL_DURATION + 1);
+
+        assertFalse(wallManager.intersectsAnyWall(120, 120, 10, 10));
+        assertFalse(wallManager.isSegmentBlocked(0, 425, 800, 425));
+        assertEquals(0, wallManager.getAllWalls().length);
+    }
+}
@@ -0,0 +1,101 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that wall layers are drawn once and redrawn only after the walls change
+ */
+class TestWallLayer {
+    private WallManager wallManager;
+    private BufferedImage screen;
+
+    @BeforeEach
+    void setUp() {
+        wallManager = new WallManager(null);
+        wallManager.cleanWalls();
+        screen = new BufferedImage(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void render() {
+        Graphics graphics = screen.getGraphics();
+        wallManager.render(graphics);
+        graphics.dispose();
+    }
+
+    @Test
+    void testLayerDrawsWalls() {
+        wallManager.addPermanentWall(100, 100, 40, 20);
+        render();
+
+        assertEquals(Color.GRAY.getRGB(), screen.getRGB(110, 110));
+        assertEquals(0, screen.getRGB(10, 10));
+    }
+
+    @Test
+    void testLayerIsNotRedrawnWithoutChanges() {
+        wallManager.addPermanentWall(100, 100, 40, 20);
+        wallManager.addBreakableWall(300, 300, 40, 20);
+        render();
+        render();
+        render();
+
+        assertEquals(1, wallManager.getStaticLayer().getBakeCount());
+        assertEquals(1, wallManager.getDynamicLayer().getBakeCount());
+    }
+
+    @Test
+    void testAddingPermanentWallRedrawsOnlyStaticLayer() {
+        render();
+        wallManager.addPermanentWall(100, 100, 40, 20);
+
+        assertTrue(wallManager.getStaticLayer().isDirty());
+        assertFalse(wallManager.getDynamicLayer().isDirty());
+        render();
+        assertEquals(2, wallManager.getStaticLayer().getBakeCount());
+        assertEquals(1, wallManager.getDynamicLayer().getBakeCount());
+    }
+
+    @Test
+    void testDamageRedrawsDynamicLayer() {
+        wallManager.addBreakableWall(300, 300, 40, 20);
+        render();
+        int fullHealth = screen.getRGB(310, 310);
+
+        ((BreakableWall) wallManager.getAllWalls()[0]).damage(50);
+
+        assertTrue(wallManager.getDynamicLayer().isDirty());
+        assertFalse(wallManager.getStaticLayer().isDirty());
+        render();
+        assertNotEquals(fullHealth, screen.getRGB(310, 310));
+    }
+
+    @Test
+    void testRemovedWallsDisappear() {
+        wallManager.addTemporaryWall(300, 300, 40, 20);
+        wallManager.addBreakableWall(100, 100, 40, 20);
+        ((BreakableWall) wallManager.getAllWalls()[0]).damage(1000);
+        render();
+
+        wallManager.update(System.currentTimeMillis() + WallManager.TEMPORARY_WALL_DURATION + 1);
+        screen = new BufferedImage(TankClient.GAME_WIDTH, TankClient.GAME_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        render();
+
+        assertEquals(0, screen.getRGB(310, 310));
+        assertEquals(0, screen.getRGB(110, 110));
+    }
+
+    @Test
+    void testCleanWallsInvalidatesBothLayers() {
+        render();
+        wallManager.cleanWalls();
+
+        assertTrue(wallManager.getStaticLayer().isDirty());
+        assertTrue(wallManager.getDynamicLayer().isDirty());
+    }
+}
@@ -0,0 +1,99 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a mirrored world shows exactly the captured state
+ */
+class TestWorldMirror {
+    private GameWorld world;
+    private WorldMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(7);
+        mirror = new WorldMirror(new GameWorld(0));
+        Missile.MOVEMENT_SPEED_X = 10;
+        Missile.MOVEMENT_SPEED_Y = 10;
+    }
+
+    private static void assertSameWorld(WorldState expected, WorldState actual) {
+        assertEquals(expected.score, actual.score);
+        assertEquals(expected.gameState, actual.gameState);
+        assertEquals(expected.healthPackIndex, actual.healthPackIndex);
+        assertEquals(expected.healthPackActive, actual.healthPackActive);
+        assertEquals(expected.tanks, actual.tanks);
+        assertEquals(expected.missiles, actual.missiles);
+        assertEquals(expected.explosions, actual.explosions);
+        assertEquals(expected.walls, actual.walls);
+    }
+
+    @Test
+    void testMirrorMatchesCapturedState() {
+        for (int i = 0; i < 30; i++) {
+            world.step();
+        }
+        world.spawnExplosion(200, 200);
+        world.spawnMissile(300, 300, false, Tank.Direction.LD);
+        WorldState state = new WorldState().capture(world);
+
+        mirror.apply(state, world.getPlayerTank().getEntityId());
+
+        assertSameWorld(state, new WorldState().capture(mirror.getWorld()));
+        assertEquals(world.getEnemyTanks().size(), mirror.getWorld().getEnemyTanks().size());
+        assertEquals(world.getPlayerTank().getEntityId(), mirror.getWorld().getPlayerTank().getEntityId());
+    }
+
+    @Test
+    void testMirrorFollowsMatch() {
+        WorldState state = new WorldState();
+        for (int tick = 0; tick < 200; tick++) {
+            if (tick % 20 == 0) {
+                world.keyReleased(java.awt.event.KeyEvent.VK_SPACE);
+            }
+            world.step();
+            state.capture(world);
+            mirror.apply(state, world.getPlayerTank().getEntityId());
+            assertSameWorld(state, new WorldState().capture(mirror.getWorld()));
+        }
+    }
+
+    @Test
+    void testObjectsAreKeptWhileEntitiesLive() {
+        world.step();
+        WorldState state = new WorldState().capture(world);
+        mirror.apply(state, world.getPlayerTank().getEntityId());
+        Tank mirroredEnemy = mirror.getWorld().getEnemyTanks().get(0);
+
+        world.step();
+        state.capture(world);
+        mirror.apply(state, world.getPlayerTank().getEntityId());
+        assertTrue(mirror.getWorld().getEnemyTanks().contains(mirroredEnemy));
+    }
+
+    @Test
+    void testOtherPlayersBecomeRemotePlayers() {
+        Tank remote = world.addRemotePlayer();
+        WorldState state = new WorldState().capture(world);
+
+        mirror.apply(state, remote.getEntityId());
+
+        GameWorld mirrored = mirror.getWorld();
+        assertEquals(remote.getEntityId(), mirrored.getPlayerTank().getEntityId());
+        assertEquals(1, mirrored.getRemotePlayers().size());
+        assertEquals(world.getPlayerTank().getEntityId(), mirrored.getRemotePlayers().get(0).getEntityId());
+    }
+
+    @Test
+    void testSpectatorHasNoPlayerTank() {
+        WorldState state = new WorldState().capture(world);
+
+        mirror.apply(state, 0);
+
+        assertFalse(mirror.getWorld().getPlayerTank().isAlive());
+        assertEquals(1, mirror.getWorld().getRemotePlayers().size());
+    }
+}
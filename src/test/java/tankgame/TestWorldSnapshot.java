@@ -0,0 +1,107 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the read-only world view and the plan/apply split of the AI
+ */
+class TestWorldSnapshot {
+    private GameWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld();
+    }
+
+    @Test
+    void testReadsComeFromWorld() {
+        world.step();
+        WorldSnapshot snapshot = new WorldSnapshot(world);
+
+        assertSame(world.getPlayerTank(), snapshot.getPlayerTank());
+        assertEquals(world.getEnemyTanks(), snapshot.getEnemyTanks());
+        assertSame(world.getWalls(), snapshot.getWalls());
+        assertSame(world.getWallManager(), snapshot.getWallManager());
+        assertEquals(world.getScore(), snapshot.getScore());
+        assertEquals(world.getGameState(), snapshot.getGameState());
+        assertEquals(world.isSightBlocked(0, 0, 700, 500), snapshot.isSightBlocked(0, 0, 700, 500));
+    }
+
+    @Test
+    void testMutationsAreRejected() {
+        WorldSnapshot snapshot = new WorldSnapshot(world);
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.spawnMissile(0, 0, false, Tank.Direction.R));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.spawnExplosion(0, 0));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setScore(1));
+        assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.setGameState(TankClient.GameState.GAME_OVER));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEnemyTanks().clear());
+        assertTrue(world.getMissiles().isEmpty());
+    }
+
+    @Test
+    void testSnapshotPreparesFlowField() {
+        FlowField field = world.getWallManager().getPlayerFlowField();
+        new WorldSnapshot(world);
+        long builds = field.getBuildCount();
+        assertEquals(1, builds);
+
+        Tank player = world.getPlayerTank();
+        field.directionFrom(400, 300, player.getPositionX(), player.getPositionY());
+        assertEquals(builds, field.getBuildCount());
+    }
+
+    @Test
+    void testPlanRecordsIntentWithoutTouchingTank() {
+        Tank controlled = mock(Tank.class);
+        Tank player = mock(Tank.class);
+        GameContext context = mock(GameContext.class);
+        when(context.getPlayerTank()).thenReturn(player);
+        when(context.getWalls()).thenReturn(new Wall[0]);
+        when(player.isAlive()).thenReturn(true);
+        when(controlled.isAlive()).thenReturn(true);
+        when(controlled.getHealthPoints()).thenReturn(100);
+        when(controlled.getPositionX()).thenReturn(600);
+        when(controlled.getPositionY()).thenReturn(100);
+        when(player.getPositionX()).thenReturn(100);
+        when(player.getPositionY()).thenReturn(100);
+
+        TankAI ai = new TankAI(controlled, context);
+        ai.plan(context, 0);
+
+        verify(controlled, never()).setBarrelDirection(any());
+        verify(controlled, never()).setMovementDirection(any());
+        assertEquals(Tank.Direction.L, ai.getPlannedBarrel());
+        assertEquals(Tank.Direction.L, ai.getPlannedMove());
+        assertFalse(ai.isFirePlanned());
+
+        ai.applyIntent();
+        verify(controlled).setBarrelDirection(Tank.Direction.L);
+        verify(controlled).setMovementDirection(Tank.Direction.L);
+        verify(controlled, never()).fireMissile();
+        assertNull(ai.getPlannedMove());
+    }
+
+    @Test
+    void testPlannedAIIgnoresUpdate() throws InterruptedException {
+        Tank controlled = mock(Tank.class);
+        Tank player = mock(Tank.class);
+        GameContext context = mock(GameContext.class);
+        when(context.getPlayerTank()).thenReturn(player);
+        when(context.getWalls()).thenReturn(new Wall[0]);
+        TankAI ai = new TankAI(controlled, context);
+
+        ai.plan(context, 0);
+        Thread.sleep(1100);
+        ai.update();
+
+        // Once the world plans the AI, update() no longer makes decisions of its own
+        verify(context, times(1)).getPlayerTank();
+    }
+}
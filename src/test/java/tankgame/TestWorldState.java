@@ -0,0 +1,134 @@
+package tankgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests capturing a world into plain state tables
+ */
+class TestWorldState {
+    private GameWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = new GameWorld(42);
+        Missile.MOVEMENT_SPEED_X = 10;
+        Missile.MOVEMENT_SPEED_Y = 10;
+    }
+
+    @Test
+    void testCapturesTanks() {
+        world.step();
+        WorldState state = new WorldState().capture(world);
+
+        assertEquals(1 + world.getEnemyTanks().size(), state.tanks.size());
+        Tank player = world.getPlayerTank();
+        int row = state.tanks.find(player.getEntityId());
+        assertTrue(row >= 0);
+        assertEquals(player.getPositionX(), state.tanks.get(WorldState.TANK_X, row));
+        assertEquals(player.getHealthPoints(), state.tanks.get(WorldState.TANK_HEALTH, row));
+        assertEquals(WorldState.FLAG_PLAYER | WorldState.FLAG_ALIVE, state.tanks.get(WorldState.TANK_FLAGS, row));
+        assertEquals(1, state.tick);
+    }
+
+    @Test
+    void testIdsAreStableAcrossCaptures() {
+        world.step();
+        WorldState first = new WorldState().capture(world);
+        world.step();
+        WorldState second = new WorldState().capture(world);
+
+        assertEquals(first.walls.size(), second.walls.size());
+        for (int row = 0; row < first.walls.size(); row++) {
+            assertEquals(first.walls.id(row), second.walls.id(row));
+        }
+        assertEquals(first.tanks.id(0), second.tanks.id(0));
+    }
+
+    @Test
+    void testRowsAreSortedAfterPoolCompaction() {
+        for (int i = 0; i < 6; i++) {
+            world.spawnMissile(100 + 60 * i, 500, true, Tank.Direction.U);
+        }
+        WorldState state = new WorldState().capture(world);
+        // Dropping a missile moves the last one into its slot
+        world.getMissiles().get(1).setActive(false);
+        world.updateMissiles();
+        world.spawnMissile(700, 500, true, Tank.Direction.U);
+
+        state.capture(world);
+
+        assertEquals(6, state.missiles.size());
+        for (int row = 1; row < state.missiles.size(); row++) {
+            assertTrue(state.missiles.id(row - 1) < state.missiles.id(row));
+        }
+    }
+
+    @Test
+    void testReusedMissileGetsNewId() {
+        Missile missile = world.spawnMissile(100, 500, true, Tank.Direction.U);
+        new WorldState().capture(world);
+        int id = missile.getEntityId();
+        missile.setActive(false);
+        world.updateMissiles();
+
+        Missile reused = world.spawnMissile(200, 500, false, Tank.Direction.D);
+        new WorldState().capture(world);
+
+        assertSame(missile, reused);
+        assertNotEquals(id, reused.getEntityId());
+    }
+
+    @Test
+    void testCapturesWallHealthAndExpiry() {
+        WallManager walls = world.getWallManager();
+        walls.cleanWalls();
+        walls.addBreakableWall(100, 100, 20, 100);
+        walls.addTemporaryWall(300, 300, 100, 20);
+        ((BreakableWall) world.getWalls()[0]).damage(10);
+
+        WorldState state = new WorldState().capture(world);
+
+        int breakable = -1;
+        int temporary = -1;
+        for (int row = 0; row < state.walls.size(); row++) {
+            int type = state.walls.get(WorldState.WALL_TYPE, row);
+            if (type == WorldState.WALL_BREAKABLE) breakable = row;
+            if (type == WorldState.WALL_TEMPORARY) temporary = row;
+        }
+        assertEquals(((BreakableWall) world.getWalls()[0]).getHealth(),
+                state.walls.get(WorldState.WALL_HEALTH, breakable));
+        assertEquals(((TemporaryWall) world.getWalls()[1]).getExpirationTime(),
+                state.walls.get(WorldState.WALL_EXPIRY, temporary));
+    }
+
+    @Test
+    void testCopyFromEquals() {
+        world.step();
+        world.spawnExplosion(10, 10);
+        WorldState state = new WorldState().capture(world);
+        WorldState copy = new WorldState();
+        copy.copyFrom(state);
+
+        assertEquals(state, copy);
+        assertEquals(state.hashCode(), copy.hashCode());
+        copy.explosions.set(WorldState.EXPLOSION_FRAME, 0, 5);
+        assertNotEquals(state, copy);
+    }
+
+    @Test
+    void testAddRowCopiesEveryColumn() {
+        WorldState.Table source = new WorldState.Table(3);
+        int row = source.add(7);
+        source.set(0, row, 1);
+        source.set(1, row, 2);
+        source.set(2, row, 3);
+
+        WorldState.Table copy = new WorldState.Table(3);
+        int copied = copy.addRow(source, row);
+        assertEquals(7, copy.id(copied));
+        assertEquals(source, copy);
+    }
+}